@@ -0,0 +1,101 @@
+package com.design.car.rental.system.carrentalsystemapp;
+
+import com.design.car.rental.system.carrentalsystemapp.dtos.UserImportRow;
+import com.design.car.rental.system.carrentalsystemapp.dtos.UserRequestDto;
+import com.design.car.rental.system.carrentalsystemapp.models.Address;
+import com.design.car.rental.system.carrentalsystemapp.services.impl.UserService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/**
+ * Shared setup for the JMH benchmarks: boots the application against a private in-memory H2
+ * database and seeds it with generated data.
+ */
+public final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Starts the application without a web server on a fresh in-memory database.
+     *
+     * @param extraArgs Additional "--key=value" arguments.
+     * @return The running application context.
+     */
+    public static ConfigurableApplicationContext startApplication(String... extraArgs) {
+        SpringApplication application = new SpringApplication(CarRentalSystemAppApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        String[] args = new String[extraArgs.length + 4];
+        args[0] = "--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+        args[1] = "--spring.jpa.show-sql=false";
+        args[2] = "--logging.level.root=WARN";
+        args[3] = "--spring.main.banner-mode=off";
+        System.arraycopy(extraArgs, 0, args, 4, extraArgs.length);
+        return application.run(args);
+    }
+
+    /**
+     * Inserts generated users through the bulk import path.
+     * - User types cycle through customer, driver and admin.
+     * - Every user has an address.
+     *
+     * @param userService The user service of the running application.
+     * @param count       The number of users to insert.
+     */
+    public static void seedUsers(UserService userService, int count) {
+        userService.importUsers(generatedUsers(count));
+    }
+
+    /**
+     * Generates user import rows lazily.
+     *
+     * @param count The number of rows to generate.
+     * @return An iterator over the generated rows.
+     */
+    public static Iterator<UserImportRow> generatedUsers(int count) {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < count;
+            }
+
+            @Override
+            public UserImportRow next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int row = ++next;
+                return new UserImportRow(row, userRequest(row), null);
+            }
+        };
+    }
+
+    /**
+     * Builds a realistic user request for a generated row.
+     *
+     * @param row The row number.
+     * @return The user request.
+     */
+    public static UserRequestDto userRequest(int row) {
+        Address address = new Address();
+        address.setStreet(row + " Main Street");
+        address.setCity("City " + (row % 500));
+        address.setState("State " + (row % 50));
+        address.setZip(String.format("%05d", row % 100000));
+        UserRequestDto userRequestDto = new UserRequestDto();
+        userRequestDto.setName("User " + row);
+        userRequestDto.setPhone(String.format("+1-555-%07d", row));
+        userRequestDto.setEmail("user" + row + "@example.com");
+        userRequestDto.setLicenseNo("LIC-" + row);
+        userRequestDto.setUserTypeId(row % 3);
+        userRequestDto.setAddress(address);
+        return userRequestDto;
+    }
+}
@@ -0,0 +1,69 @@
+package com.design.car.rental.system.carrentalsystemapp.assignment;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one planning run over RESERVATIONS reservations picked up within a day across a metropolitan
+ * area of about 100 x 100 km, with driverCount drivers of which a third already hold a reservation that day.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DriverAssignmentPlannerBenchmark {
+
+    private static final int RESERVATIONS = 100_000;
+
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    private static final double CENTER_LATITUDE = 48.85;
+    private static final double CENTER_LONGITUDE = 2.35;
+    private static final double SPREAD_DEGREES = 0.9;
+
+    @Param({"2000", "10000"})
+    private int driverCount;
+
+    private DriverAssignmentPlanner planner;
+    private List<PendingReservation> reservations;
+    private long[] driverIds;
+    private List<DriverWindow> heldWindows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        long dayStart = 200 * DAY;
+        reservations = new ArrayList<>(RESERVATIONS);
+        for (int i = 0; i < RESERVATIONS; i++) {
+            long pickUp = dayStart + random.nextLong(DAY);
+            long returnAt = pickUp + HOUR + random.nextLong(4 * HOUR);
+            reservations.add(new PendingReservation(i + 1, new Date(pickUp), new Date(returnAt),
+                    CENTER_LATITUDE + (random.nextDouble() - 0.5) * SPREAD_DEGREES,
+                    CENTER_LONGITUDE + (random.nextDouble() - 0.5) * SPREAD_DEGREES));
+        }
+        driverIds = new long[driverCount];
+        heldWindows = new ArrayList<>();
+        for (int i = 0; i < driverCount; i++) {
+            driverIds[i] = RESERVATIONS + i + 1L;
+            if (i % 3 == 0) {
+                long start = dayStart + random.nextLong(DAY);
+                heldWindows.add(new DriverWindow(-i - 1L, driverIds[i], new Date(start), new Date(start + 2 * HOUR)));
+            }
+        }
+        planner = new DriverAssignmentPlanner();
+    }
+
+    @Benchmark
+    public List<DriverAssignment> plan() {
+        return planner.plan(reservations, driverIds, heldWindows, 50);
+    }
+}
@@ -0,0 +1,106 @@
+package com.design.car.rental.system.carrentalsystemapp.controllers;
+
+import com.design.car.rental.system.carrentalsystemapp.catalog.CatalogCarRow;
+import com.design.car.rental.system.carrentalsystemapp.catalog.CatalogSnapshot;
+import com.design.car.rental.system.carrentalsystemapp.catalog.CatalogSnapshotWriter;
+import com.design.car.rental.system.carrentalsystemapp.enums.CarCategoryEnum;
+import com.design.car.rental.system.carrentalsystemapp.enums.CarStatusEnum;
+import com.design.car.rental.system.carrentalsystemapp.models.CarDetails;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares serving a page of the fleet from the catalog snapshot with mapping CarDetails entities to
+ * CarResponseDto and serializing them, both written as JSON to a discarding stream.
+ * Run with the gc profiler (the benchmarks profile does) to compare the allocation per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogBrowseBenchmark {
+
+    @Param({"1000000"})
+    private int fleetSize;
+
+    @Param({"100", "1000"})
+    private int pageSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Path directory;
+    private CatalogSnapshot snapshot;
+    private List<CarDetails> entities;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("catalog-benchmark");
+        CarCategoryEnum[] categories = CarCategoryEnum.values();
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(directory.resolve("catalog.snapshot"), System.currentTimeMillis())) {
+            for (int i = 1; i <= fleetSize; i++) {
+                writer.add(new CatalogCarRow(i, "Car " + i, "Brand " + (i % 20), String.format("LT-%07d", i),
+                        categories[i % categories.length], String.valueOf(2015 + i % 10), i % 150_000, i % 4 == 0,
+                        CarStatusEnum.AVAILABLE, (long) (i % 50 + 1), 40.5 + (i % 1000) / 2000.0, -74.2 + (i % 997) / 2000.0));
+            }
+            snapshot = CatalogSnapshot.open(writer.finish());
+        }
+        entities = new ArrayList<>(pageSize);
+        for (int i = 1; i <= pageSize; i++) {
+            CarDetails carDetails = new CarDetails();
+            carDetails.setId(i);
+            carDetails.setName("Car " + i);
+            carDetails.setBrand("Brand " + (i % 20));
+            carDetails.setVechicleNo(String.format("LT-%07d", i));
+            carDetails.setVechicleCategory(categories[i % categories.length]);
+            carDetails.setManufacturingYear(String.valueOf(2015 + i % 10));
+            carDetails.setMileage(i % 150_000);
+            carDetails.setHasSunRoof(i % 4 == 0);
+            carDetails.setStatus(CarStatusEnum.AVAILABLE);
+            carDetails.setLatitude(40.5 + (i % 1000) / 2000.0);
+            carDetails.setLongitude(-74.2 + (i % 997) / 2000.0);
+            entities.add(carDetails);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(snapshot.getPath());
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public void snapshotPage() throws IOException {
+        int first = snapshot.firstIndexAfter(ThreadLocalRandom.current().nextInt(fleetSize - pageSize));
+        byte[] scratch = new byte[snapshot.getMaxStringBytes()];
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(OutputStream.nullOutputStream())) {
+            generator.writeStartArray();
+            for (int index = first; index < first + pageSize; index++) {
+                CatalogController.writeCar(generator, snapshot, index, scratch);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    @Benchmark
+    public void entityPage() throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(OutputStream.nullOutputStream())) {
+            generator.writeStartArray();
+            for (CarDetails carDetails : entities) {
+                objectMapper.writeValue(generator, CarController.computeCarResponseDetails(carDetails));
+            }
+            generator.writeEndArray();
+        }
+    }
+}
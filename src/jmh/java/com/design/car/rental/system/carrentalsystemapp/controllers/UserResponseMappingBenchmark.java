@@ -0,0 +1,62 @@
+package com.design.car.rental.system.carrentalsystemapp.controllers;
+
+import com.design.car.rental.system.carrentalsystemapp.dtos.UserResponseDto;
+import com.design.car.rental.system.carrentalsystemapp.enums.UserTypeEnum;
+import com.design.car.rental.system.carrentalsystemapp.models.Address;
+import com.design.car.rental.system.carrentalsystemapp.models.UserDetails;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of mapping UserDetails entities to UserResponseDto, per user and for a full page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class UserResponseMappingBenchmark {
+
+    @Param({"100", "1000"})
+    private int pageSize;
+
+    private List<UserDetails> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        page = new ArrayList<>(pageSize);
+        for (int i = 1; i <= pageSize; i++) {
+            Address address = new Address();
+            address.setId(i);
+            address.setStreet(i + " Main Street");
+            address.setCity("City " + (i % 500));
+            UserDetails userDetails = new UserDetails();
+            userDetails.setId(i);
+            userDetails.setName("User " + i);
+            userDetails.setPhone("+1-555-" + i);
+            userDetails.setEmail("user" + i + "@example.com");
+            userDetails.setLicenseNo("LIC-" + i);
+            userDetails.setUserType(UserTypeEnum.computeUserType(i % 3));
+            userDetails.setAddress(address);
+            userDetails.setActive(1);
+            page.add(userDetails);
+        }
+    }
+
+    @Benchmark
+    public UserResponseDto mapSingleUser() {
+        return UserController.computeUserResponseDetails(page.get(0));
+    }
+
+    @Benchmark
+    public void mapPage(Blackhole blackhole) {
+        for (UserDetails userDetails : page) {
+            blackhole.consume(UserController.computeUserResponseDetails(userDetails));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.design.car.rental.system.carrentalsystemapp.controllers;
+
+import com.design.car.rental.system.carrentalsystemapp.dtos.UserResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Measures the CPU cost of writing a list of userCount users in each wire format the list endpoints offer,
+ * with and without gzip. The payload sizes are printed once per trial, since they do not vary between runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserWireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"1000"})
+    private int userCount;
+
+    private ObjectMapper mapper;
+    private List<UserResponseDto> users;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        mapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        users = new ArrayList<>(userCount);
+        for (int i = 1; i <= userCount; i++) {
+            users.add(new UserResponseDto(i, "User " + i, "+1-555-" + i, "user" + i + "@example.com", "LIC-" + i,
+                    (long) i, i + " Main Street", "City " + (i % 500), "State " + (i % 50), String.format("%05d", i)));
+        }
+        System.out.printf("%n%s payload for %d users: %d bytes, %d bytes gzipped%n",
+                format, userCount, write().size(), writeGzipped().size());
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream write() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(64 * 1024);
+        mapper.writeValue(outputStream, users);
+        return outputStream;
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream writeGzipped() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(16 * 1024);
+        try (GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream)) {
+            mapper.writeValue(gzipStream, users);
+        }
+        return outputStream;
+    }
+}
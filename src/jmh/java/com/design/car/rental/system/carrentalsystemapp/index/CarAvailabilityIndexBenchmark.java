@@ -0,0 +1,71 @@
+package com.design.car.rental.system.carrentalsystemapp.index;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures availability queries and updates on the in-memory index for a fleet of carCount cars
+ * holding reservationCount reservations spread over one year.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CarAvailabilityIndexBenchmark {
+
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+    private static final long YEAR = TimeUnit.DAYS.toMillis(365);
+
+    @Param({"10000", "50000"})
+    private int carCount;
+
+    @Param({"100000", "1000000"})
+    private int reservationCount;
+
+    private CarAvailabilityIndex index;
+    private long nextReservationId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new CarAvailabilityIndex();
+        SplittableRandom random = new SplittableRandom(42);
+        for (long carId = 1; carId <= carCount; carId++) {
+            index.registerCar(carId);
+        }
+        for (long reservationId = 1; reservationId <= reservationCount; reservationId++) {
+            long from = random.nextLong(YEAR);
+            index.addReservation(reservationId, 1 + random.nextInt(carCount), from, from + (1 + random.nextInt(72)) * HOUR);
+        }
+        nextReservationId = reservationCount;
+    }
+
+    @Benchmark
+    public List<Long> findAvailableCars() {
+        long from = ThreadLocalRandom.current().nextLong(YEAR);
+        return index.findAvailableCars(from, from + 24 * HOUR);
+    }
+
+    @Benchmark
+    public boolean isAvailable() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long from = random.nextLong(YEAR);
+        return index.isAvailable(1 + random.nextInt(carCount), from, from + 24 * HOUR);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public void addAndRemoveReservation() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long carId = 1 + random.nextInt(carCount);
+        long from = random.nextLong(YEAR);
+        long reservationId = ++nextReservationId;
+        index.addReservation(reservationId, carId, from, from + 24 * HOUR);
+        index.removeReservation(reservationId, carId);
+    }
+}
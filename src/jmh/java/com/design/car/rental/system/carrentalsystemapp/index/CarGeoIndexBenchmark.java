@@ -0,0 +1,66 @@
+package com.design.car.rental.system.carrentalsystemapp.index;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures k-nearest-available-car queries for a fleet of carCount cars spread over a metropolitan
+ * area of about 100 x 100 km, where about half of the cars are booked for the queried day.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CarGeoIndexBenchmark {
+
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    private static final double CENTER_LATITUDE = 48.85;
+    private static final double CENTER_LONGITUDE = 2.35;
+    private static final double SPREAD_DEGREES = 0.9;
+
+    @Param({"100000", "1000000"})
+    private int carCount;
+
+    @Param({"10"})
+    private int k;
+
+    private CarGeoIndex geoIndex;
+    private CarAvailabilityIndex availabilityIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        geoIndex = new CarGeoIndex();
+        availabilityIndex = new CarAvailabilityIndex();
+        SplittableRandom random = new SplittableRandom(42);
+        for (long carId = 1; carId <= carCount; carId++) {
+            geoIndex.putCar(carId, CENTER_LATITUDE + random.nextDouble(-SPREAD_DEGREES / 2, SPREAD_DEGREES / 2),
+                    CENTER_LONGITUDE + random.nextDouble(-SPREAD_DEGREES / 2, SPREAD_DEGREES / 2));
+            availabilityIndex.registerCar(carId);
+            if (random.nextBoolean()) {
+                availabilityIndex.addReservation(carId, carId, 0, DAY);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<NearbyCar> nearestAvailable() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double latitude = CENTER_LATITUDE + random.nextDouble(-SPREAD_DEGREES / 2, SPREAD_DEGREES / 2);
+        double longitude = CENTER_LONGITUDE + random.nextDouble(-SPREAD_DEGREES / 2, SPREAD_DEGREES / 2);
+        return geoIndex.findNearest(latitude, longitude, k, 50, carId -> availabilityIndex.isAvailable(carId, 0, DAY));
+    }
+
+    @Benchmark
+    public void moveCar() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        geoIndex.putCar(1 + random.nextInt(carCount), CENTER_LATITUDE + random.nextDouble(-SPREAD_DEGREES / 2, SPREAD_DEGREES / 2),
+                CENTER_LONGITUDE + random.nextDouble(-SPREAD_DEGREES / 2, SPREAD_DEGREES / 2));
+    }
+}
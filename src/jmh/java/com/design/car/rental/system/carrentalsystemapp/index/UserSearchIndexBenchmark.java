@@ -0,0 +1,92 @@
+package com.design.car.rental.system.carrentalsystemapp.index;
+
+import com.design.car.rental.system.carrentalsystemapp.enums.UserTypeEnum;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures ranked user searches over userCount synthetic users with realistic name collisions:
+ * a short name prefix, a surname fragment, a partial phone number and an exact license number.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class UserSearchIndexBenchmark {
+
+    private static final String[] FIRST_NAMES = {"james", "mary", "john", "patricia", "robert", "jennifer", "michael",
+            "linda", "william", "elizabeth", "david", "barbara", "richard", "susan", "joseph", "jessica", "thomas",
+            "sarah", "charles", "karen", "priya", "arjun", "mei", "hiroshi", "fatima", "omar", "lucia", "mateo"};
+    private static final String[] LAST_NAMES = {"smith", "johnson", "williams", "brown", "jones", "garcia", "miller",
+            "davis", "rodriguez", "martinez", "hernandez", "lopez", "gonzalez", "wilson", "anderson", "thomas",
+            "taylor", "moore", "jackson", "martin", "sharma", "patel", "chen", "tanaka", "khan", "ali", "rossi"};
+    private static final String[] DOMAINS = {"gmail.com", "yahoo.com", "outlook.com", "example.com", "corp.example.org"};
+
+    private static final int SEARCH_LIMIT = 20;
+    private static final int MAX_CANDIDATES = 10000;
+
+    @Param({"100000", "1000000"})
+    private int userCount;
+
+    private UserSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new UserSearchIndex();
+        SplittableRandom random = new SplittableRandom(42);
+        for (long userId = 1; userId <= userCount; userId++) {
+            index.putUser(user(userId, random));
+        }
+    }
+
+    @Benchmark
+    public UserSearchResult namePrefix() {
+        return index.search(FIRST_NAMES[ThreadLocalRandom.current().nextInt(FIRST_NAMES.length)].substring(0, 2), 0, SEARCH_LIMIT, MAX_CANDIDATES);
+    }
+
+    @Benchmark
+    public UserSearchResult fullNameFragments() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        return index.search(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                + last.substring(0, Math.min(4, last.length())), 0, SEARCH_LIMIT, MAX_CANDIDATES);
+    }
+
+    @Benchmark
+    public UserSearchResult partialPhone() {
+        return index.search(String.valueOf(1000000 + ThreadLocalRandom.current().nextInt(9000000)), 0, SEARCH_LIMIT, MAX_CANDIDATES);
+    }
+
+    @Benchmark
+    public UserSearchResult exactLicense() {
+        return index.search(licenseNo(1 + ThreadLocalRandom.current().nextInt(userCount)), 0, SEARCH_LIMIT, MAX_CANDIDATES);
+    }
+
+    @Benchmark
+    public void updateUser() {
+        long userId = 1 + ThreadLocalRandom.current().nextInt(userCount);
+        index.putUser(user(userId, new SplittableRandom(userId)));
+    }
+
+    private static IndexedUser user(long userId, SplittableRandom random) {
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        return new IndexedUser(userId, capitalize(first) + " " + capitalize(last),
+                first + "." + last + userId + "@" + DOMAINS[random.nextInt(DOMAINS.length)],
+                String.format("+1 (%03d) %03d-%04d", random.nextInt(200, 1000), random.nextInt(1000), random.nextInt(10000)),
+                licenseNo(userId), userId % 10 == 0 ? UserTypeEnum.DRIVER : UserTypeEnum.CUSTOMER);
+    }
+
+    private static String licenseNo(long userId) {
+        return String.format("DL-%08d", userId * 7919 % 100000000);
+    }
+
+    private static String capitalize(String value) {
+        return Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+}
@@ -0,0 +1,71 @@
+package com.design.car.rental.system.carrentalsystemapp.pricing;
+
+import com.design.car.rental.system.carrentalsystemapp.enums.CarCategoryEnum;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures quotes per second for one request pricing a candidate set of CANDIDATES cars,
+ * with the fork-join pool limited to parallelism workers.
+ * Compare the scores across parallelism values to see how pricing scales with cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuoteEngineBenchmark {
+
+    private static final int CANDIDATES = 100_000;
+
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    private QuoteEngine engine;
+    private FleetColumns fleet;
+    private long[] candidateCarIds;
+    private QuoteContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        int categoryCount = CarCategoryEnum.values().length;
+        long[] carIds = new long[CANDIDATES];
+        int[] categories = new int[CANDIDATES];
+        int[] mileages = new int[CANDIDATES];
+        boolean[] sunRoofs = new boolean[CANDIDATES];
+        for (int i = 0; i < CANDIDATES; i++) {
+            carIds[i] = i + 1;
+            categories[i] = random.nextInt(categoryCount);
+            mileages[i] = random.nextInt(80_000);
+            sunRoofs[i] = random.nextBoolean();
+        }
+        fleet = new FleetColumns(carIds, categories, mileages, sunRoofs);
+        candidateCarIds = carIds;
+        engine = new QuoteEngine(PricingTables.standard(), new ForkJoinPool(parallelism));
+        engine.loadFleet(fleet);
+        int[] fleetByCategory = QuoteEngine.countByCategory(fleet, carIds);
+        int[] bookedByCategory = new int[categoryCount];
+        for (int category = 0; category < categoryCount; category++) {
+            bookedByCategory[category] = fleetByCategory[category] * 3 / 4;
+        }
+        context = engine.pricingTables().context(180 * DAY, 187 * DAY, bookedByCategory, fleetByCategory);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CANDIDATES)
+    public long[] quoteCandidates() {
+        return engine.quote(fleet, candidateCarIds, context);
+    }
+}
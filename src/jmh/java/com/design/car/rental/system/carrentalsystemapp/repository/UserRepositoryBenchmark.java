@@ -0,0 +1,67 @@
+package com.design.car.rental.system.carrentalsystemapp.repository;
+
+import com.design.car.rental.system.carrentalsystemapp.BenchmarkSupport;
+import com.design.car.rental.system.carrentalsystemapp.dtos.UserResponseDto;
+import com.design.car.rental.system.carrentalsystemapp.enums.UserTypeEnum;
+import com.design.car.rental.system.carrentalsystemapp.models.UserDetails;
+import com.design.car.rental.system.carrentalsystemapp.services.impl.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the UserRepository finders directly, bypassing the service caches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UserRepositoryBenchmark {
+
+    private static final int ACTIVE = 1;
+
+    @Param({"10000", "100000", "1000000"})
+    private int userCount;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startApplication();
+        userRepository = context.getBean(UserRepository.class);
+        BenchmarkSupport.seedUsers(context.getBean(UserService.class), userCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<UserDetails> findByIdAndActive() {
+        return userRepository.findByIdAndActive(randomUserId(), ACTIVE);
+    }
+
+    @Benchmark
+    public List<UserResponseDto> findResponsePageByActive() {
+        return userRepository.findResponsePageByActive(ACTIVE, randomUserId(), Limit.of(100));
+    }
+
+    @Benchmark
+    public List<UserResponseDto> findResponsePageByUserTypeAndActive() {
+        return userRepository.findResponsePageByUserTypeAndActive(UserTypeEnum.DRIVER, ACTIVE,
+                randomUserId(), Limit.of(100));
+    }
+
+    private long randomUserId() {
+        return ThreadLocalRandom.current().nextLong(1, userCount + 1L);
+    }
+}
@@ -0,0 +1,114 @@
+package com.design.car.rental.system.carrentalsystemapp.services.impl;
+
+import com.design.car.rental.system.carrentalsystemapp.BenchmarkSupport;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.CarNotAvailableException;
+import com.design.car.rental.system.carrentalsystemapp.models.CarDetails;
+import com.design.car.rental.system.carrentalsystemapp.models.CarReservation;
+import com.design.car.rental.system.carrentalsystemapp.models.UserDetails;
+import com.design.car.rental.system.carrentalsystemapp.repository.CarDetailsRepository;
+import com.design.car.rental.system.carrentalsystemapp.repository.CarReservationRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the booking and availability paths against an in-memory database holding
+ * carCount cars and reservationCount reservations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(8)
+public class CarReservationServiceBenchmark {
+
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+    private static final long YEAR = TimeUnit.DAYS.toMillis(365);
+    private static final int SEED_BATCH = 5000;
+
+    @Param({"10000"})
+    private int carCount;
+
+    @Param({"10000", "100000", "1000000"})
+    private int reservationCount;
+
+    private ConfigurableApplicationContext context;
+    private CarReservationService carReservationService;
+    private CarAvailabilityService carAvailabilityService;
+    private long customerId;
+    private long firstCarId;
+    private long epoch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startApplication();
+        carReservationService = context.getBean(CarReservationService.class);
+        carAvailabilityService = context.getBean(CarAvailabilityService.class);
+        UserDetails customer = context.getBean(UserService.class)
+                .addUser("Benchmark Customer", "000", "bench@example.com", null, "LIC-0", 0);
+        customerId = customer.getId();
+        epoch = System.currentTimeMillis();
+
+        CarDetailsRepository carDetailsRepository = context.getBean(CarDetailsRepository.class);
+        List<CarDetails> cars = new ArrayList<>(carCount);
+        for (int i = 0; i < carCount; i++) {
+            CarDetails carDetails = new CarDetails();
+            carDetails.setName("Car " + i);
+            carDetails.setBrand("Brand " + (i % 20));
+            cars.add(carDetails);
+        }
+        cars = carDetailsRepository.saveAll(cars);
+        firstCarId = cars.get(0).getId();
+
+        CarReservationRepository carReservationRepository = context.getBean(CarReservationRepository.class);
+        SplittableRandom random = new SplittableRandom(42);
+        List<CarReservation> batch = new ArrayList<>(SEED_BATCH);
+        for (int i = 0; i < reservationCount; i++) {
+            long from = epoch + random.nextLong(YEAR);
+            CarReservation carReservation = new CarReservation();
+            carReservation.setCarDetails(cars.get(random.nextInt(carCount)));
+            carReservation.setCustomerDetails(customer);
+            carReservation.setPickUpDate(new Date(from));
+            carReservation.setReturnDate(new Date(from + (1 + random.nextInt(72)) * HOUR));
+            carReservation.setActive(1);
+            batch.add(carReservation);
+            if (batch.size() == SEED_BATCH) {
+                carReservationRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        carReservationRepository.saveAll(batch);
+        carAvailabilityService.reloadAvailability();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object createReservation() throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long from = epoch + random.nextLong(YEAR);
+        try {
+            return carReservationService.createReservation(firstCarId + random.nextInt(carCount), customerId, null,
+                    new Date(from), new Date(from + 24 * HOUR), "A", "B");
+        } catch (CarNotAvailableException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public List<Long> getAvailableCarIds() {
+        long from = epoch + ThreadLocalRandom.current().nextLong(YEAR);
+        return carAvailabilityService.getAvailableCarIds(new Date(from), new Date(from + 24 * HOUR));
+    }
+}
@@ -0,0 +1,74 @@
+package com.design.car.rental.system.carrentalsystemapp.services.impl;
+
+import com.design.car.rental.system.carrentalsystemapp.BenchmarkSupport;
+import com.design.car.rental.system.carrentalsystemapp.dtos.UserRequestDto;
+import com.design.car.rental.system.carrentalsystemapp.dtos.UserResponseDto;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.UserNotFoundException;
+import com.design.car.rental.system.carrentalsystemapp.models.UserDetails;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the UserServiceImpl CRUD paths against an in-memory database seeded with userCount users.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UserServiceBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int userCount;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private int nextRow;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.startApplication();
+        userService = context.getBean(UserService.class);
+        BenchmarkSupport.seedUsers(userService, userCount);
+        nextRow = userCount;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserDetails getUserDetailsByUserId() throws UserNotFoundException {
+        return userService.getUserDetailsByUserId(randomUserId());
+    }
+
+    @Benchmark
+    public List<UserResponseDto> getActiveUserDetailsPage() {
+        return userService.getActiveUserDetailsPage(randomUserId(), 100);
+    }
+
+    @Benchmark
+    public UserDetails addUser() {
+        UserRequestDto userRequestDto = BenchmarkSupport.userRequest(++nextRow);
+        return userService.addUser(userRequestDto.getName(), userRequestDto.getPhone(), userRequestDto.getEmail(),
+                userRequestDto.getAddress(), userRequestDto.getLicenseNo(), userRequestDto.getUserTypeId());
+    }
+
+    @Benchmark
+    public UserDetails updateUserDetails() throws UserNotFoundException {
+        long userId = randomUserId();
+        UserRequestDto userRequestDto = BenchmarkSupport.userRequest((int) userId);
+        return userService.updateUserDetails(userId, userRequestDto.getName(), userRequestDto.getPhone(), userRequestDto.getEmail(),
+                null, userRequestDto.getLicenseNo(), userRequestDto.getUserTypeId());
+    }
+
+    private long randomUserId() {
+        return ThreadLocalRandom.current().nextLong(1, userCount + 1L);
+    }
+}
@@ -0,0 +1,82 @@
+package com.design.car.rental.system.carrentalsystemapp.loadtest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The stored latency budget of a scenario.
+ * - A run regresses when an operation's p99 or p99.9 response time exceeds the baseline by more than the tolerance.
+ * - A run that used a different arrival rate than the baseline cannot be compared with it.
+ * - The checks that need no baseline (error rate, generator rate, drain) are in {@link LoadReport#computeViolations};
+ *   maxErrorRate is their error budget.
+ *
+ * @param ratePerSecond The arrival rate the baseline was recorded at.
+ * @param tolerance     The allowed relative increase, e.g. 0.5 for 50%.
+ * @param maxErrorRate  The allowed share of failed requests per operation.
+ * @param operations    The p99 and p99.9 response times per operation, in milliseconds.
+ */
+public record Baseline(int ratePerSecond, double tolerance, double maxErrorRate, Map<String, Limits> operations) {
+
+    /**
+     * The error budget of a scenario without a baseline.
+     */
+    public static final double DEFAULT_MAX_ERROR_RATE = 0.001;
+
+    private static final double DEFAULT_TOLERANCE = 0.5;
+
+    /**
+     * @param p99  The p99 response time in milliseconds.
+     * @param p999 The p99.9 response time in milliseconds.
+     */
+    public record Limits(double p99, double p999) {
+    }
+
+    /**
+     * Builds a baseline from a run, keeping the tolerances of the previous baseline if there is one.
+     *
+     * @param report   The run to take the percentiles from.
+     * @param previous The baseline being replaced (can be null).
+     * @return The new baseline.
+     */
+    public static Baseline of(LoadReport report, Baseline previous) {
+        Map<String, Limits> operations = new LinkedHashMap<>();
+        report.operations().forEach((name, operation) ->
+                operations.put(name, new Limits(operation.responseTime().p99(), operation.responseTime().p999())));
+        return previous == null
+                ? new Baseline(report.targetRatePerSecond(), DEFAULT_TOLERANCE, DEFAULT_MAX_ERROR_RATE, operations)
+                : new Baseline(report.targetRatePerSecond(), previous.tolerance(), previous.maxErrorRate(), operations);
+    }
+
+    /**
+     * Compares the latencies of a run with this baseline.
+     *
+     * @param report The run.
+     * @return One message per violation; empty if the run is within the baseline.
+     */
+    public List<String> computeViolations(LoadReport report) {
+        List<String> violations = new ArrayList<>();
+        if (report.targetRatePerSecond() != ratePerSecond) {
+            violations.add(String.format("run at %d req/s, baseline recorded at %d req/s",
+                    report.targetRatePerSecond(), ratePerSecond));
+        }
+        report.operations().forEach((name, operation) -> {
+            Limits limits = operations.get(name);
+            if (limits == null) {
+                return;
+            }
+            checkPercentile(violations, name, "p99", operation.responseTime().p99(), limits.p99());
+            checkPercentile(violations, name, "p99.9", operation.responseTime().p999(), limits.p999());
+        });
+        return violations;
+    }
+
+    private void checkPercentile(List<String> violations, String operation, String percentile, double actual, double baseline) {
+        double limit = baseline * (1 + tolerance);
+        if (actual > limit) {
+            violations.add(String.format("%s %s %.2f ms > %.2f ms (baseline %.2f ms + %.0f%%)",
+                    operation, percentile, actual, limit, baseline, tolerance * 100));
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.design.car.rental.system.carrentalsystemapp.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives a scenario's traffic mix from a fixed number of concurrent clients (closed model).
+ * - Every client is a thread that sends its next request as soon as the previous one completed, so the application
+ *   holds exactly concurrency requests (and connections) at all times; throughput is the outcome, not the input.
+ * - Suited to comparing how the application copes with many concurrent connections; for latency under a given
+ *   arrival rate use {@link OpenModelLoadGenerator}.
+ * - Latencies are recorded in microseconds into HdrHistograms; response and service time are the same here.
+ */
+public final class ClosedModelLoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final long DRAIN_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(60);
+    private static final long CLIENT_STACK_BYTES = 256 * 1024;
+    private static final long SEED = 7;
+
+    private final HttpClient httpClient;
+    private final LoadTestData data;
+    private final Scenario scenario;
+    private final int concurrency;
+    private final Map<LoadOperation, Histogram> latencyByOperation = new EnumMap<>(LoadOperation.class);
+    private final Map<LoadOperation, LongAdder> errorsByOperation = new EnumMap<>(LoadOperation.class);
+    private final LongAdder completed = new LongAdder();
+
+    /**
+     * @param httpClient  The client to send requests with.
+     * @param data        The seeded data to pick request targets from.
+     * @param scenario    The traffic mix, warmup and duration.
+     * @param concurrency The number of concurrent clients.
+     */
+    public ClosedModelLoadGenerator(HttpClient httpClient, LoadTestData data, Scenario scenario, int concurrency) {
+        this.httpClient = httpClient;
+        this.data = data;
+        this.scenario = scenario;
+        this.concurrency = concurrency;
+        for (LoadOperation operation : scenario.mix().keySet()) {
+            latencyByOperation.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+            errorsByOperation.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * Runs the warmup and the measured phase and waits for every client to finish its last request.
+     *
+     * @return The recorded latencies; sent is the number of requests completed in the measured phase.
+     * @throws InterruptedException If the calling thread is interrupted.
+     */
+    public LoadResult run() throws InterruptedException {
+        LoadOperation[] operations = scenario.computeOperationTable();
+        long start = System.nanoTime();
+        long measureFrom = start + scenario.warmup().toNanos();
+        long end = measureFrom + scenario.duration().toNanos();
+        List<Thread> clients = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            SplittableRandom random = new SplittableRandom(SEED + i);
+            Thread client = new Thread(null, () -> drive(operations, random, measureFrom, end),
+                    "load-client-" + i, CLIENT_STACK_BYTES);
+            client.setDaemon(true);
+            client.start();
+            clients.add(client);
+        }
+        long drainDeadline = System.currentTimeMillis() + TimeUnit.NANOSECONDS.toMillis(end - System.nanoTime())
+                + DRAIN_TIMEOUT_MILLIS;
+        boolean drained = true;
+        for (Thread client : clients) {
+            client.join(Math.max(1, drainDeadline - System.currentTimeMillis()));
+            drained &= !client.isAlive();
+        }
+
+        Map<LoadOperation, LoadResult.OperationResult> results = new EnumMap<>(LoadOperation.class);
+        latencyByOperation.forEach((operation, latency) -> results.put(operation,
+                new LoadResult.OperationResult(latency.copy(), latency.copy(), errorsByOperation.get(operation).sum())));
+        return new LoadResult(scenario, completed.sum(), 0, drained, results);
+    }
+
+    private void drive(LoadOperation[] operations, SplittableRandom random, long measureFrom, long end) {
+        long sendStart;
+        while ((sendStart = System.nanoTime()) < end) {
+            LoadOperation operation = operations[random.nextInt(operations.length)];
+            boolean expected;
+            try {
+                HttpResponse<Void> response = httpClient.send(
+                        operation.computeRequest(data, ThreadLocalRandom.current()), HttpResponse.BodyHandlers.discarding());
+                expected = operation.isExpectedStatus(response.statusCode());
+            } catch (IOException e) {
+                expected = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (sendStart >= measureFrom) {
+                long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sendStart);
+                latencyByOperation.get(operation).recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, micros));
+                if (!expected) {
+                    errorsByOperation.get(operation).increment();
+                }
+                completed.increment();
+            }
+        }
+    }
+}
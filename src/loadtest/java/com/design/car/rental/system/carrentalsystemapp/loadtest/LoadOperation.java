@@ -0,0 +1,132 @@
+package com.design.car.rental.system.carrentalsystemapp.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The requests a scenario can mix. Every operation picks its target (user, car, window) at random from the
+ * seeded data, so repeated runs exercise the same distribution but not the same cache lines.
+ */
+public enum LoadOperation {
+
+    USER_BY_ID {
+        @Override
+        HttpRequest computeRequest(LoadTestData data, ThreadLocalRandom random) {
+            return get(data, "/user/" + data.randomUserId(random));
+        }
+    },
+    USER_SEARCH {
+        @Override
+        HttpRequest computeRequest(LoadTestData data, ThreadLocalRandom random) {
+            return get(data, "/user/search?q=" + data.randomSearchQuery(random).replace(" ", "%20"));
+        }
+    },
+    USER_PAGE {
+        @Override
+        HttpRequest computeRequest(LoadTestData data, ThreadLocalRandom random) {
+            return get(data, "/user/page?limit=" + PAGE_SIZE + "&afterId=" + data.randomUserId(random));
+        }
+    },
+    USER_CREATE {
+        @Override
+        HttpRequest computeRequest(LoadTestData data, ThreadLocalRandom random) {
+            return send(data, "POST", "/user", data.newUserRequest(random));
+        }
+    },
+    USER_UPDATE {
+        @Override
+        HttpRequest computeRequest(LoadTestData data, ThreadLocalRandom random) {
+            long userId = data.randomUserId(random);
+            return send(data, "PUT", "/user/" + userId, data.updatedUserRequest(userId, random));
+        }
+    },
+    AVAILABILITY {
+        @Override
+        HttpRequest computeRequest(LoadTestData data, ThreadLocalRandom random) {
+            long from = data.randomPickUp(random);
+            return get(data, "/availability?" + window(from, from + data.randomRentalLength(random)));
+        }
+    },
+    QUOTE {
+        @Override
+        HttpRequest computeRequest(LoadTestData data, ThreadLocalRandom random) {
+            long from = data.randomPickUp(random);
+            return get(data, "/quote?" + window(from, from + data.randomRentalLength(random)));
+        }
+    },
+    /**
+     * Books a random car; a conflict with an existing reservation is a valid outcome.
+     */
+    RESERVATION_CREATE {
+        @Override
+        HttpRequest computeRequest(LoadTestData data, ThreadLocalRandom random) {
+            long from = data.randomPickUp(random);
+            return send(data, "POST", "/reservation", Map.of(
+                    "carId", data.randomCarId(random),
+                    "customerId", data.randomCustomerId(random),
+                    "pickUpDate", from,
+                    "returnDate", from + data.randomRentalLength(random),
+                    "pickUpLocation", "Counter A",
+                    "returnLocation", "Counter B"));
+        }
+
+        @Override
+        boolean isExpectedStatus(int status) {
+            return super.isExpectedStatus(status) || status == CONFLICT;
+        }
+    },
+    RESERVATION_BY_CUSTOMER {
+        @Override
+        HttpRequest computeRequest(LoadTestData data, ThreadLocalRandom random) {
+            return get(data, "/reservation/customer/" + data.randomCustomerId(random) + "?limit=" + PAGE_SIZE);
+        }
+    };
+
+    private static final int PAGE_SIZE = 50;
+
+    private static final int CONFLICT = 409;
+
+    private static final long REQUEST_TIMEOUT_SECONDS = 30;
+
+    /**
+     * Builds the next request of this operation.
+     *
+     * @param data   The seeded data and the address of the application.
+     * @param random The random source of the sending thread.
+     * @return The request.
+     */
+    abstract HttpRequest computeRequest(LoadTestData data, ThreadLocalRandom random);
+
+    /**
+     * @param status The HTTP status of a response.
+     * @return True if the status is a successful outcome of this operation, false if it counts as an error.
+     */
+    boolean isExpectedStatus(int status) {
+        return status >= 200 && status < 300;
+    }
+
+    private static HttpRequest get(LoadTestData data, String path) {
+        return HttpRequest.newBuilder(URI.create(data.baseUrl() + path))
+                .timeout(Duration.ofSeconds(REQUEST_TIMEOUT_SECONDS))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    private static HttpRequest send(LoadTestData data, String method, String path, Object body) {
+        return HttpRequest.newBuilder(URI.create(data.baseUrl() + path))
+                .timeout(Duration.ofSeconds(REQUEST_TIMEOUT_SECONDS))
+                .header("Accept", "application/json")
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofByteArray(data.toJson(body)))
+                .build();
+    }
+
+    private static String window(long from, long to) {
+        return "pickUpDate=" + Instant.ofEpochMilli(from) + "&returnDate=" + Instant.ofEpochMilli(to);
+    }
+}
@@ -0,0 +1,132 @@
+package com.design.car.rental.system.carrentalsystemapp.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The machine-readable summary of a run, written as JSON next to the percentile distribution files.
+ * Latencies are in milliseconds; "ALL" aggregates every operation.
+ *
+ * @param scenario             The scenario name.
+ * @param finishedAt           When the run completed.
+ * @param targetRatePerSecond  The arrival rate the generator was asked for.
+ * @param sentRatePerSecond    The arrival rate the generator achieved; well below the target means the generator
+ *                             itself was saturated and the numbers are not trustworthy.
+ * @param durationSeconds      The length of the measured phase.
+ * @param workers              The number of sending threads.
+ * @param maxBacklog           The largest number of requests waiting for a worker.
+ * @param drained              False if requests were still in flight when the run was cut off.
+ * @param operations           The summary per operation.
+ */
+public record LoadReport(String scenario, String finishedAt, int targetRatePerSecond, double sentRatePerSecond,
+                         long durationSeconds, int workers, long maxBacklog, boolean drained,
+                         Map<String, OperationReport> operations) {
+
+    /**
+     * Name of the entry aggregating every operation.
+     */
+    public static final String ALL = "ALL";
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final double MIN_SENT_RATIO = 0.95;
+
+    /**
+     * Summarizes a run.
+     *
+     * @param result The recorded run.
+     * @return The report.
+     */
+    public static LoadReport of(LoadResult result) {
+        Scenario scenario = result.scenario();
+        Map<String, OperationReport> operations = new LinkedHashMap<>();
+        Histogram allResponseTimes = null;
+        Histogram allServiceTimes = null;
+        long allErrors = 0;
+        for (Map.Entry<LoadOperation, LoadResult.OperationResult> entry : result.operations().entrySet()) {
+            LoadResult.OperationResult operation = entry.getValue();
+            operations.put(entry.getKey().name(), OperationReport.of(operation.responseTime(), operation.serviceTime(), operation.errors()));
+            if (allResponseTimes == null) {
+                allResponseTimes = operation.responseTime().copy();
+                allServiceTimes = operation.serviceTime().copy();
+            } else {
+                allResponseTimes.add(operation.responseTime());
+                allServiceTimes.add(operation.serviceTime());
+            }
+            allErrors += operation.errors();
+        }
+        if (allResponseTimes != null) {
+            operations.put(ALL, OperationReport.of(allResponseTimes, allServiceTimes, allErrors));
+        }
+        long durationSeconds = Math.max(1, scenario.duration().toSeconds());
+        return new LoadReport(scenario.name(), Instant.now().toString(), scenario.ratePerSecond(),
+                (double) result.sent() / durationSeconds, durationSeconds, scenario.workers(), result.maxBacklog(),
+                result.drained(), operations);
+    }
+
+    /**
+     * Checks the run on its own, with or without a baseline.
+     * - The run is invalid when the generator could not keep up with the target rate or did not drain, since its
+     *   latencies then understate what clients would see.
+     * - The run fails when an operation's error rate exceeds the budget.
+     *
+     * @param maxErrorRate The allowed share of failed requests per operation.
+     * @return One message per violation; empty if the run passes.
+     */
+    public List<String> computeViolations(double maxErrorRate) {
+        List<String> violations = new ArrayList<>();
+        if (sentRatePerSecond < targetRatePerSecond * MIN_SENT_RATIO) {
+            violations.add(String.format("generator sent %.1f req/s of the %d req/s target",
+                    sentRatePerSecond, targetRatePerSecond));
+        }
+        if (!drained) {
+            violations.add("requests were still in flight when the run was cut off");
+        }
+        operations.forEach((name, operation) -> {
+            if (operation.errorRate() > maxErrorRate) {
+                violations.add(String.format("%s error rate %.4f > %.4f", name, operation.errorRate(), maxErrorRate));
+            }
+        });
+        return violations;
+    }
+
+    /**
+     * @param count        The number of completed requests.
+     * @param errors       The number of failed requests or unexpected statuses.
+     * @param errorRate    errors / count.
+     * @param responseTime Latency from the scheduled start (coordinated omission corrected).
+     * @param serviceTime  Latency from the actual send.
+     */
+    public record OperationReport(long count, long errors, double errorRate, Latency responseTime, Latency serviceTime) {
+
+        static OperationReport of(Histogram responseTime, Histogram serviceTime, long errors) {
+            long count = responseTime.getTotalCount();
+            return new OperationReport(count, errors, count == 0 ? 0 : (double) errors / count,
+                    Latency.of(responseTime), Latency.of(serviceTime));
+        }
+    }
+
+    /**
+     * Percentiles of a latency distribution, in milliseconds.
+     */
+    public record Latency(double p50, double p90, double p99, double p999, double max, double mean) {
+
+        static Latency of(Histogram histogram) {
+            return new Latency(
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()),
+                    Math.round(histogram.getMean()) / MICROS_PER_MILLI);
+        }
+
+        private static double millis(long micros) {
+            return micros / MICROS_PER_MILLI;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.design.car.rental.system.carrentalsystemapp.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+
+/**
+ * The outcome of a load test run.
+ *
+ * @param scenario   The scenario that was driven, with overrides applied.
+ * @param sent       The number of requests started during the measured phase.
+ * @param maxBacklog The largest number of requests seen waiting for a worker during the measured phase.
+ * @param drained    False if requests were still in flight when the drain timeout expired.
+ * @param operations The results per operation.
+ */
+public record LoadResult(Scenario scenario, long sent, long maxBacklog, boolean drained,
+                         Map<LoadOperation, OperationResult> operations) {
+
+    /**
+     * @param responseTime Microseconds from the scheduled start to completion.
+     * @param serviceTime  Microseconds from the actual send to completion.
+     * @param errors       The number of requests that failed or returned an unexpected status.
+     */
+    public record OperationResult(Histogram responseTime, Histogram serviceTime, long errors) {
+    }
+}
@@ -0,0 +1,260 @@
+package com.design.car.rental.system.carrentalsystemapp.loadtest;
+
+import com.design.car.rental.system.carrentalsystemapp.dtos.UserImportRow;
+import com.design.car.rental.system.carrentalsystemapp.dtos.UserRequestDto;
+import com.design.car.rental.system.carrentalsystemapp.dtos.UserResponseDto;
+import com.design.car.rental.system.carrentalsystemapp.enums.CarCategoryEnum;
+import com.design.car.rental.system.carrentalsystemapp.enums.UserTypeEnum;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.RentalLocationNotFoundException;
+import com.design.car.rental.system.carrentalsystemapp.models.Address;
+import com.design.car.rental.system.carrentalsystemapp.models.CarReservation;
+import com.design.car.rental.system.carrentalsystemapp.repository.CarDetailsRepository;
+import com.design.car.rental.system.carrentalsystemapp.repository.CarReservationRepository;
+import com.design.car.rental.system.carrentalsystemapp.repository.UserRepository;
+import com.design.car.rental.system.carrentalsystemapp.services.impl.CarAvailabilityService;
+import com.design.car.rental.system.carrentalsystemapp.services.impl.CarService;
+import com.design.car.rental.system.carrentalsystemapp.services.impl.RentalLocationService;
+import com.design.car.rental.system.carrentalsystemapp.services.impl.UserService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Seeds the application with a scenario's data volume and hands out random targets for the requests.
+ * - Users get realistic names, so searches match a realistic number of candidates; one in three is a customer.
+ * - Cars are spread over the rental locations and categories.
+ * - Reservations start within the next 180 days and last one hour to three days, like the booking traffic.
+ * Seeding is deterministic for a given scenario.
+ */
+public final class LoadTestData {
+
+    private static final String[] FIRST_NAMES = {"James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael",
+            "Linda", "David", "Elizabeth", "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas",
+            "Sarah", "Charles", "Karen", "Priya", "Arjun", "Wei", "Mei", "Ahmed", "Fatima", "Carlos", "Sofia"};
+
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller",
+            "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas",
+            "Taylor", "Moore", "Jackson", "Martin", "Sharma", "Patel", "Chen", "Wang", "Khan", "Nguyen", "Kim", "Silva"};
+
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+    private static final long BOOKING_HORIZON = TimeUnit.DAYS.toMillis(180);
+    private static final int MAX_RENTAL_HOURS = 72;
+    private static final int SEED_BATCH = 5000;
+    private static final int PAGE_SIZE = 1000;
+    private static final long SEED = 42;
+
+    private final String baseUrl;
+    private final ObjectMapper objectMapper;
+    private final long[] userIds;
+    private final long[] customerIds;
+    private final long[] carIds;
+    private final long epoch;
+    private final AtomicInteger nextUserRow;
+
+    private LoadTestData(String baseUrl, ObjectMapper objectMapper, long[] userIds, long[] customerIds, long[] carIds,
+                         long epoch, int nextUserRow) {
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.userIds = userIds;
+        this.customerIds = customerIds;
+        this.carIds = carIds;
+        this.epoch = epoch;
+        this.nextUserRow = new AtomicInteger(nextUserRow);
+    }
+
+    /**
+     * Seeds the running application through its services and repositories.
+     *
+     * @param context  The running application.
+     * @param baseUrl  The address the application listens on.
+     * @param scenario The scenario whose data volume to seed.
+     * @return The seeded data.
+     * @throws RentalLocationNotFoundException Never; the cars are placed at locations created just before.
+     */
+    public static LoadTestData seed(ConfigurableApplicationContext context, String baseUrl, Scenario scenario)
+            throws RentalLocationNotFoundException {
+        SplittableRandom random = new SplittableRandom(SEED);
+        long epoch = System.currentTimeMillis();
+
+        RentalLocationService rentalLocationService = context.getBean(RentalLocationService.class);
+        long[] locationIds = new long[Math.max(1, scenario.locations())];
+        for (int i = 0; i < locationIds.length; i++) {
+            locationIds[i] = rentalLocationService.addLocation("Location " + i, i + " Station Road",
+                    40.5 + random.nextDouble() * 0.5, -74.2 + random.nextDouble() * 0.5).getId();
+        }
+
+        CarService carService = context.getBean(CarService.class);
+        CarCategoryEnum[] categories = CarCategoryEnum.values();
+        long[] carIds = new long[scenario.cars()];
+        for (int i = 0; i < carIds.length; i++) {
+            carIds[i] = carService.addCar("Car " + i, "Brand " + (i % 20), String.format("LT-%06d", i),
+                    categories[i % categories.length], String.valueOf(2015 + i % 10), random.nextInt(150_000),
+                    i % 4 == 0, null, locationIds[i % locationIds.length], null, null).getId();
+        }
+
+        UserService userService = context.getBean(UserService.class);
+        userService.importUsers(generatedUsers(scenario.users()));
+        userService.reloadUserSearchIndex();
+        long[] userIds = collectUserIds(userService, null);
+        long[] customerIds = collectUserIds(userService, UserTypeEnum.CUSTOMER);
+
+        if (scenario.reservations() > 0 && carIds.length > 0 && customerIds.length > 0) {
+            seedReservations(context, scenario.reservations(), carIds, customerIds, epoch, random);
+            context.getBean(CarAvailabilityService.class).reloadAvailability();
+        }
+        return new LoadTestData(baseUrl, context.getBean(ObjectMapper.class), userIds, customerIds, carIds, epoch,
+                scenario.users() + 1);
+    }
+
+    private static void seedReservations(ConfigurableApplicationContext context, int count, long[] carIds,
+                                         long[] customerIds, long epoch, SplittableRandom random) {
+        CarDetailsRepository carDetailsRepository = context.getBean(CarDetailsRepository.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        CarReservationRepository carReservationRepository = context.getBean(CarReservationRepository.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        for (int seeded = 0; seeded < count; seeded += SEED_BATCH) {
+            int batchSize = Math.min(SEED_BATCH, count - seeded);
+            transactionTemplate.executeWithoutResult(status -> {
+                List<CarReservation> batch = new ArrayList<>(batchSize);
+                for (int i = 0; i < batchSize; i++) {
+                    long from = epoch + random.nextLong(BOOKING_HORIZON);
+                    CarReservation carReservation = new CarReservation();
+                    carReservation.setCarDetails(carDetailsRepository.getReferenceById(carIds[random.nextInt(carIds.length)]));
+                    carReservation.setCustomerDetails(userRepository.getReferenceById(customerIds[random.nextInt(customerIds.length)]));
+                    carReservation.setPickUpDate(new Date(from));
+                    carReservation.setReturnDate(new Date(from + (1 + random.nextInt(MAX_RENTAL_HOURS)) * HOUR));
+                    carReservation.setActive(1);
+                    batch.add(carReservation);
+                }
+                carReservationRepository.saveAll(batch);
+            });
+        }
+    }
+
+    private static long[] collectUserIds(UserService userService, UserTypeEnum userType) {
+        List<Long> ids = new ArrayList<>();
+        long afterId = 0;
+        while (true) {
+            List<UserResponseDto> page = userType == null
+                    ? userService.getActiveUserDetailsPage(afterId, PAGE_SIZE)
+                    : userService.getUserDetailsPageByUserType(userType.getUserId(), afterId, PAGE_SIZE);
+            for (UserResponseDto user : page) {
+                ids.add(user.getUserId());
+            }
+            if (page.size() < PAGE_SIZE) {
+                return ids.stream().mapToLong(Long::longValue).toArray();
+            }
+            afterId = page.get(page.size() - 1).getUserId();
+        }
+    }
+
+    private static Iterator<UserImportRow> generatedUsers(int count) {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < count;
+            }
+
+            @Override
+            public UserImportRow next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int row = ++next;
+                return new UserImportRow(row, userRequest(row, row % 3), null);
+            }
+        };
+    }
+
+    /**
+     * Builds the request of a generated user; the row number keeps phone, email and license unique.
+     *
+     * @param row        The row number.
+     * @param userTypeId The user type.
+     * @return The user request.
+     */
+    private static UserRequestDto userRequest(int row, int userTypeId) {
+        Address address = new Address();
+        address.setStreet(row + " Main Street");
+        address.setCity("City " + (row % 500));
+        address.setState("State " + (row % 50));
+        address.setZip(String.format("%05d", row % 100000));
+        UserRequestDto userRequestDto = new UserRequestDto();
+        userRequestDto.setName(FIRST_NAMES[row % FIRST_NAMES.length] + " " + LAST_NAMES[(row / FIRST_NAMES.length) % LAST_NAMES.length]);
+        userRequestDto.setPhone(String.format("+1-555-%07d", row));
+        userRequestDto.setEmail("user" + row + "@example.com");
+        userRequestDto.setLicenseNo("LIC-" + row);
+        userRequestDto.setUserTypeId(userTypeId);
+        userRequestDto.setAddress(address);
+        return userRequestDto;
+    }
+
+    /**
+     * @return The address the application listens on, without a trailing slash.
+     */
+    public String baseUrl() {
+        return baseUrl;
+    }
+
+    long randomUserId(ThreadLocalRandom random) {
+        return userIds[random.nextInt(userIds.length)];
+    }
+
+    long randomCustomerId(ThreadLocalRandom random) {
+        return customerIds[random.nextInt(customerIds.length)];
+    }
+
+    long randomCarId(ThreadLocalRandom random) {
+        return carIds[random.nextInt(carIds.length)];
+    }
+
+    long randomPickUp(ThreadLocalRandom random) {
+        return epoch + random.nextLong(BOOKING_HORIZON) / HOUR * HOUR;
+    }
+
+    long randomRentalLength(ThreadLocalRandom random) {
+        return (1 + random.nextInt(MAX_RENTAL_HOURS)) * HOUR;
+    }
+
+    /**
+     * @param random The random source.
+     * @return A first name and the start of a last name, the way people type into the search box.
+     */
+    String randomSearchQuery(ThreadLocalRandom random) {
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + lastName.substring(0, Math.min(3, lastName.length()));
+    }
+
+    UserRequestDto newUserRequest(ThreadLocalRandom random) {
+        return userRequest(nextUserRow.getAndIncrement(), random.nextInt(UserTypeEnum.values().length));
+    }
+
+    UserRequestDto updatedUserRequest(long userId, ThreadLocalRandom random) {
+        UserRequestDto userRequestDto = userRequest(nextUserRow.getAndIncrement(), UserTypeEnum.CUSTOMER.getUserId());
+        userRequestDto.setName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[(int) (userId % LAST_NAMES.length)]);
+        return userRequestDto;
+    }
+
+    byte[] toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.design.car.rental.system.carrentalsystemapp.loadtest;
+
+import com.design.car.rental.system.carrentalsystemapp.CarRentalSystemAppApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Boots the application on a fresh in-memory database, seeds it, drives a scenario against it over HTTP and checks
+ * the result against the stored baseline. Exits with status 1 on a regression, so a release build can gate on it.
+ * - A scenario without a baseline fails before it is run; record one on the reference machine with update-baseline.
+ * - The error rate, generator rate and drain checks also apply to the run that records a baseline.
+ * Options ("key=value", optionally prefixed with "--"):
+ * - scenario: the scenario in loadtest/scenarios (default mixed); rate, warmup, duration and workers override it.
+ * - output: the directory for the JSON report and the percentile distribution files.
+ * - baselines: the directory holding one baseline file per scenario.
+ * - update-baseline: replace the baseline with this run instead of comparing; refused if the run fails those checks.
+ * Any other argument is passed to the application, e.g. --reservation.write-mode=BATCHED.
+ */
+public final class LoadTestRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    private static final String OPTION_PREFIX = "--";
+    private static final List<String> RUNNER_OPTIONS = List.of(
+            "scenario", "rate", "warmup", "duration", "workers", "output", "baselines", "update-baseline");
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            String option = arg.startsWith(OPTION_PREFIX) ? arg.substring(OPTION_PREFIX.length()) : arg;
+            int separator = option.indexOf('=');
+            String key = separator < 0 ? option : option.substring(0, separator);
+            if (RUNNER_OPTIONS.contains(key)) {
+                options.put(key, separator < 0 ? "true" : option.substring(separator + 1));
+            } else {
+                applicationArgs.add(arg);
+            }
+        }
+        ObjectMapper objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .build();
+        Scenario scenario = Scenario.load(objectMapper, options.getOrDefault("scenario", "mixed")).withOverrides(options);
+        Path output = Path.of(options.getOrDefault("output", "target/loadtest"));
+        Path baselineFile = Path.of(options.getOrDefault("baselines", "src/loadtest/baselines")).resolve(scenario.name() + ".json");
+        if (!options.containsKey("update-baseline") && !Files.exists(baselineFile)) {
+            LOGGER.error("No baseline for scenario {} at {}; record one on the reference machine with update-baseline",
+                    scenario.name(), baselineFile);
+            System.exit(1);
+        }
+
+        LoadReport report;
+        try (ConfigurableApplicationContext context = startApplication(applicationArgs)) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            long seedStart = System.nanoTime();
+            LoadTestData data = LoadTestData.seed(context, baseUrl, scenario);
+            LOGGER.info("Seeded {} users, {} cars and {} reservations in {} s", scenario.users(), scenario.cars(),
+                    scenario.reservations(), Duration.ofNanos(System.nanoTime() - seedStart).toSeconds());
+            LOGGER.info("Driving {} at {} req/s: {} warmup, {} measured, {} workers", scenario.name(),
+                    scenario.ratePerSecond(), scenario.warmup(), scenario.duration(), scenario.workers());
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            LoadResult result = new OpenModelLoadGenerator(httpClient, data, scenario).run();
+            report = LoadReport.of(result);
+            writeReport(objectMapper, output, result, report);
+        }
+
+        Baseline baseline = Files.exists(baselineFile) ? objectMapper.readValue(baselineFile.toFile(), Baseline.class) : null;
+        List<String> violations = report.computeViolations(
+                baseline != null ? baseline.maxErrorRate() : Baseline.DEFAULT_MAX_ERROR_RATE);
+        if (options.containsKey("update-baseline")) {
+            if (!violations.isEmpty()) {
+                violations.forEach(violation -> LOGGER.error("Invalid run: {}", violation));
+                LOGGER.error("Baseline {} not updated", baselineFile);
+                System.exit(1);
+            }
+            Files.createDirectories(baselineFile.getParent());
+            objectMapper.writeValue(baselineFile.toFile(), Baseline.of(report, baseline));
+            LOGGER.info("Baseline {} updated", baselineFile);
+            return;
+        }
+        violations.addAll(baseline.computeViolations(report));
+        if (!violations.isEmpty()) {
+            violations.forEach(violation -> LOGGER.error("Regression: {}", violation));
+            System.exit(1);
+        }
+        LOGGER.info("Within baseline {}", baselineFile);
+    }
+
+    /**
+     * Starts the application with a web server on a random port and a private in-memory H2 database.
+     *
+     * @param extraArgs Additional "--key=value" arguments.
+     * @return The running application context.
+     */
+    static ConfigurableApplicationContext startApplication(List<String> extraArgs) {
+        // DevTools would restart the runner's main method in a new class loader.
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.design.car.rental.system.carrentalsystemapp.loadtest=INFO",
+                "--spring.main.banner-mode=off"));
+        args.addAll(extraArgs);
+        return new SpringApplication(CarRentalSystemAppApplication.class).run(args.toArray(String[]::new));
+    }
+
+    /**
+     * Writes report.json and one HdrHistogram percentile distribution per operation (in milliseconds), and logs
+     * the headline numbers.
+     */
+    private static void writeReport(ObjectMapper objectMapper, Path output, LoadResult result, LoadReport report)
+            throws IOException {
+        Files.createDirectories(output);
+        objectMapper.writeValue(output.resolve("report.json").toFile(), report);
+        for (Map.Entry<LoadOperation, LoadResult.OperationResult> entry : result.operations().entrySet()) {
+            writeDistribution(output.resolve(entry.getKey().name() + ".response.hgrm"), entry.getValue().responseTime());
+            writeDistribution(output.resolve(entry.getKey().name() + ".service.hgrm"), entry.getValue().serviceTime());
+        }
+        report.operations().forEach((name, operation) -> LOGGER.info(
+                "{}: {} requests, {} errors, response p50 {} ms, p99 {} ms, p99.9 {} ms, max {} ms (service p99 {} ms)",
+                name, operation.count(), operation.errors(), operation.responseTime().p50(), operation.responseTime().p99(),
+                operation.responseTime().p999(), operation.responseTime().max(), operation.serviceTime().p99()));
+        LOGGER.info("Sent {} req/s, max backlog {}; report in {}", report.sentRatePerSecond(), report.maxBacklog(), output);
+    }
+
+    private static void writeDistribution(Path file, Histogram histogram) throws IOException {
+        try (PrintStream printStream = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(printStream, MICROS_PER_MILLI);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.design.car.rental.system.carrentalsystemapp.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a scenario's traffic at a constant arrival rate (open model).
+ * - A single dispatcher thread starts request i at start + i / rate, whether or not earlier requests have completed;
+ *   requests wait in the worker queue while all workers are busy.
+ * - Response time is measured from the scheduled start, so time spent queued behind a slow response is counted
+ *   (coordinated omission correction). Service time, measured from the actual send, is recorded alongside.
+ * - Latencies are recorded in microseconds into HdrHistograms, one pair per operation.
+ */
+public final class OpenModelLoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final long DRAIN_TIMEOUT_SECONDS = 60;
+    private static final long SEED = 7;
+
+    private final HttpClient httpClient;
+    private final LoadTestData data;
+    private final Scenario scenario;
+    private final Map<LoadOperation, OperationStats> statsByOperation = new EnumMap<>(LoadOperation.class);
+
+    /**
+     * @param httpClient The client to send requests with.
+     * @param data       The seeded data to pick request targets from.
+     * @param scenario   The traffic to drive.
+     */
+    public OpenModelLoadGenerator(HttpClient httpClient, LoadTestData data, Scenario scenario) {
+        this.httpClient = httpClient;
+        this.data = data;
+        this.scenario = scenario;
+        for (LoadOperation operation : scenario.mix().keySet()) {
+            statsByOperation.put(operation, new OperationStats());
+        }
+    }
+
+    /**
+     * Runs the warmup and the measured phase and waits for every request to complete.
+     *
+     * @return The recorded latencies and counts.
+     * @throws InterruptedException If the calling thread is interrupted.
+     */
+    public LoadResult run() throws InterruptedException {
+        LoadOperation[] operations = scenario.computeOperationTable();
+        SplittableRandom random = new SplittableRandom(SEED);
+        AtomicInteger workerNumber = new AtomicInteger();
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(scenario.workers(), scenario.workers(), 0, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "load-worker-" + workerNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        workers.prestartAllCoreThreads();
+
+        double nanosPerRequest = TimeUnit.SECONDS.toNanos(1) / (double) scenario.ratePerSecond();
+        long start = System.nanoTime();
+        long measureFrom = start + scenario.warmup().toNanos();
+        long end = measureFrom + scenario.duration().toNanos();
+        long sent = 0;
+        long maxBacklog = 0;
+        for (long i = 0; ; i++) {
+            long intendedStart = start + Math.round(i * nanosPerRequest);
+            if (intendedStart >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = intendedStart - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            LoadOperation operation = operations[random.nextInt(operations.length)];
+            boolean measured = intendedStart >= measureFrom;
+            workers.execute(() -> send(operation, intendedStart, measured));
+            if (measured) {
+                sent++;
+                maxBacklog = Math.max(maxBacklog, workers.getQueue().size());
+            }
+        }
+        workers.shutdown();
+        boolean drained = workers.awaitTermination(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        if (!drained) {
+            workers.shutdownNow();
+        }
+
+        Map<LoadOperation, LoadResult.OperationResult> results = new EnumMap<>(LoadOperation.class);
+        statsByOperation.forEach((operation, stats) -> results.put(operation, stats.toResult()));
+        return new LoadResult(scenario, sent, maxBacklog, drained, results);
+    }
+
+    private void send(LoadOperation operation, long intendedStart, boolean measured) {
+        long sendStart = System.nanoTime();
+        boolean expected;
+        try {
+            HttpResponse<Void> response = httpClient.send(
+                    operation.computeRequest(data, ThreadLocalRandom.current()), HttpResponse.BodyHandlers.discarding());
+            expected = operation.isExpectedStatus(response.statusCode());
+        } catch (IOException e) {
+            expected = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            expected = false;
+        }
+        long completed = System.nanoTime();
+        if (measured) {
+            statsByOperation.get(operation).record(completed - intendedStart, completed - sendStart, expected);
+        }
+    }
+
+    /**
+     * Latencies and counts of one operation; safe for concurrent recording.
+     */
+    private static final class OperationStats {
+
+        private final Histogram responseTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final LongAdder errors = new LongAdder();
+
+        void record(long responseNanos, long serviceNanos, boolean expected) {
+            responseTime.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(responseNanos)));
+            serviceTime.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(serviceNanos)));
+            if (!expected) {
+                errors.increment();
+            }
+        }
+
+        LoadResult.OperationResult toResult() {
+            return new LoadResult.OperationResult(responseTime.copy(), serviceTime.copy(), errors.sum());
+        }
+    }
+}
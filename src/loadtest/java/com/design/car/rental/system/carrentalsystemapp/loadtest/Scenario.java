@@ -0,0 +1,87 @@
+package com.design.car.rental.system.carrentalsystemapp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * A load test scenario: the data volume to seed and the traffic to drive.
+ * - Traffic is open-model; ratePerSecond requests are started every second regardless of how many are in flight.
+ * - The mix gives the relative weight of every operation.
+ * - Requests started during the warmup are sent but not recorded.
+ *
+ * @param name          The scenario name, also the name of its baseline file.
+ * @param ratePerSecond The arrival rate in requests per second.
+ * @param warmup        How long to drive traffic before recording.
+ * @param duration      How long to record.
+ * @param workers       The number of threads sending requests; bounds the requests in flight.
+ * @param users         The number of users to seed.
+ * @param cars          The number of cars to seed.
+ * @param locations     The number of rental locations to seed.
+ * @param reservations  The number of reservations to seed.
+ * @param mix           The weight of every operation.
+ */
+public record Scenario(String name, int ratePerSecond, Duration warmup, Duration duration, int workers,
+                       int users, int cars, int locations, int reservations, Map<LoadOperation, Integer> mix) {
+
+    private static final String SCENARIO_LOCATION = "loadtest/scenarios/%s.json";
+
+    /**
+     * Reads a scenario from the classpath.
+     *
+     * @param objectMapper The mapper to read it with.
+     * @param name         The scenario name.
+     * @return The scenario.
+     */
+    public static Scenario load(ObjectMapper objectMapper, String name) {
+        String location = String.format(SCENARIO_LOCATION, name);
+        try (InputStream inputStream = Scenario.class.getClassLoader().getResourceAsStream(location)) {
+            if (inputStream == null) {
+                throw new IllegalArgumentException("Unknown scenario " + name + ", expected " + location);
+            }
+            return objectMapper.readValue(inputStream, Scenario.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read scenario " + location, e);
+        }
+    }
+
+    /**
+     * Applies command line overrides of the traffic settings.
+     *
+     * @param options The parsed "--key=value" options; rate, warmup, duration and workers are recognised.
+     * @return The scenario with the overrides applied.
+     */
+    public Scenario withOverrides(Map<String, String> options) {
+        return new Scenario(name,
+                options.containsKey("rate") ? Integer.parseInt(options.get("rate")) : ratePerSecond,
+                options.containsKey("warmup") ? Duration.parse(options.get("warmup")) : warmup,
+                options.containsKey("duration") ? Duration.parse(options.get("duration")) : duration,
+                options.containsKey("workers") ? Integer.parseInt(options.get("workers")) : workers,
+                users, cars, locations, reservations, new EnumMap<>(mix));
+    }
+
+    /**
+     * Expands the mix into a table with one slot per unit of weight, so picking an operation is one array read.
+     *
+     * @return The operation table.
+     */
+    public LoadOperation[] computeOperationTable() {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        if (total <= 0) {
+            throw new IllegalArgumentException("Scenario " + name + " has no traffic mix");
+        }
+        LoadOperation[] table = new LoadOperation[total];
+        int slot = 0;
+        for (Map.Entry<LoadOperation, Integer> entry : mix.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                table[slot++] = entry.getKey();
+            }
+        }
+        return table;
+    }
+}
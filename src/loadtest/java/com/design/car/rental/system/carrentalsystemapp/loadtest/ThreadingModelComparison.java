@@ -0,0 +1,141 @@
+package com.design.car.rental.system.carrentalsystemapp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares the platform-thread and virtual-thread execution modes of the application under many concurrent
+ * connections, on the real endpoints (Tomcat, HikariCP, database admission, services and repositories).
+ * - For every concurrency and mode the application is booted on a fresh in-memory database with
+ *   spring.threads.virtual.enabled set accordingly, seeded, and driven by that many closed-model clients
+ *   (see {@link ClosedModelLoadGenerator}).
+ * - Platform mode serves requests on Tomcat's worker pool (server.tomcat.threads.max, 200 by default) and queues
+ *   the remaining connections; virtual mode serves every request on its own virtual thread, with
+ *   db.admission.max-concurrent bounding the requests that hold a database connection.
+ * - Virtual threads need a Java 21+ runtime, and Spring Boot silently ignores spring.threads.virtual.enabled on
+ *   older ones; the run fails fast unless the requested mode is actually active.
+ * - Clients and application share the JVM and the in-memory database, so absolute numbers understate a deployment
+ *   with network and database latency; compare the modes with each other.
+ * Options ("key=value", optionally prefixed with "--"):
+ * - scenario: the scenario whose data volume, traffic mix, warmup and duration to use (default threading-model).
+ * - concurrency: comma-separated numbers of concurrent clients (default 1000,5000,10000).
+ * - modes: comma-separated modes to run, platform and/or virtual (default both).
+ * - warmup, duration: override the scenario.
+ * - output: the directory for threading-model.json.
+ * Any other argument is passed to the application.
+ */
+public final class ThreadingModelComparison {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ThreadingModelComparison.class);
+
+    private static final String OPTION_PREFIX = "--";
+    private static final List<String> RUNNER_OPTIONS = List.of(
+            "scenario", "concurrency", "modes", "warmup", "duration", "output", "baselines");
+    private static final String PLATFORM = "platform";
+    private static final String VIRTUAL = "virtual";
+    private static final int VIRTUAL_THREADS_FEATURE_RELEASE = 21;
+
+    private ThreadingModelComparison() {
+    }
+
+    /**
+     * The outcome of one mode at one concurrency.
+     *
+     * @param mode                The execution mode, platform or virtual.
+     * @param concurrency         The number of concurrent clients.
+     * @param throughputPerSecond The completed requests per second of the measured phase.
+     * @param drained             False if clients were still waiting for responses when the run was cut off.
+     * @param all                 The latencies and errors over every operation.
+     */
+    public record Run(String mode, int concurrency, double throughputPerSecond, boolean drained,
+                      LoadReport.OperationReport all) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            String option = arg.startsWith(OPTION_PREFIX) ? arg.substring(OPTION_PREFIX.length()) : arg;
+            int separator = option.indexOf('=');
+            String key = separator < 0 ? option : option.substring(0, separator);
+            if (RUNNER_OPTIONS.contains(key)) {
+                options.put(key, separator < 0 ? "true" : option.substring(separator + 1));
+            } else {
+                applicationArgs.add(arg);
+            }
+        }
+        List<String> modes = Arrays.asList(options.getOrDefault("modes", PLATFORM + "," + VIRTUAL).split(","));
+        if (modes.contains(VIRTUAL) && Runtime.version().feature() < VIRTUAL_THREADS_FEATURE_RELEASE) {
+            throw new IllegalStateException("Virtual threads need a Java " + VIRTUAL_THREADS_FEATURE_RELEASE
+                    + "+ runtime, this is " + Runtime.version() + "; run with JAVA_HOME on a 21+ JDK or with modes=platform");
+        }
+        int[] concurrencies = Arrays.stream(options.getOrDefault("concurrency", "1000,5000,10000").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        ObjectMapper objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .build();
+        Scenario scenario = Scenario.load(objectMapper, options.getOrDefault("scenario", "threading-model")).withOverrides(options);
+        Path output = Path.of(options.getOrDefault("output", "target/loadtest"));
+
+        List<Run> runs = new ArrayList<>();
+        for (int concurrency : concurrencies) {
+            for (String mode : modes) {
+                runs.add(runMode(scenario, mode, concurrency, applicationArgs));
+            }
+        }
+        Files.createDirectories(output);
+        objectMapper.writeValue(output.resolve("threading-model.json").toFile(), runs);
+        runs.forEach(run -> LOGGER.info("{} threads, {} clients: {} req/s, p50 {} ms, p99 {} ms, p99.9 {} ms, errors {}{}",
+                run.mode(), run.concurrency(), Math.round(run.throughputPerSecond()), run.all().responseTime().p50(),
+                run.all().responseTime().p99(), run.all().responseTime().p999(), run.all().errors(),
+                run.drained() ? "" : " (not drained)"));
+        LOGGER.info("Comparison in {}", output.resolve("threading-model.json"));
+    }
+
+    /**
+     * Boots the application in one mode, seeds it and drives it with the given number of clients.
+     */
+    private static Run runMode(Scenario scenario, String mode, int concurrency, List<String> applicationArgs)
+            throws Exception {
+        if (!mode.equals(PLATFORM) && !mode.equals(VIRTUAL)) {
+            throw new IllegalArgumentException("Unknown mode " + mode + ", expected " + PLATFORM + " or " + VIRTUAL);
+        }
+        boolean virtual = mode.equals(VIRTUAL);
+        List<String> args = new ArrayList<>(applicationArgs);
+        args.add("--spring.threads.virtual.enabled=" + virtual);
+        try (ConfigurableApplicationContext context = LoadTestRunner.startApplication(args)) {
+            if (Threading.VIRTUAL.isActive(context.getEnvironment()) != virtual) {
+                throw new IllegalStateException("The application did not start in " + mode + " mode");
+            }
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            LoadTestData data = LoadTestData.seed(context, baseUrl, scenario);
+            LOGGER.info("Driving {} with {} clients in {} mode: {} warmup, {} measured", scenario.name(), concurrency,
+                    mode, scenario.warmup(), scenario.duration());
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+            LoadResult result = new ClosedModelLoadGenerator(httpClient, data, scenario, concurrency).run();
+            LoadReport report = LoadReport.of(result);
+            return new Run(mode, concurrency, report.sentRatePerSecond(), result.drained(),
+                    report.operations().get(LoadReport.ALL));
+        }
+    }
+}
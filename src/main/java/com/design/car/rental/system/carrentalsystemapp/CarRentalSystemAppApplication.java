@@ -2,12 +2,22 @@ package com.design.car.rental.system.carrentalsystemapp;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableCaching
+@EnableScheduling
 public class CarRentalSystemAppApplication {
 
+    // Startup steps kept for the startup report and the actuator startup endpoint.
+    private static final int STARTUP_STEP_CAPACITY = 4096;
+
     public static void main(String[] args) {
-        SpringApplication.run(CarRentalSystemAppApplication.class, args);
+        SpringApplication application = new SpringApplication(CarRentalSystemAppApplication.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+        application.run(args);
     }
 
 }
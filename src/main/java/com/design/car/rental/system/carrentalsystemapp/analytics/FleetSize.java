@@ -0,0 +1,8 @@
+package com.design.car.rental.system.carrentalsystemapp.analytics;
+
+/**
+ * @param dimensionKey The rollup dimension key, e.g. a rental location ID.
+ * @param cars         The number of cars under that key.
+ */
+public record FleetSize(long dimensionKey, long cars) {
+}
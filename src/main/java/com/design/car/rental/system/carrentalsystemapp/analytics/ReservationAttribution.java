@@ -0,0 +1,20 @@
+package com.design.car.rental.system.carrentalsystemapp.analytics;
+
+import com.design.car.rental.system.carrentalsystemapp.enums.CarCategoryEnum;
+
+import java.util.Date;
+
+/**
+ * The current state of a reservation, together with the category and rental location of its car.
+ *
+ * @param reservationId The ID of the reservation.
+ * @param carId         The ID of the reserved car.
+ * @param category      The category of the car.
+ * @param locationId    The ID of the rental location of the car, or null if it has none.
+ * @param pickUpDate    The start of the reserved window (inclusive).
+ * @param returnDate    The end of the reserved window (exclusive).
+ * @param active        1 for an active reservation, 0 for a cancelled one.
+ */
+public record ReservationAttribution(long reservationId, long carId, CarCategoryEnum category, Long locationId,
+                                     Date pickUpDate, Date returnDate, int active) {
+}
@@ -0,0 +1,13 @@
+package com.design.car.rental.system.carrentalsystemapp.analytics;
+
+import com.design.car.rental.system.carrentalsystemapp.enums.RollupDimension;
+
+import java.time.LocalDate;
+
+/**
+ * @param day          The day of the bucket (UTC).
+ * @param dimension    The dimension of the bucket.
+ * @param dimensionKey The car ID, category ordinal or rental location ID.
+ */
+public record RollupKey(LocalDate day, RollupDimension dimension, long dimensionKey) {
+}
@@ -0,0 +1,102 @@
+package com.design.car.rental.system.carrentalsystemapp.analytics;
+
+import com.design.car.rental.system.carrentalsystemapp.enums.CarCategoryEnum;
+import com.design.car.rental.system.carrentalsystemapp.enums.RollupDimension;
+import com.design.car.rental.system.carrentalsystemapp.pricing.PricingTables;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accumulates signed changes to utilization buckets before they are written.
+ * - A reservation window is split at UTC midnights; every slice is added to the car, category and
+ *   rental location bucket of its day.
+ * - Revenue is the list price: the category's daily rate with the season multiplier of the day,
+ *   pro-rated by the booked share of the day.
+ * - Removing a window with the same arguments it was added with cancels it out exactly, so deltas of
+ *   many reservations can be merged and only the buckets they touch are written.
+ */
+public final class UtilizationDeltas {
+
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    private final PricingTables pricingTables;
+
+    private final Map<RollupKey, Totals> totals = new HashMap<>();
+
+    public UtilizationDeltas(PricingTables pricingTables) {
+        this.pricingTables = pricingTables;
+    }
+
+    /**
+     * Adds or removes the part of a reservation window that falls inside [clipFrom, clipTo).
+     *
+     * @param carId        The ID of the reserved car.
+     * @param category     The category of the car.
+     * @param locationId   The ID of the rental location of the car (0 if it has none).
+     * @param pickUpMillis The start of the window in epoch milliseconds (inclusive).
+     * @param returnMillis The end of the window in epoch milliseconds (exclusive).
+     * @param clipFrom     The start of the range to account for (inclusive); must be a UTC midnight or Long.MIN_VALUE.
+     * @param clipTo       The end of the range to account for (exclusive); must be a UTC midnight or Long.MAX_VALUE.
+     * @param sign         1 to add the window, -1 to remove it.
+     */
+    public void add(long carId, CarCategoryEnum category, long locationId, long pickUpMillis, long returnMillis,
+                    long clipFrom, long clipTo, int sign) {
+        long from = Math.max(pickUpMillis, clipFrom);
+        long to = Math.min(returnMillis, clipTo);
+        for (long dayStart = Math.floorDiv(from, DAY) * DAY; dayStart < to; dayStart += DAY) {
+            long booked = Math.min(to, dayStart + DAY) - Math.max(from, dayStart);
+            LocalDate day = LocalDate.ofEpochDay(dayStart / DAY);
+            long revenue = pricingTables.listDailyRateCents(category.ordinal(), day.getMonthValue()) * booked / DAY;
+            addSlice(new RollupKey(day, RollupDimension.CAR, carId), booked, revenue, sign);
+            addSlice(new RollupKey(day, RollupDimension.CATEGORY, category.ordinal()), booked, revenue, sign);
+            addSlice(new RollupKey(day, RollupDimension.LOCATION, locationId), booked, revenue, sign);
+        }
+    }
+
+    /**
+     * @return The accumulated change per bucket; buckets whose changes cancelled out are included with zeros.
+     */
+    public Map<RollupKey, Totals> totals() {
+        return totals;
+    }
+
+    public boolean isEmpty() {
+        return totals.isEmpty();
+    }
+
+    private void addSlice(RollupKey key, long bookedMillis, long revenueCents, int sign) {
+        Totals bucket = totals.computeIfAbsent(key, k -> new Totals());
+        bucket.bookedMillis += sign * bookedMillis;
+        bucket.revenueCents += sign * revenueCents;
+        bucket.reservationCount += sign;
+    }
+
+    /**
+     * Signed change of one bucket.
+     */
+    public static final class Totals {
+
+        private long bookedMillis;
+        private long revenueCents;
+        private int reservationCount;
+
+        public long bookedMillis() {
+            return bookedMillis;
+        }
+
+        public long revenueCents() {
+            return revenueCents;
+        }
+
+        public int reservationCount() {
+            return reservationCount;
+        }
+
+        public boolean isZero() {
+            return bookedMillis == 0 && revenueCents == 0 && reservationCount == 0;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.design.car.rental.system.carrentalsystemapp.archive;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Bloom filter over the car or customer IDs of an archive file, kept in memory with the file header so a query for
+ * one car or customer can skip the files that cannot hold it without decompressing them.
+ * - About 10 bits per distinct ID and 7 probes, for roughly 1% false positives; there are no false negatives.
+ * - Immutable once built.
+ */
+public final class ArchiveIdFilter {
+
+    private static final int BITS_PER_ID = 10;
+
+    private static final int PROBES = 7;
+
+    private final long[] words;
+
+    private ArchiveIdFilter(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * Builds a filter over the first rows IDs of a column.
+     *
+     * @param ids  The column; its order does not matter.
+     * @param rows The number of IDs to take from the column.
+     * @return The filter.
+     */
+    public static ArchiveIdFilter of(long[] ids, int rows) {
+        long[] sorted = Arrays.copyOf(ids, rows);
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < rows; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                distinct++;
+            }
+        }
+        long[] words = new long[Math.max(1, (int) Math.min(Integer.MAX_VALUE / 64, ((long) distinct * BITS_PER_ID + 63) / 64))];
+        long bits = (long) words.length * 64;
+        for (int i = 0; i < rows; i++) {
+            long hash = mix(sorted[i]);
+            int step = (int) (hash >>> 32) | 1;
+            for (int probe = 0; probe < PROBES; probe++) {
+                long bit = Math.floorMod((int) hash + probe * step, bits);
+                words[(int) (bit >>> 6)] |= 1L << bit;
+            }
+        }
+        return new ArchiveIdFilter(words);
+    }
+
+    /**
+     * @param id The car or customer ID.
+     * @return False if the file certainly holds no reservation with this ID; true if it may.
+     */
+    public boolean mayContain(long id) {
+        long bits = (long) words.length * 64;
+        long hash = mix(id);
+        int step = (int) (hash >>> 32) | 1;
+        for (int probe = 0; probe < PROBES; probe++) {
+            long bit = Math.floorMod((int) hash + probe * step, bits);
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The size of the serialized filter in bytes.
+     */
+    public int serializedBytes() {
+        return Integer.BYTES + words.length * Long.BYTES;
+    }
+
+    /**
+     * Writes the filter: the number of 64-bit words followed by the words.
+     */
+    public void writeTo(ByteBuffer target) {
+        target.putInt(words.length);
+        for (long word : words) {
+            target.putLong(word);
+        }
+    }
+
+    /**
+     * Reads a filter written by {@link #writeTo}.
+     *
+     * @throws IllegalArgumentException If the buffer does not hold a complete filter.
+     */
+    public static ArchiveIdFilter readFrom(ByteBuffer source) {
+        int length = source.getInt();
+        if (length <= 0 || length > source.remaining() / Long.BYTES) {
+            throw new IllegalArgumentException("Malformed archive ID filter of " + length + " words");
+        }
+        long[] words = new long[length];
+        for (int i = 0; i < length; i++) {
+            words[i] = source.getLong();
+        }
+        return new ArchiveIdFilter(words);
+    }
+
+    // The finalizer of MurmurHash3, so that consecutive IDs spread over the whole filter.
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
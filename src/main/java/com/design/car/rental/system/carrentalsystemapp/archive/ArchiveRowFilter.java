@@ -0,0 +1,15 @@
+package com.design.car.rental.system.carrentalsystemapp.archive;
+
+/**
+ * Decides whether a reservation of an archive segment belongs to a query, reading only the columns it needs.
+ */
+@FunctionalInterface
+public interface ArchiveRowFilter {
+
+    /**
+     * @param segment The decoded segment.
+     * @param index   The index of the reservation in the segment.
+     * @return True if the reservation matches.
+     */
+    boolean matches(ReservationArchiveSegment segment, int index);
+}
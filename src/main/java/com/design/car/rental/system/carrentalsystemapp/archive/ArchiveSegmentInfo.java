@@ -0,0 +1,53 @@
+package com.design.car.rental.system.carrentalsystemapp.archive;
+
+import java.nio.file.Path;
+
+/**
+ * The header of an archive file: enough to decide whether a query has to decompress it.
+ * Files of format version 1 carry no ID filters; they may hold any car or customer.
+ *
+ * @param path       The archive file.
+ * @param rows       The number of reservations in the file.
+ * @param minId      The lowest reservation ID in the file.
+ * @param maxId      The highest reservation ID in the file.
+ * @param minPickUp  The earliest pick-up time in the file, in epoch milliseconds.
+ * @param maxReturn  The latest return time in the file, in epoch milliseconds.
+ * @param archivedAt The time the file was written, in epoch milliseconds.
+ * @param cars       The filter over the car IDs in the file, or null if the file has none.
+ * @param customers  The filter over the customer IDs in the file, or null if the file has none.
+ */
+public record ArchiveSegmentInfo(Path path, int rows, long minId, long maxId, long minPickUp, long maxReturn,
+                                 long archivedAt, ArchiveIdFilter cars, ArchiveIdFilter customers) {
+
+    /**
+     * @param from The start of the window in epoch milliseconds (inclusive).
+     * @param to   The end of the window in epoch milliseconds (exclusive).
+     * @return True if a reservation of this file can overlap the window.
+     */
+    public boolean mayOverlap(long from, long to) {
+        return minPickUp < to && maxReturn > from;
+    }
+
+    /**
+     * @param carId The ID of a car.
+     * @return False if the file certainly holds no reservation of the car.
+     */
+    public boolean mayHoldCar(long carId) {
+        return cars == null || cars.mayContain(carId);
+    }
+
+    /**
+     * @param customerId The ID of a customer.
+     * @return False if the file certainly holds no reservation of the customer.
+     */
+    public boolean mayHoldCustomer(long customerId) {
+        return customers == null || customers.mayContain(customerId);
+    }
+
+    /**
+     * @return The size of the ID filters stored between the header and the compressed columns, in bytes.
+     */
+    int filterBytes() {
+        return cars == null ? 0 : cars.serializedBytes() + customers.serializedBytes();
+    }
+}
@@ -0,0 +1,27 @@
+package com.design.car.rental.system.carrentalsystemapp.archive;
+
+import com.design.car.rental.system.carrentalsystemapp.enums.CarCategoryEnum;
+
+import java.util.Date;
+
+/**
+ * A reservation as it is written to the archive, together with the category and rental location its car had
+ * when it was archived, so archived history can be attributed without the car rows.
+ *
+ * @param reservationId  The ID of the reservation.
+ * @param carId          The ID of the reserved car.
+ * @param customerId     The ID of the customer.
+ * @param driverId       The ID of the driver, or null if none was assigned.
+ * @param pickUpDate     The start of the reserved window (inclusive).
+ * @param returnDate     The end of the reserved window (exclusive).
+ * @param pickUpLocation The pick-up location.
+ * @param returnLocation The return location.
+ * @param active         1 for a completed reservation, 0 for a cancelled one.
+ * @param journalSeq     The journal sequence number the reservation was written from, or null.
+ * @param category       The category of the car, or null if it had none.
+ * @param locationId     The ID of the rental location of the car, or null if it had none.
+ */
+public record ArchivedReservation(long reservationId, long carId, long customerId, Long driverId, Date pickUpDate,
+                                  Date returnDate, String pickUpLocation, String returnLocation, int active,
+                                  Long journalSeq, CarCategoryEnum category, Long locationId) {
+}
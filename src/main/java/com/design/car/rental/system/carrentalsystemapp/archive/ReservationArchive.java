@@ -0,0 +1,248 @@
+package com.design.car.rental.system.carrentalsystemapp.archive;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Local-disk archive of reservations that have been moved out of the car_reservation table.
+ * - Every archive run writes one {@link ReservationArchiveSegment} file per month of return dates, named
+ *   reservations-yyyy-MM-archivedAt.rca. Files are never modified after they are written.
+ * - Only the headers and ID filters are read on startup; queries skip files by their ID and date ranges and by the
+ *   car and customer ID filters, and decompress the rest on demand into a cache bounded by reservation.archive.cache-rows.
+ * - The archive is the only copy of what it holds, so a file that cannot be read fails the startup.
+ */
+@Component
+public class ReservationArchive {
+
+    private static final String SEGMENT_PREFIX = "reservations-";
+
+    private static final String SEGMENT_SUFFIX = ".rca";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${reservation.archive.dir:data/reservation-archive}")
+    private Path directory;
+
+    @Value("${reservation.archive.cache-rows:1000000}")
+    private long cacheRows;
+
+    private final List<ArchiveSegmentInfo> segments = new CopyOnWriteArrayList<>();
+
+    private Cache<Path, ReservationArchiveSegment> cache;
+
+    /**
+     * Reads the headers of the archive files, deletes files left half-written by a crash and registers the archive metrics.
+     *
+     * @throws IOException If the directory cannot be used or an archive file is unreadable.
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(directory);
+        cache = Caffeine.newBuilder()
+                .maximumWeight(cacheRows)
+                .weigher((Path path, ReservationArchiveSegment segment) -> segment.size())
+                .build();
+        List<ArchiveSegmentInfo> found = new ArrayList<>();
+        try (Stream<Path> listing = Files.list(directory)) {
+            for (Path file : listing.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX)).toList()) {
+                if (file.getFileName().toString().endsWith(SEGMENT_SUFFIX)) {
+                    found.add(ReservationArchiveSegment.readHeader(file));
+                } else {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+        segments.addAll(found);
+        Gauge.builder("reservation.archive.reservations", segments,
+                        list -> list.stream().mapToLong(ArchiveSegmentInfo::rows).sum())
+                .description("Reservations held in the archive files")
+                .register(meterRegistry);
+        Gauge.builder("reservation.archive.files", segments, List::size)
+                .description("Reservation archive files")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Writes the reservations collected for one month as a new archive file.
+     *
+     * @param month  The month of the return dates of the reservations.
+     * @param writer The collected reservations.
+     * @return The header of the new file.
+     * @throws IOException If the file cannot be written; the archive is unchanged then.
+     */
+    public ArchiveSegmentInfo append(YearMonth month, ReservationArchiveSegmentWriter writer) throws IOException {
+        long archivedAt = System.currentTimeMillis();
+        Path target = directory.resolve(SEGMENT_PREFIX + month + "-" + archivedAt + SEGMENT_SUFFIX);
+        ArchiveSegmentInfo info = writer.write(target, archivedAt);
+        segments.add(info);
+        return info;
+    }
+
+    /**
+     * Checks whether a reservation has already been archived.
+     * Only files whose date range covers the return time are decompressed, so checking the reservations of a
+     * month that has not been archived before reads no file at all.
+     *
+     * @param reservationId The ID of the reservation.
+     * @param returnTime    The return time of the reservation, in epoch milliseconds.
+     * @return True if an archive file holds the reservation.
+     */
+    public boolean contains(long reservationId, long returnTime) {
+        for (ArchiveSegmentInfo info : segments) {
+            if (info.minId() > reservationId || info.maxId() < reservationId
+                    || returnTime <= info.minPickUp() || returnTime > info.maxReturn()) {
+                continue;
+            }
+            if (load(info).indexOf(reservationId) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds an archived reservation by its ID, decompressing only files whose ID range covers it.
+     *
+     * @param reservationId The ID of the reservation.
+     * @return The reservation, if it is archived.
+     */
+    public Optional<ArchivedReservation> findById(long reservationId) {
+        for (ArchiveSegmentInfo info : segments) {
+            if (info.minId() > reservationId || info.maxId() < reservationId) {
+                continue;
+            }
+            ReservationArchiveSegment segment = load(info);
+            int index = segment.indexOf(reservationId);
+            if (index >= 0) {
+                return Optional.of(segment.get(index));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Finds an archived reservation by the journal sequence number it was written from.
+     * Has to look at every file, which is fine for the rare lookups of old journal sequence numbers.
+     *
+     * @param journalSeq The journal sequence number.
+     * @return The reservation, if it is archived.
+     */
+    public Optional<ArchivedReservation> findByJournalSeq(long journalSeq) {
+        List<ArchivedReservation> found = findPage((segment, index) -> segment.journalSeq(index) == journalSeq, 0, 1);
+        return found.isEmpty() ? Optional.empty() : Optional.of(found.get(0));
+    }
+
+    /**
+     * Finds one page of archived reservations ordered by ID.
+     *
+     * @param filter  The condition the reservations have to meet.
+     * @param afterId The ID to start after; files holding only lower IDs are skipped.
+     * @param limit   The maximum number of reservations to return.
+     * @return At most limit matching reservations with IDs greater than afterId, in ascending ID order.
+     */
+    public List<ArchivedReservation> findPage(ArchiveRowFilter filter, long afterId, int limit) {
+        return findPage(info -> info.maxId() > afterId, filter, afterId, limit);
+    }
+
+    /**
+     * Finds one page of the archived reservations of a car, ordered by ID.
+     * Files whose car ID filter rules the car out are not decompressed.
+     *
+     * @param carId   The ID of the car.
+     * @param active  1 for active reservations, 0 for cancelled ones.
+     * @param afterId The ID to start after.
+     * @param limit   The maximum number of reservations to return.
+     * @return At most limit reservations with IDs greater than afterId, in ascending ID order.
+     */
+    public List<ArchivedReservation> findCarPage(long carId, int active, long afterId, int limit) {
+        return findPage(info -> info.maxId() > afterId && info.mayHoldCar(carId),
+                (segment, index) -> segment.carId(index) == carId && segment.active(index) == active, afterId, limit);
+    }
+
+    /**
+     * Finds one page of the archived reservations of a customer, ordered by ID.
+     * Files whose customer ID filter rules the customer out are not decompressed.
+     *
+     * @param customerId The ID of the customer.
+     * @param active     1 for active reservations, 0 for cancelled ones.
+     * @param afterId    The ID to start after.
+     * @param limit      The maximum number of reservations to return.
+     * @return At most limit reservations with IDs greater than afterId, in ascending ID order.
+     */
+    public List<ArchivedReservation> findCustomerPage(long customerId, int active, long afterId, int limit) {
+        return findPage(info -> info.maxId() > afterId && info.mayHoldCustomer(customerId),
+                (segment, index) -> segment.customerId(index) == customerId && segment.active(index) == active, afterId, limit);
+    }
+
+    /**
+     * Finds one page of archived reservations overlapping a window, cancelled ones included, ordered by ID.
+     *
+     * @param from    The start of the window in epoch milliseconds (inclusive).
+     * @param to      The end of the window in epoch milliseconds (exclusive).
+     * @param afterId The ID to start after.
+     * @param limit   The maximum number of reservations to return.
+     * @return At most limit reservations with IDs greater than afterId, in ascending ID order.
+     */
+    public List<ArchivedReservation> findOverlappingPage(long from, long to, long afterId, int limit) {
+        return findPage(info -> info.maxId() > afterId && info.mayOverlap(from, to),
+                (segment, index) -> segment.pickUp(index) < to && segment.returnTime(index) > from, afterId, limit);
+    }
+
+    private List<ArchivedReservation> findPage(Predicate<ArchiveSegmentInfo> candidate,
+                                               ArchiveRowFilter filter, long afterId, int limit) {
+        // IDs of different files interleave, so every candidate file contributes up to a page before the merge.
+        List<ArchivedReservation> matches = new ArrayList<>();
+        for (ArchiveSegmentInfo info : segments) {
+            if (!candidate.test(info)) {
+                continue;
+            }
+            ReservationArchiveSegment segment = load(info);
+            int found = 0;
+            for (int index = segment.firstIndexAfter(afterId); index < segment.size() && found < limit; index++) {
+                if (filter.matches(segment, index)) {
+                    matches.add(segment.get(index));
+                    found++;
+                }
+            }
+        }
+        matches.sort(Comparator.comparingLong(ArchivedReservation::reservationId));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    /**
+     * @return The headers of all archive files.
+     */
+    public List<ArchiveSegmentInfo> getSegments() {
+        return List.copyOf(segments);
+    }
+
+    private ReservationArchiveSegment load(ArchiveSegmentInfo info) {
+        return cache.get(info.path(), path -> {
+            try {
+                return ReservationArchiveSegment.read(info);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read reservation archive " + path, e);
+            }
+        });
+    }
+}
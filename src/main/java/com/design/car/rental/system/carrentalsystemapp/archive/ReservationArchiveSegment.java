@@ -0,0 +1,296 @@
+package com.design.car.rental.system.carrentalsystemapp.archive;
+
+import com.design.car.rental.system.carrentalsystemapp.enums.CarCategoryEnum;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * One archive file of reservations, decoded into columns.
+ * - The file starts with a fixed 64 byte header (magic, version, row count, size of the ID filters, ranges of IDs,
+ *   pick-up and return times, archive time) followed by uncompressed Bloom filters over the car and customer IDs
+ *   (since version 2), so queries can skip a file without decompressing it.
+ * - The rest is GZIP compressed and stored column by column in reservation ID order: IDs as deltas, foreign keys
+ *   and journal sequence numbers as variable-length integers (0 for none), pick-up times as deltas, return times
+ *   as the length of the rental, and the locations as indexes into a dictionary of the file (0 for none).
+ * - Instances are immutable and safe to share between threads.
+ */
+public final class ReservationArchiveSegment {
+
+    static final int MAGIC = 0x52415243;
+
+    static final int VERSION = 2;
+
+    // Files without ID filters, written before version 2; still readable.
+    static final int VERSION_WITHOUT_FILTERS = 1;
+
+    static final int HEADER_BYTES = 64;
+
+    private static final CarCategoryEnum[] CATEGORIES = CarCategoryEnum.values();
+
+    private final ArchiveSegmentInfo info;
+    private final long[] ids;
+    private final long[] carIds;
+    private final long[] customerIds;
+    private final long[] driverIds;
+    private final long[] pickUps;
+    private final long[] returns;
+    private final byte[] actives;
+    private final long[] journalSeqs;
+    private final byte[] categories;
+    private final long[] locationIds;
+    private final int[] pickUpLocations;
+    private final int[] returnLocations;
+    private final String[] dictionary;
+
+    private ReservationArchiveSegment(ArchiveSegmentInfo info, DataInputStream in) throws IOException {
+        this.info = info;
+        int rows = info.rows();
+        dictionary = new String[readVarInt(in) + 1];
+        for (int i = 1; i < dictionary.length; i++) {
+            byte[] bytes = new byte[readVarInt(in)];
+            in.readFully(bytes);
+            dictionary[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        ids = new long[rows];
+        long previous = 0;
+        for (int i = 0; i < rows; i++) {
+            previous += readVarLong(in);
+            ids[i] = previous;
+        }
+        carIds = readVarLongs(in, rows);
+        customerIds = readVarLongs(in, rows);
+        driverIds = readVarLongs(in, rows);
+        pickUps = new long[rows];
+        previous = 0;
+        for (int i = 0; i < rows; i++) {
+            previous += decodeZigZag(readVarLong(in));
+            pickUps[i] = previous;
+        }
+        returns = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            returns[i] = pickUps[i] + decodeZigZag(readVarLong(in));
+        }
+        actives = new byte[rows];
+        in.readFully(actives);
+        journalSeqs = readVarLongs(in, rows);
+        categories = new byte[rows];
+        in.readFully(categories);
+        locationIds = readVarLongs(in, rows);
+        pickUpLocations = readVarInts(in, rows);
+        returnLocations = readVarInts(in, rows);
+    }
+
+    /**
+     * Reads the header of an archive file without decompressing the rest.
+     *
+     * @param file The archive file.
+     * @return The header.
+     * @throws IOException If the file cannot be read or is not an archive file of a supported version.
+     */
+    public static ArchiveSegmentInfo readHeader(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    throw new IOException("Truncated reservation archive header in " + file);
+                }
+            }
+            header.flip();
+            int version = header.getInt(4);
+            if (header.getInt() != MAGIC || (version != VERSION && version != VERSION_WITHOUT_FILTERS)) {
+                throw new IOException("Not a reservation archive of version " + VERSION + ": " + file);
+            }
+            header.getInt();
+            int rows = header.getInt();
+            int filterBytes = header.getInt();
+            long minId = header.getLong();
+            long maxId = header.getLong();
+            long minPickUp = header.getLong();
+            long maxReturn = header.getLong();
+            long archivedAt = header.getLong();
+            if (version == VERSION_WITHOUT_FILTERS) {
+                return new ArchiveSegmentInfo(file, rows, minId, maxId, minPickUp, maxReturn, archivedAt, null, null);
+            }
+            ByteBuffer filters = ByteBuffer.allocate(filterBytes);
+            while (filters.hasRemaining()) {
+                if (channel.read(filters) < 0) {
+                    throw new IOException("Truncated reservation archive ID filters in " + file);
+                }
+            }
+            filters.flip();
+            try {
+                return new ArchiveSegmentInfo(file, rows, minId, maxId, minPickUp, maxReturn, archivedAt,
+                        ArchiveIdFilter.readFrom(filters), ArchiveIdFilter.readFrom(filters));
+            } catch (IllegalArgumentException | BufferUnderflowException e) {
+                throw new IOException("Corrupt reservation archive ID filters in " + file, e);
+            }
+        }
+    }
+
+    /**
+     * Decompresses and decodes a whole archive file.
+     *
+     * @param info The header of the file, as returned by {@link #readHeader}.
+     * @return The decoded segment.
+     * @throws IOException If the file cannot be read or is corrupt.
+     */
+    public static ReservationArchiveSegment read(ArchiveSegmentInfo info) throws IOException {
+        try (FileChannel channel = FileChannel.open(info.path(), StandardOpenOption.READ)) {
+            channel.position(HEADER_BYTES + info.filterBytes());
+            DataInputStream in = new DataInputStream(new BufferedInputStream(
+                    new GZIPInputStream(Channels.newInputStream(channel), 1 << 16), 1 << 16));
+            return new ReservationArchiveSegment(info, in);
+        }
+    }
+
+    /**
+     * @return The header of the file this segment was read from.
+     */
+    public ArchiveSegmentInfo getInfo() {
+        return info;
+    }
+
+    /**
+     * @return The number of reservations in the segment.
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Finds a reservation by its ID with a binary search.
+     *
+     * @param reservationId The ID of the reservation.
+     * @return The index of the reservation, or -1 if it is not in this segment.
+     */
+    public int indexOf(long reservationId) {
+        int index = Arrays.binarySearch(ids, reservationId);
+        return index < 0 ? -1 : index;
+    }
+
+    /**
+     * Finds the first reservation with an ID greater than the given one.
+     *
+     * @param afterId The reservation ID to start after.
+     * @return The index of the first such reservation, or {@link #size()} if there is none.
+     */
+    public int firstIndexAfter(long afterId) {
+        int index = Arrays.binarySearch(ids, afterId);
+        return index < 0 ? -index - 1 : index + 1;
+    }
+
+    public long reservationId(int index) {
+        return ids[index];
+    }
+
+    public long carId(int index) {
+        return carIds[index];
+    }
+
+    public long customerId(int index) {
+        return customerIds[index];
+    }
+
+    public long pickUp(int index) {
+        return pickUps[index];
+    }
+
+    public long returnTime(int index) {
+        return returns[index];
+    }
+
+    public int active(int index) {
+        return actives[index];
+    }
+
+    /**
+     * @param index The index of the reservation.
+     * @return The journal sequence number of the reservation, or 0 if it was not written from the journal.
+     */
+    public long journalSeq(int index) {
+        return journalSeqs[index];
+    }
+
+    /**
+     * Materializes one reservation of the segment.
+     *
+     * @param index The index of the reservation.
+     * @return The reservation.
+     */
+    public ArchivedReservation get(int index) {
+        return new ArchivedReservation(ids[index], carIds[index], customerIds[index], nullIfZero(driverIds[index]),
+                new Date(pickUps[index]), new Date(returns[index]), dictionary[pickUpLocations[index]],
+                dictionary[returnLocations[index]], actives[index], nullIfZero(journalSeqs[index]),
+                categories[index] < 0 ? null : CATEGORIES[categories[index]], nullIfZero(locationIds[index]));
+    }
+
+    private static Long nullIfZero(long value) {
+        return value == 0 ? null : value;
+    }
+
+    private static long[] readVarLongs(DataInputStream in, int rows) throws IOException {
+        long[] values = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            values[i] = readVarLong(in);
+        }
+        return values;
+    }
+
+    private static int[] readVarInts(DataInputStream in, int rows) throws IOException {
+        int[] values = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            values[i] = readVarInt(in);
+        }
+        return values;
+    }
+
+    static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    static long readVarLong(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Truncated reservation archive");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length integer in reservation archive");
+    }
+
+    private static int readVarInt(InputStream in) throws IOException {
+        return Math.toIntExact(readVarLong(in));
+    }
+
+    static long encodeZigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long decodeZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,219 @@
+package com.design.car.rental.system.carrentalsystemapp.archive;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Collects reservations into columns and writes them as one {@link ReservationArchiveSegment} file.
+ * - Reservations must be added in ascending ID order.
+ * - The file is written next to its target, forced to disk and then moved into place atomically,
+ *   so an archive file is either complete or absent.
+ */
+public class ReservationArchiveSegmentWriter {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] carIds = new long[INITIAL_CAPACITY];
+    private long[] customerIds = new long[INITIAL_CAPACITY];
+    private long[] driverIds = new long[INITIAL_CAPACITY];
+    private long[] pickUps = new long[INITIAL_CAPACITY];
+    private long[] returns = new long[INITIAL_CAPACITY];
+    private byte[] actives = new byte[INITIAL_CAPACITY];
+    private long[] journalSeqs = new long[INITIAL_CAPACITY];
+    private byte[] categories = new byte[INITIAL_CAPACITY];
+    private long[] locationIds = new long[INITIAL_CAPACITY];
+    private int[] pickUpLocations = new int[INITIAL_CAPACITY];
+    private int[] returnLocations = new int[INITIAL_CAPACITY];
+
+    // Index 0 of the dictionary stands for a missing location.
+    private final Map<String, Integer> dictionaryIndexes = new HashMap<>();
+    private final List<String> dictionary = new ArrayList<>();
+
+    private int size;
+
+    /**
+     * Appends a reservation.
+     *
+     * @param reservation The reservation; its ID must be greater than the ID of the previous one.
+     */
+    public void add(ArchivedReservation reservation) {
+        if (size > 0 && reservation.reservationId() <= ids[size - 1]) {
+            throw new IllegalArgumentException("Reservations must be archived in ascending ID order");
+        }
+        if (size == ids.length) {
+            grow();
+        }
+        ids[size] = reservation.reservationId();
+        carIds[size] = reservation.carId();
+        customerIds[size] = reservation.customerId();
+        driverIds[size] = zeroIfNull(reservation.driverId());
+        pickUps[size] = reservation.pickUpDate().getTime();
+        returns[size] = reservation.returnDate().getTime();
+        actives[size] = (byte) reservation.active();
+        journalSeqs[size] = zeroIfNull(reservation.journalSeq());
+        categories[size] = reservation.category() == null ? -1 : (byte) reservation.category().ordinal();
+        locationIds[size] = zeroIfNull(reservation.locationId());
+        pickUpLocations[size] = dictionaryIndex(reservation.pickUpLocation());
+        returnLocations[size] = dictionaryIndex(reservation.returnLocation());
+        size++;
+    }
+
+    /**
+     * @return The number of reservations added so far.
+     */
+    public int size() {
+        return size;
+    }
+
+    public long reservationId(int index) {
+        return ids[index];
+    }
+
+    public long carId(int index) {
+        return carIds[index];
+    }
+
+    /**
+     * Writes the collected reservations.
+     *
+     * @param target     The archive file to create.
+     * @param archivedAt The archive time to record in the header, in epoch milliseconds.
+     * @return The header of the written file.
+     * @throws IOException If the file cannot be written; no file is left at the target then.
+     */
+    public ArchiveSegmentInfo write(Path target, long archivedAt) throws IOException {
+        if (size == 0) {
+            throw new IllegalStateException("An archive file needs at least one reservation");
+        }
+        long minPickUp = Long.MAX_VALUE;
+        long maxReturn = Long.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            minPickUp = Math.min(minPickUp, pickUps[i]);
+            maxReturn = Math.max(maxReturn, returns[i]);
+        }
+        ArchiveSegmentInfo info = new ArchiveSegmentInfo(target, size, ids[0], ids[size - 1], minPickUp, maxReturn, archivedAt,
+                ArchiveIdFilter.of(carIds, size), ArchiveIdFilter.of(customerIds, size));
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(temporary.toFile())) {
+            file.write(header(info).array());
+            file.write(filters(info).array());
+            GZIPOutputStream gzip = new GZIPOutputStream(file, 1 << 16);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(gzip, 1 << 16));
+            writeColumns(out);
+            out.flush();
+            gzip.finish();
+            file.getChannel().force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        return info;
+    }
+
+    private static ByteBuffer header(ArchiveSegmentInfo info) {
+        ByteBuffer header = ByteBuffer.allocate(ReservationArchiveSegment.HEADER_BYTES);
+        header.putInt(ReservationArchiveSegment.MAGIC)
+                .putInt(ReservationArchiveSegment.VERSION)
+                .putInt(info.rows())
+                .putInt(info.filterBytes())
+                .putLong(info.minId())
+                .putLong(info.maxId())
+                .putLong(info.minPickUp())
+                .putLong(info.maxReturn())
+                .putLong(info.archivedAt());
+        return header;
+    }
+
+    private static ByteBuffer filters(ArchiveSegmentInfo info) {
+        ByteBuffer filters = ByteBuffer.allocate(info.filterBytes());
+        info.cars().writeTo(filters);
+        info.customers().writeTo(filters);
+        return filters;
+    }
+
+    private void writeColumns(DataOutputStream out) throws IOException {
+        ReservationArchiveSegment.writeVarLong(out, dictionary.size());
+        for (String value : dictionary) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            ReservationArchiveSegment.writeVarLong(out, bytes.length);
+            out.write(bytes);
+        }
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            ReservationArchiveSegment.writeVarLong(out, ids[i] - previous);
+            previous = ids[i];
+        }
+        writeVarLongs(out, carIds);
+        writeVarLongs(out, customerIds);
+        writeVarLongs(out, driverIds);
+        previous = 0;
+        for (int i = 0; i < size; i++) {
+            ReservationArchiveSegment.writeVarLong(out, ReservationArchiveSegment.encodeZigZag(pickUps[i] - previous));
+            previous = pickUps[i];
+        }
+        for (int i = 0; i < size; i++) {
+            ReservationArchiveSegment.writeVarLong(out, ReservationArchiveSegment.encodeZigZag(returns[i] - pickUps[i]));
+        }
+        out.write(actives, 0, size);
+        writeVarLongs(out, journalSeqs);
+        out.write(categories, 0, size);
+        writeVarLongs(out, locationIds);
+        for (int i = 0; i < size; i++) {
+            ReservationArchiveSegment.writeVarLong(out, pickUpLocations[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            ReservationArchiveSegment.writeVarLong(out, returnLocations[i]);
+        }
+    }
+
+    private void writeVarLongs(DataOutputStream out, long[] column) throws IOException {
+        for (int i = 0; i < size; i++) {
+            ReservationArchiveSegment.writeVarLong(out, column[i]);
+        }
+    }
+
+    private int dictionaryIndex(String value) {
+        if (value == null) {
+            return 0;
+        }
+        return dictionaryIndexes.computeIfAbsent(value, key -> {
+            dictionary.add(key);
+            return dictionary.size();
+        });
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        carIds = Arrays.copyOf(carIds, capacity);
+        customerIds = Arrays.copyOf(customerIds, capacity);
+        driverIds = Arrays.copyOf(driverIds, capacity);
+        pickUps = Arrays.copyOf(pickUps, capacity);
+        returns = Arrays.copyOf(returns, capacity);
+        actives = Arrays.copyOf(actives, capacity);
+        journalSeqs = Arrays.copyOf(journalSeqs, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+        locationIds = Arrays.copyOf(locationIds, capacity);
+        pickUpLocations = Arrays.copyOf(pickUpLocations, capacity);
+        returnLocations = Arrays.copyOf(returnLocations, capacity);
+    }
+
+    private static long zeroIfNull(Long value) {
+        return value == null ? 0 : value;
+    }
+}
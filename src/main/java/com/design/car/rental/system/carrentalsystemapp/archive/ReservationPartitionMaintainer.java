@@ -0,0 +1,131 @@
+package com.design.car.rental.system.carrentalsystemapp.archive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly RANGE COLUMNS partitions of car_reservation (see the V2 migration) in shape on MySQL.
+ * - Splits the catch-all partition ahead of time, so every month has its own partition before the first
+ *   reservation returning in it is booked. Splitting an empty partition only touches metadata.
+ * - Drops partitions that the archiver has emptied, which gives their space back without rebuilding the table.
+ * - Partitions are recognized by their upper bound, not by name, so the partitions of the migration and the
+ *   ones added here are handled alike.
+ */
+@Component
+@ConditionalOnProperty(name = "reservation.partitioning.enabled", havingValue = "true")
+public class ReservationPartitionMaintainer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReservationPartitionMaintainer.class);
+
+    private static final String LIST_PARTITIONS_SQL = "select partition_name, partition_description from information_schema.partitions " +
+            "where table_schema = database() and table_name = 'car_reservation' and partition_name is not null " +
+            "order by partition_ordinal_position";
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("[A-Za-z0-9_]+");
+
+    private static final DateTimeFormatter MONTH_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${reservation.partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    /**
+     * Adds the partitions of the coming months on the reservation.partitioning.cron schedule.
+     */
+    @Scheduled(cron = "${reservation.partitioning.cron:0 0 3 * * *}")
+    public void maintainPartitions() {
+        try {
+            addFuturePartitions(YearMonth.now(ZoneOffset.UTC));
+        } catch (RuntimeException e) {
+            LOGGER.error("Adding car_reservation partitions failed", e);
+        }
+    }
+
+    /**
+     * Splits the catch-all partition until every month up to reservation.partitioning.months-ahead months after
+     * the given one has its own partition.
+     *
+     * @param current The current month.
+     * @return The number of partitions added.
+     */
+    public int addFuturePartitions(YearMonth current) {
+        List<Partition> partitions = listPartitions();
+        if (partitions.isEmpty() || partitions.get(partitions.size() - 1).upperBound() != null) {
+            LOGGER.warn("car_reservation has no catch-all partition; apply the V2 migration to partition it");
+            return 0;
+        }
+        String catchAll = partitions.get(partitions.size() - 1).name();
+        LocalDate bound = partitions.size() == 1 ? current.atDay(1) : partitions.get(partitions.size() - 2).upperBound();
+        LocalDate target = current.plusMonths(monthsAhead + 1L).atDay(1);
+        int added = 0;
+        while (bound.isBefore(target)) {
+            LocalDate next = bound.withDayOfMonth(1).plusMonths(1);
+            jdbcTemplate.execute("alter table car_reservation reorganize partition " + catchAll + " into (" +
+                    "partition p" + MONTH_SUFFIX.format(bound) + " values less than ('" + next + "'), " +
+                    "partition " + catchAll + " values less than (maxvalue))");
+            LOGGER.info("Added car_reservation partition p{} for returns before {}", MONTH_SUFFIX.format(bound), next);
+            bound = next;
+            added++;
+        }
+        return added;
+    }
+
+    /**
+     * Drops the partitions that only hold returns before the given month and are empty.
+     *
+     * @param archivedBefore The first month whose reservations are still kept in the table.
+     * @return The number of partitions dropped.
+     */
+    public int dropArchivedPartitions(YearMonth archivedBefore) {
+        LocalDate limit = archivedBefore.atDay(1);
+        int dropped = 0;
+        for (Partition partition : listPartitions()) {
+            if (partition.upperBound() == null || partition.upperBound().isAfter(limit)) {
+                continue;
+            }
+            Long rows = jdbcTemplate.queryForObject("select count(*) from car_reservation partition (" + partition.name() + ")", Long.class);
+            if (rows != null && rows == 0) {
+                jdbcTemplate.execute("alter table car_reservation drop partition " + partition.name());
+                LOGGER.info("Dropped archived car_reservation partition {} (returns before {})", partition.name(), partition.upperBound());
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    private List<Partition> listPartitions() {
+        return jdbcTemplate.query(LIST_PARTITIONS_SQL, (resultSet, rowNum) -> {
+            String name = resultSet.getString(1);
+            if (!PARTITION_NAME.matcher(name).matches()) {
+                throw new IllegalStateException("Unexpected car_reservation partition name " + name);
+            }
+            return new Partition(name, parseUpperBound(resultSet.getString(2)));
+        });
+    }
+
+    // RANGE COLUMNS bounds on a datetime column read like '2026-11-01 00:00:00', or MAXVALUE for the catch-all partition.
+    private static LocalDate parseUpperBound(String description) {
+        if (description == null || description.equalsIgnoreCase("MAXVALUE")) {
+            return null;
+        }
+        return LocalDate.parse(description.replace("'", "").substring(0, 10));
+    }
+
+    private record Partition(String name, LocalDate upperBound) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.design.car.rental.system.carrentalsystemapp.assignment;
+
+/**
+ * A driver chosen for a reservation by the {@link DriverAssignmentPlanner}.
+ *
+ * @param reservationId The ID of the reservation.
+ * @param driverId      The ID of the driver.
+ * @param distanceKm    The distance the driver travels from the last pick-up, or 0 when either position is unknown.
+ */
+public record DriverAssignment(long reservationId, long driverId, double distanceKm) {
+}
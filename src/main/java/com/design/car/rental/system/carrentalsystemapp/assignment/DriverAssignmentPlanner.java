@@ -0,0 +1,309 @@
+package com.design.car.rental.system.carrentalsystemapp.assignment;
+
+import com.design.car.rental.system.carrentalsystemapp.index.CarGeoIndex;
+import com.design.car.rental.system.carrentalsystemapp.index.NearbyCar;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.LongPredicate;
+
+/**
+ * Computes driver assignments for a batch of reservations in one in-memory sweep over time.
+ * - Reservations are handled in pick-up order. A driver working on a reservation, or on one they already
+ *   held before the run, waits in a priority queue keyed by the time they become free and rejoins the idle
+ *   pool before the next pick-up. Held reservations enter the sweep through a second queue keyed by start time.
+ * - Idle drivers are kept in a {@link CarGeoIndex} at the position of their last pick-up, so the nearest
+ *   one is found with a distance-ordered grid search. Drivers that have not driven yet in this run have no
+ *   position and are used when no positioned driver is within reach.
+ * - Idle drivers with a held reservation still ahead sit in a separate pool, since they only fit reservations
+ *   returned before that next start. The pool is skipped outright when no next start is late enough, so
+ *   blocked drivers are not rescanned for every pick-up.
+ * The planner holds no state between runs and is safe to call from several threads.
+ */
+@Component
+public class DriverAssignmentPlanner {
+
+    // Half the Earth's circumference: a search radius that reaches every idle driver.
+    private static final double ANYWHERE_KM = 20_100;
+
+    private static final Comparator<PendingReservation> BY_PICK_UP = Comparator
+            .comparingLong((PendingReservation reservation) -> reservation.pickUpDate().getTime())
+            .thenComparingLong(PendingReservation::reservationId);
+
+    private static final Comparator<TimedDriver> BY_TIME = Comparator.comparingLong(TimedDriver::time)
+            .thenComparingLong(timed -> timed.driver().driverId);
+
+    /**
+     * Assigns drivers to as many reservations as possible.
+     *
+     * @param reservations    The reservations without a driver.
+     * @param driverIds       The IDs of the drivers that can be assigned.
+     * @param assignedWindows The reservations the drivers already hold.
+     * @param maxDistanceKm   How far a positioned driver may travel to a pick-up.
+     * @return The assignments, in pick-up order. Reservations without a free driver are left out.
+     */
+    public List<DriverAssignment> plan(List<PendingReservation> reservations, long[] driverIds,
+                                       List<DriverWindow> assignedWindows, double maxDistanceKm) {
+        Map<Long, Driver> drivers = new HashMap<>(driverIds.length * 2);
+        for (long driverId : driverIds) {
+            drivers.put(driverId, new Driver(driverId));
+        }
+        PriorityQueue<TimedDriver> heldStarts = new PriorityQueue<>(BY_TIME);
+        for (Driver driver : loadHeldWindows(drivers, assignedWindows)) {
+            heldStarts.add(new TimedDriver(driver.nextHeldStart(), driver));
+        }
+
+        IdlePool freePool = new IdlePool();
+        IdlePool heldPool = new IdlePool();
+        for (Driver driver : drivers.values()) {
+            (driver.hasHeldAhead() ? heldPool : freePool).add(driver);
+        }
+        PriorityQueue<TimedDriver> busyDrivers = new PriorityQueue<>(BY_TIME);
+
+        List<PendingReservation> ordered = new ArrayList<>(reservations);
+        ordered.sort(BY_PICK_UP);
+        List<DriverAssignment> assignments = new ArrayList<>();
+        for (PendingReservation reservation : ordered) {
+            long pickUp = reservation.pickUpDate().getTime();
+            long returnAt = reservation.returnDate().getTime();
+            advance(pickUp, busyDrivers, heldStarts, freePool, heldPool);
+
+            // A driver with a held reservation ahead fits only if that reservation starts after this one is returned.
+            LongPredicate fits = driverId -> drivers.get(driverId).nextHeldStart() >= returnAt;
+            boolean heldPoolFits = heldPool.latestNextHeldStart() >= returnAt;
+            Candidate candidate = reservation.latitude() != null && reservation.longitude() != null
+                    ? findNearest(reservation.latitude(), reservation.longitude(), maxDistanceKm, freePool, heldPool, heldPoolFits, fits)
+                    : findAnywhere(freePool, heldPool, heldPoolFits, fits);
+            if (candidate == null) {
+                continue;
+            }
+            Driver driver = candidate.driver();
+            (driver.hasHeldAhead() ? heldPool : freePool).remove(driver);
+            driver.latitude = reservation.latitude();
+            driver.longitude = reservation.longitude();
+            busyDrivers.add(new TimedDriver(returnAt, driver));
+            assignments.add(new DriverAssignment(reservation.reservationId(), driver.driverId, candidate.distanceKm()));
+        }
+        return assignments;
+    }
+
+    /**
+     * Attaches the reservations the drivers already hold, merged and sorted by start, to each driver.
+     *
+     * @param drivers         The drivers by ID.
+     * @param assignedWindows The reservations the drivers already hold.
+     * @return The drivers that hold at least one reservation.
+     */
+    private List<Driver> loadHeldWindows(Map<Long, Driver> drivers, List<DriverWindow> assignedWindows) {
+        List<DriverWindow> sorted = new ArrayList<>(assignedWindows);
+        sorted.sort(Comparator.comparingLong((DriverWindow window) -> window.pickUpDate().getTime()));
+        List<Driver> holding = new ArrayList<>();
+        for (DriverWindow window : sorted) {
+            Driver driver = drivers.get(window.driverId());
+            if (driver == null) {
+                continue;
+            }
+            if (driver.heldWindows.isEmpty()) {
+                holding.add(driver);
+            }
+            driver.hold(window.pickUpDate().getTime(), window.returnDate().getTime());
+        }
+        return holding;
+    }
+
+    /**
+     * Replays, in time order, every driver release and held reservation start up to a pick-up time.
+     * Releases go first on ties, since a reservation returned at t does not overlap one starting at t.
+     *
+     * @param time        The pick-up time of the next reservation.
+     * @param busyDrivers The drivers busy with a reservation, earliest free first.
+     * @param heldStarts  The next held reservation of each driver, earliest start first.
+     * @param freePool    The idle drivers without held reservations ahead.
+     * @param heldPool    The idle drivers with held reservations ahead.
+     */
+    private void advance(long time, PriorityQueue<TimedDriver> busyDrivers, PriorityQueue<TimedDriver> heldStarts,
+                         IdlePool freePool, IdlePool heldPool) {
+        while (true) {
+            TimedDriver release = busyDrivers.peek();
+            TimedDriver start = heldStarts.peek();
+            if (release != null && release.time() <= time && (start == null || release.time() <= start.time())) {
+                busyDrivers.poll();
+                (release.driver().hasHeldAhead() ? heldPool : freePool).add(release.driver());
+            } else if (start != null && start.time() <= time) {
+                heldStarts.poll();
+                Driver driver = start.driver();
+                heldPool.remove(driver);
+                busyDrivers.add(new TimedDriver(driver.startHeld(), driver));
+                if (driver.hasHeldAhead()) {
+                    heldStarts.add(new TimedDriver(driver.nextHeldStart(), driver));
+                }
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Finds the nearest idle driver within reach of a pick-up, falling back to a driver without a position.
+     *
+     * @param latitude      The latitude of the pick-up.
+     * @param longitude     The longitude of the pick-up.
+     * @param maxDistanceKm How far a positioned driver may travel to the pick-up.
+     * @param freePool      The idle drivers without held reservations ahead.
+     * @param heldPool      The idle drivers with held reservations ahead.
+     * @param heldPoolFits  Whether any driver of the held pool can fit the reservation.
+     * @param fits          The test a driver of the held pool must pass.
+     * @return The chosen driver, or null if none is available.
+     */
+    private Candidate findNearest(double latitude, double longitude, double maxDistanceKm,
+                                  IdlePool freePool, IdlePool heldPool, boolean heldPoolFits, LongPredicate fits) {
+        Candidate nearest = freePool.nearest(latitude, longitude, maxDistanceKm, driverId -> true);
+        if (heldPoolFits) {
+            Candidate nearestHeld = heldPool.nearest(latitude, longitude, maxDistanceKm, fits);
+            if (nearest == null || (nearestHeld != null && nearestHeld.distanceKm() < nearest.distanceKm())) {
+                nearest = nearestHeld;
+            }
+        }
+        if (nearest == null) {
+            nearest = freePool.anyUnpositioned(driverId -> true);
+        }
+        if (nearest == null && heldPoolFits) {
+            nearest = heldPool.anyUnpositioned(fits);
+        }
+        return nearest;
+    }
+
+    /**
+     * Finds any idle driver for a reservation whose car has no position, preferring drivers without a position.
+     *
+     * @param freePool     The idle drivers without held reservations ahead.
+     * @param heldPool     The idle drivers with held reservations ahead.
+     * @param heldPoolFits Whether any driver of the held pool can fit the reservation.
+     * @param fits         The test a driver of the held pool must pass.
+     * @return The chosen driver, or null if none is available.
+     */
+    private Candidate findAnywhere(IdlePool freePool, IdlePool heldPool, boolean heldPoolFits, LongPredicate fits) {
+        Candidate candidate = freePool.anyUnpositioned(driverId -> true);
+        if (candidate == null && heldPoolFits) {
+            candidate = heldPool.anyUnpositioned(fits);
+        }
+        if (candidate == null) {
+            candidate = freePool.nearest(0, 0, ANYWHERE_KM, driverId -> true);
+        }
+        if (candidate == null && heldPoolFits) {
+            candidate = heldPool.nearest(0, 0, ANYWHERE_KM, fits);
+        }
+        return candidate == null ? null : new Candidate(candidate.driver(), 0);
+    }
+
+    /**
+     * Planning state of one driver: the last known position and the reservations held before the run.
+     */
+    private static final class Driver {
+
+        private final long driverId;
+        private final List<long[]> heldWindows = new ArrayList<>();
+        private int nextHeld;
+        private Double latitude;
+        private Double longitude;
+
+        private Driver(long driverId) {
+            this.driverId = driverId;
+        }
+
+        /**
+         * Appends a held reservation, merging it into the previous one when they overlap.
+         */
+        private void hold(long start, long end) {
+            long[] last = heldWindows.isEmpty() ? null : heldWindows.get(heldWindows.size() - 1);
+            if (last != null && start < last[1]) {
+                last[1] = Math.max(last[1], end);
+            } else {
+                heldWindows.add(new long[]{start, end});
+            }
+        }
+
+        private boolean hasHeldAhead() {
+            return nextHeld < heldWindows.size();
+        }
+
+        private long nextHeldStart() {
+            return hasHeldAhead() ? heldWindows.get(nextHeld)[0] : Long.MAX_VALUE;
+        }
+
+        /**
+         * Moves past the next held reservation.
+         *
+         * @return The time the driver is free again.
+         */
+        private long startHeld() {
+            return heldWindows.get(nextHeld++)[1];
+        }
+    }
+
+    /**
+     * Idle drivers: positioned ones in a grid index, the others in arrival order, plus a count of next held starts.
+     */
+    private static final class IdlePool {
+
+        private final Map<Long, Driver> drivers = new HashMap<>();
+        private final CarGeoIndex positioned = new CarGeoIndex();
+        private final Set<Long> unpositioned = new LinkedHashSet<>();
+        private final TreeMap<Long, Integer> nextHeldStarts = new TreeMap<>();
+
+        private void add(Driver driver) {
+            drivers.put(driver.driverId, driver);
+            if (driver.latitude != null && driver.longitude != null) {
+                positioned.putCar(driver.driverId, driver.latitude, driver.longitude);
+            } else {
+                unpositioned.add(driver.driverId);
+            }
+            nextHeldStarts.merge(driver.nextHeldStart(), 1, Integer::sum);
+        }
+
+        private void remove(Driver driver) {
+            if (drivers.remove(driver.driverId) == null) {
+                return;
+            }
+            positioned.removeCar(driver.driverId);
+            unpositioned.remove(driver.driverId);
+            // The driver's next held start has not moved since it was added: it only advances while the driver is busy.
+            nextHeldStarts.computeIfPresent(driver.nextHeldStart(), (start, count) -> count == 1 ? null : count - 1);
+        }
+
+        private long latestNextHeldStart() {
+            return nextHeldStarts.isEmpty() ? Long.MIN_VALUE : nextHeldStarts.lastKey();
+        }
+
+        private Candidate nearest(double latitude, double longitude, double maxDistanceKm, LongPredicate filter) {
+            List<NearbyCar> nearest = positioned.findNearest(latitude, longitude, 1, maxDistanceKm, filter);
+            return nearest.isEmpty() ? null : new Candidate(drivers.get(nearest.get(0).carId()), nearest.get(0).distanceKm());
+        }
+
+        private Candidate anyUnpositioned(LongPredicate filter) {
+            Iterator<Long> candidates = unpositioned.iterator();
+            while (candidates.hasNext()) {
+                long driverId = candidates.next();
+                if (filter.test(driverId)) {
+                    return new Candidate(drivers.get(driverId), 0);
+                }
+            }
+            return null;
+        }
+    }
+
+    private record TimedDriver(long time, Driver driver) {
+    }
+
+    private record Candidate(Driver driver, double distanceKm) {
+    }
+}
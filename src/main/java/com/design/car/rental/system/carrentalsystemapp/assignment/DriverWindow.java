@@ -0,0 +1,14 @@
+package com.design.car.rental.system.carrentalsystemapp.assignment;
+
+import java.util.Date;
+
+/**
+ * Projection of a reservation a driver is already assigned to.
+ *
+ * @param reservationId The ID of the reservation.
+ * @param driverId      The ID of the assigned driver.
+ * @param pickUpDate    The start of the reservation (inclusive).
+ * @param returnDate    The end of the reservation (exclusive).
+ */
+public record DriverWindow(long reservationId, long driverId, Date pickUpDate, Date returnDate) {
+}
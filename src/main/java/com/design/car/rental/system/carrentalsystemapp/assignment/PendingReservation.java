@@ -0,0 +1,15 @@
+package com.design.car.rental.system.carrentalsystemapp.assignment;
+
+import java.util.Date;
+
+/**
+ * Projection of a reservation that still needs a driver.
+ *
+ * @param reservationId The ID of the reservation.
+ * @param pickUpDate    The start of the reservation (inclusive).
+ * @param returnDate    The end of the reservation (exclusive).
+ * @param latitude      The latitude of the reserved car, or null if the car has no position.
+ * @param longitude     The longitude of the reserved car, or null if the car has no position.
+ */
+public record PendingReservation(long reservationId, Date pickUpDate, Date returnDate, Double latitude, Double longitude) {
+}
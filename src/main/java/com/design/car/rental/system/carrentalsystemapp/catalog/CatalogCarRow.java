@@ -0,0 +1,12 @@
+package com.design.car.rental.system.carrentalsystemapp.catalog;
+
+import com.design.car.rental.system.carrentalsystemapp.enums.CarCategoryEnum;
+import com.design.car.rental.system.carrentalsystemapp.enums.CarStatusEnum;
+
+/**
+ * The browsable fields of a car, as read from the database to build a catalog snapshot.
+ */
+public record CatalogCarRow(long carId, String name, String brand, String vechicleNo, CarCategoryEnum vechicleCategory,
+                            String manufacturingYear, int mileage, boolean hasSunRoof, CarStatusEnum status,
+                            Long rentalLocationId, Double latitude, Double longitude) {
+}
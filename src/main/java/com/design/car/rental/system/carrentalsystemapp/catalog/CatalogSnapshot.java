@@ -0,0 +1,316 @@
+package com.design.car.rental.system.carrentalsystemapp.catalog;
+
+import com.design.car.rental.system.carrentalsystemapp.enums.CarCategoryEnum;
+import com.design.car.rental.system.carrentalsystemapp.enums.CarStatusEnum;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only, memory-mapped snapshot of the active fleet.
+ * - Cars are fixed-size records sorted by car ID, so a car is found by binary search and a page is a range of
+ *   records; nothing is materialized on the heap.
+ * - Strings live once in a string section and records refer to them by offset; enums are stored as ordinals.
+ * - The file is immutable once written, so any number of threads can read it without locking. A snapshot is
+ *   replaced by mapping a new file, never by changing this one.
+ * Layout (big-endian):
+ * - Header ({@value #HEADER_BYTES} bytes): magic, format version, car count, longest string in bytes,
+ *   build time (epoch milliseconds), offset and length of the string section.
+ * - Records ({@value #RECORD_BYTES} bytes each): car ID, rental location ID (0 for none), latitude and longitude
+ *   (NaN for none), string offsets of name, brand, vehicle number and manufacturing year (-1 for null),
+ *   mileage, category and status ordinals (-1 for null), flags (bit 0: sun roof).
+ * - Strings: length (int) followed by the UTF-8 bytes.
+ */
+public final class CatalogSnapshot {
+
+    static final int MAGIC = 0x4341544C;
+    static final int FORMAT_VERSION = 1;
+
+    static final int HEADER_BYTES = 64;
+    static final int RECORD_BYTES = 64;
+
+    static final int NO_STRING = -1;
+    static final byte NO_ENUM = -1;
+    static final int SUN_ROOF_FLAG = 1;
+
+    // Header fields.
+    static final int MAGIC_OFFSET = 0;
+    static final int VERSION_OFFSET = 4;
+    static final int COUNT_OFFSET = 8;
+    static final int MAX_STRING_OFFSET = 12;
+    static final int BUILT_AT_OFFSET = 16;
+    static final int STRINGS_OFFSET_OFFSET = 24;
+    static final int STRINGS_LENGTH_OFFSET = 32;
+
+    // Record fields.
+    static final int CAR_ID = 0;
+    static final int RENTAL_LOCATION_ID = 8;
+    static final int LATITUDE = 16;
+    static final int LONGITUDE = 24;
+    static final int NAME = 32;
+    static final int BRAND = 36;
+    static final int VECHICLE_NO = 40;
+    static final int MANUFACTURING_YEAR = 44;
+    static final int MILEAGE = 48;
+    static final int CATEGORY = 52;
+    static final int STATUS = 53;
+    static final int FLAGS = 54;
+
+    private static final CarCategoryEnum[] CATEGORIES = CarCategoryEnum.values();
+    private static final CarStatusEnum[] STATUSES = CarStatusEnum.values();
+
+    private final Path path;
+    private final ByteBuffer buffer;
+    private final int carCount;
+    private final int maxStringBytes;
+    private final long builtAt;
+    private final int stringsOffset;
+
+    private CatalogSnapshot(Path path, ByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+        this.carCount = buffer.getInt(COUNT_OFFSET);
+        this.maxStringBytes = buffer.getInt(MAX_STRING_OFFSET);
+        this.builtAt = buffer.getLong(BUILT_AT_OFFSET);
+        this.stringsOffset = (int) buffer.getLong(STRINGS_OFFSET_OFFSET);
+    }
+
+    /**
+     * Maps a snapshot file.
+     * - The mapping stays valid after the channel is closed and after the file is deleted, so replaced snapshots
+     *   can be deleted while requests are still reading them; the memory is released once the snapshot is
+     *   no longer referenced.
+     *
+     * @param path The snapshot file.
+     * @return The mapped snapshot.
+     * @throws IOException If the file cannot be read or is not a complete snapshot of this format.
+     */
+    public static CatalogSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a catalog snapshot: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(MAGIC_OFFSET) != MAGIC || buffer.getInt(VERSION_OFFSET) != FORMAT_VERSION) {
+                throw new IOException("Not a catalog snapshot of format " + FORMAT_VERSION + ": " + path);
+            }
+            long expectedSize = buffer.getLong(STRINGS_OFFSET_OFFSET) + buffer.getLong(STRINGS_LENGTH_OFFSET);
+            if (expectedSize != size || HEADER_BYTES + (long) buffer.getInt(COUNT_OFFSET) * RECORD_BYTES > buffer.getLong(STRINGS_OFFSET_OFFSET)) {
+                throw new IOException("Truncated catalog snapshot: " + path);
+            }
+            return new CatalogSnapshot(path, buffer);
+        }
+    }
+
+    /**
+     * @return The snapshot file.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * @return The number of cars in the snapshot.
+     */
+    public int size() {
+        return carCount;
+    }
+
+    /**
+     * @return The size of the mapped file in bytes.
+     */
+    public long sizeInBytes() {
+        return buffer.capacity();
+    }
+
+    /**
+     * @return When the snapshot was built, in epoch milliseconds.
+     */
+    public long getBuiltAt() {
+        return builtAt;
+    }
+
+    /**
+     * @return The length of the longest string in bytes, i.e. the scratch buffer size {@link #copyString} needs.
+     */
+    public int getMaxStringBytes() {
+        return maxStringBytes;
+    }
+
+    /**
+     * Finds the record of a car.
+     *
+     * @param carId The ID of the car.
+     * @return The record index, or -1 if the car is not in the snapshot.
+     */
+    public int indexOf(long carId) {
+        int index = firstIndexAfter(carId - 1);
+        return index < carCount && carId(index) == carId ? index : -1;
+    }
+
+    /**
+     * Finds where a page starting after a car ID begins.
+     *
+     * @param afterId The car ID the page starts after.
+     * @return The index of the first record with a larger car ID; {@link #size()} if there is none.
+     */
+    public int firstIndexAfter(long afterId) {
+        int low = 0;
+        int high = carCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (carId(middle) <= afterId) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    public long carId(int index) {
+        return buffer.getLong(record(index) + CAR_ID);
+    }
+
+    /**
+     * @return The rental location ID, or 0 if the car is not parked at a rental location.
+     */
+    public long rentalLocationId(int index) {
+        return buffer.getLong(record(index) + RENTAL_LOCATION_ID);
+    }
+
+    /**
+     * @return The latitude, or NaN if the car has not been placed.
+     */
+    public double latitude(int index) {
+        return buffer.getDouble(record(index) + LATITUDE);
+    }
+
+    /**
+     * @return The longitude, or NaN if the car has not been placed.
+     */
+    public double longitude(int index) {
+        return buffer.getDouble(record(index) + LONGITUDE);
+    }
+
+    public int mileage(int index) {
+        return buffer.getInt(record(index) + MILEAGE);
+    }
+
+    public boolean hasSunRoof(int index) {
+        return (buffer.get(record(index) + FLAGS) & SUN_ROOF_FLAG) != 0;
+    }
+
+    /**
+     * @return The category ordinal, or -1 if the car has no category.
+     */
+    public byte categoryOrdinal(int index) {
+        return buffer.get(record(index) + CATEGORY);
+    }
+
+    /**
+     * @return The category, or null.
+     */
+    public CarCategoryEnum category(int index) {
+        byte ordinal = categoryOrdinal(index);
+        return ordinal == NO_ENUM ? null : CATEGORIES[ordinal];
+    }
+
+    /**
+     * @return The status ordinal, or -1 if the car has no status.
+     */
+    public byte statusOrdinal(int index) {
+        return buffer.get(record(index) + STATUS);
+    }
+
+    /**
+     * @return The status, or null.
+     */
+    public CarStatusEnum status(int index) {
+        byte ordinal = statusOrdinal(index);
+        return ordinal == NO_ENUM ? null : STATUSES[ordinal];
+    }
+
+    /**
+     * Copies a string field of a car into a caller-owned buffer, so serializing a car allocates nothing.
+     *
+     * @param index The record index.
+     * @param field The field, one of {@link StringField}.
+     * @param target The buffer, at least {@link #getMaxStringBytes()} long.
+     * @return The number of UTF-8 bytes copied, or -1 if the field is null.
+     */
+    public int copyString(int index, StringField field, byte[] target) {
+        int offset = buffer.getInt(record(index) + field.recordOffset);
+        if (offset == NO_STRING) {
+            return NO_STRING;
+        }
+        int position = stringsOffset + offset;
+        int length = buffer.getInt(position);
+        buffer.get(position + Integer.BYTES, target, 0, length);
+        return length;
+    }
+
+    /**
+     * Checks whether a record holds exactly the given car, so an unchanged fleet can be recognized without
+     * writing a new snapshot.
+     *
+     * @param index The record index.
+     * @param row   The car as read from the database.
+     * @return True if every field of the record equals the row.
+     */
+    public boolean matches(int index, CatalogCarRow row) {
+        return carId(index) == row.carId()
+                && rentalLocationId(index) == (row.rentalLocationId() == null ? 0 : row.rentalLocationId())
+                && sameDouble(latitude(index), row.latitude())
+                && sameDouble(longitude(index), row.longitude())
+                && mileage(index) == row.mileage()
+                && hasSunRoof(index) == row.hasSunRoof()
+                && category(index) == row.vechicleCategory()
+                && status(index) == row.status()
+                && stringEquals(index, StringField.NAME, row.name())
+                && stringEquals(index, StringField.BRAND, row.brand())
+                && stringEquals(index, StringField.VECHICLE_NO, row.vechicleNo())
+                && stringEquals(index, StringField.MANUFACTURING_YEAR, row.manufacturingYear());
+    }
+
+    private static boolean sameDouble(double stored, Double value) {
+        return Double.compare(stored, value == null ? Double.NaN : value) == 0;
+    }
+
+    private boolean stringEquals(int index, StringField field, String value) {
+        int offset = buffer.getInt(record(index) + field.recordOffset);
+        if (offset == NO_STRING || value == null) {
+            return offset == NO_STRING && value == null;
+        }
+        int position = stringsOffset + offset;
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return buffer.getInt(position) == bytes.length
+                && buffer.slice(position + Integer.BYTES, bytes.length).equals(ByteBuffer.wrap(bytes));
+    }
+
+    private static int record(int index) {
+        return HEADER_BYTES + index * RECORD_BYTES;
+    }
+
+    /**
+     * The string fields of a car record.
+     */
+    public enum StringField {
+        NAME(CatalogSnapshot.NAME),
+        BRAND(CatalogSnapshot.BRAND),
+        VECHICLE_NO(CatalogSnapshot.VECHICLE_NO),
+        MANUFACTURING_YEAR(CatalogSnapshot.MANUFACTURING_YEAR);
+
+        private final int recordOffset;
+
+        StringField(int recordOffset) {
+            this.recordOffset = recordOffset;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.design.car.rental.system.carrentalsystemapp.catalog;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.design.car.rental.system.carrentalsystemapp.catalog.CatalogSnapshot.*;
+
+/**
+ * Writes a {@link CatalogSnapshot} file in one pass over the fleet.
+ * - Records are appended to the snapshot file as cars arrive; strings go to a side file and are appended
+ *   after the last record, so memory use does not grow with the fleet.
+ * - Repeated strings (brands, years) are stored once; a bounded map remembers the most common ones.
+ * - The file is written under a temporary name, forced and then renamed atomically, so a reader never maps
+ *   a partial snapshot.
+ */
+public final class CatalogSnapshotWriter implements Closeable {
+
+    private static final int RECORDS_PER_WRITE = 1024;
+
+    private static final int MAX_DEDUPLICATED_STRINGS = 65_536;
+
+    private final Path target;
+    private final Path snapshotTemp;
+    private final Path stringsTemp;
+    private final FileChannel snapshotChannel;
+    private final FileChannel stringsChannel;
+    private final ByteBuffer records = ByteBuffer.allocateDirect(RECORDS_PER_WRITE * RECORD_BYTES);
+    private final ByteBuffer strings = ByteBuffer.allocateDirect(64 * 1024);
+    private final Map<String, Integer> stringOffsets = new HashMap<>();
+    private final long builtAt;
+
+    private int carCount;
+    private long lastCarId = Long.MIN_VALUE;
+    private long stringsLength;
+    private int maxStringBytes;
+    private boolean finished;
+
+    /**
+     * @param target  The snapshot file to produce.
+     * @param builtAt The build time to record, in epoch milliseconds.
+     * @throws IOException If the temporary files cannot be created.
+     */
+    public CatalogSnapshotWriter(Path target, long builtAt) throws IOException {
+        this.target = target;
+        this.builtAt = builtAt;
+        this.snapshotTemp = target.resolveSibling(target.getFileName() + ".tmp");
+        this.stringsTemp = target.resolveSibling(target.getFileName() + ".strings.tmp");
+        this.snapshotChannel = FileChannel.open(snapshotTemp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.READ, StandardOpenOption.TRUNCATE_EXISTING);
+        this.stringsChannel = FileChannel.open(stringsTemp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.READ, StandardOpenOption.TRUNCATE_EXISTING);
+        snapshotChannel.position(HEADER_BYTES);
+    }
+
+    /**
+     * Appends a car.
+     *
+     * @param row The car; cars must be added in ascending car ID order.
+     * @throws IOException If the car cannot be written or the snapshot would exceed 2 GB.
+     */
+    public void add(CatalogCarRow row) throws IOException {
+        if (row.carId() <= lastCarId) {
+            throw new IllegalArgumentException("Cars must be added in ascending ID order, got " + row.carId() + " after " + lastCarId);
+        }
+        lastCarId = row.carId();
+        if (!records.hasRemaining()) {
+            flushRecords();
+        }
+        int start = records.position();
+        records.putLong(start + CAR_ID, row.carId());
+        records.putLong(start + RENTAL_LOCATION_ID, row.rentalLocationId() == null ? 0 : row.rentalLocationId());
+        records.putDouble(start + LATITUDE, row.latitude() == null ? Double.NaN : row.latitude());
+        records.putDouble(start + LONGITUDE, row.longitude() == null ? Double.NaN : row.longitude());
+        records.putInt(start + NAME, appendString(row.name()));
+        records.putInt(start + BRAND, appendString(row.brand()));
+        records.putInt(start + VECHICLE_NO, appendString(row.vechicleNo()));
+        records.putInt(start + MANUFACTURING_YEAR, appendString(row.manufacturingYear()));
+        records.putInt(start + MILEAGE, row.mileage());
+        records.put(start + CATEGORY, row.vechicleCategory() == null ? NO_ENUM : (byte) row.vechicleCategory().ordinal());
+        records.put(start + STATUS, row.status() == null ? NO_ENUM : (byte) row.status().ordinal());
+        records.put(start + FLAGS, (byte) (row.hasSunRoof() ? SUN_ROOF_FLAG : 0));
+        records.position(start + RECORD_BYTES);
+        carCount++;
+    }
+
+    /**
+     * Completes the snapshot and moves it into place.
+     *
+     * @return The snapshot file.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    public Path finish() throws IOException {
+        flushRecords();
+        flushStrings();
+        long stringsOffset = HEADER_BYTES + (long) carCount * RECORD_BYTES;
+        if (stringsOffset + stringsLength > Integer.MAX_VALUE) {
+            throw new IOException("Catalog snapshot exceeds 2 GB");
+        }
+        long transferred = 0;
+        while (transferred < stringsLength) {
+            transferred += stringsChannel.transferTo(transferred, stringsLength - transferred, snapshotChannel);
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC_OFFSET, MAGIC);
+        header.putInt(VERSION_OFFSET, FORMAT_VERSION);
+        header.putInt(COUNT_OFFSET, carCount);
+        header.putInt(MAX_STRING_OFFSET, maxStringBytes);
+        header.putLong(BUILT_AT_OFFSET, builtAt);
+        header.putLong(STRINGS_OFFSET_OFFSET, stringsOffset);
+        header.putLong(STRINGS_LENGTH_OFFSET, stringsLength);
+        while (header.hasRemaining()) {
+            snapshotChannel.write(header, header.position());
+        }
+        snapshotChannel.force(true);
+        finished = true;
+        close();
+        return Files.move(snapshotTemp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * @return The number of cars added so far.
+     */
+    public int getCarCount() {
+        return carCount;
+    }
+
+    /**
+     * Closes the temporary files and deletes them unless the snapshot was finished.
+     */
+    @Override
+    public void close() throws IOException {
+        try (snapshotChannel; stringsChannel) {
+            Files.deleteIfExists(stringsTemp);
+            if (!finished) {
+                Files.deleteIfExists(snapshotTemp);
+            }
+        }
+    }
+
+    private int appendString(String value) throws IOException {
+        if (value == null) {
+            return NO_STRING;
+        }
+        Integer known = stringOffsets.get(value);
+        if (known != null) {
+            return known;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        long offset = stringsLength;
+        if (offset + Integer.BYTES + bytes.length > Integer.MAX_VALUE) {
+            throw new IOException("Catalog snapshot strings exceed 2 GB");
+        }
+        if (strings.remaining() < Integer.BYTES + bytes.length) {
+            flushStrings();
+        }
+        if (strings.remaining() < Integer.BYTES + bytes.length) {
+            ByteBuffer large = ByteBuffer.allocate(Integer.BYTES + bytes.length).putInt(bytes.length).put(bytes).flip();
+            while (large.hasRemaining()) {
+                stringsChannel.write(large);
+            }
+        } else {
+            strings.putInt(bytes.length).put(bytes);
+        }
+        stringsLength += Integer.BYTES + bytes.length;
+        maxStringBytes = Math.max(maxStringBytes, bytes.length);
+        if (stringOffsets.size() < MAX_DEDUPLICATED_STRINGS) {
+            stringOffsets.put(value, (int) offset);
+        }
+        return (int) offset;
+    }
+
+    private void flushRecords() throws IOException {
+        records.flip();
+        while (records.hasRemaining()) {
+            snapshotChannel.write(records);
+        }
+        records.clear();
+    }
+
+    private void flushStrings() throws IOException {
+        strings.flip();
+        while (strings.hasRemaining()) {
+            stringsChannel.write(strings);
+        }
+        strings.clear();
+    }
+}
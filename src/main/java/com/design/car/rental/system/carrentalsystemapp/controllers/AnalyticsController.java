@@ -0,0 +1,78 @@
+package com.design.car.rental.system.carrentalsystemapp.controllers;
+
+import com.design.car.rental.system.carrentalsystemapp.dtos.UtilizationBackfillDto;
+import com.design.car.rental.system.carrentalsystemapp.dtos.UtilizationResponseDto;
+import com.design.car.rental.system.carrentalsystemapp.enums.RollupDimension;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.UtilizationBackfillInProgressException;
+import com.design.car.rental.system.carrentalsystemapp.services.impl.UtilizationRollupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+@RestController
+@RequestMapping("/analytics")
+public class AnalyticsController {
+
+    @Autowired
+    private UtilizationRollupService utilizationRollupService;
+
+    private static final int MAX_UTILIZATION_DAYS = 366;
+
+    /**
+     * Retrieves the daily fleet utilization: booked and idle hours, the booked share and list revenue.
+     *
+     * @param groupBy The dimension to group by: CAR, CATEGORY or LOCATION.
+     * @param from    The first day (ISO date, inclusive, UTC).
+     * @param to      The last day (ISO date, exclusive, UTC).
+     * @return ResponseEntity containing the daily buckets, or a bad request status for an empty range
+     * or one longer than a year.
+     */
+    @GetMapping("/utilization")
+    public ResponseEntity<UtilizationResponseDto> getUtilization(
+            @RequestParam(defaultValue = "CATEGORY") RollupDimension groupBy,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (isInvalidRange(from, to) || ChronoUnit.DAYS.between(from, to) > MAX_UTILIZATION_DAYS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(utilizationRollupService.getUtilization(groupBy, from, to));
+    }
+
+    /**
+     * Recomputes the utilization rollups of a range of days from the reservation history.
+     *
+     * @param from The first day (ISO date, inclusive, UTC).
+     * @param to   The last day (ISO date, exclusive, UTC).
+     * @return ResponseEntity containing the backfill summary, a bad request status for an empty range,
+     * or a conflict status while another backfill is in progress.
+     */
+    @PostMapping("/utilization/backfill")
+    public ResponseEntity<UtilizationBackfillDto> backfill(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (isInvalidRange(from, to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(utilizationRollupService.backfill(from, to));
+        } catch (UtilizationBackfillInProgressException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * Validates a range of days.
+     *
+     * @param from The first day.
+     * @param to   The last day (exclusive).
+     * @return True if the range is empty, false otherwise.
+     */
+    private boolean isInvalidRange(LocalDate from, LocalDate to) {
+        return !to.isAfter(from);
+    }
+}
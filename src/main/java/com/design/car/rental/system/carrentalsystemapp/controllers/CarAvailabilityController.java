@@ -0,0 +1,127 @@
+package com.design.car.rental.system.carrentalsystemapp.controllers;
+
+import com.design.car.rental.system.carrentalsystemapp.dtos.CarAvailabilityResponseDto;
+import com.design.car.rental.system.carrentalsystemapp.dtos.NearbyCarDto;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.RentalLocationNotFoundException;
+import com.design.car.rental.system.carrentalsystemapp.models.RentalLocation;
+import com.design.car.rental.system.carrentalsystemapp.services.impl.CarAvailabilityService;
+import com.design.car.rental.system.carrentalsystemapp.services.impl.RentalLocationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Date;
+import java.util.List;
+
+@RestController
+@RequestMapping("/availability")
+public class CarAvailabilityController {
+
+    @Autowired
+    private CarAvailabilityService carAvailabilityService;
+
+    @Autowired
+    private RentalLocationService rentalLocationService;
+
+    private static final int DEFAULT_NEAREST_COUNT = 10;
+
+    private static final int MAX_NEAREST_COUNT = 100;
+
+    private static final double MAX_SEARCH_RADIUS_KM = 1000;
+
+    /**
+     * Retrieves all cars that are free between the pick-up and return dates.
+     *
+     * @param pickUpDate The start of the requested window (ISO date-time, inclusive).
+     * @param returnDate The end of the requested window (ISO date-time, exclusive).
+     * @return ResponseEntity containing the available car IDs or a bad request status.
+     */
+    @GetMapping
+    public ResponseEntity<CarAvailabilityResponseDto> getAvailableCars(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date pickUpDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date returnDate) {
+        if (isInvalidWindow(pickUpDate, returnDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<Long> carIds = carAvailabilityService.getAvailableCarIds(pickUpDate, returnDate);
+        CarAvailabilityResponseDto responseDto = new CarAvailabilityResponseDto();
+        responseDto.setPickUpDate(pickUpDate);
+        responseDto.setReturnDate(returnDate);
+        responseDto.setAvailableCount(carIds.size());
+        responseDto.setCarIds(carIds);
+        return ResponseEntity.ok(responseDto);
+    }
+
+    /**
+     * Checks whether a single car is free between the pick-up and return dates.
+     *
+     * @param carId      The ID of the car.
+     * @param pickUpDate The start of the requested window (ISO date-time, inclusive).
+     * @param returnDate The end of the requested window (ISO date-time, exclusive).
+     * @return ResponseEntity containing true if the car is available, or a bad request status.
+     */
+    @GetMapping("/car/{carId}")
+    public ResponseEntity<Boolean> isCarAvailable(
+            @PathVariable long carId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date pickUpDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date returnDate) {
+        if (isInvalidWindow(pickUpDate, returnDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(carAvailabilityService.isCarAvailable(carId, pickUpDate, returnDate));
+    }
+
+    /**
+     * Finds the available cars nearest to a point or to a rental location.
+     *
+     * @param latitude         The latitude of the point (used together with longitude).
+     * @param longitude        The longitude of the point.
+     * @param rentalLocationId The rental location to search around, instead of a point.
+     * @param pickUpDate       The start of the requested window (ISO date-time, inclusive).
+     * @param returnDate       The end of the requested window (ISO date-time, exclusive).
+     * @param k                The maximum number of cars to return.
+     * @param maxDistanceKm    The search radius in kilometres.
+     * @return ResponseEntity containing the cars ordered by distance, a bad request status,
+     * or a not found status for an unknown rental location.
+     */
+    @GetMapping("/nearest")
+    public ResponseEntity<List<NearbyCarDto>> findNearestAvailableCars(
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude,
+            @RequestParam(required = false) Long rentalLocationId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date pickUpDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date returnDate,
+            @RequestParam(defaultValue = "" + DEFAULT_NEAREST_COUNT) int k,
+            @RequestParam(defaultValue = "50") double maxDistanceKm) {
+        if (isInvalidWindow(pickUpDate, returnDate) || k <= 0 || k > MAX_NEAREST_COUNT
+                || maxDistanceKm <= 0 || maxDistanceKm > MAX_SEARCH_RADIUS_KM) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (rentalLocationId != null) {
+            try {
+                RentalLocation rentalLocation = rentalLocationService.getLocation(rentalLocationId);
+                latitude = rentalLocation.getLatitude();
+                longitude = rentalLocation.getLongitude();
+            } catch (RentalLocationNotFoundException e) {
+                return ResponseEntity.notFound().build();
+            }
+        }
+        if (latitude == null || longitude == null || Math.abs(latitude) > 90 || Math.abs(longitude) > 180) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(carAvailabilityService.findNearestAvailableCars(latitude, longitude, pickUpDate, returnDate,
+                k, maxDistanceKm));
+    }
+
+    /**
+     * Validates that the requested window is non-empty.
+     *
+     * @param pickUpDate The start of the requested window.
+     * @param returnDate The end of the requested window.
+     * @return True if the window is invalid, false otherwise.
+     */
+    private boolean isInvalidWindow(Date pickUpDate, Date returnDate) {
+        return !returnDate.after(pickUpDate);
+    }
+}
@@ -0,0 +1,258 @@
+package com.design.car.rental.system.carrentalsystemapp.controllers;
+
+import com.design.car.rental.system.carrentalsystemapp.dtos.CarLocationRequestDto;
+import com.design.car.rental.system.carrentalsystemapp.dtos.CarRequestDto;
+import com.design.car.rental.system.carrentalsystemapp.dtos.CarResponseDto;
+import com.design.car.rental.system.carrentalsystemapp.dtos.CarSearchResponseDto;
+import com.design.car.rental.system.carrentalsystemapp.enums.CarStatusEnum;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.CarNotFoundException;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.RentalLocationNotFoundException;
+import com.design.car.rental.system.carrentalsystemapp.index.CarAttribute;
+import com.design.car.rental.system.carrentalsystemapp.index.CarFilter;
+import com.design.car.rental.system.carrentalsystemapp.index.CarSearchResult;
+import com.design.car.rental.system.carrentalsystemapp.models.CarDetails;
+import com.design.car.rental.system.carrentalsystemapp.services.impl.CarService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/car")
+public class CarController {
+
+    @Autowired
+    private CarService carService;
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Adds a new car to the fleet.
+     *
+     * @param carRequestDto The car details.
+     * @return ResponseEntity containing the created car, a bad request status, or a not found status for an unknown rental location.
+     */
+    @PostMapping
+    public ResponseEntity<CarResponseDto> addCar(@RequestBody CarRequestDto carRequestDto) {
+        if (isInvalidCarRequest(carRequestDto)) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            CarDetails carDetails = carService.addCar(
+                    carRequestDto.getName(),
+                    carRequestDto.getBrand(),
+                    carRequestDto.getVechicleNo(),
+                    carRequestDto.getVechicleCategory(),
+                    carRequestDto.getManufacturingYear(),
+                    carRequestDto.getMileage(),
+                    carRequestDto.isHasSunRoof(),
+                    carRequestDto.getStatus(),
+                    carRequestDto.getRentalLocationId(),
+                    carRequestDto.getLatitude(),
+                    carRequestDto.getLongitude()
+            );
+            return ResponseEntity.ok(computeCarResponseDetails(carDetails));
+        } catch (RentalLocationNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Retrieves a car by its ID.
+     *
+     * @param carId The ID of the car.
+     * @return ResponseEntity containing the car or a not found status.
+     */
+    @GetMapping("/{carId}")
+    public ResponseEntity<CarResponseDto> getCar(@PathVariable long carId) {
+        try {
+            return ResponseEntity.ok(computeCarResponseDetails(carService.getCar(carId)));
+        } catch (CarNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Changes the status of a car.
+     *
+     * @param carId  The ID of the car.
+     * @param status The new status.
+     * @return ResponseEntity containing the updated car or a not found status.
+     */
+    @PutMapping("/{carId}/status")
+    public ResponseEntity<CarResponseDto> updateCarStatus(@PathVariable long carId, @RequestParam CarStatusEnum status) {
+        try {
+            return ResponseEntity.ok(computeCarResponseDetails(carService.updateCarStatus(carId, status)));
+        } catch (CarNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Moves a car to a rental location or to free coordinates.
+     * - With only a rental location, the car takes the location's coordinates.
+     * - With neither, the car is removed from nearest-car results until it is placed again.
+     *
+     * @param carId                 The ID of the car.
+     * @param carLocationRequestDto The new rental location and/or coordinates.
+     * @return ResponseEntity containing the updated car, a bad request status, or a not found status.
+     */
+    @PutMapping("/{carId}/location")
+    public ResponseEntity<CarResponseDto> moveCar(@PathVariable long carId, @RequestBody CarLocationRequestDto carLocationRequestDto) {
+        if (isInvalidPosition(carLocationRequestDto.getLatitude(), carLocationRequestDto.getLongitude())) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(computeCarResponseDetails(carService.moveCar(carId, carLocationRequestDto.getRentalLocationId(),
+                    carLocationRequestDto.getLatitude(), carLocationRequestDto.getLongitude())));
+        } catch (CarNotFoundException | RentalLocationNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Searches the fleet by attributes.
+     * - Every filter has the form "attribute:value1|value2" and matches cars having any of the values.
+     * - A filter prefixed with "-" excludes the matching cars instead.
+     * - Filters are combined with AND.
+     * - Attributes are category, status, sunRoof, brand and year.
+     *
+     * @param filters The filters (e.g. "category:SUV|SEDAN", "-status:LOST").
+     * @param facets  The attributes to return per-value match counts for.
+     * @param limit   The maximum number of car IDs to return.
+     * @return ResponseEntity containing the match count, car IDs and facet counts, or a bad request status.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<CarSearchResponseDto> searchCars(@RequestParam(name = "filter", required = false) List<String> filters,
+                                                           @RequestParam(name = "facet", required = false) List<String> facets,
+                                                           @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        List<CarFilter> carFilters = parseFilters(filters);
+        Set<CarAttribute> facetAttributes = parseFacets(facets);
+        if (carFilters == null || facetAttributes == null || limit <= 0 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        CarSearchResult searchResult = carService.searchCars(carFilters, facetAttributes, limit);
+        CarSearchResponseDto responseDto = new CarSearchResponseDto();
+        responseDto.setMatchCount(searchResult.matchCount());
+        responseDto.setCarIds(Arrays.stream(searchResult.carIds()).boxed().toList());
+        Map<String, Map<String, Long>> facetCounts = new LinkedHashMap<>();
+        searchResult.facets().forEach((attribute, counts) -> facetCounts.put(attribute.getParamName(), counts));
+        responseDto.setFacets(facetCounts);
+        return ResponseEntity.ok(responseDto);
+    }
+
+    /**
+     * Parses the search filters.
+     *
+     * @param filters The raw filters (can be null).
+     * @return The parsed filters, or null if any filter is malformed.
+     */
+    static List<CarFilter> parseFilters(List<String> filters) {
+        List<CarFilter> carFilters = new ArrayList<>();
+        if (filters == null) {
+            return carFilters;
+        }
+        for (String filter : filters) {
+            boolean negated = filter.startsWith("-");
+            String clause = negated ? filter.substring(1) : filter;
+            int separator = clause.indexOf(':');
+            CarAttribute attribute = separator > 0 ? CarAttribute.fromParamName(clause.substring(0, separator)) : null;
+            if (attribute == null) {
+                return null;
+            }
+            Set<String> values = new LinkedHashSet<>();
+            for (String rawValue : clause.substring(separator + 1).split("\\|")) {
+                String value = attribute.normalize(rawValue);
+                if (value == null) {
+                    return null;
+                }
+                values.add(value);
+            }
+            carFilters.add(new CarFilter(attribute, values, negated));
+        }
+        return carFilters;
+    }
+
+    /**
+     * Parses the requested facet attributes.
+     *
+     * @param facets The raw attribute names (can be null).
+     * @return The facet attributes, or null if any name is unknown.
+     */
+    private Set<CarAttribute> parseFacets(List<String> facets) {
+        Set<CarAttribute> facetAttributes = EnumSet.noneOf(CarAttribute.class);
+        if (facets == null) {
+            return facetAttributes;
+        }
+        for (String facet : facets) {
+            CarAttribute attribute = CarAttribute.fromParamName(facet.trim());
+            if (attribute == null) {
+                return null;
+            }
+            facetAttributes.add(attribute);
+        }
+        return facetAttributes;
+    }
+
+    /**
+     * Validates the car request details for creation.
+     *
+     * @param carRequestDto The car request details.
+     * @return True if the request is invalid, false otherwise.
+     */
+    private boolean isInvalidCarRequest(CarRequestDto carRequestDto) {
+        return carRequestDto.getName() == null || carRequestDto.getName().isEmpty() ||
+                carRequestDto.getBrand() == null || carRequestDto.getBrand().isEmpty() ||
+                carRequestDto.getVechicleCategory() == null ||
+                isInvalidPosition(carRequestDto.getLatitude(), carRequestDto.getLongitude());
+    }
+
+    /**
+     * Validates optional coordinates: both or neither must be given, within the valid ranges.
+     *
+     * @param latitude  The latitude (can be null).
+     * @param longitude The longitude (can be null).
+     * @return True if the coordinates are invalid, false otherwise.
+     */
+    static boolean isInvalidPosition(Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            return (latitude == null) != (longitude == null);
+        }
+        return latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180;
+    }
+
+    /**
+     * Converts a CarDetails object to a CarResponseDto.
+     *
+     * @param carDetails The CarDetails object.
+     * @return The CarResponseDto object.
+     */
+    static CarResponseDto computeCarResponseDetails(CarDetails carDetails) {
+        CarResponseDto responseDto = new CarResponseDto();
+        responseDto.setCarId(carDetails.getId());
+        responseDto.setName(carDetails.getName());
+        responseDto.setBrand(carDetails.getBrand());
+        responseDto.setVechicleNo(carDetails.getVechicleNo());
+        responseDto.setVechicleCategory(carDetails.getVechicleCategory());
+        responseDto.setManufacturingYear(carDetails.getManufacturingYear());
+        responseDto.setMileage(carDetails.getMileage());
+        responseDto.setHasSunRoof(carDetails.isHasSunRoof());
+        responseDto.setStatus(carDetails.getStatus());
+        if (carDetails.getRentalLocation() != null) {
+            responseDto.setRentalLocationId(carDetails.getRentalLocation().getId());
+        }
+        responseDto.setLatitude(carDetails.getLatitude());
+        responseDto.setLongitude(carDetails.getLongitude());
+        return responseDto;
+    }
+}
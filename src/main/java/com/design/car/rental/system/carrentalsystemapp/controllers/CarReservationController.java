@@ -0,0 +1,238 @@
+package com.design.car.rental.system.carrentalsystemapp.controllers;
+
+import com.design.car.rental.system.carrentalsystemapp.dtos.CarReservationRequestDto;
+import com.design.car.rental.system.carrentalsystemapp.dtos.CarReservationResponseDto;
+import com.design.car.rental.system.carrentalsystemapp.dtos.DriverAssignmentRunDto;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.CarNotAvailableException;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.CarNotFoundException;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.DriverAssignmentInProgressException;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.ReservationNotFoundException;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.ReservationQueueFullException;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.UserNotFoundException;
+import com.design.car.rental.system.carrentalsystemapp.services.impl.CarReservationService;
+import com.design.car.rental.system.carrentalsystemapp.services.impl.DriverAssignmentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+@RestController
+@RequestMapping("/reservation")
+public class CarReservationController {
+
+    @Autowired
+    private CarReservationService carReservationService;
+
+    @Autowired
+    private DriverAssignmentService driverAssignmentService;
+
+    private static final String RESERVATION_CANCELLED = "Reservation cancelled successfully";
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Creates a new reservation for a car.
+     *
+     * @param carReservationRequestDto The reservation details.
+     * @return ResponseEntity containing the created reservation, a bad request status for invalid input,
+     * a not found status for an unknown car or user, or a conflict status if the car is already reserved.
+     */
+    @PostMapping
+    public ResponseEntity<CarReservationResponseDto> createReservation(@RequestBody CarReservationRequestDto carReservationRequestDto) {
+        if (isInvalidReservationRequest(carReservationRequestDto)) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            CarReservationResponseDto responseDto = carReservationService.createReservation(
+                    carReservationRequestDto.getCarId(),
+                    carReservationRequestDto.getCustomerId(),
+                    carReservationRequestDto.getDriverId(),
+                    carReservationRequestDto.getPickUpDate(),
+                    carReservationRequestDto.getReturnDate(),
+                    carReservationRequestDto.getPickUpLocation(),
+                    carReservationRequestDto.getReturnLocation()
+            );
+            return ResponseEntity.ok(responseDto);
+        } catch (CarNotFoundException | UserNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (CarNotAvailableException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * Submits a reservation for asynchronous booking; the request thread is released until the booking is committed.
+     *
+     * @param carReservationRequestDto The reservation details.
+     * @return A future of the ResponseEntity containing the created reservation, a bad request status for invalid input,
+     * a not found status for an unknown car or user, a conflict status if the car is already reserved, or a
+     * too many requests status with a Retry-After header when the booking queue is full.
+     */
+    @PostMapping("/async")
+    public CompletableFuture<ResponseEntity<CarReservationResponseDto>> submitReservation(@RequestBody CarReservationRequestDto carReservationRequestDto) {
+        if (isInvalidReservationRequest(carReservationRequestDto)) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        try {
+            return carReservationService.submitReservation(
+                    carReservationRequestDto.getCarId(),
+                    carReservationRequestDto.getCustomerId(),
+                    carReservationRequestDto.getDriverId(),
+                    carReservationRequestDto.getPickUpDate(),
+                    carReservationRequestDto.getReturnDate(),
+                    carReservationRequestDto.getPickUpLocation(),
+                    carReservationRequestDto.getReturnLocation()
+            ).handle((responseDto, failure) -> failure == null ? ResponseEntity.ok(responseDto) : computeFailedReservationResponse(failure));
+        } catch (ReservationQueueFullException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+                    .build());
+        }
+    }
+
+    /**
+     * Retrieves an active reservation by its ID.
+     *
+     * @param reservationId The ID of the reservation.
+     * @return ResponseEntity containing the reservation.
+     * @throws ReservationNotFoundException If the reservation is not found.
+     */
+    @GetMapping("/{reservationId}")
+    public ResponseEntity<CarReservationResponseDto> getReservation(@PathVariable long reservationId) throws ReservationNotFoundException {
+        return ResponseEntity.ok(carReservationService.getReservation(reservationId));
+    }
+
+    /**
+     * Retrieves a reservation created in journal mode by its journal sequence number.
+     *
+     * @param journalSeq The journal sequence number returned when the reservation was created.
+     * @return ResponseEntity containing the reservation, or a not found status while it has not been written to the database.
+     */
+    @GetMapping("/journal/{journalSeq}")
+    public ResponseEntity<CarReservationResponseDto> getReservationByJournalSeq(@PathVariable long journalSeq) {
+        try {
+            return ResponseEntity.ok(carReservationService.getReservationByJournalSeq(journalSeq));
+        } catch (ReservationNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Retrieves one page of the active reservations of a car, ordered by reservation ID.
+     *
+     * @param carId   The ID of the car.
+     * @param afterId The reservation ID after which the page starts (0 for the first page).
+     * @param limit   The maximum number of reservations in the page.
+     * @return ResponseEntity containing the reservations or a bad request status.
+     */
+    @GetMapping("/car/{carId}")
+    public ResponseEntity<List<CarReservationResponseDto>> getReservationsByCar(@PathVariable long carId,
+                                                                                @RequestParam(defaultValue = "0") long afterId,
+                                                                                @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        if (isInvalidPageSize(limit)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(carReservationService.getReservationsByCar(carId, afterId, limit));
+    }
+
+    /**
+     * Retrieves one page of the active reservations of a customer, ordered by reservation ID.
+     *
+     * @param customerId The ID of the customer.
+     * @param afterId    The reservation ID after which the page starts (0 for the first page).
+     * @param limit      The maximum number of reservations in the page.
+     * @return ResponseEntity containing the reservations or a bad request status.
+     */
+    @GetMapping("/customer/{customerId}")
+    public ResponseEntity<List<CarReservationResponseDto>> getReservationsByCustomer(@PathVariable long customerId,
+                                                                                     @RequestParam(defaultValue = "0") long afterId,
+                                                                                     @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        if (isInvalidPageSize(limit)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(carReservationService.getReservationsByCustomer(customerId, afterId, limit));
+    }
+
+    /**
+     * Cancels (soft deletes) a reservation.
+     *
+     * @param reservationId The ID of the reservation to cancel.
+     * @return ResponseEntity containing the success message.
+     * @throws ReservationNotFoundException If the reservation is not found.
+     */
+    @DeleteMapping("/{reservationId}")
+    public ResponseEntity<String> cancelReservation(@PathVariable long reservationId) throws ReservationNotFoundException {
+        carReservationService.cancelReservation(reservationId);
+        return ResponseEntity.ok(RESERVATION_CANCELLED);
+    }
+
+    /**
+     * Runs the driver assignment for the reservations picked up in the given horizon, without waiting for the schedule.
+     *
+     * @param from The start of the horizon (ISO date-time, inclusive).
+     * @param to   The end of the horizon (ISO date-time, exclusive).
+     * @return ResponseEntity containing the run summary, a bad request status for an empty horizon,
+     * or a conflict status while another run is in progress.
+     */
+    @PostMapping("/driver-assignments")
+    public ResponseEntity<DriverAssignmentRunDto> assignDrivers(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date to) {
+        if (!to.after(from)) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(driverAssignmentService.assignDrivers(from, to));
+        } catch (DriverAssignmentInProgressException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * Validates the reservation request details for creation.
+     *
+     * @param carReservationRequestDto The reservation request details.
+     * @return True if the request is invalid, false otherwise.
+     */
+    private boolean isInvalidReservationRequest(CarReservationRequestDto carReservationRequestDto) {
+        return carReservationRequestDto.getPickUpDate() == null || carReservationRequestDto.getReturnDate() == null ||
+                !carReservationRequestDto.getReturnDate().after(carReservationRequestDto.getPickUpDate());
+    }
+
+    /**
+     * Validates the requested page size.
+     *
+     * @param limit The requested page size.
+     * @return True if the page size is out of range, false otherwise.
+     */
+    private boolean isInvalidPageSize(int limit) {
+        return limit <= 0 || limit > MAX_PAGE_SIZE;
+    }
+
+    /**
+     * Maps the failure of an asynchronous booking to its response status.
+     *
+     * @param failure The failure of the booking future.
+     * @return A not found status for an unknown car or user, or a conflict status if the car is already reserved.
+     * @throws CompletionException For any other failure, so it surfaces as a server error.
+     */
+    private ResponseEntity<CarReservationResponseDto> computeFailedReservationResponse(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        if (cause instanceof CarNotFoundException || cause instanceof UserNotFoundException) {
+            return ResponseEntity.notFound().build();
+        }
+        if (cause instanceof CarNotAvailableException) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        throw cause instanceof CompletionException completionException ? completionException : new CompletionException(cause);
+    }
+}
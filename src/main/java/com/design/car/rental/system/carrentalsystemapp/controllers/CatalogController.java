@@ -0,0 +1,221 @@
+package com.design.car.rental.system.carrentalsystemapp.controllers;
+
+import com.design.car.rental.system.carrentalsystemapp.catalog.CatalogSnapshot;
+import com.design.car.rental.system.carrentalsystemapp.enums.CarCategoryEnum;
+import com.design.car.rental.system.carrentalsystemapp.enums.CarStatusEnum;
+import com.design.car.rental.system.carrentalsystemapp.services.impl.CatalogSnapshotService;
+import com.design.car.rental.system.carrentalsystemapp.utils.WireFormats;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Read-only fleet browsing served from the memory-mapped catalog snapshot.
+ * - Cars are written field by field from the snapshot to the response; no entities or DTOs are created.
+ * - The snapshot is refreshed periodically, so results can lag recent changes by up to
+ *   catalog.snapshot.refresh-interval; Last-Modified carries the snapshot's build time.
+ * - The fields match those of /car/{carId}.
+ */
+@RestController
+@RequestMapping("/catalog")
+public class CatalogController {
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Autowired
+    private WireFormats wireFormats;
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Retrieves one page of the active fleet, ordered by car ID.
+     *
+     * @param afterId          The car ID after which the page starts (0 for the first page).
+     * @param limit            The maximum number of cars in the page.
+     * @param category         Only cars of this category (optional).
+     * @param status           Only cars in this status (optional).
+     * @param rentalLocationId Only cars parked at this rental location (optional).
+     * @param accept           The Accept header of the request (optional).
+     * @return ResponseEntity streaming the cars and the cursor of the next page, a bad request status,
+     * a not acceptable status, or a service unavailable status until the first snapshot is built.
+     */
+    @GetMapping("/cars")
+    public ResponseEntity<StreamingResponseBody> getCars(@RequestParam(defaultValue = "0") long afterId,
+                                                         @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+                                                         @RequestParam(required = false) CarCategoryEnum category,
+                                                         @RequestParam(required = false) CarStatusEnum status,
+                                                         @RequestParam(required = false) Long rentalLocationId,
+                                                         @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        CatalogSnapshot snapshot = catalogSnapshotService.getSnapshot();
+        if (snapshot == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        int[] page = computePage(snapshot, afterId, limit,
+                category == null ? -1 : category.ordinal(), status == null ? -1 : status.ordinal(), rentalLocationId);
+        Long nextAfterId = page.length == limit ? snapshot.carId(page[page.length - 1]) : null;
+        return stream(snapshot, accept, generator -> {
+            byte[] scratch = new byte[snapshot.getMaxStringBytes()];
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("cars");
+            for (int index : page) {
+                writeCar(generator, snapshot, index, scratch);
+            }
+            generator.writeEndArray();
+            if (nextAfterId == null) {
+                generator.writeNullField("nextAfterId");
+            } else {
+                generator.writeNumberField("nextAfterId", nextAfterId);
+            }
+            generator.writeEndObject();
+        });
+    }
+
+    /**
+     * Retrieves one car of the active fleet.
+     *
+     * @param carId  The ID of the car.
+     * @param accept The Accept header of the request (optional).
+     * @return ResponseEntity streaming the car, a not found status, a not acceptable status, or a service
+     * unavailable status until the first snapshot is built.
+     */
+    @GetMapping("/cars/{carId}")
+    public ResponseEntity<StreamingResponseBody> getCar(@PathVariable long carId,
+                                                        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        CatalogSnapshot snapshot = catalogSnapshotService.getSnapshot();
+        if (snapshot == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        int index = snapshot.indexOf(carId);
+        if (index < 0) {
+            return ResponseEntity.notFound().build();
+        }
+        return stream(snapshot, accept, generator -> writeCar(generator, snapshot, index, new byte[snapshot.getMaxStringBytes()]));
+    }
+
+    /**
+     * Selects the records of a page by scanning the snapshot from the cursor.
+     *
+     * @param snapshot         The snapshot.
+     * @param afterId          The car ID after which the page starts.
+     * @param limit            The maximum number of cars.
+     * @param categoryOrdinal  The required category ordinal, or -1 for any.
+     * @param statusOrdinal    The required status ordinal, or -1 for any.
+     * @param rentalLocationId The required rental location (can be null).
+     * @return The record indexes of the page.
+     */
+    private static int[] computePage(CatalogSnapshot snapshot, long afterId, int limit, int categoryOrdinal,
+                                     int statusOrdinal, Long rentalLocationId) {
+        int[] page = new int[limit];
+        int count = 0;
+        for (int index = snapshot.firstIndexAfter(afterId); index < snapshot.size() && count < limit; index++) {
+            if ((categoryOrdinal < 0 || snapshot.categoryOrdinal(index) == categoryOrdinal)
+                    && (statusOrdinal < 0 || snapshot.statusOrdinal(index) == statusOrdinal)
+                    && (rentalLocationId == null || snapshot.rentalLocationId(index) == rentalLocationId)) {
+                page[count++] = index;
+            }
+        }
+        return count == limit ? page : Arrays.copyOf(page, count);
+    }
+
+    /**
+     * Streams a response body written from the snapshot in the wire format picked by the Accept header.
+     *
+     * @param snapshot The snapshot the body is written from.
+     * @param accept   The Accept header of the request (can be null).
+     * @param body     Writes the body to the generator.
+     * @return ResponseEntity streaming the body, or a not acceptable status.
+     */
+    private ResponseEntity<StreamingResponseBody> stream(CatalogSnapshot snapshot, String accept, SnapshotBodyWriter body) {
+        WireFormats.WireFormat wireFormat = wireFormats.select(accept);
+        if (wireFormat == null) {
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+        }
+        StreamingResponseBody responseBody = outputStream -> {
+            try (JsonGenerator generator = wireFormat.mapper().getFactory().createGenerator(outputStream)) {
+                body.write(generator);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(wireFormat.mediaType())
+                .lastModified(snapshot.getBuiltAt())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(responseBody);
+    }
+
+    /**
+     * Writes one car with the fields of CarResponseDto; strings are copied as UTF-8 bytes through the scratch buffer.
+     */
+    static void writeCar(JsonGenerator generator, CatalogSnapshot snapshot, int index, byte[] scratch) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("carId", snapshot.carId(index));
+        writeStringField(generator, "name", snapshot, index, CatalogSnapshot.StringField.NAME, scratch);
+        writeStringField(generator, "brand", snapshot, index, CatalogSnapshot.StringField.BRAND, scratch);
+        writeStringField(generator, "vechicleNo", snapshot, index, CatalogSnapshot.StringField.VECHICLE_NO, scratch);
+        CarCategoryEnum category = snapshot.category(index);
+        if (category == null) {
+            generator.writeNullField("vechicleCategory");
+        } else {
+            generator.writeStringField("vechicleCategory", category.name());
+        }
+        writeStringField(generator, "manufacturingYear", snapshot, index, CatalogSnapshot.StringField.MANUFACTURING_YEAR, scratch);
+        generator.writeNumberField("mileage", snapshot.mileage(index));
+        generator.writeBooleanField("hasSunRoof", snapshot.hasSunRoof(index));
+        CarStatusEnum status = snapshot.status(index);
+        if (status == null) {
+            generator.writeNullField("status");
+        } else {
+            generator.writeStringField("status", status.name());
+        }
+        long rentalLocationId = snapshot.rentalLocationId(index);
+        if (rentalLocationId == 0) {
+            generator.writeNullField("rentalLocationId");
+        } else {
+            generator.writeNumberField("rentalLocationId", rentalLocationId);
+        }
+        writeCoordinateField(generator, "latitude", snapshot.latitude(index));
+        writeCoordinateField(generator, "longitude", snapshot.longitude(index));
+        generator.writeEndObject();
+    }
+
+    private static void writeStringField(JsonGenerator generator, String name, CatalogSnapshot snapshot, int index,
+                                         CatalogSnapshot.StringField field, byte[] scratch) throws IOException {
+        generator.writeFieldName(name);
+        int length = snapshot.copyString(index, field, scratch);
+        if (length < 0) {
+            generator.writeNull();
+        } else {
+            generator.writeUTF8String(scratch, 0, length);
+        }
+    }
+
+    private static void writeCoordinateField(JsonGenerator generator, String name, double value) throws IOException {
+        if (Double.isNaN(value)) {
+            generator.writeNullField(name);
+        } else {
+            generator.writeNumberField(name, value);
+        }
+    }
+
+    @FunctionalInterface
+    private interface SnapshotBodyWriter {
+        void write(JsonGenerator generator) throws IOException;
+    }
+}
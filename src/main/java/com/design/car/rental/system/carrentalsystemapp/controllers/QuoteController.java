@@ -0,0 +1,41 @@
+package com.design.car.rental.system.carrentalsystemapp.controllers;
+
+import com.design.car.rental.system.carrentalsystemapp.dtos.QuoteResponseDto;
+import com.design.car.rental.system.carrentalsystemapp.index.CarFilter;
+import com.design.car.rental.system.carrentalsystemapp.services.impl.QuoteService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Date;
+import java.util.List;
+
+@RestController
+@RequestMapping("/quote")
+public class QuoteController {
+
+    @Autowired
+    private QuoteService quoteService;
+
+    /**
+     * Prices every available car for the requested window.
+     * - Optional filters use the same syntax as the car search ("attribute:value1|value2", "-attribute:value").
+     *
+     * @param pickUpDate The start of the requested window (ISO date-time, inclusive).
+     * @param returnDate The end of the requested window (ISO date-time, exclusive).
+     * @param filters    The attribute filters the cars must match.
+     * @return ResponseEntity containing the quotes or a bad request status.
+     */
+    @GetMapping
+    public ResponseEntity<QuoteResponseDto> quoteAvailableCars(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date pickUpDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date returnDate,
+            @RequestParam(name = "filter", required = false) List<String> filters) {
+        List<CarFilter> carFilters = CarController.parseFilters(filters);
+        if (carFilters == null || !returnDate.after(pickUpDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(quoteService.quoteAvailableCars(pickUpDate, returnDate, carFilters));
+    }
+}
@@ -0,0 +1,94 @@
+package com.design.car.rental.system.carrentalsystemapp.controllers;
+
+import com.design.car.rental.system.carrentalsystemapp.dtos.RentalLocationDto;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.RentalLocationNotFoundException;
+import com.design.car.rental.system.carrentalsystemapp.models.RentalLocation;
+import com.design.car.rental.system.carrentalsystemapp.services.impl.RentalLocationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/location")
+public class RentalLocationController {
+
+    @Autowired
+    private RentalLocationService rentalLocationService;
+
+    /**
+     * Adds a new rental location.
+     *
+     * @param rentalLocationDto The location details.
+     * @return ResponseEntity containing the created location or a bad request status.
+     */
+    @PostMapping
+    public ResponseEntity<RentalLocationDto> addLocation(@RequestBody RentalLocationDto rentalLocationDto) {
+        if (isInvalidLocationRequest(rentalLocationDto)) {
+            return ResponseEntity.badRequest().build();
+        }
+        RentalLocation rentalLocation = rentalLocationService.addLocation(
+                rentalLocationDto.getName(),
+                rentalLocationDto.getAddress(),
+                rentalLocationDto.getLatitude(),
+                rentalLocationDto.getLongitude()
+        );
+        return ResponseEntity.ok(computeLocationResponseDetails(rentalLocation));
+    }
+
+    /**
+     * Retrieves a rental location by its ID.
+     *
+     * @param locationId The ID of the location.
+     * @return ResponseEntity containing the location or a not found status.
+     */
+    @GetMapping("/{locationId}")
+    public ResponseEntity<RentalLocationDto> getLocation(@PathVariable long locationId) {
+        try {
+            return ResponseEntity.ok(computeLocationResponseDetails(rentalLocationService.getLocation(locationId)));
+        } catch (RentalLocationNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Retrieves all rental locations.
+     *
+     * @return ResponseEntity containing the list of locations.
+     */
+    @GetMapping
+    public ResponseEntity<List<RentalLocationDto>> getAllLocations() {
+        return ResponseEntity.ok(rentalLocationService.getAllLocations().stream()
+                .map(RentalLocationController::computeLocationResponseDetails)
+                .toList());
+    }
+
+    /**
+     * Validates the location request details for creation.
+     *
+     * @param rentalLocationDto The location request details.
+     * @return True if the request is invalid, false otherwise.
+     */
+    private boolean isInvalidLocationRequest(RentalLocationDto rentalLocationDto) {
+        return rentalLocationDto.getName() == null || rentalLocationDto.getName().isEmpty() ||
+                CarController.isInvalidPosition(rentalLocationDto.getLatitude(), rentalLocationDto.getLongitude()) ||
+                rentalLocationDto.getLatitude() == null;
+    }
+
+    /**
+     * Converts a RentalLocation object to a RentalLocationDto.
+     *
+     * @param rentalLocation The RentalLocation object.
+     * @return The RentalLocationDto object.
+     */
+    private static RentalLocationDto computeLocationResponseDetails(RentalLocation rentalLocation) {
+        RentalLocationDto responseDto = new RentalLocationDto();
+        responseDto.setLocationId(rentalLocation.getId());
+        responseDto.setName(rentalLocation.getName());
+        responseDto.setAddress(rentalLocation.getAddress());
+        responseDto.setLatitude(rentalLocation.getLatitude());
+        responseDto.setLongitude(rentalLocation.getLongitude());
+        return responseDto;
+    }
+}
@@ -1,14 +1,42 @@
 package com.design.car.rental.system.carrentalsystemapp.controllers;
 
+import com.design.car.rental.system.carrentalsystemapp.dtos.UserChangeDto;
+import com.design.car.rental.system.carrentalsystemapp.dtos.UserChangesResponseDto;
+import com.design.car.rental.system.carrentalsystemapp.dtos.UserImportResponseDto;
+import com.design.car.rental.system.carrentalsystemapp.dtos.UserPageResponseDto;
 import com.design.car.rental.system.carrentalsystemapp.dtos.UserRequestDto;
 import com.design.car.rental.system.carrentalsystemapp.dtos.UserResponseDto;
+import com.design.car.rental.system.carrentalsystemapp.dtos.UserSearchHitDto;
+import com.design.car.rental.system.carrentalsystemapp.dtos.UserSearchResponseDto;
 import com.design.car.rental.system.carrentalsystemapp.exceptions.UserNotFoundException;
+import com.design.car.rental.system.carrentalsystemapp.index.IndexedUser;
+import com.design.car.rental.system.carrentalsystemapp.index.UserSearchHit;
+import com.design.car.rental.system.carrentalsystemapp.index.UserSearchResult;
 import com.design.car.rental.system.carrentalsystemapp.models.UserDetails;
 import com.design.car.rental.system.carrentalsystemapp.services.impl.UserService;
+import com.design.car.rental.system.carrentalsystemapp.utils.UserCsvImportReader;
+import com.design.car.rental.system.carrentalsystemapp.utils.UserJsonImportReader;
+import com.design.car.rental.system.carrentalsystemapp.utils.WireFormats;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping("/user")
@@ -17,11 +45,30 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private WireFormats wireFormats;
+
     // Define allowed user type IDs in a more flexible way
     private static final List<Integer> VALID_USER_TYPE_IDS = List.of(0, 1, 2);
 
     private static final String RECORDS_DELETED="Record deleted successfully from the database";
 
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
+    private static final String CURSOR_SEPARATOR = ":";
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private static final int STREAM_FLUSH_INTERVAL = 256;
+
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+
+    // Ranked results are paged by offset, so the reachable window is bounded like a page.
+    private static final int MAX_SEARCH_WINDOW = 1000;
+
     /**
      * Creates a new user based on the provided details.
      *
@@ -46,50 +93,184 @@ public class UserController {
         return ResponseEntity.ok(userResponseDto);
     }
 
+    /**
+     * Imports many users from a JSON array of user requests.
+     * - The array is read element by element, so its size is not bounded by memory.
+     * - Invalid rows are reported in the response and do not abort the import.
+     *
+     * @param inputStream The request body containing a JSON array of user requests.
+     * @return ResponseEntity containing the import summary.
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<UserImportResponseDto> importUsersFromJson(InputStream inputStream) {
+        return ResponseEntity.ok(userService.importUsers(new UserJsonImportReader(objectMapper, inputStream)));
+    }
+
+    /**
+     * Imports many users from CSV with a header line
+     * (name, phone, email, licenseNo, userTypeId, street, city, state, zip).
+     * - The CSV is read line by line, so its size is not bounded by memory.
+     * - Invalid rows are reported in the response and do not abort the import.
+     *
+     * @param inputStream The request body containing the CSV document.
+     * @return ResponseEntity containing the import summary.
+     */
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public ResponseEntity<UserImportResponseDto> importUsersFromCsv(InputStream inputStream) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        return ResponseEntity.ok(userService.importUsers(new UserCsvImportReader(reader)));
+    }
+
     /**
      * Retrieves all users of a specific user type.
+     * - The array is written incrementally while rows are streamed from the database.
+     * - Written as JSON, CBOR or Smile depending on the Accept header.
      *
      * @param userTypeId The user type ID to filter users.
-     * @return ResponseEntity containing the list of users or a bad request status.
+     * @param accept     The Accept header of the request (optional).
+     * @return ResponseEntity streaming the list of users, a bad request status, or a not acceptable status.
      */
     @GetMapping("/userType/{userTypeId}")
-    public ResponseEntity<List<UserResponseDto>> getUserDetailsByUserType(@PathVariable int userTypeId) {
+    public ResponseEntity<StreamingResponseBody> getUserDetailsByUserType(@PathVariable int userTypeId,
+                                                                          @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         if (!VALID_USER_TYPE_IDS.contains(userTypeId)) {
             return ResponseEntity.badRequest().build();
         }
-        List<UserDetails> userDetailsList = userService.getUserDetailsByUserType(userTypeId);
-        List<UserResponseDto> userResponseDtos = userDetailsList.stream()
-                .map(this::computeUserResponseDetailsWithId)
-                .toList();
-        return ResponseEntity.ok(userResponseDtos);
+        return streamUsers(accept, consumer -> userService.forEachUserDetailsByUserType(userTypeId, consumer));
+    }
+
+    /**
+     * Retrieves one page of users of a specific user type, ordered by user ID.
+     *
+     * @param userTypeId The user type ID to filter users.
+     * @param afterId    The user ID after which the page starts (0 for the first page).
+     * @param limit      The maximum number of users in the page.
+     * @return ResponseEntity containing the page of users and the cursor of the next page, or a bad request status.
+     */
+    @GetMapping("/userType/{userTypeId}/page")
+    public ResponseEntity<UserPageResponseDto> getUserDetailsPageByUserType(@PathVariable int userTypeId,
+                                                                           @RequestParam(defaultValue = "0") long afterId,
+                                                                           @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        if (!VALID_USER_TYPE_IDS.contains(userTypeId) || isInvalidPageSize(limit)) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<UserResponseDto> userResponseDtos = userService.getUserDetailsPageByUserType(userTypeId, afterId, limit);
+        return ResponseEntity.ok(computeUserPage(userResponseDtos, limit));
     }
 
     /**
      * Retrieves user details for a specific user ID.
+     * - The ETag is derived from the user ID and last write time.
+     * - A matching If-None-Match is answered with 304 before the response is built or serialized.
      *
-     * @param userId The ID of the user to retrieve.
-     * @return ResponseEntity containing the user's response or an error status.
+     * @param userId      The ID of the user to retrieve.
+     * @param ifNoneMatch The ETags the client already holds (optional).
+     * @return ResponseEntity containing the user's response, a not modified status, or an error status.
      * @throws UserNotFoundException If the user is not found.
      */
     @GetMapping("/{userId}")
-    public ResponseEntity<UserResponseDto> getUserDetailsByUserId(@PathVariable long userId) throws UserNotFoundException {
+    public ResponseEntity<UserResponseDto> getUserDetailsByUserId(@PathVariable long userId,
+                                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch)
+            throws UserNotFoundException {
         UserDetails userDetails = userService.getUserDetailsByUserId(userId);
-        UserResponseDto userResponseDto = computeUserResponseDetailsWithId(userDetails);
-        return ResponseEntity.ok(userResponseDto);
+        String eTag = computeUserETag(userDetails);
+        if (eTag == null) {
+            return ResponseEntity.ok(computeUserResponseDetailsWithId(userDetails));
+        }
+        if (matchesETag(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(computeUserResponseDetailsWithId(userDetails));
+    }
+
+    /**
+     * Retrieves the users created, updated or deleted since a point in time, in write order.
+     * - Start with since (or nothing, for every tracked change), then pass back the returned nextCursor.
+     * - Deleted users are reported with deleted set and no details.
+     *
+     * @param since  The time after which changes are returned (ISO date-time), used when no cursor is given.
+     * @param cursor The nextCursor of the previous response.
+     * @param limit  The maximum number of changes in the response.
+     * @return ResponseEntity containing the changes and the cursor to resume from, or a bad request status.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<UserChangesResponseDto> getUserChanges(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date since,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        long[] position = cursor != null ? parseChangesCursor(cursor)
+                : new long[]{since != null ? since.getTime() : 0, Long.MAX_VALUE};
+        if (position == null || isInvalidPageSize(limit)) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<UserChangeDto> changes = userService.getUserChangesSince(new Date(position[0]), position[1], limit);
+        UserChangesResponseDto changesResponseDto = new UserChangesResponseDto();
+        changesResponseDto.setChanges(changes);
+        changesResponseDto.setHasMore(changes.size() == limit);
+        if (!changes.isEmpty()) {
+            UserChangeDto last = changes.get(changes.size() - 1);
+            position = new long[]{last.getUpdOn().getTime(), last.getUserId()};
+        }
+        changesResponseDto.setNextCursor(position[0] + CURSOR_SEPARATOR + position[1]);
+        return ResponseEntity.ok(changesResponseDto);
+    }
+
+    /**
+     * Searches active users by partial name, email, phone or license number, best matches first.
+     *
+     * @param q      The free-text query; every term must match.
+     * @param offset The number of ranked matches to skip.
+     * @param limit  The maximum number of matches in the response.
+     * @return ResponseEntity containing the page of matches, the match count and the offset of the next page,
+     * or a bad request status.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<UserSearchResponseDto> searchUsers(@RequestParam String q,
+                                                             @RequestParam(defaultValue = "0") int offset,
+                                                             @RequestParam(defaultValue = "" + DEFAULT_SEARCH_LIMIT) int limit) {
+        if (q.isBlank() || offset < 0 || isInvalidPageSize(limit) || offset + limit > MAX_SEARCH_WINDOW) {
+            return ResponseEntity.badRequest().build();
+        }
+        UserSearchResult searchResult = userService.searchUsers(q, offset, limit);
+        UserSearchResponseDto searchResponseDto = new UserSearchResponseDto();
+        searchResponseDto.setHits(searchResult.hits().stream().map(UserController::computeUserSearchHit).toList());
+        searchResponseDto.setMatchCount(searchResult.matchCount());
+        searchResponseDto.setTruncated(searchResult.truncated());
+        int nextOffset = offset + searchResult.hits().size();
+        if (searchResult.hits().size() == limit && nextOffset < Math.min(searchResult.matchCount(), MAX_SEARCH_WINDOW)) {
+            searchResponseDto.setNextOffset(nextOffset);
+        }
+        return ResponseEntity.ok(searchResponseDto);
     }
 
     /**
      * Retrieves all active users.
+     * - The array is written incrementally while rows are streamed from the database.
+     * - Written as JSON, CBOR or Smile depending on the Accept header.
      *
-     * @return ResponseEntity containing the list of all active users.
+     * @param accept The Accept header of the request (optional).
+     * @return ResponseEntity streaming the list of all active users, or a not acceptable status.
      */
     @GetMapping
-    public ResponseEntity<List<UserResponseDto>> getAllUsers() {
-        List<UserDetails> userDetailsList = userService.getAllActiveUserDetails();
-        List<UserResponseDto> userResponseDtos = userDetailsList.stream()
-                .map(this::computeUserResponseDetailsWithId)
-                .toList();
-        return ResponseEntity.ok(userResponseDtos);
+    public ResponseEntity<StreamingResponseBody> getAllUsers(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return streamUsers(accept, userService::forEachActiveUserDetails);
+    }
+
+    /**
+     * Retrieves one page of active users, ordered by user ID.
+     *
+     * @param afterId The user ID after which the page starts (0 for the first page).
+     * @param limit   The maximum number of users in the page.
+     * @return ResponseEntity containing the page of users and the cursor of the next page, or a bad request status.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<UserPageResponseDto> getUsersPage(@RequestParam(defaultValue = "0") long afterId,
+                                                            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        if (isInvalidPageSize(limit)) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<UserResponseDto> userResponseDtos = userService.getActiveUserDetailsPage(afterId, limit);
+        return ResponseEntity.ok(computeUserPage(userResponseDtos, limit));
     }
 
     /**
@@ -140,6 +321,131 @@ public class UserController {
         return responseDto;
     }
 
+    /**
+     * Computes the ETag of a user's current version.
+     *
+     * @param userDetails The UserDetails object.
+     * @return The quoted ETag, or null for a user written before write times were recorded.
+     */
+    static String computeUserETag(UserDetails userDetails) {
+        if (userDetails.getUpdOn() == null) {
+            return null;
+        }
+        return "\"" + userDetails.getId() + "-" + userDetails.getUpdOn().getTime() + "\"";
+    }
+
+    /**
+     * Checks an If-None-Match header against the current ETag.
+     *
+     * @param ifNoneMatch The header value: "*" or a comma-separated list of (possibly weak) ETags.
+     * @param eTag        The current ETag.
+     * @return True if the client already holds the current version, false otherwise.
+     */
+    static boolean matchesETag(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.startsWith("W/")) {
+                trimmed = trimmed.substring(2);
+            }
+            if (trimmed.equals("*") || trimmed.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parses a delta-sync cursor of the form updOnMillis:userId.
+     *
+     * @param cursor The cursor returned by a previous changes response.
+     * @return The updOn in epoch milliseconds and the user ID, or null if the cursor is malformed.
+     */
+    static long[] parseChangesCursor(String cursor) {
+        int separator = cursor.indexOf(CURSOR_SEPARATOR);
+        if (separator <= 0) {
+            return null;
+        }
+        try {
+            return new long[]{Long.parseLong(cursor.substring(0, separator)), Long.parseLong(cursor.substring(separator + 1))};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Builds a streaming array response fed by a user source, in the encoding the client accepts.
+     *
+     * @param accept     The Accept header of the request (can be null).
+     * @param userSource The source pushing each user to the given consumer.
+     * @return ResponseEntity whose body writes one array element per user and flushes periodically,
+     * or a not acceptable status if no supported encoding is accepted.
+     */
+    private ResponseEntity<StreamingResponseBody> streamUsers(String accept, Consumer<Consumer<UserResponseDto>> userSource) {
+        WireFormats.WireFormat wireFormat = wireFormats.select(accept);
+        if (wireFormat == null) {
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+        }
+        ObjectMapper mapper = wireFormat.mapper();
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = mapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                int[] written = {0};
+                userSource.accept(userResponseDto -> {
+                    try {
+                        mapper.writeValue(generator, userResponseDto);
+                        if (++written[0] % STREAM_FLUSH_INTERVAL == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(wireFormat.mediaType()).varyBy(HttpHeaders.ACCEPT).body(body);
+    }
+
+    /**
+     * Wraps a page of users into a UserPageResponseDto.
+     *
+     * @param userResponseDtos The users of the page.
+     * @param limit            The requested page size.
+     * @return The UserPageResponseDto, with a next cursor only if the page is full.
+     */
+    private UserPageResponseDto computeUserPage(List<UserResponseDto> userResponseDtos, int limit) {
+        UserPageResponseDto userPageResponseDto = new UserPageResponseDto();
+        userPageResponseDto.setUsers(userResponseDtos);
+        if (userResponseDtos.size() == limit) {
+            userPageResponseDto.setNextAfterId(userResponseDtos.get(userResponseDtos.size() - 1).getUserId());
+        }
+        return userPageResponseDto;
+    }
+
+    /**
+     * Converts a search hit to its response shape.
+     *
+     * @param hit The search hit.
+     * @return The UserSearchHitDto object.
+     */
+    private static UserSearchHitDto computeUserSearchHit(UserSearchHit hit) {
+        IndexedUser user = hit.user();
+        return new UserSearchHitDto(user.userId(), user.name(), user.email(), user.phone(), user.licenseNo(), user.userType(), hit.score());
+    }
+
+    /**
+     * Validates the requested page size.
+     *
+     * @param limit The requested page size.
+     * @return True if the page size is out of range, false otherwise.
+     */
+    private boolean isInvalidPageSize(int limit) {
+        return limit <= 0 || limit > MAX_PAGE_SIZE;
+    }
+
     /**
      * Validates the user request details for creation.
      *
@@ -157,7 +463,7 @@ public class UserController {
      * @param userDetails The UserDetails object.
      * @return The UserResponseDto object.
      */
-    private static UserResponseDto computeUserResponseDetails(UserDetails userDetails) {
+    static UserResponseDto computeUserResponseDetails(UserDetails userDetails) {
         UserResponseDto userResponseDto = new UserResponseDto();
         userResponseDto.setName(userDetails.getName());
         userResponseDto.setPhone(userDetails.getPhone());
@@ -0,0 +1,55 @@
+package com.design.car.rental.system.carrentalsystemapp.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps every DataSource bean in an {@link AdmissionControlledDataSource} when db.admission.enabled is set.
+ * Runs last, so admission is the outermost wrapper and is checked before any connection work starts.
+ * - db.admission.enabled follows spring.threads.virtual.enabled, but Spring Boot only honours the latter on a
+ *   Java 21+ runtime. On Java 17 (the project's target) setting it switches admission control on while requests
+ *   still run on Tomcat's platform worker pool; the semaphore then only adds a second queue in front of HikariCP.
+ */
+@Component
+@ConditionalOnProperty(name = "db.admission.enabled", havingValue = "true")
+public class DbAdmissionPostProcessor implements BeanPostProcessor, Ordered {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final int maxConcurrentConnections;
+    private final Duration timeout;
+
+    public DbAdmissionPostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+                                    @Value("${db.admission.max-concurrent}") int maxConcurrentConnections,
+                                    @Value("${db.admission.timeout:5s}") Duration timeout) {
+        this.meterRegistry = meterRegistry;
+        this.maxConcurrentConnections = maxConcurrentConnections;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof AdmissionControlledDataSource)) {
+            AdmissionControlledDataSource admissionControlled =
+                    new AdmissionControlledDataSource(dataSource, maxConcurrentConnections, timeout);
+            Gauge.builder("db.admission.queue", admissionControlled, AdmissionControlledDataSource::getQueueLength)
+                    .description("Threads waiting for database admission")
+                    .register(meterRegistry.getObject());
+            return admissionControlled;
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
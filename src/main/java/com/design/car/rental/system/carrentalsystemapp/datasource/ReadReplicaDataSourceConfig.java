@@ -0,0 +1,122 @@
+package com.design.car.rental.system.carrentalsystemapp.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the single application DataSource with primary/replica routing when db.replica.enabled is set.
+ * - The primary pool is built from spring.datasource.*, every URL of db.replica.urls gets its own pool.
+ * - Pools share the spring.datasource.hikari.* settings; db.replica.hikari.* overrides them for replicas.
+ * - The pools are not beans of their own, so only the routed DataSource is seen by JPA and by the
+ *   admission control wrapper.
+ */
+@Configuration
+@ConditionalOnProperty(name = "db.replica.enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    /**
+     * @param stickyWindow      How long a client reads from the primary after its own write.
+     * @param maxTrackedClients The maximum number of recently writing clients remembered.
+     * @return The tracker of recently writing clients.
+     */
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(@Value("${db.replica.sticky-window:2s}") Duration stickyWindow,
+                                                       @Value("${db.replica.max-tracked-clients:100000}") long maxTrackedClients) {
+        return new ReadYourWritesTracker(stickyWindow, maxTrackedClients);
+    }
+
+    /**
+     * @param tracker      The tracker of recently writing clients.
+     * @param clientHeader The request header identifying the client.
+     * @return The filter binding each request's client to its thread.
+     */
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReadYourWritesTracker tracker,
+                                                     @Value("${db.replica.client-header:X-Client-Id}") String clientHeader) {
+        return new ReadYourWritesFilter(tracker, clientHeader);
+    }
+
+    /**
+     * Builds the primary and replica pools and the routing DataSource in front of them.
+     *
+     * @param primaryProperties  The spring.datasource.* properties of the primary.
+     * @param environment        The environment the pool settings are bound from.
+     * @param tracker            The tracker of recently writing clients.
+     * @param meterRegistry      The registry the healthy replica gauge is registered in.
+     * @param replicaUrls        The JDBC URLs of the replicas.
+     * @param validationTimeout  The timeout of a replica health check.
+     * @return The routed DataSource used by the application.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties primaryProperties, Environment environment, ReadYourWritesTracker tracker,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${db.replica.urls}") List<String> replicaUrls,
+                                 @Value("${db.replica.validation-timeout:1s}") Duration validationTimeout) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = primaryProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (String replicaUrl : replicaUrls) {
+            HikariDataSource replica = primaryProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+            binder.bind("db.replica.hikari", Bindable.ofInstance(replica));
+            replica.setJdbcUrl(replicaUrl);
+            replica.setUsername(environment.getProperty("db.replica.username", primary.getUsername()));
+            replica.setPassword(environment.getProperty("db.replica.password", primary.getPassword()));
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setReadOnly(true);
+            // A replica that is down at startup must not keep the application from starting.
+            replica.setInitializationFailTimeout(-1);
+            replicas.add(replica);
+        }
+
+        replicaRoutingDataSource = new ReplicaRoutingDataSource(primary, replicas, tracker, validationTimeout);
+        Gauge.builder("db.replica.healthy", replicaRoutingDataSource, ReplicaRoutingDataSource::getHealthyReplicaCount)
+                .description("Replicas currently receiving read-only transactions")
+                .register(meterRegistry);
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /**
+     * Re-validates the replicas, taking failed ones out of rotation and bringing recovered ones back.
+     */
+    @Scheduled(fixedDelayString = "${db.replica.health-check-interval:5s}")
+    public void checkReplicaHealth() {
+        if (replicaRoutingDataSource != null) {
+            replicaRoutingDataSource.checkReplicaHealth();
+        }
+    }
+
+    /**
+     * Closes the primary and replica pools.
+     */
+    @PreDestroy
+    public void closeDataSources() throws Exception {
+        if (replicaRoutingDataSource != null) {
+            replicaRoutingDataSource.close();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.design.car.rental.system.carrentalsystemapp.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Binds the calling client to the request thread for read-your-writes routing.
+ * The client is identified by the configured header and, without it, by the remote address.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final ReadYourWritesTracker tracker;
+    private final String clientHeader;
+
+    public ReadYourWritesFilter(ReadYourWritesTracker tracker, String clientHeader) {
+        this.tracker = tracker;
+        this.clientHeader = clientHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String clientKey = request.getHeader(clientHeader);
+        tracker.bindClient(clientKey == null || clientKey.isBlank() ? request.getRemoteAddr() : clientKey);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            tracker.clearClient();
+        }
+    }
+}
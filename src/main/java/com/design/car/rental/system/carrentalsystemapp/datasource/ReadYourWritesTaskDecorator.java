@@ -0,0 +1,39 @@
+package com.design.car.rental.system.carrentalsystemapp.datasource;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Carries the read-your-writes client of the submitting request to the task.
+ * - Spring MVC async bodies, like the streamed user lists, run their read-only transactions on the task executor;
+ *   without the client there, a client that just wrote would be routed to a replica that may not have its write.
+ * - Tasks submitted without a bound client run without one, as before.
+ */
+public class ReadYourWritesTaskDecorator implements TaskDecorator {
+
+    private final ReadYourWritesTracker tracker;
+
+    public ReadYourWritesTaskDecorator(ReadYourWritesTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        String clientKey = tracker.currentClient();
+        if (clientKey == null) {
+            return runnable;
+        }
+        return () -> {
+            String previous = tracker.currentClient();
+            tracker.bindClient(clientKey);
+            try {
+                runnable.run();
+            } finally {
+                if (previous == null) {
+                    tracker.clearClient();
+                } else {
+                    tracker.bindClient(previous);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package com.design.car.rental.system.carrentalsystemapp.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Remembers which clients wrote recently, so their reads stay on the primary until the replicas have caught up.
+ * - The client of the current thread is bound by {@link ReadYourWritesFilter} for the duration of a request, and
+ *   carried to the thread of an async body (e.g. a StreamingResponseBody) by {@link ReadYourWritesTaskDecorator}.
+ * - A committed write makes its client sticky for the configured window; threads without a client are never sticky.
+ */
+public class ReadYourWritesTracker {
+
+    private final ThreadLocal<String> currentClient = new ThreadLocal<>();
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration stickyWindow, long maxTrackedClients) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickyWindow)
+                .maximumSize(maxTrackedClients)
+                .build();
+    }
+
+    /**
+     * Binds a client to the current thread.
+     *
+     * @param clientKey The key identifying the client.
+     */
+    public void bindClient(String clientKey) {
+        currentClient.set(clientKey);
+    }
+
+    /**
+     * @return The client bound to the current thread, or null if there is none.
+     */
+    public String currentClient() {
+        return currentClient.get();
+    }
+
+    /**
+     * Removes the client bound to the current thread.
+     */
+    public void clearClient() {
+        currentClient.remove();
+    }
+
+    /**
+     * Marks the client of the current thread as having just written, if one is bound.
+     */
+    public void recordWrite() {
+        String clientKey = currentClient.get();
+        if (clientKey != null) {
+            recentWriters.put(clientKey, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * @return True if the client of the current thread wrote within the sticky window, false otherwise.
+     */
+    public boolean isSticky() {
+        String clientKey = currentClient.get();
+        return clientKey != null && recentWriters.getIfPresent(clientKey) != null;
+    }
+}
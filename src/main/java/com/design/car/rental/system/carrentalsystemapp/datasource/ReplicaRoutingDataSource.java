@@ -0,0 +1,175 @@
+package com.design.car.rental.system.carrentalsystemapp.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes read-only transactions to a pool of replicas and everything else to the primary.
+ * - Must sit behind a LazyConnectionDataSourceProxy, so the connection is only fetched once the
+ *   transaction's read-only flag is known.
+ * - Replicas are used round-robin; a replica that fails a health check or a connection attempt is skipped
+ *   until a later health check finds it valid again, and reads fall back to the primary when none is left.
+ * - A client that committed a write within the sticky window reads from the primary (read-your-writes).
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final ReadYourWritesTracker tracker;
+    private final int validationTimeoutSeconds;
+    private final Set<Integer> unhealthyReplicas = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, ReadYourWritesTracker tracker,
+                                    Duration validationTimeout) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.tracker = tracker;
+        this.validationTimeoutSeconds = (int) Math.max(1, validationTimeout.toSeconds());
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < this.replicas.size(); i++) {
+            targets.put(i, this.replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Picks the target of the connection being opened.
+     * - Read-write transactions go to the primary and make the current client sticky once they complete.
+     * - Read-only transactions go to the next healthy replica unless the client is sticky.
+     *
+     * @return The primary key or the index of a replica.
+     */
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        tracker.recordWrite();
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+        if (tracker.isSticky()) {
+            return PRIMARY;
+        }
+        Integer replica = nextHealthyReplica();
+        return replica == null ? PRIMARY : replica;
+    }
+
+    /**
+     * Opens a connection on the routed target, falling back to the primary if a replica cannot be reached.
+     *
+     * @return A connection to the routed target.
+     * @throws SQLException If the primary cannot be reached.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        if (key instanceof Integer replica) {
+            try {
+                return replicas.get(replica).getConnection();
+            } catch (SQLException e) {
+                markUnhealthy(replica, e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Object key = determineCurrentLookupKey();
+        if (key instanceof Integer replica) {
+            try {
+                return replicas.get(replica).getConnection(username, password);
+            } catch (SQLException e) {
+                markUnhealthy(replica, e);
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Validates a connection of every replica and updates which ones receive reads.
+     */
+    public void checkReplicaHealth() {
+        for (int i = 0; i < replicas.size(); i++) {
+            try (Connection connection = replicas.get(i).getConnection()) {
+                if (connection.isValid(validationTimeoutSeconds)) {
+                    if (unhealthyReplicas.remove(i)) {
+                        LOGGER.info("Replica {} is healthy again", i);
+                    }
+                } else {
+                    markUnhealthy(i, null);
+                }
+            } catch (SQLException e) {
+                markUnhealthy(i, e);
+            }
+        }
+    }
+
+    /**
+     * @return The number of replicas currently receiving reads.
+     */
+    public int getHealthyReplicaCount() {
+        return replicas.size() - unhealthyReplicas.size();
+    }
+
+    /**
+     * Closes the primary and replica pools that support it.
+     */
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Integer nextHealthyReplica() {
+        int count = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(count, 1));
+        for (int i = 0; i < count; i++) {
+            int replica = (start + i) % count;
+            if (!unhealthyReplicas.contains(replica)) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void markUnhealthy(int replica, SQLException cause) {
+        if (unhealthyReplicas.add(replica)) {
+            LOGGER.warn("Replica {} is unhealthy, routing its reads to the primary", replica, cause);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.design.car.rental.system.carrentalsystemapp.dtos;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Date;
+import java.util.List;
+
+@Getter
+@Setter
+public class CarAvailabilityResponseDto {
+
+    private Date pickUpDate;
+    private Date returnDate;
+    private int availableCount;
+    private List<Long> carIds;
+}
@@ -0,0 +1,13 @@
+package com.design.car.rental.system.carrentalsystemapp.dtos;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class CarLocationRequestDto {
+
+    private Long rentalLocationId;
+    private Double latitude;
+    private Double longitude;
+}
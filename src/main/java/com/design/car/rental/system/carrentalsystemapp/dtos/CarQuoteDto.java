@@ -0,0 +1,16 @@
+package com.design.car.rental.system.carrentalsystemapp.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CarQuoteDto {
+
+    private long carId;
+    private long priceCents;
+}
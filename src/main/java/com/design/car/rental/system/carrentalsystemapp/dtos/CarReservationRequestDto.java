@@ -0,0 +1,19 @@
+package com.design.car.rental.system.carrentalsystemapp.dtos;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Date;
+
+@Getter
+@Setter
+public class CarReservationRequestDto {
+
+    private long carId;
+    private long customerId;
+    private Long driverId;
+    private Date pickUpDate;
+    private Date returnDate;
+    private String pickUpLocation;
+    private String returnLocation;
+}
@@ -0,0 +1,25 @@
+package com.design.car.rental.system.carrentalsystemapp.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Date;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CarReservationResponseDto {
+
+    private long reservationId;
+    private long carId;
+    private long customerId;
+    private Long driverId;
+    private Date pickUpDate;
+    private Date returnDate;
+    private String pickUpLocation;
+    private String returnLocation;
+    private Long journalSeq;
+}
@@ -0,0 +1,24 @@
+package com.design.car.rental.system.carrentalsystemapp.dtos;
+
+import com.design.car.rental.system.carrentalsystemapp.enums.CarCategoryEnum;
+import com.design.car.rental.system.carrentalsystemapp.enums.CarStatusEnum;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class CarResponseDto {
+
+    private long carId;
+    private String name;
+    private String brand;
+    private String vechicleNo;
+    private CarCategoryEnum vechicleCategory;
+    private String manufacturingYear;
+    private int mileage;
+    private boolean hasSunRoof;
+    private CarStatusEnum status;
+    private Long rentalLocationId;
+    private Double latitude;
+    private Double longitude;
+}
@@ -0,0 +1,16 @@
+package com.design.car.rental.system.carrentalsystemapp.dtos;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+public class CarSearchResponseDto {
+
+    private long matchCount;
+    private List<Long> carIds;
+    private Map<String, Map<String, Long>> facets;
+}
@@ -0,0 +1,19 @@
+package com.design.car.rental.system.carrentalsystemapp.dtos;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Date;
+
+@Getter
+@Setter
+public class DriverAssignmentRunDto {
+
+    private Date from;
+    private Date to;
+    private int pendingReservations;
+    private int drivers;
+    private int assigned;
+    private int unassigned;
+    private long elapsedMillis;
+}
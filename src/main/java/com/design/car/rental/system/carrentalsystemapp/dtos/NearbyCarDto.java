@@ -0,0 +1,18 @@
+package com.design.car.rental.system.carrentalsystemapp.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyCarDto {
+
+    private long carId;
+    private double distanceKm;
+    private double latitude;
+    private double longitude;
+}
@@ -0,0 +1,18 @@
+package com.design.car.rental.system.carrentalsystemapp.dtos;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Date;
+import java.util.List;
+
+@Getter
+@Setter
+public class QuoteResponseDto {
+
+    private Date pickUpDate;
+    private Date returnDate;
+    private int rentalDays;
+    private int quoteCount;
+    private List<CarQuoteDto> quotes;
+}
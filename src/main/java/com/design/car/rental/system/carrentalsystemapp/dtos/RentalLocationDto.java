@@ -0,0 +1,15 @@
+package com.design.car.rental.system.carrentalsystemapp.dtos;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class RentalLocationDto {
+
+    private long locationId;
+    private String name;
+    private String address;
+    private Double latitude;
+    private Double longitude;
+}
@@ -0,0 +1,31 @@
+package com.design.car.rental.system.carrentalsystemapp.dtos;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Date;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class UserChangeDto {
+
+    private long userId;
+    private boolean deleted;
+    private Date updOn;
+    private UserResponseDto user;
+
+    /**
+     * Projection constructor used by JPQL constructor expressions; deleted users carry no details.
+     */
+    public UserChangeDto(long userId, int active, Date updOn, String name, String phone, String email, String licenseNo,
+                         Long addressId, String street, String city, String state, String zip) {
+        this.userId = userId;
+        this.deleted = active == 0;
+        this.updOn = updOn;
+        if (!deleted) {
+            this.user = new UserResponseDto(userId, name, phone, email, licenseNo, addressId, street, city, state, zip);
+        }
+    }
+}
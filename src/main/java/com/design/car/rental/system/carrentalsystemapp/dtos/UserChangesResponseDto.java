@@ -0,0 +1,15 @@
+package com.design.car.rental.system.carrentalsystemapp.dtos;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class UserChangesResponseDto {
+
+    private List<UserChangeDto> changes;
+    private String nextCursor;
+    private boolean hasMore;
+}
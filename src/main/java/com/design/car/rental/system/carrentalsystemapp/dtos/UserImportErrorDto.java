@@ -0,0 +1,14 @@
+package com.design.car.rental.system.carrentalsystemapp.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class UserImportErrorDto {
+
+    private int rowNumber;
+    private String message;
+}
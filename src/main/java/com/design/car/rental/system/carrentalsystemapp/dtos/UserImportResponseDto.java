@@ -0,0 +1,17 @@
+package com.design.car.rental.system.carrentalsystemapp.dtos;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class UserImportResponseDto {
+
+    private int totalRows;
+    private int importedCount;
+    private int failedCount;
+    private List<UserImportErrorDto> errors = new ArrayList<>();
+}
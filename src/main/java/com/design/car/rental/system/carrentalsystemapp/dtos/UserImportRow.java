@@ -0,0 +1,13 @@
+package com.design.car.rental.system.carrentalsystemapp.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class UserImportRow {
+
+    private final int rowNumber;
+    private final UserRequestDto userRequestDto;
+    private final String error;
+}
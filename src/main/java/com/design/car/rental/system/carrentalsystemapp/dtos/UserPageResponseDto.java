@@ -0,0 +1,14 @@
+package com.design.car.rental.system.carrentalsystemapp.dtos;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class UserPageResponseDto {
+
+    private List<UserResponseDto> users;
+    private Long nextAfterId;
+}
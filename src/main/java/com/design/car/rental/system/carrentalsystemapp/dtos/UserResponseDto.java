@@ -2,10 +2,12 @@ package com.design.car.rental.system.carrentalsystemapp.dtos;
 
 import com.design.car.rental.system.carrentalsystemapp.models.Address;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Getter
 @Setter
+@NoArgsConstructor
 public class UserResponseDto {
 
     private String name;
@@ -14,4 +16,26 @@ public class UserResponseDto {
     private Address address;
     private String licenseNo;
     private long userId;
+
+    /**
+     * Projection constructor used by JPQL constructor expressions; builds a detached address
+     * from the joined columns so no entity is loaded into the persistence context.
+     */
+    public UserResponseDto(long userId, String name, String phone, String email, String licenseNo,
+                           Long addressId, String street, String city, String state, String zip) {
+        this.userId = userId;
+        this.name = name;
+        this.phone = phone;
+        this.email = email;
+        this.licenseNo = licenseNo;
+        if (addressId != null) {
+            Address projectedAddress = new Address();
+            projectedAddress.setId(addressId);
+            projectedAddress.setStreet(street);
+            projectedAddress.setCity(city);
+            projectedAddress.setState(state);
+            projectedAddress.setZip(zip);
+            this.address = projectedAddress;
+        }
+    }
 }
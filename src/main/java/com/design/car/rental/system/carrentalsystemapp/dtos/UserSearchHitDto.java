@@ -0,0 +1,20 @@
+package com.design.car.rental.system.carrentalsystemapp.dtos;
+
+import com.design.car.rental.system.carrentalsystemapp.enums.UserTypeEnum;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class UserSearchHitDto {
+
+    private long userId;
+    private String name;
+    private String email;
+    private String phone;
+    private String licenseNo;
+    private UserTypeEnum userType;
+    private int score;
+}
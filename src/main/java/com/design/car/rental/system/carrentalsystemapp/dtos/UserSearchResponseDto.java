@@ -0,0 +1,16 @@
+package com.design.car.rental.system.carrentalsystemapp.dtos;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class UserSearchResponseDto {
+
+    private List<UserSearchHitDto> hits;
+    private long matchCount;
+    private boolean truncated;
+    private Integer nextOffset;
+}
@@ -0,0 +1,18 @@
+package com.design.car.rental.system.carrentalsystemapp.dtos;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+public class UtilizationBackfillDto {
+
+    private LocalDate from;
+    private LocalDate to;
+    private long reservations;
+    private int chunks;
+    private long buckets;
+    private long elapsedMillis;
+}
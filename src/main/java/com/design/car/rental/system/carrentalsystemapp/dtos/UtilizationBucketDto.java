@@ -0,0 +1,24 @@
+package com.design.car.rental.system.carrentalsystemapp.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UtilizationBucketDto {
+
+    private LocalDate day;
+    private long dimensionKey;
+    private long cars;
+    private double bookedHours;
+    private double idleHours;
+    private double utilization;
+    private long revenueCents;
+    private int reservationCount;
+}
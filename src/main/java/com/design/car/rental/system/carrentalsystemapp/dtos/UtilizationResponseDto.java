@@ -0,0 +1,18 @@
+package com.design.car.rental.system.carrentalsystemapp.dtos;
+
+import com.design.car.rental.system.carrentalsystemapp.enums.RollupDimension;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Setter
+public class UtilizationResponseDto {
+
+    private RollupDimension groupBy;
+    private LocalDate from;
+    private LocalDate to;
+    private List<UtilizationBucketDto> buckets;
+}
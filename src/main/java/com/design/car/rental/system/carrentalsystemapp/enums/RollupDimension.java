@@ -0,0 +1,8 @@
+package com.design.car.rental.system.carrentalsystemapp.enums;
+
+public enum RollupDimension {
+
+    CAR,
+    CATEGORY,
+    LOCATION
+}
@@ -0,0 +1,8 @@
+package com.design.car.rental.system.carrentalsystemapp.exceptions;
+
+public class CarNotAvailableException extends Exception {
+
+    public CarNotAvailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.design.car.rental.system.carrentalsystemapp.exceptions;
+
+public class CarNotFoundException extends Exception {
+
+    public CarNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.design.car.rental.system.carrentalsystemapp.exceptions;
+
+public class DriverAssignmentInProgressException extends Exception {
+
+    public DriverAssignmentInProgressException(String message) {
+        super(message);
+    }
+}
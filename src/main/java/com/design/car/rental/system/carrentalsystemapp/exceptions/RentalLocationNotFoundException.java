@@ -0,0 +1,8 @@
+package com.design.car.rental.system.carrentalsystemapp.exceptions;
+
+public class RentalLocationNotFoundException extends Exception {
+
+    public RentalLocationNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.design.car.rental.system.carrentalsystemapp.exceptions;
+
+public class ReservationNotFoundException extends Exception {
+
+    public ReservationNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.design.car.rental.system.carrentalsystemapp.exceptions;
+
+import java.time.Duration;
+
+public class ReservationQueueFullException extends Exception {
+
+    private final Duration retryAfter;
+
+    public ReservationQueueFullException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
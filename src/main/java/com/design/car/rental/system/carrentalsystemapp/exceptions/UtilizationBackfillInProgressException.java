@@ -0,0 +1,8 @@
+package com.design.car.rental.system.carrentalsystemapp.exceptions;
+
+public class UtilizationBackfillInProgressException extends Exception {
+
+    public UtilizationBackfillInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,81 @@
+package com.design.car.rental.system.carrentalsystemapp.index;
+
+import com.design.car.rental.system.carrentalsystemapp.enums.CarCategoryEnum;
+import com.design.car.rental.system.carrentalsystemapp.enums.CarStatusEnum;
+
+import java.util.Locale;
+
+/**
+ * Car attributes that can be filtered and faceted in the {@link CarAttributeIndex}.
+ * Every value is kept in a normalized string form, so request parameters and entity fields map to the same bitmap.
+ */
+public enum CarAttribute {
+
+    CATEGORY("category"),
+    STATUS("status"),
+    SUN_ROOF("sunRoof"),
+    BRAND("brand"),
+    YEAR("year");
+
+    private final String paramName;
+
+    CarAttribute(String paramName) {
+        this.paramName = paramName;
+    }
+
+    public String getParamName() {
+        return paramName;
+    }
+
+    /**
+     * Looks up an attribute by the name used in search requests.
+     *
+     * @param paramName The attribute name (e.g. "category", "sunRoof").
+     * @return The matching attribute, or null if there is none.
+     */
+    public static CarAttribute fromParamName(String paramName) {
+        for (CarAttribute attribute : values()) {
+            if (attribute.paramName.equalsIgnoreCase(paramName)) {
+                return attribute;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Converts a raw value into the form stored in the index.
+     * - Categories and statuses must name an enum constant (case-insensitive).
+     * - Sun roof values must be "true" or "false".
+     * - Brands are compared case-insensitively.
+     *
+     * @param rawValue The value to normalize.
+     * @return The normalized value, or null if the value is blank or not valid for this attribute.
+     */
+    public String normalize(String rawValue) {
+        if (rawValue == null || rawValue.isBlank()) {
+            return null;
+        }
+        String value = rawValue.trim();
+        switch (this) {
+            case CATEGORY:
+                return isEnumConstant(CarCategoryEnum.class, value) ? value.toUpperCase(Locale.ROOT) : null;
+            case STATUS:
+                return isEnumConstant(CarStatusEnum.class, value) ? value.toUpperCase(Locale.ROOT) : null;
+            case SUN_ROOF:
+                return value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false") ? value.toLowerCase(Locale.ROOT) : null;
+            case BRAND:
+                return value.toLowerCase(Locale.ROOT);
+            default:
+                return value;
+        }
+    }
+
+    private static <E extends Enum<E>> boolean isEnumConstant(Class<E> enumType, String value) {
+        for (E constant : enumType.getEnumConstants()) {
+            if (constant.name().equalsIgnoreCase(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
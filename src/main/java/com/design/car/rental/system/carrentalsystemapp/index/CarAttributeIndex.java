@@ -0,0 +1,235 @@
+package com.design.car.rental.system.carrentalsystemapp.index;
+
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory bitmap index of car attributes.
+ * - Keeps one compressed bitmap of car IDs per attribute value, so a search is a handful of
+ *   bitmap AND/OR/AND-NOT operations instead of a multi-predicate table scan.
+ * - Facet counts are the cardinalities of the result intersected with each value's bitmap.
+ * - Searches run concurrently under a read lock; updates take the write lock.
+ */
+@Component
+public class CarAttributeIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Roaring64Bitmap allCars = new Roaring64Bitmap();
+
+    private final Map<CarAttribute, Map<String, Roaring64Bitmap>> bitmaps = new EnumMap<>(CarAttribute.class);
+
+    // Current values of every car, needed to clear the old bit when a value changes.
+    private final Map<Long, Map<CarAttribute, String>> valuesByCar = new HashMap<>();
+
+    public CarAttributeIndex() {
+        for (CarAttribute attribute : CarAttribute.values()) {
+            bitmaps.put(attribute, new HashMap<>());
+        }
+    }
+
+    /**
+     * Adds a car to the index, replacing any values indexed for it before.
+     *
+     * @param carId  The ID of the car.
+     * @param values The normalized attribute values of the car; null values are not indexed.
+     */
+    public void putCar(long carId, Map<CarAttribute, String> values) {
+        lock.writeLock().lock();
+        try {
+            removeCarLocked(carId);
+            Map<CarAttribute, String> indexed = new EnumMap<>(CarAttribute.class);
+            values.forEach((attribute, value) -> {
+                if (value != null) {
+                    bitmaps.get(attribute).computeIfAbsent(value, v -> new Roaring64Bitmap()).addLong(carId);
+                    indexed.put(attribute, value);
+                }
+            });
+            allCars.addLong(carId);
+            valuesByCar.put(carId, indexed);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Changes a single attribute of an indexed car, touching only the old and the new value's bitmaps.
+     *
+     * @param carId     The ID of the car.
+     * @param attribute The attribute that changed.
+     * @param value     The new normalized value, or null to leave the attribute unindexed.
+     * @return True if the car is indexed and was updated, false otherwise.
+     */
+    public boolean updateAttribute(long carId, CarAttribute attribute, String value) {
+        lock.writeLock().lock();
+        try {
+            Map<CarAttribute, String> values = valuesByCar.get(carId);
+            if (values == null) {
+                return false;
+            }
+            String previous = values.remove(attribute);
+            if (previous != null) {
+                clearBit(attribute, previous, carId);
+            }
+            if (value != null) {
+                bitmaps.get(attribute).computeIfAbsent(value, v -> new Roaring64Bitmap()).addLong(carId);
+                values.put(attribute, value);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a car from the index, if present.
+     *
+     * @param carId The ID of the car.
+     */
+    public void removeCar(long carId) {
+        lock.writeLock().lock();
+        try {
+            removeCarLocked(carId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the cars matching every filter and counts the matches per value of the requested facets.
+     *
+     * @param filters The clauses to combine with AND; an empty list matches every car.
+     * @param facets  The attributes to compute facet counts for.
+     * @param limit   The maximum number of car IDs to return.
+     * @return The number of matches, the first matching car IDs and the facet counts.
+     */
+    public CarSearchResult search(List<CarFilter> filters, Collection<CarAttribute> facets, int limit) {
+        lock.readLock().lock();
+        try {
+            Roaring64Bitmap matches = allCars.clone();
+            for (CarFilter filter : filters) {
+                Roaring64Bitmap values = union(filter.attribute(), filter.values());
+                if (filter.negated()) {
+                    matches.andNot(values);
+                } else {
+                    matches.and(values);
+                }
+            }
+            Map<CarAttribute, Map<String, Long>> facetCounts = new EnumMap<>(CarAttribute.class);
+            for (CarAttribute attribute : facets) {
+                facetCounts.put(attribute, countByValue(attribute, matches));
+            }
+            return new CarSearchResult(matches.getLongCardinality(), firstIds(matches, limit), facetCounts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Looks up the indexed value of one attribute of a car.
+     *
+     * @param carId     The ID of the car.
+     * @param attribute The attribute.
+     * @return The normalized value, or null if the car or the value is not indexed.
+     */
+    public String valueOf(long carId, CarAttribute attribute) {
+        lock.readLock().lock();
+        try {
+            Map<CarAttribute, String> values = valuesByCar.get(carId);
+            return values != null ? values.get(attribute) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Removes every car from the index.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            allCars.clear();
+            valuesByCar.clear();
+            bitmaps.values().forEach(Map::clear);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return The number of cars currently tracked by the index.
+     */
+    public int carCount() {
+        lock.readLock().lock();
+        try {
+            return valuesByCar.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeCarLocked(long carId) {
+        Map<CarAttribute, String> previous = valuesByCar.remove(carId);
+        if (previous != null) {
+            previous.forEach((attribute, value) -> clearBit(attribute, value, carId));
+            allCars.removeLong(carId);
+        }
+    }
+
+    private void clearBit(CarAttribute attribute, String value, long carId) {
+        Map<String, Roaring64Bitmap> byValue = bitmaps.get(attribute);
+        Roaring64Bitmap bitmap = byValue.get(value);
+        if (bitmap != null) {
+            bitmap.removeLong(carId);
+            if (bitmap.isEmpty()) {
+                byValue.remove(value);
+            }
+        }
+    }
+
+    private Roaring64Bitmap union(CarAttribute attribute, Collection<String> values) {
+        Roaring64Bitmap union = new Roaring64Bitmap();
+        Map<String, Roaring64Bitmap> byValue = bitmaps.get(attribute);
+        for (String value : values) {
+            Roaring64Bitmap bitmap = byValue.get(value);
+            if (bitmap != null) {
+                union.or(bitmap);
+            }
+        }
+        return union;
+    }
+
+    private Map<String, Long> countByValue(CarAttribute attribute, Roaring64Bitmap matches) {
+        Map<String, Long> counts = new TreeMap<>();
+        bitmaps.get(attribute).forEach((value, bitmap) -> {
+            Roaring64Bitmap intersection = bitmap.clone();
+            intersection.and(matches);
+            long count = intersection.getLongCardinality();
+            if (count > 0) {
+                counts.put(value, count);
+            }
+        });
+        return counts;
+    }
+
+    private static long[] firstIds(Roaring64Bitmap matches, int limit) {
+        long[] ids = new long[(int) Math.min(limit, matches.getLongCardinality())];
+        LongIterator iterator = matches.getLongIterator();
+        int count = 0;
+        while (count < ids.length && iterator.hasNext()) {
+            ids[count++] = iterator.next();
+        }
+        return count == ids.length ? ids : Arrays.copyOf(ids, count);
+    }
+}
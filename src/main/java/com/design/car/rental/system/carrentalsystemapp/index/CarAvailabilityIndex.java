@@ -0,0 +1,183 @@
+package com.design.car.rental.system.carrentalsystemapp.index;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory index of reservation windows per car.
+ * - Every car keeps its windows in a set sorted by start time, so an overlap check only
+ *   walks the windows starting inside [from - longest window, to).
+ * - Windows are half-open: [pickUp, return).
+ * - All times are epoch milliseconds.
+ */
+@Component
+public class CarAvailabilityIndex {
+
+    private final ConcurrentNavigableMap<Long, CarWindows> windowsByCar = new ConcurrentSkipListMap<>();
+
+    /**
+     * Registers a car so that it shows up in availability queries even without reservations.
+     *
+     * @param carId The ID of the car.
+     */
+    public void registerCar(long carId) {
+        windowsByCar.computeIfAbsent(carId, id -> new CarWindows());
+    }
+
+    /**
+     * Checks whether a car is tracked by the index.
+     *
+     * @param carId The ID of the car.
+     * @return True if the car has been registered, false otherwise.
+     */
+    public boolean containsCar(long carId) {
+        return windowsByCar.containsKey(carId);
+    }
+
+    /**
+     * Adds (or replaces) a reservation window for a car.
+     *
+     * @param reservationId The ID of the reservation.
+     * @param carId         The ID of the reserved car.
+     * @param from          The start of the window (inclusive).
+     * @param to            The end of the window (exclusive).
+     */
+    public void addReservation(long reservationId, long carId, long from, long to) {
+        windowsByCar.computeIfAbsent(carId, id -> new CarWindows()).add(reservationId, from, to);
+    }
+
+    /**
+     * Removes a reservation window from a car, if present.
+     *
+     * @param reservationId The ID of the reservation.
+     * @param carId         The ID of the reserved car.
+     */
+    public void removeReservation(long reservationId, long carId) {
+        CarWindows windows = windowsByCar.get(carId);
+        if (windows != null) {
+            windows.remove(reservationId);
+        }
+    }
+
+    /**
+     * Checks whether a car has no reservation overlapping the given window.
+     *
+     * @param carId The ID of the car.
+     * @param from  The start of the window (inclusive).
+     * @param to    The end of the window (exclusive).
+     * @return True if the car is known and free for the whole window, false otherwise.
+     */
+    public boolean isAvailable(long carId, long from, long to) {
+        CarWindows windows = windowsByCar.get(carId);
+        return windows != null && !windows.overlaps(from, to);
+    }
+
+    /**
+     * Checks whether a car has a reservation overlapping the given window.
+     * Unlike {@link #isAvailable}, a car unknown to the index is reported as not reserved.
+     *
+     * @param carId The ID of the car.
+     * @param from  The start of the window (inclusive).
+     * @param to    The end of the window (exclusive).
+     * @return True if an overlapping reservation is indexed for the car, false otherwise.
+     */
+    public boolean hasOverlap(long carId, long from, long to) {
+        CarWindows windows = windowsByCar.get(carId);
+        return windows != null && windows.overlaps(from, to);
+    }
+
+    /**
+     * Returns the IDs of all cars that are free for the whole window, in ascending order.
+     *
+     * @param from The start of the window (inclusive).
+     * @param to   The end of the window (exclusive).
+     * @return The list of available car IDs.
+     */
+    public List<Long> findAvailableCars(long from, long to) {
+        List<Long> available = new ArrayList<>();
+        for (Map.Entry<Long, CarWindows> entry : windowsByCar.entrySet()) {
+            if (!entry.getValue().overlaps(from, to)) {
+                available.add(entry.getKey());
+            }
+        }
+        return available;
+    }
+
+    /**
+     * Removes every car and reservation from the index.
+     */
+    public void clear() {
+        windowsByCar.clear();
+    }
+
+    /**
+     * @return The number of cars currently tracked by the index.
+     */
+    public int carCount() {
+        return windowsByCar.size();
+    }
+
+    private record Window(long reservationId, long from, long to) {
+    }
+
+    /**
+     * Sorted reservation windows of a single car. Guarded by its own monitor so that
+     * updates to one car never contend with queries on another.
+     */
+    private static final class CarWindows {
+
+        private static final Comparator<Window> BY_START = Comparator.comparingLong(Window::from)
+                .thenComparingLong(Window::reservationId);
+
+        private final NavigableSet<Window> windows = new TreeSet<>(BY_START);
+        private final Map<Long, Window> byReservation = new HashMap<>();
+
+        // Longest window ever stored; bounds how far back an overlap scan has to look.
+        private long maxLength;
+
+        synchronized void add(long reservationId, long from, long to) {
+            Window previous = byReservation.remove(reservationId);
+            if (previous != null) {
+                windows.remove(previous);
+            }
+            Window window = new Window(reservationId, from, to);
+            windows.add(window);
+            byReservation.put(reservationId, window);
+            maxLength = Math.max(maxLength, to - from);
+        }
+
+        synchronized void remove(long reservationId) {
+            Window window = byReservation.remove(reservationId);
+            if (window != null) {
+                windows.remove(window);
+            }
+        }
+
+        synchronized boolean overlaps(long from, long to) {
+            Iterator<Window> candidates = windows
+                    .headSet(new Window(Long.MIN_VALUE, to, Long.MIN_VALUE), false)
+                    .descendingIterator();
+            long earliestRelevantStart = from - maxLength;
+            while (candidates.hasNext()) {
+                Window window = candidates.next();
+                if (window.from() < earliestRelevantStart) {
+                    return false;
+                }
+                if (window.to() > from) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.design.car.rental.system.carrentalsystemapp.index;
+
+import java.util.Set;
+
+/**
+ * One clause of a car search: the car matches if its attribute has any of the values (OR),
+ * or, for a negated clause, none of them. Clauses of a search are combined with AND.
+ *
+ * @param attribute The attribute to test.
+ * @param values    The normalized values to match.
+ * @param negated   True to exclude matching cars instead of keeping them.
+ */
+public record CarFilter(CarAttribute attribute, Set<String> values, boolean negated) {
+}
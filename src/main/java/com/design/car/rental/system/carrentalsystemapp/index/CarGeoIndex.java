@@ -0,0 +1,268 @@
+package com.design.car.rental.system.carrentalsystemapp.index;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * In-memory spatial index of car positions.
+ * - The globe is split into a fixed grid of 2^16 x 2^15 cells of 0.0055 degrees, i.e. 31-bit geohash
+ *   cells (about 600 m at the equator), so a dense city fleet still has few cars per cell.
+ * - A nearest-neighbour query scans the cells covering a circle around the query point, doubling the
+ *   radius until k matching cars lie within it (or the search radius is reached). Each cell is scanned once.
+ * - The caller's filter (e.g. availability) runs only on cars that would make the result,
+ *   so it is evaluated for a handful of nearby cars instead of the whole fleet.
+ */
+@Component
+public class CarGeoIndex {
+
+    private static final int LAT_BITS = 15;
+
+    private static final int LON_BITS = 16;
+
+    private static final int LAT_CELLS = 1 << LAT_BITS;
+
+    private static final int LON_CELLS = 1 << LON_BITS;
+
+    private static final double CELL_DEGREES = 180.0 / LAT_CELLS;
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    private static final Comparator<NearbyCar> BY_DISTANCE = Comparator.comparingDouble(NearbyCar::distanceKm)
+            .thenComparingLong(NearbyCar::carId);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Integer, Set<Long>> carsByCell = new HashMap<>();
+
+    private final Map<Long, Position> positions = new HashMap<>();
+
+    /**
+     * Places a car at a position, moving it out of its previous cell if needed.
+     *
+     * @param carId     The ID of the car.
+     * @param latitude  The latitude in degrees (-90 to 90).
+     * @param longitude The longitude in degrees (-180 to 180).
+     */
+    public void putCar(long carId, double latitude, double longitude) {
+        Position position = new Position(latitude, longitude, cellOf(latitude, longitude));
+        lock.writeLock().lock();
+        try {
+            Position previous = positions.put(carId, position);
+            if (previous != null && previous.cell() != position.cell()) {
+                removeFromCell(previous.cell(), carId);
+            }
+            carsByCell.computeIfAbsent(position.cell(), cell -> new HashSet<>()).add(carId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a car from the index, if present.
+     *
+     * @param carId The ID of the car.
+     */
+    public void removeCar(long carId) {
+        lock.writeLock().lock();
+        try {
+            Position previous = positions.remove(carId);
+            if (previous != null) {
+                removeFromCell(previous.cell(), carId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the cars closest to a point that pass a filter.
+     *
+     * @param latitude      The latitude of the query point.
+     * @param longitude     The longitude of the query point.
+     * @param k             The maximum number of cars to return.
+     * @param maxDistanceKm The search radius in kilometres.
+     * @param filter        The test a car must pass, called only for cars within the radius.
+     * @return Up to k cars ordered by distance, nearest first.
+     */
+    public List<NearbyCar> findNearest(double latitude, double longitude, int k, double maxDistanceKm, LongPredicate filter) {
+        PriorityQueue<NearbyCar> best = new PriorityQueue<>(k + 1, BY_DISTANCE.reversed());
+        lock.readLock().lock();
+        try {
+            CellBox searched = null;
+            double radiusKm = Math.min(CELL_DEGREES * KM_PER_DEGREE, maxDistanceKm);
+            while (true) {
+                CellBox box = CellBox.around(latitude, longitude, radiusKm);
+                if (box.cellCount() > carsByCell.size()) {
+                    // Fewer occupied cells than cells in the box: one pass over the occupied cells covers the whole radius.
+                    radiusKm = maxDistanceKm;
+                    box = CellBox.around(latitude, longitude, radiusKm);
+                }
+                scan(box, searched, latitude, longitude, k, maxDistanceKm, filter, best);
+                searched = box;
+                // Every car within radiusKm has been seen, so a full result inside that radius is final.
+                if (radiusKm >= maxDistanceKm || (best.size() == k && best.peek().distanceKm() <= radiusKm)) {
+                    break;
+                }
+                radiusKm = Math.min(radiusKm * 2, maxDistanceKm);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<NearbyCar> nearest = new ArrayList<>(best);
+        nearest.sort(BY_DISTANCE);
+        return nearest;
+    }
+
+    /**
+     * Removes every car from the index.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            carsByCell.clear();
+            positions.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return The number of cars currently placed in the index.
+     */
+    public int carCount() {
+        lock.readLock().lock();
+        try {
+            return positions.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Great-circle distance between two points (haversine formula).
+     *
+     * @return The distance in kilometres.
+     */
+    public static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double deltaLatitude = Math.toRadians(latitude2 - latitude1);
+        double deltaLongitude = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(deltaLatitude / 2) * Math.sin(deltaLatitude / 2)
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+                * Math.sin(deltaLongitude / 2) * Math.sin(deltaLongitude / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private void collect(Set<Long> cars, double latitude, double longitude, int k, double maxDistanceKm,
+                         LongPredicate filter, PriorityQueue<NearbyCar> best) {
+        for (long carId : cars) {
+            Position position = positions.get(carId);
+            double distanceKm = distanceKm(latitude, longitude, position.latitude(), position.longitude());
+            if (distanceKm > maxDistanceKm || (best.size() == k && distanceKm >= best.peek().distanceKm())) {
+                continue;
+            }
+            if (filter.test(carId)) {
+                best.add(new NearbyCar(carId, distanceKm, position.latitude(), position.longitude()));
+                if (best.size() > k) {
+                    best.poll();
+                }
+            }
+        }
+    }
+
+    private void removeFromCell(int cell, long carId) {
+        Set<Long> cars = carsByCell.get(cell);
+        if (cars != null) {
+            cars.remove(carId);
+            if (cars.isEmpty()) {
+                carsByCell.remove(cell);
+            }
+        }
+    }
+
+    /**
+     * Offers the cars of every cell in the box that was not already covered by the previous box.
+     * Sparse boxes are scanned through the occupied cells instead of cell by cell.
+     */
+    private void scan(CellBox box, CellBox searched, double latitude, double longitude, int k, double maxDistanceKm,
+                      LongPredicate filter, PriorityQueue<NearbyCar> best) {
+        if (box.cellCount() > carsByCell.size()) {
+            for (Map.Entry<Integer, Set<Long>> entry : carsByCell.entrySet()) {
+                int cell = entry.getKey();
+                if (box.contains(cell) && (searched == null || !searched.contains(cell))) {
+                    collect(entry.getValue(), latitude, longitude, k, maxDistanceKm, filter, best);
+                }
+            }
+            return;
+        }
+        for (int y = box.minY(); y <= box.maxY(); y++) {
+            for (int offset = 0; offset < box.width(); offset++) {
+                int cell = y << LON_BITS | (box.minX() + offset) & (LON_CELLS - 1);
+                if (searched == null || !searched.contains(cell)) {
+                    Set<Long> cars = carsByCell.get(cell);
+                    if (cars != null) {
+                        collect(cars, latitude, longitude, k, maxDistanceKm, filter, best);
+                    }
+                }
+            }
+        }
+    }
+
+    private static int cellOf(double latitude, double longitude) {
+        int y = Math.min(LAT_CELLS - 1, Math.max(0, (int) ((latitude + 90) / CELL_DEGREES)));
+        int x = Math.floorMod((int) Math.floor((longitude + 180) / CELL_DEGREES), LON_CELLS);
+        return y << LON_BITS | x;
+    }
+
+    private record Position(double latitude, double longitude, int cell) {
+    }
+
+    /**
+     * Cells covering the bounding box of a circle. The longitude range may wrap around the antimeridian.
+     *
+     * @param minY  The first latitude row.
+     * @param maxY  The last latitude row.
+     * @param minX  The first longitude column (before wrapping).
+     * @param width The number of longitude columns.
+     */
+    private record CellBox(int minY, int maxY, int minX, int width) {
+
+        static CellBox around(double latitude, double longitude, double radiusKm) {
+            double angularRadius = radiusKm / EARTH_RADIUS_KM;
+            double minLatitude = latitude - Math.toDegrees(angularRadius);
+            double maxLatitude = latitude + Math.toDegrees(angularRadius);
+            int minY = Math.max(0, (int) ((minLatitude + 90) / CELL_DEGREES));
+            int maxY = Math.min(LAT_CELLS - 1, (int) ((maxLatitude + 90) / CELL_DEGREES));
+            double sinRatio = Math.sin(angularRadius) / Math.cos(Math.toRadians(latitude));
+            if (minLatitude <= -90 || maxLatitude >= 90 || sinRatio >= 1) {
+                return new CellBox(minY, maxY, 0, LON_CELLS);
+            }
+            double deltaLongitude = Math.toDegrees(Math.asin(sinRatio));
+            int minX = (int) Math.floor((longitude - deltaLongitude + 180) / CELL_DEGREES);
+            int maxX = (int) Math.floor((longitude + deltaLongitude + 180) / CELL_DEGREES);
+            return new CellBox(minY, maxY, minX, Math.min(LON_CELLS, maxX - minX + 1));
+        }
+
+        long cellCount() {
+            return (long) (maxY - minY + 1) * width;
+        }
+
+        boolean contains(int cell) {
+            int y = cell >>> LON_BITS;
+            int x = cell & (LON_CELLS - 1);
+            return y >= minY && y <= maxY && Math.floorMod(x - minX, LON_CELLS) < width;
+        }
+    }
+}
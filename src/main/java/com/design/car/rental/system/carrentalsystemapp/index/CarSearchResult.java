@@ -0,0 +1,13 @@
+package com.design.car.rental.system.carrentalsystemapp.index;
+
+import java.util.Map;
+
+/**
+ * Result of a car search.
+ *
+ * @param matchCount The total number of matching cars.
+ * @param carIds     The IDs of the first matching cars, in ascending order.
+ * @param facets     Per requested attribute, the number of matching cars for each value.
+ */
+public record CarSearchResult(long matchCount, long[] carIds, Map<CarAttribute, Map<String, Long>> facets) {
+}
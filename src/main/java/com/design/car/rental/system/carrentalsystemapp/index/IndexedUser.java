@@ -0,0 +1,16 @@
+package com.design.car.rental.system.carrentalsystemapp.index;
+
+import com.design.car.rental.system.carrentalsystemapp.enums.UserTypeEnum;
+
+/**
+ * The searchable fields of an active user, as kept by the {@link UserSearchIndex}.
+ *
+ * @param userId    The ID of the user.
+ * @param name      The name of the user.
+ * @param email     The email address of the user.
+ * @param phone     The phone number of the user.
+ * @param licenseNo The license number of the user.
+ * @param userType  The type of the user.
+ */
+public record IndexedUser(long userId, String name, String email, String phone, String licenseNo, UserTypeEnum userType) {
+}
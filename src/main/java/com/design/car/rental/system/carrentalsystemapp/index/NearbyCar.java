@@ -0,0 +1,12 @@
+package com.design.car.rental.system.carrentalsystemapp.index;
+
+/**
+ * A car found by a {@link CarGeoIndex} nearest-neighbour query.
+ *
+ * @param carId      The ID of the car.
+ * @param distanceKm The great-circle distance from the query point in kilometres.
+ * @param latitude   The latitude of the car.
+ * @param longitude  The longitude of the car.
+ */
+public record NearbyCar(long carId, double distanceKm, double latitude, double longitude) {
+}
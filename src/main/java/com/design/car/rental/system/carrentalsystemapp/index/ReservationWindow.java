@@ -0,0 +1,14 @@
+package com.design.car.rental.system.carrentalsystemapp.index;
+
+import java.util.Date;
+
+/**
+ * Lightweight projection of a CarReservation row holding only what the availability index needs.
+ *
+ * @param reservationId The ID of the reservation.
+ * @param carId         The ID of the reserved car.
+ * @param pickUpDate    The start of the reservation window (inclusive).
+ * @param returnDate    The end of the reservation window (exclusive).
+ */
+public record ReservationWindow(long reservationId, long carId, Date pickUpDate, Date returnDate) {
+}
@@ -0,0 +1,10 @@
+package com.design.car.rental.system.carrentalsystemapp.index;
+
+/**
+ * A user found by a {@link UserSearchIndex} query.
+ *
+ * @param user  The indexed fields of the user.
+ * @param score The relevance of the user; exact token matches rank above prefix matches, which rank above infix matches.
+ */
+public record UserSearchHit(IndexedUser user, int score) {
+}
@@ -0,0 +1,364 @@
+package com.design.car.rental.system.carrentalsystemapp.index;
+
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory n-gram index over the name, email, phone and license number of active users.
+ * - Fields are lower-cased and split into tokens at every character that is not a letter or digit;
+ *   the phone number is kept as a single token of its digits.
+ * - Every token is indexed by its trigrams, padded with two boundary characters at the start, so that
+ *   one- and two-character terms match token prefixes and longer terms match anywhere inside a token.
+ * - Users live in dense slots: posting lists are 32-bit bitmaps of slots and the per-user data sits in
+ *   slot-indexed arrays, so verifying a candidate costs an array read and a scan of one short string.
+ * - A query's candidates are the intersection of the trigram bitmaps of all its terms; they are then
+ *   verified against the stored tokens and ranked.
+ * - Searches run concurrently under a read lock; updates take the write lock.
+ */
+@Component
+public class UserSearchIndex {
+
+    private static final char BOUNDARY = '\u0001';
+
+    private static final char TOKEN_SEPARATOR = ' ';
+
+    private static final int EXACT_SCORE = 100;
+    private static final int PREFIX_SCORE = 10;
+    private static final int INFIX_SCORE = 1;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final Comparator<UserSearchHit> WORST_FIRST = (left, right) -> left.score() != right.score()
+            ? Integer.compare(left.score(), right.score())
+            : Long.compare(right.user().userId(), left.user().userId());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, RoaringBitmap> postings = new HashMap<>();
+
+    private final Map<Long, Integer> slotByUser = new HashMap<>();
+
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+
+    private IndexedUser[] usersBySlot = new IndexedUser[INITIAL_CAPACITY];
+
+    // The tokens of every slot, each one preceded and followed by a separator, e.g. " john smith 5550100 ".
+    private String[] tokenTextBySlot = new String[INITIAL_CAPACITY];
+
+    private long[][] gramsBySlot = new long[INITIAL_CAPACITY][];
+
+    private int slotCount;
+
+    /**
+     * Adds a user to the index, replacing whatever was indexed for it before.
+     *
+     * @param user The searchable fields of the user.
+     */
+    public void putUser(IndexedUser user) {
+        List<String> tokens = tokenize(user);
+        Set<Long> grams = new HashSet<>();
+        StringBuilder tokenText = new StringBuilder().append(TOKEN_SEPARATOR);
+        for (String token : tokens) {
+            addTokenGrams(token, grams);
+            tokenText.append(token).append(TOKEN_SEPARATOR);
+        }
+        long[] userGrams = grams.stream().mapToLong(Long::longValue).toArray();
+        lock.writeLock().lock();
+        try {
+            removeUserLocked(user.userId());
+            int slot = allocateSlot();
+            for (long gram : userGrams) {
+                postings.computeIfAbsent(gram, g -> new RoaringBitmap()).add(slot);
+            }
+            usersBySlot[slot] = user;
+            tokenTextBySlot[slot] = tokenText.toString();
+            gramsBySlot[slot] = userGrams;
+            slotByUser.put(user.userId(), slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a user from the index, if present.
+     *
+     * @param userId The ID of the user.
+     */
+    public void removeUser(long userId) {
+        lock.writeLock().lock();
+        try {
+            removeUserLocked(userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the users whose tokens match every term of the query and returns one page of them, best first.
+     * - Terms of one or two characters must start a token, longer terms may appear anywhere inside one.
+     * - A user scores, per term, by its best matching token: exact, prefix or infix. Ties go to the lower user ID.
+     * - At most maxCandidates candidates are verified and ranked, which bounds the cost of very unselective queries.
+     *
+     * @param query         The free-text query.
+     * @param offset        The number of ranked matches to skip.
+     * @param limit         The maximum number of matches to return.
+     * @param maxCandidates The maximum number of candidates to verify and rank.
+     * @return The match count and the requested page of matches.
+     */
+    public UserSearchResult search(String query, int offset, int limit, int maxCandidates) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(Arrays.asList(normalize(query).split(" "))));
+        terms.removeIf(String::isEmpty);
+        if (terms.isEmpty()) {
+            return new UserSearchResult(0, false, List.of());
+        }
+        String[] exactPatterns = new String[terms.size()];
+        String[] prefixPatterns = new String[terms.size()];
+        for (int i = 0; i < terms.size(); i++) {
+            prefixPatterns[i] = TOKEN_SEPARATOR + terms.get(i);
+            exactPatterns[i] = prefixPatterns[i] + TOKEN_SEPARATOR;
+        }
+        int window = offset + limit;
+        lock.readLock().lock();
+        try {
+            RoaringBitmap candidates = candidatesOf(terms);
+            if (candidates == null) {
+                return new UserSearchResult(0, false, List.of());
+            }
+
+            PriorityQueue<UserSearchHit> best = new PriorityQueue<>(window + 1, WORST_FIRST);
+            long matchCount = 0;
+            int verified = 0;
+            IntIterator iterator = candidates.getIntIterator();
+            while (iterator.hasNext() && verified < maxCandidates) {
+                int slot = iterator.next();
+                verified++;
+                int score = score(tokenTextBySlot[slot], terms, exactPatterns, prefixPatterns);
+                if (score == 0) {
+                    continue;
+                }
+                matchCount++;
+                IndexedUser user = usersBySlot[slot];
+                if (best.size() == window && WORST_FIRST.compare(new UserSearchHit(user, score), best.peek()) <= 0) {
+                    continue;
+                }
+                best.add(new UserSearchHit(user, score));
+                if (best.size() > window) {
+                    best.poll();
+                }
+            }
+            boolean truncated = iterator.hasNext();
+
+            List<UserSearchHit> hits = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                hits.add(best.poll());
+            }
+            Collections.reverse(hits);
+            return new UserSearchResult(matchCount, truncated, hits.subList(Math.min(offset, hits.size()), hits.size()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Removes every user from the index.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            slotByUser.clear();
+            freeSlots.clear();
+            usersBySlot = new IndexedUser[INITIAL_CAPACITY];
+            tokenTextBySlot = new String[INITIAL_CAPACITY];
+            gramsBySlot = new long[INITIAL_CAPACITY][];
+            slotCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return The number of users currently tracked by the index.
+     */
+    public int userCount() {
+        lock.readLock().lock();
+        try {
+            return slotByUser.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Intersects the bitmaps of the trigrams of every term, smallest first, so that a common short
+     * term such as a two-letter prefix never costs a copy of its whole bitmap.
+     *
+     * @param terms The normalized terms.
+     * @return A new bitmap of the candidate slots, or null if one of the trigrams is not indexed.
+     */
+    private RoaringBitmap candidatesOf(List<String> terms) {
+        List<RoaringBitmap> bitmaps = new ArrayList<>();
+        for (String term : terms) {
+            for (long gram : termGrams(term)) {
+                RoaringBitmap bitmap = postings.get(gram);
+                if (bitmap == null) {
+                    return null;
+                }
+                bitmaps.add(bitmap);
+            }
+        }
+        bitmaps.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+        RoaringBitmap candidates = bitmaps.get(0).clone();
+        for (int i = 1; i < bitmaps.size() && !candidates.isEmpty(); i++) {
+            candidates.and(bitmaps.get(i));
+        }
+        return candidates;
+    }
+
+    /**
+     * Scores a candidate against every term.
+     *
+     * @param tokenText      The separator-delimited tokens of the candidate.
+     * @param terms          The normalized terms of the query.
+     * @param exactPatterns  Every term surrounded by separators.
+     * @param prefixPatterns Every term preceded by a separator.
+     * @return The sum of the best token score of every term, or 0 if a term matches no token.
+     */
+    private static int score(String tokenText, List<String> terms, String[] exactPatterns, String[] prefixPatterns) {
+        int total = 0;
+        for (int i = 0; i < exactPatterns.length; i++) {
+            if (tokenText.contains(exactPatterns[i])) {
+                total += EXACT_SCORE;
+            } else if (tokenText.contains(prefixPatterns[i])) {
+                total += PREFIX_SCORE;
+            } else if (terms.get(i).length() >= 3 && tokenText.contains(terms.get(i))) {
+                total += INFIX_SCORE;
+            } else {
+                return 0;
+            }
+        }
+        return total;
+    }
+
+    private int allocateSlot() {
+        Integer free = freeSlots.poll();
+        if (free != null) {
+            return free;
+        }
+        if (slotCount == usersBySlot.length) {
+            int capacity = slotCount * 2;
+            usersBySlot = Arrays.copyOf(usersBySlot, capacity);
+            tokenTextBySlot = Arrays.copyOf(tokenTextBySlot, capacity);
+            gramsBySlot = Arrays.copyOf(gramsBySlot, capacity);
+        }
+        return slotCount++;
+    }
+
+    private void removeUserLocked(long userId) {
+        Integer slot = slotByUser.remove(userId);
+        if (slot == null) {
+            return;
+        }
+        for (long gram : gramsBySlot[slot]) {
+            RoaringBitmap bitmap = postings.get(gram);
+            if (bitmap != null) {
+                bitmap.remove(slot);
+                if (bitmap.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+        usersBySlot[slot] = null;
+        tokenTextBySlot[slot] = null;
+        gramsBySlot[slot] = null;
+        freeSlots.push(slot);
+    }
+
+    private static List<String> tokenize(IndexedUser user) {
+        List<String> tokens = new ArrayList<>();
+        addTokens(user.name(), tokens);
+        addTokens(user.email(), tokens);
+        addTokens(user.licenseNo(), tokens);
+        if (user.phone() != null) {
+            String digits = user.phone().replaceAll("\\D", "");
+            if (!digits.isEmpty()) {
+                tokens.add(digits);
+            }
+        }
+        return tokens.stream().distinct().toList();
+    }
+
+    private static void addTokens(String value, List<String> tokens) {
+        if (value == null) {
+            return;
+        }
+        for (String token : normalize(value).split(" ")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+    }
+
+    /**
+     * Lower-cases a value and replaces every character that is not a letter or digit with a space.
+     *
+     * @param value The raw value.
+     * @return The normalized value.
+     */
+    private static String normalize(String value) {
+        StringBuilder normalized = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            normalized.append(Character.isLetterOrDigit(c) ? Character.toLowerCase(c) : ' ');
+        }
+        return normalized.toString();
+    }
+
+    private static void addTokenGrams(String token, Set<Long> grams) {
+        String padded = "" + BOUNDARY + BOUNDARY + token;
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(gram(padded, i));
+        }
+    }
+
+    /**
+     * @param term The normalized term.
+     * @return The trigrams every token matching the term must contain.
+     */
+    private static long[] termGrams(String term) {
+        if (term.length() < 3) {
+            String padded = (term.length() == 1 ? "" + BOUNDARY + BOUNDARY : "" + BOUNDARY) + term;
+            return new long[]{gram(padded, 0)};
+        }
+        long[] grams = new long[term.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = gram(term, i);
+        }
+        return grams;
+    }
+
+    /**
+     * Packs three characters into a key; the 21-bit spacing keeps Long.hashCode collision-free for
+     * characters below U+0800, which covers every Latin, Greek and Cyrillic letter.
+     */
+    private static long gram(String value, int start) {
+        return ((long) value.charAt(start) << 42) | ((long) value.charAt(start + 1) << 21) | value.charAt(start + 2);
+    }
+}
@@ -0,0 +1,14 @@
+package com.design.car.rental.system.carrentalsystemapp.index;
+
+import java.util.List;
+
+/**
+ * Result of a user search.
+ *
+ * @param matchCount The number of matching users among the ranked candidates.
+ * @param truncated  True if there were more candidates than the ranking budget, so matchCount is a lower bound
+ *                   and only the first candidates by user ID were ranked.
+ * @param hits       The requested page of the ranked matches, best first.
+ */
+public record UserSearchResult(long matchCount, boolean truncated, List<UserSearchHit> hits) {
+}
@@ -0,0 +1,41 @@
+package com.design.car.rental.system.carrentalsystemapp.instrumentation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps every DataSource bean in an {@link InstrumentedDataSource}.
+ * Runs first, so the instrumentation sits directly on the pool and only measures statement work.
+ */
+@Component
+public class JdbcInstrumentationPostProcessor implements BeanPostProcessor, Ordered {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Duration slowQueryThreshold;
+
+    public JdbcInstrumentationPostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+                                            @Value("${jdbc.slow-query-threshold:500ms}") Duration slowQueryThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryThreshold = slowQueryThreshold;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)) {
+            return new InstrumentedDataSource(dataSource, meterRegistry.getObject(), slowQueryThreshold);
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,98 @@
+package com.design.car.rental.system.carrentalsystemapp.instrumentation;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many JDBC statements each request executed and how many rows it fetched,
+ * tagged by route, so N+1 regressions show up as a jump in http.server.requests.jdbc.statements.
+ * - A request that goes async (e.g. a streamed list) is recorded when the async processing completes, so the
+ *   statements of its async body (see {@link JdbcRequestStatsTaskDecorator}) are included.
+ */
+@Component
+public class JdbcRequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final String UNKNOWN_ROUTE = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+
+    public JdbcRequestMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        JdbcRequestStats stats = JdbcRequestStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            JdbcRequestStats.end();
+            if (isAsyncStarted(request)) {
+                request.getAsyncContext().addListener(new RecordOnComplete(request, stats));
+            } else {
+                record(request, stats);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, JdbcRequestStats stats) {
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = route != null ? route.toString() : UNKNOWN_ROUTE;
+        summary("http.server.requests.jdbc.statements", "JDBC statements executed per request", request, uri)
+                .record(stats.getStatements());
+        summary("http.server.requests.jdbc.rows", "JDBC rows fetched per request", request, uri)
+                .record(stats.getRows());
+    }
+
+    private DistributionSummary summary(String name, String description, HttpServletRequest request, String uri) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records the stats of an async request once the container completes it (also after an error or timeout).
+     */
+    private final class RecordOnComplete implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final JdbcRequestStats stats;
+
+        RecordOnComplete(HttpServletRequest request, JdbcRequestStats stats) {
+            this.request = request;
+            this.stats = stats;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            record(request, stats);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.design.car.rental.system.carrentalsystemapp.instrumentation;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-request counters of JDBC statements executed and rows fetched.
+ * - Bound to the request thread by {@link JdbcRequestMetricsFilter}.
+ * - Carried to the thread of an async body (e.g. a StreamingResponseBody) by {@link JdbcRequestStatsTaskDecorator},
+ *   so the counters may be updated from another thread than the one that started the request.
+ * - Statements run outside a tracked request (startup, schedulers) are not counted here.
+ */
+public final class JdbcRequestStats {
+
+    private static final ThreadLocal<JdbcRequestStats> CURRENT = new ThreadLocal<>();
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+
+    private JdbcRequestStats() {
+    }
+
+    /**
+     * Starts tracking a request on the current thread.
+     *
+     * @return The stats of the new request.
+     */
+    static JdbcRequestStats begin() {
+        JdbcRequestStats stats = new JdbcRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Stops tracking the request on the current thread.
+     */
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return The stats of the request tracked on the current thread, or null if there is none.
+     */
+    static JdbcRequestStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Tracks the given request on the current thread, e.g. a worker running part of it.
+     *
+     * @param stats The stats of the request (can be null to track nothing).
+     * @return The stats tracked on the current thread before, to be passed back to {@link #restore}.
+     */
+    static JdbcRequestStats attach(JdbcRequestStats stats) {
+        JdbcRequestStats previous = CURRENT.get();
+        CURRENT.set(stats);
+        return previous;
+    }
+
+    /**
+     * Restores what the current thread tracked before {@link #attach}.
+     *
+     * @param previous The stats returned by attach.
+     */
+    static void restore(JdbcRequestStats previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    static void recordStatement() {
+        JdbcRequestStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements.increment();
+        }
+    }
+
+    static void recordRow() {
+        JdbcRequestStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.rows.increment();
+        }
+    }
+
+    public long getStatements() {
+        return statements.sum();
+    }
+
+    public long getRows() {
+        return rows.sum();
+    }
+}
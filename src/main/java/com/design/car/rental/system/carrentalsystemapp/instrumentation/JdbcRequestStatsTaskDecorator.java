@@ -0,0 +1,29 @@
+package com.design.car.rental.system.carrentalsystemapp.instrumentation;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Carries the {@link JdbcRequestStats} of the submitting request to the task.
+ * - Part of the application's task decorator (see {@link TaskDecoratorConfig}), which Spring Boot applies to the
+ *   task executor that also runs Spring MVC async bodies, so the statements of a streamed list count towards the
+ *   request that streams it.
+ * - Tasks submitted outside a tracked request run untracked, as before.
+ */
+public class JdbcRequestStatsTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        JdbcRequestStats stats = JdbcRequestStats.current();
+        if (stats == null) {
+            return runnable;
+        }
+        return () -> {
+            JdbcRequestStats previous = JdbcRequestStats.attach(stats);
+            try {
+                runnable.run();
+            } finally {
+                JdbcRequestStats.restore(previous);
+            }
+        };
+    }
+}
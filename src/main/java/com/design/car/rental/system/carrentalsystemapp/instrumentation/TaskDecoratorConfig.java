@@ -0,0 +1,31 @@
+package com.design.car.rental.system.carrentalsystemapp.instrumentation;
+
+import com.design.car.rental.system.carrentalsystemapp.datasource.ReadYourWritesTaskDecorator;
+import com.design.car.rental.system.carrentalsystemapp.datasource.ReadYourWritesTracker;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.CompositeTaskDecorator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The one task decorator of the application.
+ * Spring Boot only applies a TaskDecorator to the task executor if it is the unique one, so everything a task needs
+ * from the request that submitted it is carried by this composite:
+ * - the JDBC statistics of the request;
+ * - the read-your-writes client, when read replicas are enabled.
+ */
+@Configuration
+public class TaskDecoratorConfig {
+
+    @Bean
+    public TaskDecorator taskDecorator(ObjectProvider<ReadYourWritesTracker> readYourWritesTracker) {
+        List<TaskDecorator> decorators = new ArrayList<>();
+        decorators.add(new JdbcRequestStatsTaskDecorator());
+        readYourWritesTracker.ifAvailable(tracker -> decorators.add(new ReadYourWritesTaskDecorator(tracker)));
+        return new CompositeTaskDecorator(decorators);
+    }
+}
@@ -0,0 +1,10 @@
+package com.design.car.rental.system.carrentalsystemapp.journal;
+
+/**
+ * A journal entry that already has a reservation in the database.
+ *
+ * @param journalSeq    The journal sequence number.
+ * @param reservationId The ID of the reservation written from the entry.
+ */
+public record AppliedJournalEntry(long journalSeq, long reservationId) {
+}
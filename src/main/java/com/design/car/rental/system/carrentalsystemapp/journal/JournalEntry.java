@@ -0,0 +1,17 @@
+package com.design.car.rental.system.carrentalsystemapp.journal;
+
+/**
+ * One reservation recorded in the {@link ReservationJournal}.
+ *
+ * @param seq            The journal sequence number, strictly increasing across the journal.
+ * @param carId          The ID of the reserved car.
+ * @param customerId     The ID of the customer.
+ * @param driverId       The ID of the assigned driver, or null.
+ * @param pickUpDate     The pick-up time in epoch milliseconds.
+ * @param returnDate     The return time in epoch milliseconds.
+ * @param pickUpLocation The pick-up location (can be null).
+ * @param returnLocation The return location (can be null).
+ */
+public record JournalEntry(long seq, long carId, long customerId, Long driverId, long pickUpDate, long returnDate,
+                           String pickUpLocation, String returnLocation) {
+}
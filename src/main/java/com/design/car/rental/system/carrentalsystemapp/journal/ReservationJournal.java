@@ -0,0 +1,556 @@
+package com.design.car.rental.system.carrentalsystemapp.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, memory-mapped write-ahead log of reservations.
+ * - Entries are written to fixed-size segment files named after their first sequence number.
+ * - {@link #append} returns only once the entry has been forced to disk. A single flusher thread forces
+ *   everything appended since its previous flush at once, so concurrent appenders share one fsync.
+ * - A checkpoint file holds the highest sequence number already applied to the database;
+ *   segments below it are deleted and entries above it are recovered on {@link #open}.
+ * - Entries the database rejects are appended to a dead-letter file before the checkpoint moves past them,
+ *   so they outlive the deletion of their segment; {@link #deadLetters} reads them back.
+ * - Entry layout: length (int), CRC32 of the payload (int), payload. A zero length marks the end of a segment.
+ */
+public class ReservationJournal implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "reservations-";
+
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    private static final String DEAD_LETTER_FILE = "dead-letter.log";
+
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+
+    private final Path directory;
+
+    private final int segmentSize;
+
+    private final FileChannel checkpointChannel;
+
+    private FileChannel deadLetterChannel;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition appended = lock.newCondition();
+
+    private final Condition forced = lock.newCondition();
+
+    // Segments in sequence order; the last one is written to.
+    private final Deque<Segment> segments = new ArrayDeque<>();
+
+    // Durable entries not handed to the drainer yet, in sequence order.
+    private final Deque<JournalEntry> undrained = new ArrayDeque<>();
+
+    // Entries written but not yet forced, in sequence order.
+    private final Deque<JournalEntry> unforced = new ArrayDeque<>();
+
+    private final Thread flusher;
+
+    private long lastSeq;
+
+    private long durableSeq;
+
+    private long appliedSeq;
+
+    private int forcedPosition;
+
+    private boolean closed;
+
+    private Throwable flushFailure;
+
+    private ReservationJournal(Path directory, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.checkpointChannel = FileChannel.open(directory.resolve(CHECKPOINT_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.flusher = new Thread(this::flushLoop, "reservation-journal-flusher");
+        this.flusher.setDaemon(true);
+    }
+
+    /**
+     * Opens the journal in the given directory, creating it if needed, and recovers every entry
+     * written after the last checkpoint. A torn entry at the end of the last segment is discarded.
+     *
+     * @param directory   The journal directory.
+     * @param segmentSize The size of each segment file in bytes.
+     * @return The open journal.
+     * @throws IOException If the journal files cannot be read or created.
+     */
+    public static ReservationJournal open(Path directory, int segmentSize) throws IOException {
+        Files.createDirectories(directory);
+        ReservationJournal journal = new ReservationJournal(directory, segmentSize);
+        journal.recover();
+        journal.flusher.start();
+        return journal;
+    }
+
+    /**
+     * Appends a reservation and waits until it is durable.
+     *
+     * @param carId          The ID of the reserved car.
+     * @param customerId     The ID of the customer.
+     * @param driverId       The ID of the assigned driver, or null.
+     * @param pickUpDate     The pick-up time in epoch milliseconds.
+     * @param returnDate     The return time in epoch milliseconds.
+     * @param pickUpLocation The pick-up location (can be null).
+     * @param returnLocation The return location (can be null).
+     * @return The durable entry with its sequence number.
+     * @throws IOException If the journal is closed or the entry cannot be written.
+     */
+    public JournalEntry append(long carId, long customerId, Long driverId, long pickUpDate, long returnDate,
+                               String pickUpLocation, String returnLocation) throws IOException {
+        lock.lock();
+        try {
+            ensureOpen();
+            JournalEntry entry = new JournalEntry(lastSeq + 1, carId, customerId, driverId, pickUpDate, returnDate,
+                    pickUpLocation, returnLocation);
+            byte[] record = encode(entry);
+            if (record.length > segmentSize) {
+                throw new IOException("Journal entry of " + record.length + " bytes does not fit in a segment");
+            }
+            Segment segment = segments.peekLast();
+            if (segment == null || segment.position + record.length + Integer.BYTES > segmentSize) {
+                segment = rollSegment(entry.seq());
+            }
+            segment.buffer.put(segment.position, record);
+            segment.position += record.length;
+            lastSeq = entry.seq();
+            unforced.addLast(entry);
+            appended.signal();
+            // The flusher forces every appended entry before it stops, so this wait ends even when the journal is closing.
+            while (durableSeq < entry.seq()) {
+                if (flushFailure != null) {
+                    throw new IOException("Reservation journal could not be forced to disk", flushFailure);
+                }
+                forced.awaitUninterruptibly();
+            }
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes durable entries that have not been handed out yet, in sequence order.
+     *
+     * @param maxEntries The maximum number of entries to take.
+     * @param timeout    How long to wait when no entry is available.
+     * @param unit       The unit of the timeout.
+     * @return The entries; empty if none became available in time.
+     * @throws InterruptedException If the caller is interrupted while waiting.
+     */
+    public List<JournalEntry> pollDurable(int maxEntries, long timeout, TimeUnit unit) throws InterruptedException {
+        lock.lock();
+        try {
+            long remaining = unit.toNanos(timeout);
+            while (undrained.isEmpty() && remaining > 0 && !closed) {
+                remaining = forced.awaitNanos(remaining);
+            }
+            List<JournalEntry> entries = new ArrayList<>(Math.min(maxEntries, undrained.size()));
+            while (entries.size() < maxEntries && !undrained.isEmpty()) {
+                entries.add(undrained.pollFirst());
+            }
+            return entries;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records that every entry up to the given sequence number has been applied to the database,
+     * then deletes the segments that hold only applied entries.
+     *
+     * @param seq The highest applied sequence number.
+     * @throws IOException If the checkpoint cannot be written.
+     */
+    public void markApplied(long seq) throws IOException {
+        lock.lock();
+        try {
+            if (seq <= appliedSeq) {
+                return;
+            }
+            ByteBuffer checkpoint = ByteBuffer.allocate(Long.BYTES).putLong(0, seq);
+            checkpointChannel.write(checkpoint, 0);
+            checkpointChannel.force(false);
+            appliedSeq = seq;
+            while (segments.size() > 1 && nextFirstSeq(segments.peekFirst()) - 1 <= appliedSeq) {
+                Segment applied = segments.pollFirst();
+                applied.channel.close();
+                Files.deleteIfExists(applied.path);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends an entry the database rejected to the dead-letter file and forces it to disk.
+     * Must be called before the checkpoint moves past the entry.
+     *
+     * @param entry The rejected entry.
+     * @throws IOException If the journal is closed or the entry cannot be written.
+     */
+    public void deadLetter(JournalEntry entry) throws IOException {
+        lock.lock();
+        try {
+            ensureOpen();
+            if (deadLetterChannel == null) {
+                deadLetterChannel = FileChannel.open(directory.resolve(DEAD_LETTER_FILE),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+            ByteBuffer record = ByteBuffer.wrap(encode(entry));
+            while (record.hasRemaining()) {
+                deadLetterChannel.write(record);
+            }
+            deadLetterChannel.force(false);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads the entries in the dead-letter file, in the order they were rejected.
+     * Reading stops at the first torn or corrupt entry.
+     *
+     * @return The rejected entries; empty if none were rejected.
+     * @throws IOException If the dead-letter file cannot be read.
+     */
+    public List<JournalEntry> deadLetters() throws IOException {
+        lock.lock();
+        try {
+            Path path = directory.resolve(DEAD_LETTER_FILE);
+            List<JournalEntry> entries = new ArrayList<>();
+            if (!Files.exists(path)) {
+                return entries;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+            int position = 0;
+            JournalEntry entry;
+            while ((entry = decode(buffer, position)) != null) {
+                entries.add(entry);
+                position += HEADER_BYTES + buffer.getInt(position);
+            }
+            return entries;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of durable entries not yet handed to the drainer.
+     */
+    public int undrainedCount() {
+        lock.lock();
+        try {
+            return undrained.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The highest sequence number recorded as applied to the database.
+     */
+    public long appliedSeq() {
+        lock.lock();
+        try {
+            return appliedSeq;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forces outstanding entries, stops the flusher and closes all files.
+     * Appenders still waiting for their entry to become durable fail with an IOException.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            appended.signalAll();
+            forced.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            for (Segment segment : segments) {
+                segment.buffer.force();
+                segment.channel.close();
+            }
+            checkpointChannel.close();
+            if (deadLetterChannel != null) {
+                deadLetterChannel.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forces appended entries to disk in batches until the journal is closed.
+     * If forcing fails, the journal stops accepting entries and waiting appenders fail.
+     */
+    private void flushLoop() {
+        try {
+            forceAppendedEntries();
+        } catch (RuntimeException | Error e) {
+            lock.lock();
+            try {
+                flushFailure = e;
+                forced.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void forceAppendedEntries() {
+        while (true) {
+            Segment segment;
+            int from;
+            int to;
+            long target;
+            lock.lock();
+            try {
+                while (durableSeq == lastSeq && !closed) {
+                    appended.awaitUninterruptibly();
+                }
+                if (durableSeq == lastSeq) {
+                    return;
+                }
+                segment = segments.peekLast();
+                from = forcedPosition;
+                to = segment.position;
+                target = lastSeq;
+            } finally {
+                lock.unlock();
+            }
+            segment.buffer.force(from, to - from);
+            lock.lock();
+            try {
+                if (segments.peekLast() == segment) {
+                    forcedPosition = to;
+                }
+                durableSeq = target;
+                while (!unforced.isEmpty() && unforced.peekFirst().seq() <= target) {
+                    undrained.addLast(unforced.pollFirst());
+                }
+                forced.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Starts a new segment. The previous segment is forced first, so a durable sequence number
+     * never depends on two segments.
+     *
+     * @param firstSeq The sequence number of the first entry of the new segment.
+     * @return The new segment.
+     */
+    private Segment rollSegment(long firstSeq) throws IOException {
+        Segment previous = segments.peekLast();
+        if (previous != null) {
+            previous.buffer.force();
+        }
+        Segment segment = Segment.open(directory.resolve(SEGMENT_PREFIX + String.format("%020d", firstSeq) + SEGMENT_SUFFIX),
+                firstSeq, segmentSize);
+        segments.addLast(segment);
+        forcedPosition = 0;
+        return segment;
+    }
+
+    private long nextFirstSeq(Segment segment) {
+        boolean found = false;
+        for (Segment candidate : segments) {
+            if (found) {
+                return candidate.firstSeq;
+            }
+            found = candidate == segment;
+        }
+        return lastSeq + 1;
+    }
+
+    /**
+     * Reads the checkpoint and scans all segments, queueing entries above the checkpoint for draining.
+     * Scanning stops at the first empty, corrupt or out-of-sequence entry.
+     */
+    private void recover() throws IOException {
+        ByteBuffer checkpoint = ByteBuffer.allocate(Long.BYTES);
+        if (checkpointChannel.read(checkpoint, 0) == Long.BYTES) {
+            appliedSeq = checkpoint.getLong(0);
+        }
+        lastSeq = appliedSeq;
+        List<Path> segmentPaths;
+        try (Stream<Path> files = Files.list(directory)) {
+            segmentPaths = files
+                    .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .sorted()
+                    .toList();
+        }
+        for (Path path : segmentPaths) {
+            String name = path.getFileName().toString();
+            long firstSeq = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+            Segment segment = Segment.open(path, firstSeq, Math.max(segmentSize, (int) Files.size(path)));
+            segments.addLast(segment);
+            long expectedSeq = firstSeq;
+            while (true) {
+                JournalEntry entry = decode(segment.buffer, segment.position);
+                if (entry == null || entry.seq() != expectedSeq) {
+                    break;
+                }
+                segment.position += HEADER_BYTES + segment.buffer.getInt(segment.position);
+                if (entry.seq() > appliedSeq) {
+                    undrained.addLast(entry);
+                }
+                lastSeq = Math.max(lastSeq, entry.seq());
+                expectedSeq++;
+            }
+        }
+        durableSeq = lastSeq;
+        Segment current = segments.peekLast();
+        if (current != null) {
+            // Clear a torn tail so a later recovery doesn't mistake it for an entry.
+            current.buffer.put(current.position, new byte[Math.min(HEADER_BYTES, current.buffer.capacity() - current.position)]);
+            forcedPosition = current.position;
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed || flushFailure != null) {
+            throw new IOException("Reservation journal is closed", flushFailure);
+        }
+    }
+
+    private static byte[] encode(JournalEntry entry) {
+        byte[] pickUpLocation = bytesOf(entry.pickUpLocation());
+        byte[] returnLocation = bytesOf(entry.returnLocation());
+        int payloadLength = 6 * Long.BYTES + 2 * Integer.BYTES
+                + (pickUpLocation != null ? pickUpLocation.length : 0)
+                + (returnLocation != null ? returnLocation.length : 0);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + payloadLength);
+        record.putInt(payloadLength).putInt(0)
+                .putLong(entry.seq())
+                .putLong(entry.carId())
+                .putLong(entry.customerId())
+                .putLong(entry.driverId() != null ? entry.driverId() : 0)
+                .putLong(entry.pickUpDate())
+                .putLong(entry.returnDate());
+        putString(record, pickUpLocation);
+        putString(record, returnLocation);
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), HEADER_BYTES, payloadLength);
+        record.putInt(Integer.BYTES, (int) crc.getValue());
+        return record.array();
+    }
+
+    private static JournalEntry decode(ByteBuffer buffer, int position) {
+        if (position + HEADER_BYTES > buffer.capacity()) {
+            return null;
+        }
+        int payloadLength = buffer.getInt(position);
+        if (payloadLength <= 0 || position + HEADER_BYTES + payloadLength > buffer.capacity()) {
+            return null;
+        }
+        byte[] payload = new byte[payloadLength];
+        buffer.get(position + HEADER_BYTES, payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if ((int) crc.getValue() != buffer.getInt(position + Integer.BYTES)) {
+            return null;
+        }
+        ByteBuffer record = ByteBuffer.wrap(payload);
+        long seq = record.getLong();
+        long carId = record.getLong();
+        long customerId = record.getLong();
+        long driverId = record.getLong();
+        long pickUpDate = record.getLong();
+        long returnDate = record.getLong();
+        return new JournalEntry(seq, carId, customerId, driverId != 0 ? driverId : null, pickUpDate, returnDate,
+                getString(record), getString(record));
+    }
+
+    private static byte[] bytesOf(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static void putString(ByteBuffer record, byte[] value) {
+        record.putInt(value != null ? value.length : -1);
+        if (value != null) {
+            record.put(value);
+        }
+    }
+
+    private static String getString(ByteBuffer record) {
+        int length = record.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        record.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * One memory-mapped segment file.
+     */
+    private static final class Segment {
+
+        private final Path path;
+        private final long firstSeq;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int position;
+
+        private Segment(Path path, long firstSeq, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.firstSeq = firstSeq;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment open(Path path, long firstSeq, int size) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                return new Segment(path, firstSeq, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            } catch (IOException | UncheckedIOException e) {
+                channel.close();
+                throw e;
+            }
+        }
+    }
+}
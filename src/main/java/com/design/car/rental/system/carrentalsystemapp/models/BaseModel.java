@@ -3,6 +3,9 @@ package com.design.car.rental.system.carrentalsystemapp.models;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import java.util.Date;
 
@@ -11,12 +14,14 @@ import java.util.Date;
 @Setter
 public abstract class BaseModel {
 
-    @GeneratedValue(strategy=GenerationType.IDENTITY)
+    // Pooled sequences (allocation size 50) instead of IDENTITY, so Hibernate can batch inserts. One <entity>_seq
+    // per entity; with pooled-lo the stored value is the next id handed out (IdSequenceSeeder and V4 rely on it).
+    @GeneratedValue(strategy=GenerationType.SEQUENCE, generator = "id_sequence")
+    @GenericGenerator(name = "id_sequence", type = SequenceStyleGenerator.class, parameters = {
+            @Parameter(name = SequenceStyleGenerator.CONFIG_SEQUENCE_PER_ENTITY_SUFFIX, value = "_seq"),
+            @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50"),
+            @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled-lo")
+    })
     @Id
     private long id;
-
-    @Transient
-    private int active;
-
-
 }
@@ -1,9 +1,13 @@
 package com.design.car.rental.system.carrentalsystemapp.models;
 
 import com.design.car.rental.system.carrentalsystemapp.enums.CarCategoryEnum;
+import com.design.car.rental.system.carrentalsystemapp.enums.CarStatusEnum;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -20,4 +24,18 @@ public class CarDetails extends BaseModel {
     private String manufacturingYear;
     private int mileage;
     private boolean hasSunRoof;
+
+    @Enumerated(EnumType.ORDINAL)
+    private CarStatusEnum status;
+
+    // Current position; null until the car has been placed.
+    private Double latitude;
+    private Double longitude;
+
+    // Rental location the car is parked at; null while it is elsewhere.
+    @ManyToOne(fetch = FetchType.LAZY)
+    private RentalLocation rentalLocation;
+
+    @Version
+    private long version;
 }
@@ -1,8 +1,15 @@
 package com.design.car.rental.system.carrentalsystemapp.models;
 
+import jakarta.persistence.Column;
+import jakarta.persistence.ConstraintMode;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -11,19 +18,41 @@ import java.util.Date;
 @Getter
 @Setter
 @Entity
+// Overlap checks go through (car, pickUpDate, returnDate), window scans through pickUpDate or returnDate.
+@Table(indexes = {
+        @Index(name = "idx_car_reservation_car_pick_up_return", columnList = "car_details_id, pickUpDate, returnDate"),
+        @Index(name = "idx_car_reservation_customer_active_id", columnList = "customer_details_id, activeRecord, id"),
+        @Index(name = "idx_car_reservation_pick_up", columnList = "pickUpDate"),
+        @Index(name = "idx_car_reservation_return_pick_up", columnList = "returnDate, pickUpDate"),
+        @Index(name = "idx_car_reservation_journal_seq", columnList = "journalSeq")
+})
 public class CarReservation extends BaseModel{
 
-    @ManyToOne
+    // The table is partitioned by month of returnDate (V2 migration); MySQL allows no foreign keys on partitioned tables.
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private CarDetails carDetails;
     private Date pickUpDate;
+    @Column(nullable = false)
     private Date returnDate;
     private String pickUpLocation;
     private String returnLocation;
-    @ManyToOne
-    @JoinColumn(name = "customer_details_id")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "customer_details_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private UserDetails customerDetails;
 
-    @ManyToOne
-    @JoinColumn(name = "driver_details_id")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "driver_details_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private UserDetails driverDetails;
+
+    @Column(name = "activeRecord")
+    private int active;
+
+    // Sequence number of the journal entry this reservation was written from; null for synchronous bookings.
+    // Not unique in the schema, since unique keys of a partitioned table must include returnDate; the journal drain
+    // skips entries that already have a reservation.
+    private Long journalSeq;
+
+    @Version
+    private long version;
 }
@@ -0,0 +1,15 @@
+package com.design.car.rental.system.carrentalsystemapp.models;
+
+import jakarta.persistence.Entity;
+import lombok.Getter;
+import lombok.Setter;
+
+@Entity
+@Getter @Setter
+public class RentalLocation extends BaseModel {
+
+    private String name;
+    private String address;
+    private double latitude;
+    private double longitude;
+}
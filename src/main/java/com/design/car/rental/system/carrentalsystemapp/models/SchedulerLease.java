@@ -0,0 +1,23 @@
+package com.design.car.rental.system.carrentalsystemapp.models;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A lease on a scheduled job, so that only one application instance runs it at a time.
+ * The name identifies the job, the owner the instance holding the lease; the lease is free once expiresAt
+ * (epoch milliseconds) has passed.
+ */
+@Getter
+@Setter
+@Entity
+public class SchedulerLease {
+
+    @Id
+    private String name;
+
+    private String owner;
+    private long expiresAt;
+}
@@ -8,6 +8,12 @@ import lombok.Setter;
 import java.util.Date;
 
 @Entity
+// Every finder filters on activeRecord, with userType in front for the per-type listings; id last serves the keyset order.
+@Table(indexes = {
+        @Index(name = "idx_user_details_upd_on_id", columnList = "updOn, id"),
+        @Index(name = "idx_user_details_active_id", columnList = "activeRecord, id"),
+        @Index(name = "idx_user_details_type_active_id", columnList = "userType, activeRecord, id")
+})
 @Getter @Setter
 public class UserDetails extends BaseModel {
 
@@ -15,13 +21,14 @@ public class UserDetails extends BaseModel {
     private String phone;
     private String email;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     private Address address;
     private String licenseNo;
 
     @Enumerated(EnumType.ORDINAL)
     private UserTypeEnum userType;
 
+    // Creation and last-write times, set by UserServiceImpl on every write; (updOn, id) is the delta-sync cursor.
     private Date cron;
     private Date updOn;
 
@@ -0,0 +1,31 @@
+package com.design.car.rental.system.carrentalsystemapp.models;
+
+import com.design.car.rental.system.carrentalsystemapp.enums.CarCategoryEnum;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * What a reservation currently adds to the utilization rollups, so a later change or cancellation
+ * can take exactly that back out of the buckets it touched.
+ */
+@Getter
+@Setter
+@Entity
+public class UtilizationContribution extends BaseModel {
+
+    @Column(unique = true)
+    private long reservationId;
+
+    private long carId;
+
+    @Enumerated(EnumType.ORDINAL)
+    private CarCategoryEnum category;
+
+    private long locationId;
+    private long pickUpMillis;
+    private long returnMillis;
+}
@@ -0,0 +1,41 @@
+package com.design.car.rental.system.carrentalsystemapp.models;
+
+import com.design.car.rental.system.carrentalsystemapp.enums.RollupDimension;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * Booked time and list revenue of one day (UTC) for one car, category or rental location.
+ * The dimension key is the car ID, the category ordinal or the rental location ID (0 for cars without one).
+ */
+@Getter
+@Setter
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"bucket_day", "dimension", "dimension_key"}),
+        indexes = @Index(name = "idx_utilization_rollup_dimension_day_key", columnList = "dimension, bucket_day, dimension_key"))
+public class UtilizationRollup extends BaseModel {
+
+    private LocalDate bucketDay;
+
+    @Enumerated(EnumType.ORDINAL)
+    private RollupDimension dimension;
+
+    private long dimensionKey;
+    private long bookedMillis;
+    private long revenueCents;
+
+    // Reservations overlapping the day.
+    private int reservationCount;
+
+    @Version
+    private long version;
+}
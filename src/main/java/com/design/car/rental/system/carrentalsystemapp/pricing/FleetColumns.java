@@ -0,0 +1,83 @@
+package com.design.car.rental.system.carrentalsystemapp.pricing;
+
+import java.util.Arrays;
+
+/**
+ * Immutable column-oriented copy of the price-relevant car attributes, sorted by car ID.
+ * Updates return a new instance, so readers never need a lock.
+ *
+ * @param carIds     The car IDs, ascending.
+ * @param categories The category ordinal of every car, or -1 if the car has no category.
+ * @param mileages   The mileage of every car.
+ * @param sunRoofs   Whether every car has a sun roof.
+ */
+public record FleetColumns(long[] carIds, int[] categories, int[] mileages, boolean[] sunRoofs) {
+
+    public static final FleetColumns EMPTY = new FleetColumns(new long[0], new int[0], new int[0], new boolean[0]);
+
+    /**
+     * Returns a copy with the car added, or replaced if its ID is already present.
+     *
+     * @param carId    The ID of the car.
+     * @param category The category ordinal, or -1.
+     * @param mileage  The mileage.
+     * @param sunRoof  Whether the car has a sun roof.
+     * @return The updated columns.
+     */
+    public FleetColumns withCar(long carId, int category, int mileage, boolean sunRoof) {
+        int slot = Arrays.binarySearch(carIds, carId);
+        if (slot >= 0) {
+            FleetColumns copy = new FleetColumns(carIds, categories.clone(), mileages.clone(), sunRoofs.clone());
+            copy.categories[slot] = category;
+            copy.mileages[slot] = mileage;
+            copy.sunRoofs[slot] = sunRoof;
+            return copy;
+        }
+        int insertAt = -slot - 1;
+        FleetColumns copy = new FleetColumns(insertAt(carIds, insertAt), insertAt(categories, insertAt),
+                insertAt(mileages, insertAt), insertAt(sunRoofs, insertAt));
+        copy.carIds[insertAt] = carId;
+        copy.categories[insertAt] = category;
+        copy.mileages[insertAt] = mileage;
+        copy.sunRoofs[insertAt] = sunRoof;
+        return copy;
+    }
+
+    /**
+     * Finds the column position of a car.
+     *
+     * @param carId The ID of the car.
+     * @return The slot of the car, or a negative value if it is unknown.
+     */
+    public int slotOf(long carId) {
+        return Arrays.binarySearch(carIds, carId);
+    }
+
+    /**
+     * @return The number of cars in the columns.
+     */
+    public int size() {
+        return carIds.length;
+    }
+
+    private static long[] insertAt(long[] values, int index) {
+        long[] copy = new long[values.length + 1];
+        System.arraycopy(values, 0, copy, 0, index);
+        System.arraycopy(values, index, copy, index + 1, values.length - index);
+        return copy;
+    }
+
+    private static int[] insertAt(int[] values, int index) {
+        int[] copy = new int[values.length + 1];
+        System.arraycopy(values, 0, copy, 0, index);
+        System.arraycopy(values, index, copy, index + 1, values.length - index);
+        return copy;
+    }
+
+    private static boolean[] insertAt(boolean[] values, int index) {
+        boolean[] copy = new boolean[values.length + 1];
+        System.arraycopy(values, 0, copy, 0, index);
+        System.arraycopy(values, index, copy, index + 1, values.length - index);
+        return copy;
+    }
+}
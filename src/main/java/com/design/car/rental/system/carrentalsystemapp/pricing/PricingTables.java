@@ -0,0 +1,124 @@
+package com.design.car.rental.system.carrentalsystemapp.pricing;
+
+import com.design.car.rental.system.carrentalsystemapp.enums.CarCategoryEnum;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pricing rules compiled into primitive lookup tables.
+ * - Category-dependent rates are indexed by {@link CarCategoryEnum#ordinal()}.
+ * - Multipliers are in basis points (10000 = 1.0).
+ * - Everything that depends only on the request (rental days, season, demand) is folded into a
+ *   {@link QuoteContext} once per request, so pricing a car is a few array reads and multiplications.
+ */
+public final class PricingTables {
+
+    public static final int BASIS_POINTS = 10_000;
+
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    private static final int MILEAGE_BUCKET_SIZE = 10_000;
+
+    private final int[] baseDailyRateCents;
+    private final int[] sunRoofDailyCents;
+    private final int[] mileageBpByBucket;
+    private final int[] monthBp;
+    private final int[] demandBpByBookedPercent;
+
+    /**
+     * @param baseDailyRateCents      The daily rate per category, in cents.
+     * @param sunRoofDailyCents       The daily sun roof surcharge per category, in cents.
+     * @param mileageBpByBucket       The mileage multiplier per 10000 units of mileage; the last bucket covers everything above.
+     * @param monthBp                 The season multiplier per calendar month (January first).
+     * @param demandBpByBookedPercent The demand multiplier for 0..100 percent of the category already booked.
+     */
+    public PricingTables(int[] baseDailyRateCents, int[] sunRoofDailyCents, int[] mileageBpByBucket,
+                         int[] monthBp, int[] demandBpByBookedPercent) {
+        int categories = CarCategoryEnum.values().length;
+        if (baseDailyRateCents.length != categories || sunRoofDailyCents.length != categories
+                || mileageBpByBucket.length == 0 || monthBp.length != 12 || demandBpByBookedPercent.length != 101) {
+            throw new IllegalArgumentException("Pricing tables do not match the category, month and percent ranges");
+        }
+        this.baseDailyRateCents = baseDailyRateCents.clone();
+        this.sunRoofDailyCents = sunRoofDailyCents.clone();
+        this.mileageBpByBucket = mileageBpByBucket.clone();
+        this.monthBp = monthBp.clone();
+        this.demandBpByBookedPercent = demandBpByBookedPercent.clone();
+    }
+
+    /**
+     * Builds the standard price list.
+     * - Daily rates of 35, 55 and 45 per day for hatchbacks, SUVs and sedans.
+     * - Higher mileage gives up to 30% discount.
+     * - Summer and the December holidays cost up to 25% more.
+     * - Demand adds nothing until half of the category is booked, then up to 50% at full occupancy.
+     *
+     * @return The standard pricing tables.
+     */
+    public static PricingTables standard() {
+        int[] demand = new int[101];
+        for (int percent = 0; percent <= 100; percent++) {
+            demand[percent] = BASIS_POINTS + Math.max(0, percent - 50) * 100;
+        }
+        return new PricingTables(
+                new int[]{3_500, 5_500, 4_500},
+                new int[]{300, 500, 400},
+                new int[]{10_000, 9_500, 9_000, 8_500, 8_000, 7_500, 7_000},
+                new int[]{9_000, 9_000, 9_500, 10_000, 10_500, 11_500, 12_500, 12_500, 11_000, 10_000, 9_500, 12_000},
+                demand);
+    }
+
+    /**
+     * Folds the request-dependent rules into per-category amounts.
+     * - The rental is charged per started day; each day uses the season multiplier of its month (UTC).
+     * - The demand multiplier of a category follows the share of its cars already booked in the window.
+     *
+     * @param from               The start of the window in epoch milliseconds (inclusive).
+     * @param to                 The end of the window in epoch milliseconds (exclusive).
+     * @param bookedByCategory   The number of booked cars per category.
+     * @param fleetByCategory    The number of cars per category.
+     * @return The context to price every car of the request with.
+     */
+    public QuoteContext context(long from, long to, int[] bookedByCategory, int[] fleetByCategory) {
+        int days = (int) Math.max(1, (to - from + DAY - 1) / DAY);
+        long seasonBpDays = 0;
+        long firstDay = Math.floorDiv(from, DAY);
+        for (int day = 0; day < days; day++) {
+            seasonBpDays += monthBp[LocalDate.ofEpochDay(firstDay + day).getMonthValue() - 1];
+        }
+        long[] rentalCents = new long[baseDailyRateCents.length];
+        long[] sunRoofCents = new long[sunRoofDailyCents.length];
+        for (int category = 0; category < rentalCents.length; category++) {
+            int bookedPercent = fleetByCategory[category] == 0 ? 0
+                    : (int) Math.min(100, 100L * bookedByCategory[category] / fleetByCategory[category]);
+            rentalCents[category] = baseDailyRateCents[category] * seasonBpDays / BASIS_POINTS
+                    * demandBpByBookedPercent[bookedPercent] / BASIS_POINTS;
+            sunRoofCents[category] = (long) sunRoofDailyCents[category] * days;
+        }
+        return new QuoteContext(days, rentalCents, sunRoofCents);
+    }
+
+    /**
+     * Looks up the list price of one rental day, i.e. the daily rate with the season multiplier but
+     * without demand, mileage or sun roof adjustments.
+     *
+     * @param category The category ordinal.
+     * @param month    The calendar month of the day (1 for January).
+     * @return The daily rate in cents.
+     */
+    public long listDailyRateCents(int category, int month) {
+        return (long) baseDailyRateCents[category] * monthBp[month - 1] / BASIS_POINTS;
+    }
+
+    /**
+     * Looks up the mileage multiplier of a car.
+     *
+     * @param mileage The mileage of the car.
+     * @return The multiplier in basis points.
+     */
+    public int mileageBp(int mileage) {
+        int bucket = Math.max(0, mileage) / MILEAGE_BUCKET_SIZE;
+        return mileageBpByBucket[Math.min(bucket, mileageBpByBucket.length - 1)];
+    }
+}
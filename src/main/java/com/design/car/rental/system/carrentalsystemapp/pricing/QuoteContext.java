@@ -0,0 +1,11 @@
+package com.design.car.rental.system.carrentalsystemapp.pricing;
+
+/**
+ * Request-dependent part of a quote, computed once per request by {@link PricingTables#context}.
+ *
+ * @param days         The number of charged rental days.
+ * @param rentalCents  The rental price per category before the mileage multiplier, in cents.
+ * @param sunRoofCents The sun roof surcharge per category for the whole rental, in cents.
+ */
+public record QuoteContext(int days, long[] rentalCents, long[] sunRoofCents) {
+}
@@ -0,0 +1,172 @@
+package com.design.car.rental.system.carrentalsystemapp.pricing;
+
+import com.design.car.rental.system.carrentalsystemapp.enums.CarCategoryEnum;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Prices whole candidate sets of cars in parallel.
+ * - Car attributes are read from {@link FleetColumns}, request rules from a {@link QuoteContext}.
+ * - The candidate array is split recursively on a dedicated fork-join pool until slices are
+ *   small enough to price sequentially; pricing a car does not allocate.
+ */
+@Component
+public class QuoteEngine {
+
+    public static final long NOT_PRICED = -1;
+
+    // Below this many cars a slice is priced on the current worker instead of being split further.
+    private static final int SEQUENTIAL_THRESHOLD = 1024;
+
+    private final PricingTables pricingTables;
+
+    private final ForkJoinPool pool;
+
+    private volatile FleetColumns fleet = FleetColumns.EMPTY;
+
+    @Autowired
+    public QuoteEngine(@Value("${quote.parallelism:0}") int parallelism) {
+        this(PricingTables.standard(), new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors()));
+    }
+
+    public QuoteEngine(PricingTables pricingTables, ForkJoinPool pool) {
+        this.pricingTables = pricingTables;
+        this.pool = pool;
+    }
+
+    /**
+     * Shuts down the fork-join pool.
+     */
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Replaces the whole fleet.
+     *
+     * @param fleet The new fleet columns.
+     */
+    public void loadFleet(FleetColumns fleet) {
+        this.fleet = fleet;
+    }
+
+    /**
+     * Adds or replaces a single car.
+     *
+     * @param carId    The ID of the car.
+     * @param category The category ordinal, or -1 if the car has no category.
+     * @param mileage  The mileage.
+     * @param sunRoof  Whether the car has a sun roof.
+     */
+    public synchronized void putCar(long carId, int category, int mileage, boolean sunRoof) {
+        fleet = fleet.withCar(carId, category, mileage, sunRoof);
+    }
+
+    /**
+     * @return The current fleet columns.
+     */
+    public FleetColumns fleet() {
+        return fleet;
+    }
+
+    /**
+     * @return The pricing tables used by the engine.
+     */
+    public PricingTables pricingTables() {
+        return pricingTables;
+    }
+
+    /**
+     * Counts the cars of every category among the given cars.
+     *
+     * @param fleet  The fleet columns to read categories from.
+     * @param carIds The IDs of the cars to count.
+     * @return The number of cars per category ordinal; unknown cars and cars without a category are skipped.
+     */
+    public static int[] countByCategory(FleetColumns fleet, long[] carIds) {
+        int[] counts = new int[CarCategoryEnum.values().length];
+        for (long carId : carIds) {
+            int slot = fleet.slotOf(carId);
+            if (slot >= 0 && fleet.categories()[slot] >= 0) {
+                counts[fleet.categories()[slot]]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Prices every candidate car.
+     *
+     * @param fleet   The fleet columns to read car attributes from.
+     * @param carIds  The IDs of the candidate cars.
+     * @param context The request-dependent pricing context.
+     * @return The price of every candidate in cents, in candidate order; {@link #NOT_PRICED} for cars
+     * that are unknown or have no category.
+     */
+    public long[] quote(FleetColumns fleet, long[] carIds, QuoteContext context) {
+        long[] prices = new long[carIds.length];
+        if (carIds.length <= SEQUENTIAL_THRESHOLD) {
+            priceRange(fleet, carIds, context, prices, 0, carIds.length);
+        } else {
+            pool.invoke(new PriceSlice(fleet, carIds, context, prices, 0, carIds.length));
+        }
+        return prices;
+    }
+
+    private void priceRange(FleetColumns fleet, long[] carIds, QuoteContext context, long[] prices, int from, int to) {
+        int[] categories = fleet.categories();
+        int[] mileages = fleet.mileages();
+        boolean[] sunRoofs = fleet.sunRoofs();
+        long[] rentalCents = context.rentalCents();
+        long[] sunRoofCents = context.sunRoofCents();
+        for (int i = from; i < to; i++) {
+            int slot = fleet.slotOf(carIds[i]);
+            int category = slot >= 0 ? categories[slot] : -1;
+            if (category < 0) {
+                prices[i] = NOT_PRICED;
+                continue;
+            }
+            long price = rentalCents[category] * pricingTables.mileageBp(mileages[slot]) / PricingTables.BASIS_POINTS;
+            if (sunRoofs[slot]) {
+                price += sunRoofCents[category];
+            }
+            prices[i] = price;
+        }
+    }
+
+    private final class PriceSlice extends RecursiveAction {
+
+        private final FleetColumns fleet;
+        private final long[] carIds;
+        private final QuoteContext context;
+        private final long[] prices;
+        private final int from;
+        private final int to;
+
+        PriceSlice(FleetColumns fleet, long[] carIds, QuoteContext context, long[] prices, int from, int to) {
+            this.fleet = fleet;
+            this.carIds = carIds;
+            this.context = context;
+            this.prices = prices;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                priceRange(fleet, carIds, context, prices, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new PriceSlice(fleet, carIds, context, prices, from, middle),
+                    new PriceSlice(fleet, carIds, context, prices, middle, to));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.design.car.rental.system.carrentalsystemapp.repository;
+
+import com.design.car.rental.system.carrentalsystemapp.analytics.FleetSize;
+import com.design.car.rental.system.carrentalsystemapp.catalog.CatalogCarRow;
+import com.design.car.rental.system.carrentalsystemapp.enums.CarStatusEnum;
+import com.design.car.rental.system.carrentalsystemapp.models.CarDetails;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CarDetailsRepository extends JpaRepository<CarDetails, Long> {
+
+    @Query("select c.id from CarDetails c")
+    List<Long> findAllIds();
+
+    /**
+     * Finds one page of the browsable fields of the cars not in the given status, ordered by ID.
+     */
+    @Query("select new com.design.car.rental.system.carrentalsystemapp.catalog.CatalogCarRow(" +
+            "c.id, c.name, c.brand, c.vechicleNo, c.vechicleCategory, c.manufacturingYear, c.mileage, c.hasSunRoof, " +
+            "c.status, l.id, c.latitude, c.longitude) " +
+            "from CarDetails c left join c.rentalLocation l " +
+            "where c.id > :afterId and (c.status is null or c.status <> :excludedStatus) order by c.id")
+    List<CatalogCarRow> findCatalogPage(long afterId, CarStatusEnum excludedStatus, Limit limit);
+
+    @Query("select new com.design.car.rental.system.carrentalsystemapp.analytics.FleetSize(coalesce(l.id, 0), count(c)) " +
+            "from CarDetails c left join c.rentalLocation l group by l.id")
+    List<FleetSize> countByRentalLocation();
+
+    /**
+     * Loads a car and bumps its version on commit, so two application instances booking
+     * the same car concurrently cannot both commit.
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("select c from CarDetails c where c.id = :id")
+    Optional<CarDetails> findByIdForBooking(long id);
+
+    /**
+     * Batch form of {@link #findByIdForBooking}: loads the cars of a micro-batch with one query
+     * and bumps each version on commit.
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("select c from CarDetails c where c.id in :ids")
+    List<CarDetails> findAllByIdForBooking(Collection<Long> ids);
+}
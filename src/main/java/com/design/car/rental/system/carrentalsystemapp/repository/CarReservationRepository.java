@@ -0,0 +1,106 @@
+package com.design.car.rental.system.carrentalsystemapp.repository;
+
+import com.design.car.rental.system.carrentalsystemapp.analytics.ReservationAttribution;
+import com.design.car.rental.system.carrentalsystemapp.archive.ArchivedReservation;
+import com.design.car.rental.system.carrentalsystemapp.assignment.DriverWindow;
+import com.design.car.rental.system.carrentalsystemapp.assignment.PendingReservation;
+import com.design.car.rental.system.carrentalsystemapp.dtos.CarReservationResponseDto;
+import com.design.car.rental.system.carrentalsystemapp.index.ReservationWindow;
+import com.design.car.rental.system.carrentalsystemapp.journal.AppliedJournalEntry;
+import com.design.car.rental.system.carrentalsystemapp.models.CarReservation;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CarReservationRepository extends JpaRepository<CarReservation, Long> {
+
+    String RESERVATION_RESPONSE_PROJECTION = "select new com.design.car.rental.system.carrentalsystemapp.dtos.CarReservationResponseDto(" +
+            "r.id, c.id, cu.id, d.id, r.pickUpDate, r.returnDate, r.pickUpLocation, r.returnLocation, r.journalSeq) " +
+            "from CarReservation r join r.carDetails c join r.customerDetails cu left join r.driverDetails d ";
+
+    String RESERVATION_ATTRIBUTION_PROJECTION = "select new com.design.car.rental.system.carrentalsystemapp.analytics.ReservationAttribution(" +
+            "r.id, c.id, c.vechicleCategory, l.id, r.pickUpDate, r.returnDate, r.active) " +
+            "from CarReservation r join r.carDetails c left join c.rentalLocation l ";
+
+    Optional<CarReservation> findByIdAndActive(long id, int active);
+
+    @Query(RESERVATION_RESPONSE_PROJECTION + "where r.id = :id and r.active = :active")
+    Optional<CarReservationResponseDto> findResponseByIdAndActive(long id, int active);
+
+    @Query(RESERVATION_RESPONSE_PROJECTION + "where c.id = :carId and r.active = :active and r.id > :afterId order by r.id")
+    List<CarReservationResponseDto> findResponsePageByCarAndActive(long carId, int active, long afterId, Limit limit);
+
+    @Query(RESERVATION_RESPONSE_PROJECTION + "where cu.id = :customerId and r.active = :active and r.id > :afterId order by r.id")
+    List<CarReservationResponseDto> findResponsePageByCustomerAndActive(long customerId, int active, long afterId, Limit limit);
+
+    @Query(RESERVATION_RESPONSE_PROJECTION + "where r.journalSeq = :journalSeq and r.active = :active")
+    Optional<CarReservationResponseDto> findResponseByJournalSeqAndActive(long journalSeq, int active);
+
+    /**
+     * Finds which of the given journal entries already have a reservation, so replaying the journal stays idempotent.
+     */
+    @Query("select new com.design.car.rental.system.carrentalsystemapp.journal.AppliedJournalEntry(r.journalSeq, r.id) " +
+            "from CarReservation r where r.journalSeq in :journalSeqs")
+    List<AppliedJournalEntry> findAppliedJournalEntries(Collection<Long> journalSeqs);
+
+    @Query("select new com.design.car.rental.system.carrentalsystemapp.index.ReservationWindow(r.id, r.carDetails.id, r.pickUpDate, r.returnDate) " +
+            "from CarReservation r where r.active = 1")
+    List<ReservationWindow> findAllReservationWindows();
+
+    @Query("select case when count(r) > 0 then true else false end from CarReservation r where r.carDetails.id = :carId and r.active = 1 " +
+            "and r.pickUpDate < :returnDate and r.returnDate > :pickUpDate")
+    boolean existsOverlappingReservation(long carId, Date pickUpDate, Date returnDate);
+
+    @Query("select new com.design.car.rental.system.carrentalsystemapp.assignment.PendingReservation(r.id, r.pickUpDate, r.returnDate, c.latitude, c.longitude) " +
+            "from CarReservation r join r.carDetails c where r.driverDetails is null and r.active = 1 " +
+            "and r.pickUpDate >= :from and r.pickUpDate < :to")
+    List<PendingReservation> findPendingDriverAssignments(Date from, Date to);
+
+    @Query("select new com.design.car.rental.system.carrentalsystemapp.assignment.DriverWindow(r.id, d.id, r.pickUpDate, r.returnDate) " +
+            "from CarReservation r join r.driverDetails d where r.active = 1 and r.pickUpDate < :to and r.returnDate > :from")
+    List<DriverWindow> findDriverWindows(Date from, Date to);
+
+    @Query("select new com.design.car.rental.system.carrentalsystemapp.index.ReservationWindow(r.id, r.carDetails.id, r.pickUpDate, r.returnDate) " +
+            "from CarReservation r where r.carDetails.id in :carIds and r.active = 1 and r.pickUpDate < :to and r.returnDate > :from")
+    List<ReservationWindow> findReservationWindowsForCars(Collection<Long> carIds, Date from, Date to);
+
+    @Query(RESERVATION_ATTRIBUTION_PROJECTION + "where r.id in :ids")
+    List<ReservationAttribution> findAttributionsByIds(Collection<Long> ids);
+
+    /**
+     * Finds one page of the reservations overlapping a window, cancelled ones included, ordered by ID.
+     */
+    @Query(RESERVATION_ATTRIBUTION_PROJECTION + "where r.pickUpDate < :to and r.returnDate > :from and r.id > :afterId order by r.id")
+    List<ReservationAttribution> findAttributionPage(Date from, Date to, long afterId, Limit limit);
+
+    /**
+     * Finds one page of the reservations returned within a window, cancelled ones included, ordered by ID.
+     */
+    @Query("select new com.design.car.rental.system.carrentalsystemapp.archive.ArchivedReservation(" +
+            "r.id, c.id, cu.id, d.id, r.pickUpDate, r.returnDate, r.pickUpLocation, r.returnLocation, r.active, r.journalSeq, " +
+            "c.vechicleCategory, l.id) " +
+            "from CarReservation r join r.carDetails c join r.customerDetails cu left join r.driverDetails d left join c.rentalLocation l " +
+            "where r.returnDate >= :from and r.returnDate < :to and r.id > :afterId order by r.id")
+    List<ArchivedReservation> findArchivePage(Date from, Date to, long afterId, Limit limit);
+
+    /**
+     * Finds the earliest return date in the table, or null if it is empty.
+     */
+    @Query("select min(r.returnDate) from CarReservation r")
+    Date findOldestReturnDate();
+
+    /**
+     * Deletes archived reservations; the return date range lets a partitioned table touch only one partition.
+     */
+    @Modifying
+    @Query("delete from CarReservation r where r.id in :ids and r.returnDate >= :from and r.returnDate < :to")
+    int deleteArchived(Collection<Long> ids, Date from, Date to);
+}
@@ -0,0 +1,9 @@
+package com.design.car.rental.system.carrentalsystemapp.repository;
+
+import com.design.car.rental.system.carrentalsystemapp.models.RentalLocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RentalLocationRepository extends JpaRepository<RentalLocation, Long> {
+}
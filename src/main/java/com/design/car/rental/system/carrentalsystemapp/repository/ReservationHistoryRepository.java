@@ -0,0 +1,152 @@
+package com.design.car.rental.system.carrentalsystemapp.repository;
+
+import com.design.car.rental.system.carrentalsystemapp.analytics.ReservationAttribution;
+import com.design.car.rental.system.carrentalsystemapp.archive.ArchivedReservation;
+import com.design.car.rental.system.carrentalsystemapp.archive.ReservationArchive;
+import com.design.car.rental.system.carrentalsystemapp.dtos.CarReservationResponseDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.ToLongFunction;
+
+/**
+ * Reads reservations wherever they live: in the car_reservation table or, once archived, in the {@link ReservationArchive}.
+ * - Lookups by ID or journal sequence number ask the table first and the archive only on a miss.
+ * - Pages are read from both and merged by reservation ID. Pages of one car or customer only decompress the archive
+ *   files whose ID filters admit it. A reservation found in both (archived, but not yet
+ *   deleted from the table) is taken from the table.
+ * - The archive only holds reservations that ended before the archive horizon, so queries about current and
+ *   future windows never need it and keep using {@link CarReservationRepository} directly.
+ */
+@Repository
+public class ReservationHistoryRepository {
+
+    @Autowired
+    private CarReservationRepository carReservationRepository;
+
+    @Autowired
+    private ReservationArchive reservationArchive;
+
+    /**
+     * Finds a reservation by its ID in the response shape.
+     *
+     * @param id     The ID of the reservation.
+     * @param active 1 for an active reservation, 0 for a cancelled one.
+     * @return The reservation, if it exists in that state.
+     */
+    public Optional<CarReservationResponseDto> findResponseByIdAndActive(long id, int active) {
+        Optional<CarReservationResponseDto> hot = carReservationRepository.findResponseByIdAndActive(id, active);
+        if (hot.isPresent()) {
+            return hot;
+        }
+        return reservationArchive.findById(id)
+                .filter(reservation -> reservation.active() == active)
+                .map(ReservationHistoryRepository::toResponse);
+    }
+
+    /**
+     * Finds a journaled reservation by its journal sequence number in the response shape.
+     *
+     * @param journalSeq The journal sequence number.
+     * @param active     1 for an active reservation, 0 for a cancelled one.
+     * @return The reservation, if it exists in that state.
+     */
+    public Optional<CarReservationResponseDto> findResponseByJournalSeqAndActive(long journalSeq, int active) {
+        Optional<CarReservationResponseDto> hot = carReservationRepository.findResponseByJournalSeqAndActive(journalSeq, active);
+        if (hot.isPresent()) {
+            return hot;
+        }
+        return reservationArchive.findByJournalSeq(journalSeq)
+                .filter(reservation -> reservation.active() == active)
+                .map(ReservationHistoryRepository::toResponse);
+    }
+
+    /**
+     * Finds one page of the reservations of a car in the response shape, ordered by ID.
+     *
+     * @param carId   The ID of the car.
+     * @param active  1 for active reservations, 0 for cancelled ones.
+     * @param afterId The ID to start after.
+     * @param limit   The maximum number of reservations to return.
+     * @return At most limit reservations with IDs greater than afterId.
+     */
+    public List<CarReservationResponseDto> findResponsePageByCarAndActive(long carId, int active, long afterId, Limit limit) {
+        List<CarReservationResponseDto> hot = carReservationRepository.findResponsePageByCarAndActive(carId, active, afterId, limit);
+        List<ArchivedReservation> archived = reservationArchive.findCarPage(carId, active, afterId, limit.max());
+        return merge(hot, archived.stream().map(ReservationHistoryRepository::toResponse).toList(),
+                CarReservationResponseDto::getReservationId, limit.max());
+    }
+
+    /**
+     * Finds one page of the reservations of a customer in the response shape, ordered by ID.
+     *
+     * @param customerId The ID of the customer.
+     * @param active     1 for active reservations, 0 for cancelled ones.
+     * @param afterId    The ID to start after.
+     * @param limit      The maximum number of reservations to return.
+     * @return At most limit reservations with IDs greater than afterId.
+     */
+    public List<CarReservationResponseDto> findResponsePageByCustomerAndActive(long customerId, int active, long afterId, Limit limit) {
+        List<CarReservationResponseDto> hot = carReservationRepository.findResponsePageByCustomerAndActive(customerId, active, afterId, limit);
+        List<ArchivedReservation> archived = reservationArchive.findCustomerPage(customerId, active, afterId, limit.max());
+        return merge(hot, archived.stream().map(ReservationHistoryRepository::toResponse).toList(),
+                CarReservationResponseDto::getReservationId, limit.max());
+    }
+
+    /**
+     * Finds one page of the reservations overlapping a window, cancelled ones included, ordered by ID.
+     * Archived reservations are attributed to the category and rental location their car had when they were archived.
+     *
+     * @param from    The start of the window (inclusive).
+     * @param to      The end of the window (exclusive).
+     * @param afterId The ID to start after.
+     * @param limit   The maximum number of reservations to return.
+     * @return At most limit reservations with IDs greater than afterId.
+     */
+    public List<ReservationAttribution> findAttributionPage(Date from, Date to, long afterId, Limit limit) {
+        List<ReservationAttribution> hot = carReservationRepository.findAttributionPage(from, to, afterId, limit);
+        List<ArchivedReservation> archived = reservationArchive.findOverlappingPage(from.getTime(), to.getTime(), afterId, limit.max());
+        return merge(hot, archived.stream().map(ReservationHistoryRepository::toAttribution).toList(),
+                ReservationAttribution::reservationId, limit.max());
+    }
+
+    /**
+     * Merges two pages that are each ordered by ID, preferring the hot copy of a reservation found in both.
+     */
+    private static <T> List<T> merge(List<T> hot, List<T> archived, ToLongFunction<T> id, int limit) {
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        List<T> merged = new ArrayList<>(Math.min(limit, hot.size() + archived.size()));
+        int h = 0;
+        int a = 0;
+        while (merged.size() < limit && (h < hot.size() || a < archived.size())) {
+            if (a == archived.size() || (h < hot.size() && id.applyAsLong(hot.get(h)) <= id.applyAsLong(archived.get(a)))) {
+                T next = hot.get(h++);
+                if (a < archived.size() && id.applyAsLong(archived.get(a)) == id.applyAsLong(next)) {
+                    a++;
+                }
+                merged.add(next);
+            } else {
+                merged.add(archived.get(a++));
+            }
+        }
+        return merged;
+    }
+
+    private static CarReservationResponseDto toResponse(ArchivedReservation reservation) {
+        return new CarReservationResponseDto(reservation.reservationId(), reservation.carId(), reservation.customerId(),
+                reservation.driverId(), reservation.pickUpDate(), reservation.returnDate(), reservation.pickUpLocation(),
+                reservation.returnLocation(), reservation.journalSeq());
+    }
+
+    private static ReservationAttribution toAttribution(ArchivedReservation reservation) {
+        return new ReservationAttribution(reservation.reservationId(), reservation.carId(), reservation.category(),
+                reservation.locationId(), reservation.pickUpDate(), reservation.returnDate(), reservation.active());
+    }
+}
@@ -0,0 +1,29 @@
+package com.design.car.rental.system.carrentalsystemapp.repository;
+
+import com.design.car.rental.system.carrentalsystemapp.models.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    /**
+     * Takes or extends a lease in one conditional update, so two instances can never both succeed.
+     *
+     * @return 1 if the lease is now held by the owner, 0 if another instance holds it or it does not exist yet.
+     */
+    @Modifying
+    @Query("update SchedulerLease l set l.owner = :owner, l.expiresAt = :expiresAt " +
+            "where l.name = :name and (l.owner = :owner or l.expiresAt <= :now)")
+    int renewLease(String name, String owner, long expiresAt, long now);
+
+    @Modifying
+    @Query(value = "insert into scheduler_lease (name, owner, expires_at) values (:name, :owner, :expiresAt)", nativeQuery = true)
+    int insertLease(String name, String owner, long expiresAt);
+
+    @Modifying
+    @Query("update SchedulerLease l set l.expiresAt = 0 where l.name = :name and l.owner = :owner")
+    int releaseLease(String name, String owner);
+}
@@ -1,18 +1,67 @@
 package com.design.car.rental.system.carrentalsystemapp.repository;
 
+import com.design.car.rental.system.carrentalsystemapp.dtos.UserChangeDto;
+import com.design.car.rental.system.carrentalsystemapp.dtos.UserResponseDto;
 import com.design.car.rental.system.carrentalsystemapp.enums.UserTypeEnum;
+import com.design.car.rental.system.carrentalsystemapp.index.IndexedUser;
 import com.design.car.rental.system.carrentalsystemapp.models.UserDetails;
-import org.hibernate.usertype.UserType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface UserRepository extends JpaRepository<UserDetails,Long> {
 
+    String USER_RESPONSE_PROJECTION = "select new com.design.car.rental.system.carrentalsystemapp.dtos.UserResponseDto(" +
+            "u.id, u.name, u.phone, u.email, u.licenseNo, a.id, a.street, a.city, a.state, a.zip) " +
+            "from UserDetails u left join u.address a ";
+
+    @EntityGraph(attributePaths = "address")
     Optional<UserDetails> findByIdAndActive(long id,int active);
+    @EntityGraph(attributePaths = "address")
     List<UserDetails> findByUserTypeAndActive(UserTypeEnum userType,int active);
-    List<UserDetails> findAllByActive(int active);
+
+    @Query(USER_RESPONSE_PROJECTION + "where u.active = :active and u.id > :afterId order by u.id")
+    List<UserResponseDto> findResponsePageByActive(int active, long afterId, Limit limit);
+
+    @Query(USER_RESPONSE_PROJECTION + "where u.userType = :userType and u.active = :active and u.id > :afterId order by u.id")
+    List<UserResponseDto> findResponsePageByUserTypeAndActive(UserTypeEnum userType, int active, long afterId, Limit limit);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query(USER_RESPONSE_PROJECTION + "where u.active = :active order by u.id")
+    Stream<UserResponseDto> streamResponsesByActive(int active);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query(USER_RESPONSE_PROJECTION + "where u.userType = :userType and u.active = :active order by u.id")
+    Stream<UserResponseDto> streamResponsesByUserTypeAndActive(UserTypeEnum userType, int active);
+
+    /**
+     * Finds users written after a (updOn, id) cursor and up to a cut-off, deleted ones included, in cursor order.
+     */
+    @Query("select new com.design.car.rental.system.carrentalsystemapp.dtos.UserChangeDto(" +
+            "u.id, u.active, u.updOn, u.name, u.phone, u.email, u.licenseNo, a.id, a.street, a.city, a.state, a.zip) " +
+            "from UserDetails u left join u.address a " +
+            "where (u.updOn > :sinceUpdOn or (u.updOn = :sinceUpdOn and u.id > :afterId)) and u.updOn <= :until " +
+            "order by u.updOn, u.id")
+    List<UserChangeDto> findChangesAfter(Date sinceUpdOn, long afterId, Date until, Limit limit);
+
+    /**
+     * Streams the searchable fields of the users with the given active status, for building the search index.
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select new com.design.car.rental.system.carrentalsystemapp.index.IndexedUser(" +
+            "u.id, u.name, u.email, u.phone, u.licenseNo, u.userType) from UserDetails u where u.active = :active")
+    Stream<IndexedUser> streamIndexedUsersByActive(int active);
 }
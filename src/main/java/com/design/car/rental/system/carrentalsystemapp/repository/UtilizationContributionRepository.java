@@ -0,0 +1,14 @@
+package com.design.car.rental.system.carrentalsystemapp.repository;
+
+import com.design.car.rental.system.carrentalsystemapp.models.UtilizationContribution;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UtilizationContributionRepository extends JpaRepository<UtilizationContribution, Long> {
+
+    List<UtilizationContribution> findByReservationIdIn(Collection<Long> reservationIds);
+}
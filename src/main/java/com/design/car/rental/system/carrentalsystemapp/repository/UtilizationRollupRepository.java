@@ -0,0 +1,30 @@
+package com.design.car.rental.system.carrentalsystemapp.repository;
+
+import com.design.car.rental.system.carrentalsystemapp.enums.RollupDimension;
+import com.design.car.rental.system.carrentalsystemapp.models.UtilizationRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UtilizationRollupRepository extends JpaRepository<UtilizationRollup, Long> {
+
+    @Query("select r from UtilizationRollup r where r.dimension = :dimension and r.bucketDay >= :from and r.bucketDay < :to " +
+            "order by r.bucketDay, r.dimensionKey")
+    List<UtilizationRollup> findRollups(RollupDimension dimension, LocalDate from, LocalDate to);
+
+    /**
+     * Loads the buckets a batch of deltas may touch; callers match the exact (day, dimension, key) themselves.
+     */
+    @Query("select r from UtilizationRollup r where r.bucketDay >= :from and r.bucketDay <= :to and r.dimensionKey in :dimensionKeys")
+    List<UtilizationRollup> findCandidateRollups(LocalDate from, LocalDate to, Collection<Long> dimensionKeys);
+
+    @Modifying
+    @Query("delete from UtilizationRollup r where r.bucketDay >= :from and r.bucketDay < :to")
+    int deleteRollups(LocalDate from, LocalDate to);
+}
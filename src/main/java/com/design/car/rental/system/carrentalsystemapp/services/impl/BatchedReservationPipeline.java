@@ -0,0 +1,443 @@
+package com.design.car.rental.system.carrentalsystemapp.services.impl;
+
+import com.design.car.rental.system.carrentalsystemapp.dtos.CarReservationResponseDto;
+import com.design.car.rental.system.carrentalsystemapp.enums.UserTypeEnum;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.CarNotAvailableException;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.CarNotFoundException;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.ReservationQueueFullException;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.UserNotFoundException;
+import com.design.car.rental.system.carrentalsystemapp.index.ReservationWindow;
+import com.design.car.rental.system.carrentalsystemapp.models.CarDetails;
+import com.design.car.rental.system.carrentalsystemapp.models.CarReservation;
+import com.design.car.rental.system.carrentalsystemapp.models.UserDetails;
+import com.design.car.rental.system.carrentalsystemapp.repository.CarDetailsRepository;
+import com.design.car.rental.system.carrentalsystemapp.repository.CarReservationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Micro-batching write side of the booking path, active with reservation.write-mode=BATCHED.
+ * - Bookings enter a bounded queue. When it is full they are refused at once, so a spike turns into
+ *   429 responses instead of ever-growing latency and database load.
+ * - A single worker takes up to reservation.pipeline.batch-size bookings, waiting at most
+ *   reservation.pipeline.linger after the first, validates each one against cached users and the
+ *   availability index and claims its window there as pending.
+ * - The accepted bookings of a batch commit in one transaction: their cars are version-bumped with one query
+ *   and re-checked against the database with another, which keeps other application instances safe as on the
+ *   synchronous path.
+ * - Callers are completed through a CompletableFuture once their batch has committed, before the index and
+ *   rollup updates of their booking run; a failing update is logged and never fails a committed booking.
+ */
+@Component
+@ConditionalOnProperty(name = "reservation.write-mode", havingValue = "BATCHED")
+public class BatchedReservationPipeline {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchedReservationPipeline.class);
+
+    @Autowired
+    private CarAvailabilityService carAvailabilityService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CarBookingLocks carBookingLocks;
+
+    @Autowired
+    private UtilizationRollupService utilizationRollupService;
+
+    @Autowired
+    private CarDetailsRepository carDetailsRepository;
+
+    @Autowired
+    private CarReservationRepository carReservationRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${reservation.pipeline.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${reservation.pipeline.batch-size:200}")
+    private int batchSize;
+
+    @Value("${reservation.pipeline.linger:5ms}")
+    private Duration linger;
+
+    @Value("${reservation.pipeline.retry-after:1s}")
+    private Duration retryAfter;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}")
+    private int jdbcBatchSize;
+
+    private static final int ACTIVE = 1;
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private static final String CAR_DOES_NOT_EXIST_WITH_THIS_ID = "Car doesn't exist with this id";
+
+    private static final String DRIVER_DOES_NOT_EXIST_WITH_THIS_ID = "Driver doesn't exist with this id";
+
+    private static final String CAR_ALREADY_RESERVED = "Car is already reserved for the requested dates";
+
+    private static final String BOOKING_QUEUE_FULL = "Too many bookings in progress, retry later";
+
+    private final AtomicLong pendingSeqs = new AtomicLong();
+
+    private BlockingQueue<PendingBooking> queue;
+
+    private Counter rejectedBookings;
+
+    private DistributionSummary batchSizes;
+
+    private Thread worker;
+
+    private volatile boolean running;
+
+    /**
+     * Creates the queue, registers the pipeline metrics and starts the batching worker.
+     */
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        Gauge.builder("reservation.pipeline.queue.depth", queue, BlockingQueue::size)
+                .description("Bookings waiting in the ingestion queue")
+                .register(meterRegistry);
+        rejectedBookings = Counter.builder("reservation.pipeline.rejected")
+                .description("Bookings refused because the ingestion queue was full")
+                .register(meterRegistry);
+        batchSizes = DistributionSummary.builder("reservation.pipeline.batch.size")
+                .description("Bookings taken from the queue per micro-batch")
+                .register(meterRegistry);
+        running = true;
+        worker = new Thread(this::runWorker, "reservation-pipeline-worker");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Stops accepting bookings and waits until the worker has committed the ones already queued.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.join();
+    }
+
+    /**
+     * Queues a booking for the next micro-batch.
+     *
+     * @param carId          The ID of the car to reserve.
+     * @param customerId     The ID of the customer making the reservation.
+     * @param driverId       The ID of the assigned driver (can be null).
+     * @param pickUpDate     The pick-up date (inclusive).
+     * @param returnDate     The return date (exclusive).
+     * @param pickUpLocation The pick-up location.
+     * @param returnLocation The return location.
+     * @return A future completed with the reservation once it is committed, or failed with CarNotFoundException,
+     * UserNotFoundException or CarNotAvailableException if the booking is refused.
+     * @throws ReservationQueueFullException If the queue is full or the pipeline is shutting down.
+     */
+    public CompletableFuture<CarReservationResponseDto> submit(long carId, long customerId, Long driverId, Date pickUpDate, Date returnDate,
+                                                               String pickUpLocation, String returnLocation)
+            throws ReservationQueueFullException {
+        PendingBooking booking = new PendingBooking(pendingSeqs.incrementAndGet(), carId, customerId, driverId,
+                pickUpDate, returnDate, pickUpLocation, returnLocation, new CompletableFuture<>());
+        if (!running || !queue.offer(booking)) {
+            rejectedBookings.increment();
+            throw new ReservationQueueFullException(BOOKING_QUEUE_FULL, retryAfter);
+        }
+        return booking.result();
+    }
+
+    /**
+     * Takes micro-batches from the queue and processes them until stopped and the queue is empty.
+     * A batch is closed when it is full or when the linger time after its first booking has passed.
+     */
+    private void runWorker() {
+        List<PendingBooking> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingBooking first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + linger.toNanos();
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() == batchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingBooking next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                processBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failUnfinished(batch, e);
+                return;
+            } catch (RuntimeException e) {
+                LOGGER.error("Booking micro-batch of {} failed", batch.size(), e);
+                failUnfinished(batch, e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Validates and claims every booking of a batch, then commits the accepted ones together.
+     * If the batch transaction fails (e.g. another instance booked one of its cars concurrently),
+     * its bookings are committed one by one so a single conflict does not fail the others.
+     * Only a failed transaction falls back; the post-commit work of {@link #onCommitted} never does.
+     *
+     * @param batch The bookings of the batch, in arrival order.
+     */
+    private void processBatch(List<PendingBooking> batch) {
+        batchSizes.record(batch.size());
+        List<PendingBooking> accepted = new ArrayList<>(batch.size());
+        for (PendingBooking booking : batch) {
+            if (claim(booking)) {
+                accepted.add(booking);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+        List<BookingOutcome> outcomes;
+        try {
+            outcomes = transactionTemplate.execute(status -> persistBookings(accepted));
+        } catch (RuntimeException batchFailure) {
+            entityManager.clear();
+            for (PendingBooking booking : accepted) {
+                List<BookingOutcome> outcome;
+                try {
+                    outcome = transactionTemplate.execute(status -> persistBookings(List.of(booking)));
+                } catch (ObjectOptimisticLockingFailureException e) {
+                    entityManager.clear();
+                    drop(booking, new CarNotAvailableException(CAR_ALREADY_RESERVED));
+                    continue;
+                } catch (RuntimeException e) {
+                    entityManager.clear();
+                    drop(booking, e);
+                    continue;
+                }
+                onCommitted(List.of(booking), outcome);
+            }
+            return;
+        }
+        onCommitted(accepted, outcomes);
+    }
+
+    /**
+     * Validates a booking against cached data and claims its window in the availability index
+     * under the booking lock of the car.
+     *
+     * @param booking The booking to claim.
+     * @return True if the window was claimed, false if the booking was refused and its future failed.
+     */
+    private boolean claim(PendingBooking booking) {
+        try {
+            if (!carAvailabilityService.isCarRegistered(booking.carId())) {
+                throw new CarNotFoundException(CAR_DOES_NOT_EXIST_WITH_THIS_ID);
+            }
+            userService.getUserDetailsByUserId(booking.customerId());
+            if (booking.driverId() != null && userService.getUserDetailsByUserId(booking.driverId()).getUserType() != UserTypeEnum.DRIVER) {
+                throw new UserNotFoundException(DRIVER_DOES_NOT_EXIST_WITH_THIS_ID);
+            }
+            Lock lock = carBookingLocks.forCar(booking.carId());
+            lock.lock();
+            try {
+                if (carAvailabilityService.hasOverlappingReservation(booking.carId(), booking.pickUpDate(), booking.returnDate())) {
+                    throw new CarNotAvailableException(CAR_ALREADY_RESERVED);
+                }
+                carAvailabilityService.onReservationPending(booking.seq(), booking.carId(), booking.pickUpDate(), booking.returnDate());
+            } finally {
+                lock.unlock();
+            }
+            return true;
+        } catch (CarNotFoundException | UserNotFoundException | CarNotAvailableException e) {
+            booking.result().completeExceptionally(e);
+            return false;
+        }
+    }
+
+    /**
+     * Re-checks the bookings against the database and inserts the ones that still fit.
+     * - The cars are loaded and version-bumped with one query, and their reservations overlapping the
+     *   batch are read with another, so the checks cost two statements whatever the batch size.
+     * - Overlaps within the batch were already ruled out by the availability index.
+     *
+     * @param bookings The claimed bookings; must be called inside a transaction.
+     * @return The outcome of every booking, in the same order.
+     */
+    private List<BookingOutcome> persistBookings(List<PendingBooking> bookings) {
+        Set<Long> carIds = new HashSet<>();
+        long from = Long.MAX_VALUE;
+        long to = Long.MIN_VALUE;
+        for (PendingBooking booking : bookings) {
+            carIds.add(booking.carId());
+            from = Math.min(from, booking.pickUpDate().getTime());
+            to = Math.max(to, booking.returnDate().getTime());
+        }
+        Map<Long, CarDetails> cars = new HashMap<>();
+        carDetailsRepository.findAllByIdForBooking(carIds).forEach(car -> cars.put(car.getId(), car));
+        Map<Long, List<ReservationWindow>> windowsByCar = new HashMap<>();
+        for (ReservationWindow window : carReservationRepository.findReservationWindowsForCars(carIds, new Date(from), new Date(to))) {
+            windowsByCar.computeIfAbsent(window.carId(), carId -> new ArrayList<>()).add(window);
+        }
+
+        List<BookingOutcome> outcomes = new ArrayList<>(bookings.size());
+        int pending = 0;
+        for (PendingBooking booking : bookings) {
+            CarDetails carDetails = cars.get(booking.carId());
+            if (carDetails == null) {
+                outcomes.add(new BookingOutcome(null, new CarNotFoundException(CAR_DOES_NOT_EXIST_WITH_THIS_ID)));
+                continue;
+            }
+            if (overlaps(windowsByCar.getOrDefault(booking.carId(), List.of()), booking)) {
+                outcomes.add(new BookingOutcome(null, new CarNotAvailableException(CAR_ALREADY_RESERVED)));
+                continue;
+            }
+            CarReservation carReservation = new CarReservation();
+            carReservation.setCarDetails(carDetails);
+            carReservation.setCustomerDetails(entityManager.getReference(UserDetails.class, booking.customerId()));
+            if (booking.driverId() != null) {
+                carReservation.setDriverDetails(entityManager.getReference(UserDetails.class, booking.driverId()));
+            }
+            carReservation.setPickUpDate(booking.pickUpDate());
+            carReservation.setReturnDate(booking.returnDate());
+            carReservation.setPickUpLocation(booking.pickUpLocation());
+            carReservation.setReturnLocation(booking.returnLocation());
+            carReservation.setActive(ACTIVE);
+            entityManager.persist(carReservation);
+            outcomes.add(new BookingOutcome(carReservation.getId(), null));
+            if (++pending == jdbcBatchSize) {
+                entityManager.flush();
+                pending = 0;
+            }
+        }
+        entityManager.flush();
+        return outcomes;
+    }
+
+    /**
+     * Checks a booking against the committed reservations of its car.
+     *
+     * @param windows The committed reservations of the car overlapping the batch.
+     * @param booking The booking to check.
+     * @return True if one of the reservations overlaps the booking, false otherwise.
+     */
+    private boolean overlaps(Collection<ReservationWindow> windows, PendingBooking booking) {
+        for (ReservationWindow window : windows) {
+            if (window.pickUpDate().before(booking.returnDate()) && window.returnDate().after(booking.pickUpDate())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Completes the bookings of a committed transaction, then re-keys their windows in the availability index
+     * and queues them for the utilization rollups.
+     * - A booking is completed first, so a failing update cannot fail or drop a booking that is committed.
+     * - A failing update is logged; a window that could not be re-keyed stays claimed as pending, which keeps
+     *   the car blocked for those dates as the committed reservation requires.
+     *
+     * @param bookings The bookings of the transaction.
+     * @param outcomes The outcome of every booking, in the same order.
+     */
+    private void onCommitted(List<PendingBooking> bookings, List<BookingOutcome> outcomes) {
+        for (int i = 0; i < bookings.size(); i++) {
+            PendingBooking booking = bookings.get(i);
+            BookingOutcome outcome = outcomes.get(i);
+            if (outcome.failure() != null) {
+                drop(booking, outcome.failure());
+                continue;
+            }
+            booking.result().complete(new CarReservationResponseDto(outcome.reservationId(), booking.carId(), booking.customerId(),
+                    booking.driverId(), booking.pickUpDate(), booking.returnDate(), booking.pickUpLocation(),
+                    booking.returnLocation(), null));
+            try {
+                carAvailabilityService.onPendingReservationApplied(booking.seq(), outcome.reservationId(), booking.carId(),
+                        booking.pickUpDate(), booking.returnDate());
+            } catch (RuntimeException e) {
+                LOGGER.error("Could not re-key the window of committed reservation {} for car {}",
+                        outcome.reservationId(), booking.carId(), e);
+            }
+            try {
+                utilizationRollupService.onReservationChanged(outcome.reservationId());
+            } catch (RuntimeException e) {
+                LOGGER.error("Could not queue committed reservation {} for the utilization rollups", outcome.reservationId(), e);
+            }
+        }
+    }
+
+    /**
+     * Releases the claimed window of a booking that was not written and fails its future.
+     *
+     * @param booking The booking to drop.
+     * @param failure The reason the booking was not written.
+     */
+    private void drop(PendingBooking booking, Throwable failure) {
+        carAvailabilityService.onPendingReservationDropped(booking.seq(), booking.carId());
+        booking.result().completeExceptionally(failure);
+    }
+
+    private void failUnfinished(List<PendingBooking> batch, Throwable failure) {
+        for (PendingBooking booking : batch) {
+            if (!booking.result().isDone()) {
+                drop(booking, failure);
+            }
+        }
+    }
+
+    private record PendingBooking(long seq, long carId, long customerId, Long driverId, Date pickUpDate, Date returnDate,
+                                  String pickUpLocation, String returnLocation,
+                                  CompletableFuture<CarReservationResponseDto> result) {
+    }
+
+    private record BookingOutcome(Long reservationId, Exception failure) {
+    }
+}
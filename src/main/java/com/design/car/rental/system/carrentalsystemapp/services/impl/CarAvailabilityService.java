@@ -0,0 +1,126 @@
+package com.design.car.rental.system.carrentalsystemapp.services.impl;
+
+import com.design.car.rental.system.carrentalsystemapp.dtos.NearbyCarDto;
+import com.design.car.rental.system.carrentalsystemapp.models.CarReservation;
+
+import java.util.Date;
+import java.util.List;
+
+public interface CarAvailabilityService {
+
+    /**
+     * Retrieves the IDs of all cars that have no reservation overlapping the requested window.
+     *
+     * @param pickUpDate The start of the requested window (inclusive).
+     * @param returnDate The end of the requested window (exclusive).
+     * @return A list of IDs of the available cars, in ascending order.
+     */
+    List<Long> getAvailableCarIds(Date pickUpDate, Date returnDate);
+
+    /**
+     * Checks whether a single car is free for the requested window.
+     *
+     * @param carId      The ID of the car.
+     * @param pickUpDate The start of the requested window (inclusive).
+     * @param returnDate The end of the requested window (exclusive).
+     * @return True if the car exists and is free for the whole window, false otherwise.
+     */
+    boolean isCarAvailable(long carId, Date pickUpDate, Date returnDate);
+
+    /**
+     * Finds the cars nearest to a point that are free for the requested window and not lost or under maintenance.
+     *
+     * @param latitude      The latitude of the point.
+     * @param longitude     The longitude of the point.
+     * @param pickUpDate    The start of the requested window (inclusive).
+     * @param returnDate    The end of the requested window (exclusive).
+     * @param k             The maximum number of cars to return.
+     * @param maxDistanceKm The search radius in kilometres.
+     * @return Up to k cars ordered by distance, nearest first.
+     */
+    List<NearbyCarDto> findNearestAvailableCars(double latitude, double longitude, Date pickUpDate, Date returnDate,
+                                                int k, double maxDistanceKm);
+
+    /**
+     * Checks whether the index already holds a reservation of the car overlapping the requested window.
+     *
+     * @param carId      The ID of the car.
+     * @param pickUpDate The start of the requested window (inclusive).
+     * @param returnDate The end of the requested window (exclusive).
+     * @return True if an overlapping reservation is known, false otherwise.
+     */
+    boolean hasOverlappingReservation(long carId, Date pickUpDate, Date returnDate);
+
+    /**
+     * Checks whether a car is known to the availability index.
+     *
+     * @param carId The ID of the car.
+     * @return True if the car exists, false otherwise.
+     */
+    boolean isCarRegistered(long carId);
+
+    /**
+     * Rebuilds the availability index from the CarDetails and CarReservation tables.
+     */
+    void reloadAvailability();
+
+    /**
+     * Registers a newly added car in the availability index.
+     *
+     * @param carId The ID of the new car.
+     */
+    void onCarAdded(long carId);
+
+    /**
+     * Records a created or modified reservation in the availability index.
+     *
+     * @param carReservation The saved reservation.
+     */
+    void onReservationSaved(CarReservation carReservation);
+
+    /**
+     * Removes a cancelled reservation from the availability index.
+     *
+     * @param carReservation The cancelled reservation.
+     */
+    void onReservationCancelled(CarReservation carReservation);
+
+    /**
+     * Removes a reservation that has been moved to the archive from the availability index.
+     *
+     * @param reservationId The ID of the archived reservation.
+     * @param carId         The ID of the reserved car.
+     */
+    void onReservationArchived(long reservationId, long carId);
+
+    /**
+     * Records a reservation that has been accepted but not yet written to the database
+     * (durable in the journal, or waiting for its batched commit).
+     * It is indexed under the negated pending sequence number until it is applied.
+     *
+     * @param pendingSeq The journal or pipeline sequence number of the reservation.
+     * @param carId      The ID of the reserved car.
+     * @param pickUpDate The start of the reserved window (inclusive).
+     * @param returnDate The end of the reserved window (exclusive).
+     */
+    void onReservationPending(long pendingSeq, long carId, Date pickUpDate, Date returnDate);
+
+    /**
+     * Re-keys a pending reservation under its database ID once it has been written.
+     *
+     * @param pendingSeq    The journal or pipeline sequence number of the reservation.
+     * @param reservationId The ID of the written reservation.
+     * @param carId         The ID of the reserved car.
+     * @param pickUpDate    The start of the reserved window (inclusive).
+     * @param returnDate    The end of the reserved window (exclusive).
+     */
+    void onPendingReservationApplied(long pendingSeq, long reservationId, long carId, Date pickUpDate, Date returnDate);
+
+    /**
+     * Removes a pending reservation that could not be written to the database.
+     *
+     * @param pendingSeq The journal or pipeline sequence number of the reservation.
+     * @param carId      The ID of the reserved car.
+     */
+    void onPendingReservationDropped(long pendingSeq, long carId);
+}
@@ -0,0 +1,232 @@
+package com.design.car.rental.system.carrentalsystemapp.services.impl;
+
+import com.design.car.rental.system.carrentalsystemapp.dtos.NearbyCarDto;
+import com.design.car.rental.system.carrentalsystemapp.enums.CarStatusEnum;
+import com.design.car.rental.system.carrentalsystemapp.index.CarAttribute;
+import com.design.car.rental.system.carrentalsystemapp.index.CarAttributeIndex;
+import com.design.car.rental.system.carrentalsystemapp.index.CarAvailabilityIndex;
+import com.design.car.rental.system.carrentalsystemapp.index.CarGeoIndex;
+import com.design.car.rental.system.carrentalsystemapp.index.ReservationWindow;
+import com.design.car.rental.system.carrentalsystemapp.models.CarReservation;
+import com.design.car.rental.system.carrentalsystemapp.repository.CarDetailsRepository;
+import com.design.car.rental.system.carrentalsystemapp.repository.CarReservationRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.List;
+
+@Service
+public class CarAvailabilityServiceImpl implements CarAvailabilityService {
+
+    @Autowired
+    private CarAvailabilityIndex carAvailabilityIndex;
+
+    @Autowired
+    private CarGeoIndex carGeoIndex;
+
+    @Autowired
+    private CarAttributeIndex carAttributeIndex;
+
+    @Autowired
+    private CarDetailsRepository carDetailsRepository;
+
+    @Autowired
+    private CarReservationRepository carReservationRepository;
+
+    /**
+     * Loads the availability index once the repositories are ready, so that the
+     * first request is already served from memory.
+     */
+    @PostConstruct
+    public void init() {
+        reloadAvailability();
+    }
+
+    /**
+     * Retrieves the IDs of all cars that are free for the requested window.
+     *
+     * @param pickUpDate The start of the requested window (inclusive).
+     * @param returnDate The end of the requested window (exclusive).
+     * @return A list of IDs of the available cars, in ascending order.
+     */
+    @Override
+    public List<Long> getAvailableCarIds(Date pickUpDate, Date returnDate) {
+        return carAvailabilityIndex.findAvailableCars(pickUpDate.getTime(), returnDate.getTime());
+    }
+
+    /**
+     * Checks whether a single car is free for the requested window.
+     *
+     * @param carId      The ID of the car.
+     * @param pickUpDate The start of the requested window (inclusive).
+     * @param returnDate The end of the requested window (exclusive).
+     * @return True if the car exists and is free for the whole window, false otherwise.
+     */
+    @Override
+    public boolean isCarAvailable(long carId, Date pickUpDate, Date returnDate) {
+        return carAvailabilityIndex.isAvailable(carId, pickUpDate.getTime(), returnDate.getTime());
+    }
+
+    /**
+     * Finds the cars nearest to a point that are free for the requested window and not lost or under maintenance.
+     * - The geo index walks outwards from the point and checks availability and status only for
+     *   cars close enough to make the result.
+     *
+     * @param latitude      The latitude of the point.
+     * @param longitude     The longitude of the point.
+     * @param pickUpDate    The start of the requested window (inclusive).
+     * @param returnDate    The end of the requested window (exclusive).
+     * @param k             The maximum number of cars to return.
+     * @param maxDistanceKm The search radius in kilometres.
+     * @return Up to k cars ordered by distance, nearest first.
+     */
+    @Override
+    public List<NearbyCarDto> findNearestAvailableCars(double latitude, double longitude, Date pickUpDate, Date returnDate,
+                                                       int k, double maxDistanceKm) {
+        long from = pickUpDate.getTime();
+        long to = returnDate.getTime();
+        return carGeoIndex.findNearest(latitude, longitude, k, maxDistanceKm,
+                        carId -> isRentable(carId) && carAvailabilityIndex.isAvailable(carId, from, to))
+                .stream()
+                .map(car -> new NearbyCarDto(car.carId(), car.distanceKm(), car.latitude(), car.longitude()))
+                .toList();
+    }
+
+    /**
+     * Checks that a car is not lost or under maintenance.
+     *
+     * @param carId The ID of the car.
+     * @return True if the car can be rented out, false otherwise.
+     */
+    private boolean isRentable(long carId) {
+        String status = carAttributeIndex.valueOf(carId, CarAttribute.STATUS);
+        return !CarStatusEnum.LOST.name().equals(status) && !CarStatusEnum.UNDER_MAINTAINANCE.name().equals(status);
+    }
+
+    /**
+     * Checks whether the index already holds a reservation of the car overlapping the requested window.
+     *
+     * @param carId      The ID of the car.
+     * @param pickUpDate The start of the requested window (inclusive).
+     * @param returnDate The end of the requested window (exclusive).
+     * @return True if an overlapping reservation is known, false otherwise.
+     */
+    @Override
+    public boolean hasOverlappingReservation(long carId, Date pickUpDate, Date returnDate) {
+        return carAvailabilityIndex.hasOverlap(carId, pickUpDate.getTime(), returnDate.getTime());
+    }
+
+    /**
+     * Checks whether a car is known to the availability index.
+     *
+     * @param carId The ID of the car.
+     * @return True if the car exists, false otherwise.
+     */
+    @Override
+    public boolean isCarRegistered(long carId) {
+        return carAvailabilityIndex.containsCar(carId);
+    }
+
+    /**
+     * Rebuilds the availability index.
+     * - Registers every car, so cars without reservations are reported as available.
+     * - Adds the window of every reservation that has both dates set.
+     */
+    @Override
+    public void reloadAvailability() {
+        carAvailabilityIndex.clear();
+        carDetailsRepository.findAllIds().forEach(carAvailabilityIndex::registerCar);
+        for (ReservationWindow window : carReservationRepository.findAllReservationWindows()) {
+            if (window.pickUpDate() != null && window.returnDate() != null) {
+                carAvailabilityIndex.addReservation(window.reservationId(), window.carId(),
+                        window.pickUpDate().getTime(), window.returnDate().getTime());
+            }
+        }
+    }
+
+    /**
+     * Registers a newly added car in the availability index.
+     *
+     * @param carId The ID of the new car.
+     */
+    @Override
+    public void onCarAdded(long carId) {
+        carAvailabilityIndex.registerCar(carId);
+    }
+
+    /**
+     * Records a created or modified reservation in the availability index.
+     *
+     * @param carReservation The saved reservation.
+     */
+    @Override
+    public void onReservationSaved(CarReservation carReservation) {
+        carAvailabilityIndex.addReservation(carReservation.getId(), carReservation.getCarDetails().getId(),
+                carReservation.getPickUpDate().getTime(), carReservation.getReturnDate().getTime());
+    }
+
+    /**
+     * Removes a cancelled reservation from the availability index.
+     *
+     * @param carReservation The cancelled reservation.
+     */
+    @Override
+    public void onReservationCancelled(CarReservation carReservation) {
+        carAvailabilityIndex.removeReservation(carReservation.getId(), carReservation.getCarDetails().getId());
+    }
+
+    /**
+     * Removes an archived reservation from the availability index; it ended long ago and can no longer overlap a booking.
+     *
+     * @param reservationId The ID of the archived reservation.
+     * @param carId         The ID of the reserved car.
+     */
+    @Override
+    public void onReservationArchived(long reservationId, long carId) {
+        carAvailabilityIndex.removeReservation(reservationId, carId);
+    }
+
+    /**
+     * Records a reservation that has been accepted but not yet written to the database.
+     * Negated sequence numbers never collide with reservation IDs, which are positive; the journal
+     * and the batched pipeline are never active together, so their sequences do not collide either.
+     *
+     * @param pendingSeq The journal or pipeline sequence number of the reservation.
+     * @param carId      The ID of the reserved car.
+     * @param pickUpDate The start of the reserved window (inclusive).
+     * @param returnDate The end of the reserved window (exclusive).
+     */
+    @Override
+    public void onReservationPending(long pendingSeq, long carId, Date pickUpDate, Date returnDate) {
+        carAvailabilityIndex.addReservation(-pendingSeq, carId, pickUpDate.getTime(), returnDate.getTime());
+    }
+
+    /**
+     * Re-keys a pending reservation under its database ID. The new key is added before the
+     * old one is removed, so the window is never briefly free.
+     *
+     * @param pendingSeq    The journal or pipeline sequence number of the reservation.
+     * @param reservationId The ID of the written reservation.
+     * @param carId         The ID of the reserved car.
+     * @param pickUpDate    The start of the reserved window (inclusive).
+     * @param returnDate    The end of the reserved window (exclusive).
+     */
+    @Override
+    public void onPendingReservationApplied(long pendingSeq, long reservationId, long carId, Date pickUpDate, Date returnDate) {
+        carAvailabilityIndex.addReservation(reservationId, carId, pickUpDate.getTime(), returnDate.getTime());
+        carAvailabilityIndex.removeReservation(-pendingSeq, carId);
+    }
+
+    /**
+     * Removes a pending reservation that could not be written to the database.
+     *
+     * @param pendingSeq The journal or pipeline sequence number of the reservation.
+     * @param carId      The ID of the reserved car.
+     */
+    @Override
+    public void onPendingReservationDropped(long pendingSeq, long carId) {
+        carAvailabilityIndex.removeReservation(-pendingSeq, carId);
+    }
+}
@@ -0,0 +1,32 @@
+package com.design.car.rental.system.carrentalsystemapp.services.impl;
+
+import com.design.car.rental.system.carrentalsystemapp.utils.StripedLocks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Per-car booking locks shared by every write path of this instance (synchronous bookings,
+ * cancellations and the batched pipeline), so the availability check and the claim of a window
+ * are atomic per car whichever path a booking takes.
+ */
+@Component
+public class CarBookingLocks {
+
+    private final StripedLocks stripes;
+
+    public CarBookingLocks(@Value("${reservation.lock.stripes:4096}") int lockStripes) {
+        this.stripes = new StripedLocks(lockStripes);
+    }
+
+    /**
+     * Returns the lock guarding bookings of a car.
+     *
+     * @param carId The ID of the car.
+     * @return The stripe lock for the car.
+     */
+    public Lock forCar(long carId) {
+        return stripes.forKey(carId);
+    }
+}
@@ -0,0 +1,104 @@
+package com.design.car.rental.system.carrentalsystemapp.services.impl;
+
+import com.design.car.rental.system.carrentalsystemapp.dtos.CarReservationResponseDto;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.CarNotAvailableException;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.CarNotFoundException;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.ReservationNotFoundException;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.ReservationQueueFullException;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.UserNotFoundException;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface CarReservationService {
+
+    /**
+     * Reserves a car for the given window.
+     * - Only bookings for the same car contend with each other.
+     * - Fails if the car already has an overlapping active reservation.
+     * - With reservation.write-mode=JOURNAL the reservation is acknowledged once it is durable in the
+     *   journal; it then carries a journal sequence number and gets its reservation ID when it is drained.
+     *
+     * @param carId          The ID of the car to reserve.
+     * @param customerId     The ID of the customer making the reservation.
+     * @param driverId       The ID of the assigned driver (can be null).
+     * @param pickUpDate     The pick-up date (inclusive).
+     * @param returnDate     The return date (exclusive).
+     * @param pickUpLocation The pick-up location.
+     * @param returnLocation The return location.
+     * @return The reservation details.
+     * @throws CarNotFoundException      If the car doesn't exist.
+     * @throws UserNotFoundException     If the customer or driver doesn't exist or is inactive.
+     * @throws CarNotAvailableException If the car is already reserved for an overlapping window.
+     */
+    CarReservationResponseDto createReservation(long carId, long customerId, Long driverId, Date pickUpDate, Date returnDate,
+                                                String pickUpLocation, String returnLocation)
+            throws CarNotFoundException, UserNotFoundException, CarNotAvailableException;
+
+    /**
+     * Reserves a car for the given window without holding the caller while it is written.
+     * - With reservation.write-mode=BATCHED the booking is queued and committed with others in a micro-batch.
+     * - In the other modes the booking is made right away and the returned future is already complete.
+     *
+     * @param carId          The ID of the car to reserve.
+     * @param customerId     The ID of the customer making the reservation.
+     * @param driverId       The ID of the assigned driver (can be null).
+     * @param pickUpDate     The pick-up date (inclusive).
+     * @param returnDate     The return date (exclusive).
+     * @param pickUpLocation The pick-up location.
+     * @param returnLocation The return location.
+     * @return A future completed with the reservation details, or failed with CarNotFoundException,
+     * UserNotFoundException or CarNotAvailableException.
+     * @throws ReservationQueueFullException If the booking queue is full; the caller should retry later.
+     */
+    CompletableFuture<CarReservationResponseDto> submitReservation(long carId, long customerId, Long driverId, Date pickUpDate, Date returnDate,
+                                                                   String pickUpLocation, String returnLocation)
+            throws ReservationQueueFullException;
+
+    /**
+     * Retrieves an active reservation by its ID in the response shape, including archived reservations.
+     *
+     * @param reservationId The ID of the reservation.
+     * @return The reservation details.
+     * @throws ReservationNotFoundException If no active reservation exists with the given ID.
+     */
+    CarReservationResponseDto getReservation(long reservationId) throws ReservationNotFoundException;
+
+    /**
+     * Retrieves an active journaled reservation by its journal sequence number.
+     *
+     * @param journalSeq The journal sequence number returned when the reservation was created.
+     * @return The reservation details.
+     * @throws ReservationNotFoundException If the reservation doesn't exist or has not been written to the database yet.
+     */
+    CarReservationResponseDto getReservationByJournalSeq(long journalSeq) throws ReservationNotFoundException;
+
+    /**
+     * Retrieves one page of the active reservations of a car ordered by ID, including archived reservations.
+     *
+     * @param carId   The ID of the car.
+     * @param afterId The ID of the last reservation of the previous page (0 for the first page).
+     * @param limit   The maximum number of reservations to return.
+     * @return A list of at most limit reservations with IDs greater than afterId.
+     */
+    List<CarReservationResponseDto> getReservationsByCar(long carId, long afterId, int limit);
+
+    /**
+     * Retrieves one page of the active reservations of a customer ordered by ID, including archived reservations.
+     *
+     * @param customerId The ID of the customer.
+     * @param afterId    The ID of the last reservation of the previous page (0 for the first page).
+     * @param limit      The maximum number of reservations to return.
+     * @return A list of at most limit reservations with IDs greater than afterId.
+     */
+    List<CarReservationResponseDto> getReservationsByCustomer(long customerId, long afterId, int limit);
+
+    /**
+     * Cancels (soft deletes) an active reservation and frees the car for its window.
+     *
+     * @param reservationId The ID of the reservation to cancel.
+     * @throws ReservationNotFoundException If no active reservation exists with the given ID.
+     */
+    void cancelReservation(long reservationId) throws ReservationNotFoundException;
+}
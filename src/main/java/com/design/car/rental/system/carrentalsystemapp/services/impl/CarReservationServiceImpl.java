@@ -0,0 +1,238 @@
+package com.design.car.rental.system.carrentalsystemapp.services.impl;
+
+import com.design.car.rental.system.carrentalsystemapp.dtos.CarReservationResponseDto;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.CarNotAvailableException;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.CarNotFoundException;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.ReservationNotFoundException;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.ReservationQueueFullException;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.UserNotFoundException;
+import com.design.car.rental.system.carrentalsystemapp.models.CarReservation;
+import com.design.car.rental.system.carrentalsystemapp.repository.CarReservationRepository;
+import com.design.car.rental.system.carrentalsystemapp.repository.ReservationHistoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Lock;
+
+@Service
+public class CarReservationServiceImpl implements CarReservationService {
+
+    @Autowired
+    private CarReservationWriter carReservationWriter;
+
+    @Autowired
+    private CarReservationRepository carReservationRepository;
+
+    @Autowired
+    private ReservationHistoryRepository reservationHistoryRepository;
+
+    @Autowired
+    private CarAvailabilityService carAvailabilityService;
+
+    // Present only with reservation.write-mode=JOURNAL.
+    @Autowired(required = false)
+    private JournaledReservationWriter journaledReservationWriter;
+
+    // Present only with reservation.write-mode=BATCHED.
+    @Autowired(required = false)
+    private BatchedReservationPipeline batchedReservationPipeline;
+
+    @Autowired
+    private CarBookingLocks carBookingLocks;
+
+    @Autowired
+    private UtilizationRollupService utilizationRollupService;
+
+    private static final int ACTIVE = 1;
+
+    private static final int MAX_BOOKING_ATTEMPTS = 3;
+
+    private static final String CAR_ALREADY_RESERVED = "Car is already reserved for the requested dates";
+
+    private static final String RESERVATION_DOES_NOT_EXIST_WITH_THIS_ID = "Reservation doesn't exist with this id";
+
+    /**
+     * Reserves a car for the given window.
+     * - Takes the in-process stripe lock of the car, so only bookings for the same car wait on each other.
+     * - Rejects from the in-memory availability index first.
+     * - In journal mode, appends the reservation to the journal and returns once it is durable there.
+     * - Otherwise re-checks and inserts in the database, and retries when another application instance bumped the car version concurrently.
+     * - Publishes the new window to the availability index before releasing the lock, and queues it for the utilization rollups.
+     *
+     * @param carId          The ID of the car to reserve.
+     * @param customerId     The ID of the customer making the reservation.
+     * @param driverId       The ID of the assigned driver (can be null).
+     * @param pickUpDate     The pick-up date (inclusive).
+     * @param returnDate     The return date (exclusive).
+     * @param pickUpLocation The pick-up location.
+     * @param returnLocation The return location.
+     * @return The reservation details.
+     * @throws CarNotFoundException      If the car doesn't exist.
+     * @throws UserNotFoundException     If the customer or driver doesn't exist or is inactive.
+     * @throws CarNotAvailableException If the car is already reserved for an overlapping window.
+     */
+    @Override
+    public CarReservationResponseDto createReservation(long carId, long customerId, Long driverId, Date pickUpDate, Date returnDate,
+                                                       String pickUpLocation, String returnLocation)
+            throws CarNotFoundException, UserNotFoundException, CarNotAvailableException {
+        Lock lock = carBookingLocks.forCar(carId);
+        lock.lock();
+        try {
+            if (carAvailabilityService.hasOverlappingReservation(carId, pickUpDate, returnDate)) {
+                throw new CarNotAvailableException(CAR_ALREADY_RESERVED);
+            }
+            if (journaledReservationWriter != null) {
+                return journaledReservationWriter.appendReservation(carId, customerId, driverId, pickUpDate, returnDate,
+                        pickUpLocation, returnLocation);
+            }
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    CarReservation carReservation = carReservationWriter.insertReservation(carId, customerId, driverId,
+                            pickUpDate, returnDate, pickUpLocation, returnLocation);
+                    carAvailabilityService.onReservationSaved(carReservation);
+                    utilizationRollupService.onReservationChanged(carReservation.getId());
+                    return computeReservationResponseDetails(carReservation);
+                } catch (ObjectOptimisticLockingFailureException e) {
+                    if (attempt == MAX_BOOKING_ATTEMPTS) {
+                        throw new CarNotAvailableException(CAR_ALREADY_RESERVED);
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reserves a car for the given window without holding the caller while it is written.
+     * - In batched mode, hands the booking to the micro-batching pipeline.
+     * - Otherwise books through {@link #createReservation} and wraps the outcome in a completed future.
+     *
+     * @param carId          The ID of the car to reserve.
+     * @param customerId     The ID of the customer making the reservation.
+     * @param driverId       The ID of the assigned driver (can be null).
+     * @param pickUpDate     The pick-up date (inclusive).
+     * @param returnDate     The return date (exclusive).
+     * @param pickUpLocation The pick-up location.
+     * @param returnLocation The return location.
+     * @return A future completed with the reservation details, or failed with the booking error.
+     * @throws ReservationQueueFullException If the booking queue is full.
+     */
+    @Override
+    public CompletableFuture<CarReservationResponseDto> submitReservation(long carId, long customerId, Long driverId, Date pickUpDate, Date returnDate,
+                                                                          String pickUpLocation, String returnLocation)
+            throws ReservationQueueFullException {
+        if (batchedReservationPipeline != null) {
+            return batchedReservationPipeline.submit(carId, customerId, driverId, pickUpDate, returnDate, pickUpLocation, returnLocation);
+        }
+        try {
+            return CompletableFuture.completedFuture(createReservation(carId, customerId, driverId, pickUpDate, returnDate,
+                    pickUpLocation, returnLocation));
+        } catch (CarNotFoundException | UserNotFoundException | CarNotAvailableException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Retrieves an active reservation by its ID in the response shape, from the table or the archive.
+     *
+     * @param reservationId The ID of the reservation.
+     * @return The reservation details.
+     * @throws ReservationNotFoundException If no active reservation exists with the given ID.
+     */
+    @Override
+    public CarReservationResponseDto getReservation(long reservationId) throws ReservationNotFoundException {
+        return reservationHistoryRepository.findResponseByIdAndActive(reservationId, ACTIVE)
+                .orElseThrow(() -> new ReservationNotFoundException(RESERVATION_DOES_NOT_EXIST_WITH_THIS_ID));
+    }
+
+    /**
+     * Retrieves an active journaled reservation by its journal sequence number.
+     *
+     * @param journalSeq The journal sequence number returned when the reservation was created.
+     * @return The reservation details.
+     * @throws ReservationNotFoundException If the reservation doesn't exist or has not been written to the database yet.
+     */
+    @Override
+    public CarReservationResponseDto getReservationByJournalSeq(long journalSeq) throws ReservationNotFoundException {
+        return reservationHistoryRepository.findResponseByJournalSeqAndActive(journalSeq, ACTIVE)
+                .orElseThrow(() -> new ReservationNotFoundException(RESERVATION_DOES_NOT_EXIST_WITH_THIS_ID));
+    }
+
+    /**
+     * Retrieves one page of the active reservations of a car ordered by ID, archived ones included.
+     *
+     * @param carId   The ID of the car.
+     * @param afterId The ID of the last reservation of the previous page (0 for the first page).
+     * @param limit   The maximum number of reservations to return.
+     * @return A list of at most limit reservations.
+     */
+    @Override
+    public List<CarReservationResponseDto> getReservationsByCar(long carId, long afterId, int limit) {
+        return reservationHistoryRepository.findResponsePageByCarAndActive(carId, ACTIVE, afterId, Limit.of(limit));
+    }
+
+    /**
+     * Retrieves one page of the active reservations of a customer ordered by ID, archived ones included.
+     *
+     * @param customerId The ID of the customer.
+     * @param afterId    The ID of the last reservation of the previous page (0 for the first page).
+     * @param limit      The maximum number of reservations to return.
+     * @return A list of at most limit reservations.
+     */
+    @Override
+    public List<CarReservationResponseDto> getReservationsByCustomer(long customerId, long afterId, int limit) {
+        return reservationHistoryRepository.findResponsePageByCustomerAndActive(customerId, ACTIVE, afterId, Limit.of(limit));
+    }
+
+    /**
+     * Cancels (soft deletes) an active reservation under the stripe lock of its car,
+     * then frees the window in the availability index and queues the change for the utilization rollups.
+     * Archived reservations have ended and cannot be cancelled.
+     *
+     * @param reservationId The ID of the reservation to cancel.
+     * @throws ReservationNotFoundException If no active reservation exists with the given ID in the table.
+     */
+    @Override
+    public void cancelReservation(long reservationId) throws ReservationNotFoundException {
+        long carId = carReservationRepository.findResponseByIdAndActive(reservationId, ACTIVE)
+                .orElseThrow(() -> new ReservationNotFoundException(RESERVATION_DOES_NOT_EXIST_WITH_THIS_ID))
+                .getCarId();
+        Lock lock = carBookingLocks.forCar(carId);
+        lock.lock();
+        try {
+            CarReservation carReservation = carReservationWriter.cancelReservation(reservationId);
+            carAvailabilityService.onReservationCancelled(carReservation);
+            utilizationRollupService.onReservationChanged(reservationId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Converts a CarReservation object to a CarReservationResponseDto.
+     *
+     * @param carReservation The CarReservation object.
+     * @return The CarReservationResponseDto object.
+     */
+    private static CarReservationResponseDto computeReservationResponseDetails(CarReservation carReservation) {
+        CarReservationResponseDto responseDto = new CarReservationResponseDto();
+        responseDto.setReservationId(carReservation.getId());
+        responseDto.setCarId(carReservation.getCarDetails().getId());
+        responseDto.setCustomerId(carReservation.getCustomerDetails().getId());
+        if (carReservation.getDriverDetails() != null) {
+            responseDto.setDriverId(carReservation.getDriverDetails().getId());
+        }
+        responseDto.setPickUpDate(carReservation.getPickUpDate());
+        responseDto.setReturnDate(carReservation.getReturnDate());
+        responseDto.setPickUpLocation(carReservation.getPickUpLocation());
+        responseDto.setReturnLocation(carReservation.getReturnLocation());
+        responseDto.setJournalSeq(carReservation.getJournalSeq());
+        return responseDto;
+    }
+}
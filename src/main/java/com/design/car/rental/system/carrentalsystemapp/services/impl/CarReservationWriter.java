@@ -0,0 +1,109 @@
+package com.design.car.rental.system.carrentalsystemapp.services.impl;
+
+import com.design.car.rental.system.carrentalsystemapp.enums.UserTypeEnum;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.CarNotAvailableException;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.CarNotFoundException;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.ReservationNotFoundException;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.UserNotFoundException;
+import com.design.car.rental.system.carrentalsystemapp.models.CarDetails;
+import com.design.car.rental.system.carrentalsystemapp.models.CarReservation;
+import com.design.car.rental.system.carrentalsystemapp.models.UserDetails;
+import com.design.car.rental.system.carrentalsystemapp.repository.CarDetailsRepository;
+import com.design.car.rental.system.carrentalsystemapp.repository.CarReservationRepository;
+import com.design.car.rental.system.carrentalsystemapp.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+
+/**
+ * Transactional write side of the booking path. Callers are expected to hold the
+ * stripe lock of the car, so the overlap check and the insert are atomic per car
+ * within this instance; the forced version bump on the car covers other instances.
+ */
+@Component
+public class CarReservationWriter {
+
+    @Autowired
+    private CarDetailsRepository carDetailsRepository;
+
+    @Autowired
+    private CarReservationRepository carReservationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private static final int ACTIVE = 1;
+
+    private static final int IN_ACTIVE = 0;
+
+    private static final String CAR_DOES_NOT_EXIST_WITH_THIS_ID = "Car doesn't exist with this id";
+
+    private static final String CUSTOMER_DOES_NOT_EXIST_WITH_THIS_ID = "Customer doesn't exist with this id";
+
+    private static final String DRIVER_DOES_NOT_EXIST_WITH_THIS_ID = "Driver doesn't exist with this id";
+
+    private static final String CAR_ALREADY_RESERVED = "Car is already reserved for the requested dates";
+
+    private static final String RESERVATION_DOES_NOT_EXIST_WITH_THIS_ID = "Reservation doesn't exist with this id";
+
+    /**
+     * Checks the car for overlapping reservations and inserts the new reservation.
+     *
+     * @param carId          The ID of the car to reserve.
+     * @param customerId     The ID of the customer making the reservation.
+     * @param driverId       The ID of the assigned driver (can be null).
+     * @param pickUpDate     The pick-up date.
+     * @param returnDate     The return date.
+     * @param pickUpLocation The pick-up location.
+     * @param returnLocation The return location.
+     * @return The saved CarReservation object.
+     * @throws CarNotFoundException      If the car doesn't exist.
+     * @throws UserNotFoundException     If the customer or driver doesn't exist or is inactive.
+     * @throws CarNotAvailableException If the car already has an overlapping reservation.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public CarReservation insertReservation(long carId, long customerId, Long driverId, Date pickUpDate, Date returnDate,
+                                            String pickUpLocation, String returnLocation)
+            throws CarNotFoundException, UserNotFoundException, CarNotAvailableException {
+        CarDetails carDetails = carDetailsRepository.findByIdForBooking(carId)
+                .orElseThrow(() -> new CarNotFoundException(CAR_DOES_NOT_EXIST_WITH_THIS_ID));
+        UserDetails customerDetails = userRepository.findByIdAndActive(customerId, ACTIVE)
+                .orElseThrow(() -> new UserNotFoundException(CUSTOMER_DOES_NOT_EXIST_WITH_THIS_ID));
+        UserDetails driverDetails = null;
+        if (driverId != null) {
+            driverDetails = userRepository.findByIdAndActive(driverId, ACTIVE)
+                    .filter(driver -> driver.getUserType() == UserTypeEnum.DRIVER)
+                    .orElseThrow(() -> new UserNotFoundException(DRIVER_DOES_NOT_EXIST_WITH_THIS_ID));
+        }
+        if (carReservationRepository.existsOverlappingReservation(carId, pickUpDate, returnDate)) {
+            throw new CarNotAvailableException(CAR_ALREADY_RESERVED);
+        }
+        CarReservation carReservation = new CarReservation();
+        carReservation.setCarDetails(carDetails);
+        carReservation.setCustomerDetails(customerDetails);
+        carReservation.setDriverDetails(driverDetails);
+        carReservation.setPickUpDate(pickUpDate);
+        carReservation.setReturnDate(returnDate);
+        carReservation.setPickUpLocation(pickUpLocation);
+        carReservation.setReturnLocation(returnLocation);
+        carReservation.setActive(ACTIVE);
+        return carReservationRepository.save(carReservation);
+    }
+
+    /**
+     * Marks an active reservation as cancelled (soft delete).
+     *
+     * @param reservationId The ID of the reservation to cancel.
+     * @return The cancelled CarReservation object.
+     * @throws ReservationNotFoundException If no active reservation exists with the given ID.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public CarReservation cancelReservation(long reservationId) throws ReservationNotFoundException {
+        CarReservation carReservation = carReservationRepository.findByIdAndActive(reservationId, ACTIVE)
+                .orElseThrow(() -> new ReservationNotFoundException(RESERVATION_DOES_NOT_EXIST_WITH_THIS_ID));
+        carReservation.setActive(IN_ACTIVE);
+        return carReservationRepository.save(carReservation);
+    }
+}
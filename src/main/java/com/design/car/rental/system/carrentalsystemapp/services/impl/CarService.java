@@ -0,0 +1,88 @@
+package com.design.car.rental.system.carrentalsystemapp.services.impl;
+
+import com.design.car.rental.system.carrentalsystemapp.enums.CarCategoryEnum;
+import com.design.car.rental.system.carrentalsystemapp.enums.CarStatusEnum;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.CarNotFoundException;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.RentalLocationNotFoundException;
+import com.design.car.rental.system.carrentalsystemapp.index.CarAttribute;
+import com.design.car.rental.system.carrentalsystemapp.index.CarFilter;
+import com.design.car.rental.system.carrentalsystemapp.index.CarSearchResult;
+import com.design.car.rental.system.carrentalsystemapp.models.CarDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CarService {
+
+    /**
+     * Adds a new car to the fleet.
+     * - Saves the car, defaulting its status to AVAILABLE.
+     * - Places the car at the given rental location and/or coordinates.
+     * - Registers the car in the availability, attribute and geo indexes and in the quote engine.
+     *
+     * @param name              The display name of the car.
+     * @param brand             The brand of the car.
+     * @param vechicleNo        The registration number of the car.
+     * @param vechicleCategory  The category of the car.
+     * @param manufacturingYear The manufacturing year of the car.
+     * @param mileage           The mileage of the car.
+     * @param hasSunRoof        Whether the car has a sun roof.
+     * @param status            The initial status of the car (can be null).
+     * @param rentalLocationId  The ID of the rental location the car is parked at (can be null).
+     * @param latitude          The latitude of the car; defaults to the rental location's (can be null).
+     * @param longitude         The longitude of the car; defaults to the rental location's (can be null).
+     * @return The saved CarDetails object.
+     * @throws RentalLocationNotFoundException If the rental location doesn't exist.
+     */
+    CarDetails addCar(String name, String brand, String vechicleNo, CarCategoryEnum vechicleCategory,
+                      String manufacturingYear, int mileage, boolean hasSunRoof, CarStatusEnum status,
+                      Long rentalLocationId, Double latitude, Double longitude) throws RentalLocationNotFoundException;
+
+    /**
+     * Retrieves a car by its ID.
+     *
+     * @param carId The ID of the car.
+     * @return The CarDetails object.
+     * @throws CarNotFoundException If no car exists with the specified ID.
+     */
+    CarDetails getCar(long carId) throws CarNotFoundException;
+
+    /**
+     * Changes the status of a car and updates only the status bitmaps of the attribute index.
+     *
+     * @param carId  The ID of the car.
+     * @param status The new status.
+     * @return The updated CarDetails object.
+     * @throws CarNotFoundException If no car exists with the specified ID.
+     */
+    CarDetails updateCarStatus(long carId, CarStatusEnum status) throws CarNotFoundException;
+
+    /**
+     * Moves a car to a rental location or to free coordinates and updates its cell in the geo index.
+     *
+     * @param carId            The ID of the car.
+     * @param rentalLocationId The ID of the rental location the car is now parked at (can be null).
+     * @param latitude         The new latitude; defaults to the rental location's (can be null).
+     * @param longitude        The new longitude; defaults to the rental location's (can be null).
+     * @return The updated CarDetails object.
+     * @throws CarNotFoundException            If no car exists with the specified ID.
+     * @throws RentalLocationNotFoundException If the rental location doesn't exist.
+     */
+    CarDetails moveCar(long carId, Long rentalLocationId, Double latitude, Double longitude)
+            throws CarNotFoundException, RentalLocationNotFoundException;
+
+    /**
+     * Searches the fleet through the attribute index.
+     *
+     * @param filters The clauses to combine with AND.
+     * @param facets  The attributes to compute facet counts for.
+     * @param limit   The maximum number of car IDs to return.
+     * @return The number of matches, the first matching car IDs and the facet counts.
+     */
+    CarSearchResult searchCars(List<CarFilter> filters, Collection<CarAttribute> facets, int limit);
+
+    /**
+     * Rebuilds the attribute and geo indexes and the quote engine's fleet columns from the CarDetails table.
+     */
+    void reloadCarAttributes();
+}
@@ -0,0 +1,297 @@
+package com.design.car.rental.system.carrentalsystemapp.services.impl;
+
+import com.design.car.rental.system.carrentalsystemapp.enums.CarCategoryEnum;
+import com.design.car.rental.system.carrentalsystemapp.enums.CarStatusEnum;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.CarNotFoundException;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.RentalLocationNotFoundException;
+import com.design.car.rental.system.carrentalsystemapp.index.CarAttribute;
+import com.design.car.rental.system.carrentalsystemapp.index.CarAttributeIndex;
+import com.design.car.rental.system.carrentalsystemapp.index.CarFilter;
+import com.design.car.rental.system.carrentalsystemapp.index.CarGeoIndex;
+import com.design.car.rental.system.carrentalsystemapp.index.CarSearchResult;
+import com.design.car.rental.system.carrentalsystemapp.models.CarDetails;
+import com.design.car.rental.system.carrentalsystemapp.models.RentalLocation;
+import com.design.car.rental.system.carrentalsystemapp.pricing.FleetColumns;
+import com.design.car.rental.system.carrentalsystemapp.pricing.QuoteEngine;
+import com.design.car.rental.system.carrentalsystemapp.repository.CarDetailsRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class CarServiceImpl implements CarService {
+
+    @Autowired
+    private CarDetailsRepository carDetailsRepository;
+
+    @Autowired
+    private CarAttributeIndex carAttributeIndex;
+
+    @Autowired
+    private CarAvailabilityService carAvailabilityService;
+
+    @Autowired
+    private QuoteEngine quoteEngine;
+
+    @Autowired
+    private CarGeoIndex carGeoIndex;
+
+    @Autowired
+    private RentalLocationService rentalLocationService;
+
+    /**
+     * Loads the attribute index and the quote engine's fleet once the repositories are ready.
+     */
+    @PostConstruct
+    public void init() {
+        reloadCarAttributes();
+    }
+
+    /**
+     * Adds a new car to the fleet.
+     * - Saves the car, defaulting its status to AVAILABLE.
+     * - Places the car at the given rental location and/or coordinates.
+     * - Registers the car in the availability, attribute and geo indexes and in the quote engine once the
+     *   transaction has committed, so a rolled back insert never shows up in a search or quote.
+     *
+     * @param name              The display name of the car.
+     * @param brand             The brand of the car.
+     * @param vechicleNo        The registration number of the car.
+     * @param vechicleCategory  The category of the car.
+     * @param manufacturingYear The manufacturing year of the car.
+     * @param mileage           The mileage of the car.
+     * @param hasSunRoof        Whether the car has a sun roof.
+     * @param status            The initial status of the car (can be null).
+     * @param rentalLocationId  The ID of the rental location the car is parked at (can be null).
+     * @param latitude          The latitude of the car; defaults to the rental location's (can be null).
+     * @param longitude         The longitude of the car; defaults to the rental location's (can be null).
+     * @return The saved CarDetails object.
+     * @throws RentalLocationNotFoundException If the rental location doesn't exist.
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public CarDetails addCar(String name, String brand, String vechicleNo, CarCategoryEnum vechicleCategory,
+                             String manufacturingYear, int mileage, boolean hasSunRoof, CarStatusEnum status,
+                             Long rentalLocationId, Double latitude, Double longitude) throws RentalLocationNotFoundException {
+        CarDetails carDetails = new CarDetails();
+        carDetails.setName(name);
+        carDetails.setBrand(brand);
+        carDetails.setVechicleNo(vechicleNo);
+        carDetails.setVechicleCategory(vechicleCategory);
+        carDetails.setManufacturingYear(manufacturingYear);
+        carDetails.setMileage(mileage);
+        carDetails.setHasSunRoof(hasSunRoof);
+        carDetails.setStatus(status != null ? status : CarStatusEnum.AVAILABLE);
+        applyPosition(carDetails, rentalLocationId, latitude, longitude);
+        CarDetails savedCar = carDetailsRepository.save(carDetails);
+        long carId = savedCar.getId();
+        Map<CarAttribute, String> attributeValues = computeAttributeValues(savedCar);
+        int category = categoryOrdinal(savedCar);
+        int savedMileage = savedCar.getMileage();
+        boolean sunRoof = savedCar.isHasSunRoof();
+        Double savedLatitude = savedCar.getLatitude();
+        Double savedLongitude = savedCar.getLongitude();
+        runAfterCommit(() -> {
+            carAvailabilityService.onCarAdded(carId);
+            carAttributeIndex.putCar(carId, attributeValues);
+            quoteEngine.putCar(carId, category, savedMileage, sunRoof);
+            updateGeoIndex(carId, savedLatitude, savedLongitude);
+        });
+        return savedCar;
+    }
+
+    /**
+     * Retrieves a car by its ID.
+     *
+     * @param carId The ID of the car.
+     * @return The CarDetails object.
+     * @throws CarNotFoundException If no car exists with the specified ID.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CarDetails getCar(long carId) throws CarNotFoundException {
+        return carDetailsRepository.findById(carId)
+                .orElseThrow(() -> new CarNotFoundException("Car not found with ID: " + carId));
+    }
+
+    /**
+     * Changes the status of a car and, once the transaction has committed, updates only the status bitmaps
+     * of the attribute index.
+     *
+     * @param carId  The ID of the car.
+     * @param status The new status.
+     * @return The updated CarDetails object.
+     * @throws CarNotFoundException If no car exists with the specified ID.
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public CarDetails updateCarStatus(long carId, CarStatusEnum status) throws CarNotFoundException {
+        CarDetails carDetails = getCar(carId);
+        carDetails.setStatus(status);
+        CarDetails savedCar = carDetailsRepository.save(carDetails);
+        Map<CarAttribute, String> attributeValues = computeAttributeValues(savedCar);
+        runAfterCommit(() -> {
+            if (!carAttributeIndex.updateAttribute(carId, CarAttribute.STATUS, status.name())) {
+                carAttributeIndex.putCar(carId, attributeValues);
+            }
+        });
+        return savedCar;
+    }
+
+    /**
+     * Moves a car to a rental location or to free coordinates and, once the transaction has committed,
+     * updates its cell in the geo index.
+     *
+     * @param carId            The ID of the car.
+     * @param rentalLocationId The ID of the rental location the car is now parked at (can be null).
+     * @param latitude         The new latitude; defaults to the rental location's (can be null).
+     * @param longitude        The new longitude; defaults to the rental location's (can be null).
+     * @return The updated CarDetails object.
+     * @throws CarNotFoundException            If no car exists with the specified ID.
+     * @throws RentalLocationNotFoundException If the rental location doesn't exist.
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public CarDetails moveCar(long carId, Long rentalLocationId, Double latitude, Double longitude)
+            throws CarNotFoundException, RentalLocationNotFoundException {
+        CarDetails carDetails = getCar(carId);
+        applyPosition(carDetails, rentalLocationId, latitude, longitude);
+        CarDetails savedCar = carDetailsRepository.save(carDetails);
+        Double savedLatitude = savedCar.getLatitude();
+        Double savedLongitude = savedCar.getLongitude();
+        runAfterCommit(() -> updateGeoIndex(carId, savedLatitude, savedLongitude));
+        return savedCar;
+    }
+
+    /**
+     * Searches the fleet through the attribute index.
+     *
+     * @param filters The clauses to combine with AND.
+     * @param facets  The attributes to compute facet counts for.
+     * @param limit   The maximum number of car IDs to return.
+     * @return The number of matches, the first matching car IDs and the facet counts.
+     */
+    @Override
+    public CarSearchResult searchCars(List<CarFilter> filters, Collection<CarAttribute> facets, int limit) {
+        return carAttributeIndex.search(filters, facets, limit);
+    }
+
+    /**
+     * Rebuilds the attribute and geo indexes and the quote engine's fleet columns from the CarDetails table.
+     */
+    @Override
+    public void reloadCarAttributes() {
+        carAttributeIndex.clear();
+        carGeoIndex.clear();
+        List<CarDetails> cars = carDetailsRepository.findAll(Sort.by("id"));
+        long[] carIds = new long[cars.size()];
+        int[] categories = new int[cars.size()];
+        int[] mileages = new int[cars.size()];
+        boolean[] sunRoofs = new boolean[cars.size()];
+        for (int i = 0; i < cars.size(); i++) {
+            CarDetails carDetails = cars.get(i);
+            carAttributeIndex.putCar(carDetails.getId(), computeAttributeValues(carDetails));
+            carIds[i] = carDetails.getId();
+            categories[i] = categoryOrdinal(carDetails);
+            mileages[i] = carDetails.getMileage();
+            sunRoofs[i] = carDetails.isHasSunRoof();
+            updateGeoIndex(carDetails.getId(), carDetails.getLatitude(), carDetails.getLongitude());
+        }
+        quoteEngine.loadFleet(new FleetColumns(carIds, categories, mileages, sunRoofs));
+    }
+
+    /**
+     * Sets the rental location and coordinates of a car. Coordinates that are not given
+     * are taken from the rental location; without a location the car is no longer parked anywhere.
+     *
+     * @param carDetails       The car to update.
+     * @param rentalLocationId The ID of the rental location (can be null).
+     * @param latitude         The latitude (can be null).
+     * @param longitude        The longitude (can be null).
+     * @throws RentalLocationNotFoundException If the rental location doesn't exist.
+     */
+    private void applyPosition(CarDetails carDetails, Long rentalLocationId, Double latitude, Double longitude)
+            throws RentalLocationNotFoundException {
+        RentalLocation rentalLocation = rentalLocationId != null ? rentalLocationService.getLocation(rentalLocationId) : null;
+        carDetails.setRentalLocation(rentalLocation);
+        if (latitude == null && rentalLocation != null) {
+            latitude = rentalLocation.getLatitude();
+            longitude = rentalLocation.getLongitude();
+        }
+        carDetails.setLatitude(latitude);
+        carDetails.setLongitude(longitude);
+    }
+
+    /**
+     * Places a car in the geo index, or removes it if it has no coordinates.
+     *
+     * @param carId     The ID of the car.
+     * @param latitude  The latitude of the car (can be null).
+     * @param longitude The longitude of the car (can be null).
+     */
+    private void updateGeoIndex(long carId, Double latitude, Double longitude) {
+        if (latitude != null && longitude != null) {
+            carGeoIndex.putCar(carId, latitude, longitude);
+        } else {
+            carGeoIndex.removeCar(carId);
+        }
+    }
+
+    /**
+     * Runs an in-memory index update after the current transaction has committed, or right away without one.
+     * The values the update applies are taken from the entity beforehand, while the transaction is still open.
+     *
+     * @param indexUpdate The index update.
+     */
+    private static void runAfterCommit(Runnable indexUpdate) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            indexUpdate.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                indexUpdate.run();
+            }
+        });
+    }
+
+    /**
+     * Returns the category ordinal of a car as used by the quote engine.
+     *
+     * @param carDetails The car.
+     * @return The ordinal of the car's category, or -1 if it has none.
+     */
+    private static int categoryOrdinal(CarDetails carDetails) {
+        return carDetails.getVechicleCategory() != null ? carDetails.getVechicleCategory().ordinal() : -1;
+    }
+
+    /**
+     * Extracts the normalized attribute values of a car for the attribute index.
+     *
+     * @param carDetails The car.
+     * @return The attribute values; attributes the car has no value for map to null.
+     */
+    private static Map<CarAttribute, String> computeAttributeValues(CarDetails carDetails) {
+        Map<CarAttribute, String> values = new EnumMap<>(CarAttribute.class);
+        if (carDetails.getVechicleCategory() != null) {
+            values.put(CarAttribute.CATEGORY, carDetails.getVechicleCategory().name());
+        }
+        if (carDetails.getStatus() != null) {
+            values.put(CarAttribute.STATUS, carDetails.getStatus().name());
+        }
+        values.put(CarAttribute.SUN_ROOF, CarAttribute.SUN_ROOF.normalize(String.valueOf(carDetails.isHasSunRoof())));
+        values.put(CarAttribute.BRAND, CarAttribute.BRAND.normalize(carDetails.getBrand()));
+        values.put(CarAttribute.YEAR, CarAttribute.YEAR.normalize(carDetails.getManufacturingYear()));
+        return values;
+    }
+}
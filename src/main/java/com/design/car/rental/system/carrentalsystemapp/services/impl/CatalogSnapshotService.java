@@ -0,0 +1,27 @@
+package com.design.car.rental.system.carrentalsystemapp.services.impl;
+
+import com.design.car.rental.system.carrentalsystemapp.catalog.CatalogSnapshot;
+
+import java.io.IOException;
+
+public interface CatalogSnapshotService {
+
+    /**
+     * Returns the current catalog snapshot.
+     * - The snapshot is immutable; callers keep reading the one they got even if it is replaced meanwhile.
+     *
+     * @return The current snapshot, or null if none has been built yet.
+     */
+    CatalogSnapshot getSnapshot();
+
+    /**
+     * Builds a new snapshot of the active fleet and swaps it in.
+     * - Streams the cars from the database page by page, so memory use does not grow with the fleet.
+     * - Cars that are LOST are left out.
+     * - The replaced snapshot file is deleted; readers still holding it are not affected.
+     *
+     * @return The new snapshot.
+     * @throws IOException If the snapshot cannot be written; the current snapshot stays in place.
+     */
+    CatalogSnapshot rebuildSnapshot() throws IOException;
+}
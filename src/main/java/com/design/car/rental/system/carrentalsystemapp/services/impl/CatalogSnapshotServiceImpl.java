@@ -0,0 +1,225 @@
+package com.design.car.rental.system.carrentalsystemapp.services.impl;
+
+import com.design.car.rental.system.carrentalsystemapp.catalog.CatalogCarRow;
+import com.design.car.rental.system.carrentalsystemapp.catalog.CatalogSnapshot;
+import com.design.car.rental.system.carrentalsystemapp.catalog.CatalogSnapshotWriter;
+import com.design.car.rental.system.carrentalsystemapp.enums.CarStatusEnum;
+import com.design.car.rental.system.carrentalsystemapp.repository.CarDetailsRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+@Service
+public class CatalogSnapshotServiceImpl implements CatalogSnapshotService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CatalogSnapshotServiceImpl.class);
+
+    private static final String SNAPSHOT_PREFIX = "catalog-";
+
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+
+    @Autowired
+    private CarDetailsRepository carDetailsRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${catalog.snapshot.dir:data/catalog}")
+    private Path directory;
+
+    @Value("${catalog.snapshot.page-size:1000}")
+    private int pageSize;
+
+    private final AtomicReference<CatalogSnapshot> current = new AtomicReference<>();
+
+    private final AtomicLong verifiedAt = new AtomicLong();
+
+    private final ReentrantLock buildLock = new ReentrantLock();
+
+    /**
+     * Maps the newest snapshot left by a previous run, so browsing is served right away, and builds one if there
+     * is none. Registers the snapshot metrics.
+     *
+     * @throws IOException If the snapshot directory cannot be used or the first snapshot cannot be built.
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(directory);
+        Gauge.builder("catalog.snapshot.cars", current, reference -> reference.get() == null ? 0 : reference.get().size())
+                .description("Cars in the current catalog snapshot")
+                .register(meterRegistry);
+        Gauge.builder("catalog.snapshot.bytes", current, reference -> reference.get() == null ? 0 : reference.get().sizeInBytes())
+                .description("Size of the current catalog snapshot file")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("catalog.snapshot.age", current, reference -> reference.get() == null ? 0
+                        : TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - verifiedAt.get()))
+                .description("Time since the current catalog snapshot was built or confirmed up to date")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        current.set(openNewestSnapshot());
+        if (current.get() != null) {
+            verifiedAt.set(current.get().getBuiltAt());
+        } else {
+            rebuildSnapshot();
+        }
+    }
+
+    /**
+     * Refreshes the snapshot on the catalog.snapshot.refresh-interval schedule.
+     * - The fleet is first compared with the current snapshot, and a new snapshot is only written if a car was
+     *   added, changed or removed. Bookings do not touch the catalog fields, so a busy but otherwise unchanged
+     *   fleet creates no new files and no new mappings.
+     * - On failure the current snapshot keeps being served until the next attempt.
+     */
+    @Scheduled(fixedDelayString = "${catalog.snapshot.refresh-interval:30s}", initialDelayString = "${catalog.snapshot.refresh-interval:30s}")
+    public void refreshSnapshot() {
+        try {
+            CatalogSnapshot snapshot = current.get();
+            if (snapshot != null && isUpToDate(snapshot)) {
+                verifiedAt.set(System.currentTimeMillis());
+                LOGGER.debug("Catalog snapshot of {} cars is up to date, not rebuilding", snapshot.size());
+                return;
+            }
+            rebuildSnapshot();
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Catalog snapshot rebuild failed, still serving the previous snapshot", e);
+        }
+    }
+
+    /**
+     * Returns the current catalog snapshot.
+     *
+     * @return The current snapshot, or null if none has been built yet.
+     */
+    @Override
+    public CatalogSnapshot getSnapshot() {
+        return current.get();
+    }
+
+    /**
+     * Builds a new snapshot of the active fleet and swaps it in.
+     * - Streams the cars from the database page by page, so memory use does not grow with the fleet.
+     * - Cars that are LOST are left out.
+     * - The replaced snapshot file is deleted; readers still holding it are not affected.
+     *
+     * @return The new snapshot.
+     * @throws IOException If the snapshot cannot be written; the current snapshot stays in place.
+     */
+    @Override
+    public CatalogSnapshot rebuildSnapshot() throws IOException {
+        buildLock.lock();
+        try {
+            long start = System.nanoTime();
+            long builtAt = System.currentTimeMillis();
+            Path target = directory.resolve(SNAPSHOT_PREFIX + builtAt + SNAPSHOT_SUFFIX);
+            Path written;
+            try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(target, builtAt)) {
+                long afterId = 0;
+                List<CatalogCarRow> page;
+                do {
+                    page = carDetailsRepository.findCatalogPage(afterId, CarStatusEnum.LOST, Limit.of(pageSize));
+                    for (CatalogCarRow row : page) {
+                        writer.add(row);
+                    }
+                    if (!page.isEmpty()) {
+                        afterId = page.get(page.size() - 1).carId();
+                    }
+                } while (page.size() == pageSize);
+                written = writer.finish();
+            }
+            CatalogSnapshot snapshot = CatalogSnapshot.open(written);
+            CatalogSnapshot previous = current.getAndSet(snapshot);
+            verifiedAt.set(builtAt);
+            if (previous != null && !previous.getPath().equals(written)) {
+                Files.deleteIfExists(previous.getPath());
+            }
+            LOGGER.info("Built catalog snapshot of {} cars ({} bytes) in {} ms", snapshot.size(), snapshot.sizeInBytes(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return snapshot;
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    /**
+     * Compares the active fleet with a snapshot, page by page, and stops at the first difference.
+     *
+     * @param snapshot The snapshot to compare with.
+     * @return True if the snapshot holds exactly the cars a rebuild would write.
+     */
+    private boolean isUpToDate(CatalogSnapshot snapshot) {
+        int index = 0;
+        long afterId = 0;
+        List<CatalogCarRow> page;
+        do {
+            page = carDetailsRepository.findCatalogPage(afterId, CarStatusEnum.LOST, Limit.of(pageSize));
+            for (CatalogCarRow row : page) {
+                if (index >= snapshot.size() || !snapshot.matches(index, row)) {
+                    return false;
+                }
+                index++;
+            }
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).carId();
+            }
+        } while (page.size() == pageSize);
+        return index == snapshot.size();
+    }
+
+    /**
+     * Maps the newest valid snapshot in the directory and deletes every other snapshot and leftover temporary file.
+     *
+     * @return The snapshot, or null if there is no valid one.
+     * @throws IOException If the directory cannot be listed.
+     */
+    private CatalogSnapshot openNewestSnapshot() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(path -> path.getFileName().toString().startsWith(SNAPSHOT_PREFIX))
+                    .sorted(Comparator.comparing(CatalogSnapshotServiceImpl::builtAtOf).reversed())
+                    .toList();
+        }
+        CatalogSnapshot newest = null;
+        for (Path file : files) {
+            if (newest == null && file.getFileName().toString().endsWith(SNAPSHOT_SUFFIX)) {
+                try {
+                    newest = CatalogSnapshot.open(file);
+                    continue;
+                } catch (IOException e) {
+                    LOGGER.warn("Ignoring unreadable catalog snapshot {}: {}", file, e.getMessage());
+                }
+            }
+            Files.deleteIfExists(file);
+        }
+        return newest;
+    }
+
+    private static long builtAtOf(Path file) {
+        String name = file.getFileName().toString();
+        int end = name.indexOf('.');
+        try {
+            return Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(), end < 0 ? name.length() : end));
+        } catch (NumberFormatException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.design.car.rental.system.carrentalsystemapp.services.impl;
+
+import com.design.car.rental.system.carrentalsystemapp.dtos.DriverAssignmentRunDto;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.DriverAssignmentInProgressException;
+
+import java.util.Date;
+
+public interface DriverAssignmentService {
+
+    /**
+     * Assigns active drivers to the reservations without a driver whose pick-up falls in the horizon.
+     * - Drivers are picked by availability first, then by distance to the pick-up.
+     * - A driver never gets overlapping reservations.
+     * - All assignments are written in one batched update.
+     *
+     * @param from The start of the horizon (inclusive).
+     * @param to   The end of the horizon (exclusive).
+     * @return A summary of the run.
+     * @throws DriverAssignmentInProgressException If another run has not finished yet.
+     */
+    DriverAssignmentRunDto assignDrivers(Date from, Date to) throws DriverAssignmentInProgressException;
+}
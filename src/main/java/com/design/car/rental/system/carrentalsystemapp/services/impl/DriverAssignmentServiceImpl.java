@@ -0,0 +1,161 @@
+package com.design.car.rental.system.carrentalsystemapp.services.impl;
+
+import com.design.car.rental.system.carrentalsystemapp.assignment.DriverAssignment;
+import com.design.car.rental.system.carrentalsystemapp.assignment.DriverAssignmentPlanner;
+import com.design.car.rental.system.carrentalsystemapp.assignment.DriverWindow;
+import com.design.car.rental.system.carrentalsystemapp.assignment.PendingReservation;
+import com.design.car.rental.system.carrentalsystemapp.dtos.DriverAssignmentRunDto;
+import com.design.car.rental.system.carrentalsystemapp.enums.UserTypeEnum;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.DriverAssignmentInProgressException;
+import com.design.car.rental.system.carrentalsystemapp.models.UserDetails;
+import com.design.car.rental.system.carrentalsystemapp.repository.CarReservationRepository;
+import com.design.car.rental.system.carrentalsystemapp.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+public class DriverAssignmentServiceImpl implements DriverAssignmentService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DriverAssignmentServiceImpl.class);
+
+    // Only fills reservations that are still unassigned and active, so concurrent edits are never overwritten.
+    private static final String ASSIGN_DRIVER_SQL = "update car_reservation set driver_details_id = ?, version = version + 1 " +
+            "where id = ? and driver_details_id is null and active_record = 1";
+
+    @Autowired
+    private CarReservationRepository carReservationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DriverAssignmentPlanner driverAssignmentPlanner;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${driver.assignment.horizon:24h}")
+    private Duration horizon;
+
+    @Value("${driver.assignment.max-distance-km:50}")
+    private double maxDistanceKm;
+
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    /**
+     * Assigns drivers to the reservations picked up within the configured horizon from now.
+     * Runs on the driver.assignment.cron schedule and skips a tick while a manual run is still going.
+     */
+    @Scheduled(cron = "${driver.assignment.cron:0 */15 * * * *}")
+    public void assignUpcomingReservations() {
+        Date from = new Date();
+        try {
+            DriverAssignmentRunDto run = assignDrivers(from, new Date(from.getTime() + horizon.toMillis()));
+            LOGGER.info("Assigned drivers to {} of {} reservations in {} ms",
+                    run.getAssigned(), run.getPendingReservations(), run.getElapsedMillis());
+        } catch (DriverAssignmentInProgressException e) {
+            LOGGER.info("Skipping scheduled driver assignment: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Assigns active drivers to the reservations without a driver whose pick-up falls in the horizon.
+     * - Loads the pending reservations, the drivers and the reservations the drivers already hold with three queries.
+     * - Plans every assignment in memory with the {@link DriverAssignmentPlanner}.
+     * - Writes the assignments back in one JDBC batch inside a single transaction.
+     *
+     * @param from The start of the horizon (inclusive).
+     * @param to   The end of the horizon (exclusive).
+     * @return A summary of the run.
+     * @throws DriverAssignmentInProgressException If another run has not finished yet.
+     */
+    @Override
+    public DriverAssignmentRunDto assignDrivers(Date from, Date to) throws DriverAssignmentInProgressException {
+        if (!runLock.tryLock()) {
+            throw new DriverAssignmentInProgressException("A driver assignment run is already in progress");
+        }
+        try {
+            long startedAt = System.nanoTime();
+            List<PendingReservation> pending = carReservationRepository.findPendingDriverAssignments(from, to);
+            long[] driverIds = userRepository.findByUserTypeAndActive(UserTypeEnum.DRIVER, 1).stream()
+                    .mapToLong(UserDetails::getId)
+                    .toArray();
+
+            int assigned = 0;
+            if (!pending.isEmpty() && driverIds.length > 0) {
+                List<DriverWindow> heldWindows = carReservationRepository.findDriverWindows(from, latestReturn(pending, to));
+                List<DriverAssignment> assignments = driverAssignmentPlanner.plan(pending, driverIds, heldWindows, maxDistanceKm);
+                assigned = writeAssignments(assignments);
+            }
+
+            DriverAssignmentRunDto run = new DriverAssignmentRunDto();
+            run.setFrom(from);
+            run.setTo(to);
+            run.setPendingReservations(pending.size());
+            run.setDrivers(driverIds.length);
+            run.setAssigned(assigned);
+            run.setUnassigned(pending.size() - assigned);
+            run.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+            return run;
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    /**
+     * Finds the end of the period the pending reservations cover, so the held windows are loaded for all of it.
+     *
+     * @param pending The pending reservations.
+     * @param to      The end of the horizon.
+     * @return The latest of the horizon end and the pending return dates.
+     */
+    private Date latestReturn(List<PendingReservation> pending, Date to) {
+        long latest = to.getTime();
+        for (PendingReservation reservation : pending) {
+            latest = Math.max(latest, reservation.returnDate().getTime());
+        }
+        return new Date(latest);
+    }
+
+    /**
+     * Writes the assignments with one batched update.
+     *
+     * @param assignments The assignments to write.
+     * @return The number of reservations that were updated.
+     */
+    private int writeAssignments(List<DriverAssignment> assignments) {
+        if (assignments.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> rows = new ArrayList<>(assignments.size());
+        for (DriverAssignment assignment : assignments) {
+            rows.add(new Object[]{assignment.driverId(), assignment.reservationId()});
+        }
+        int[] updateCounts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(ASSIGN_DRIVER_SQL, rows));
+        int updated = 0;
+        for (int count : updateCounts) {
+            // Rewritten MySQL batches report success without a row count.
+            if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                updated++;
+            }
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,312 @@
+package com.design.car.rental.system.carrentalsystemapp.services.impl;
+
+import com.design.car.rental.system.carrentalsystemapp.dtos.CarReservationResponseDto;
+import com.design.car.rental.system.carrentalsystemapp.enums.UserTypeEnum;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.CarNotFoundException;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.UserNotFoundException;
+import com.design.car.rental.system.carrentalsystemapp.journal.AppliedJournalEntry;
+import com.design.car.rental.system.carrentalsystemapp.journal.JournalEntry;
+import com.design.car.rental.system.carrentalsystemapp.journal.ReservationJournal;
+import com.design.car.rental.system.carrentalsystemapp.models.CarDetails;
+import com.design.car.rental.system.carrentalsystemapp.models.CarReservation;
+import com.design.car.rental.system.carrentalsystemapp.models.UserDetails;
+import com.design.car.rental.system.carrentalsystemapp.repository.CarReservationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Journal-backed write side of the booking path, active with reservation.write-mode=JOURNAL.
+ * - A booking is acknowledged as soon as it is durable in the memory-mapped {@link ReservationJournal},
+ *   instead of after a database commit.
+ * - A background thread drains the journal into the CarReservation table in batches and checkpoints
+ *   the journal after every committed batch.
+ * - Entries left over from a previous run are replayed on startup. Each batch first looks up the
+ *   reservations already written for its journal sequence numbers (findAppliedJournalEntries) and skips
+ *   them, so replaying an entry committed before a crash is a no-op. The journalSeq column is not unique,
+ *   so this relies on the single drainer thread.
+ * - An entry the database keeps rejecting is moved to the journal's dead-letter file and counted in
+ *   reservation.journal.dead-lettered before the checkpoint moves past it.
+ * - The in-memory availability index is the only overlap check, so a single application instance
+ *   must own bookings while this mode is on.
+ */
+@Component
+@ConditionalOnProperty(name = "reservation.write-mode", havingValue = "JOURNAL")
+public class JournaledReservationWriter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JournaledReservationWriter.class);
+
+    @Autowired
+    private CarAvailabilityService carAvailabilityService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UtilizationRollupService utilizationRollupService;
+
+    @Autowired
+    private CarReservationRepository carReservationRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${reservation.journal.dir:data/reservation-journal}")
+    private Path journalDirectory;
+
+    @Value("${reservation.journal.segment-size:64MB}")
+    private DataSize segmentSize;
+
+    @Value("${reservation.journal.drain-batch-size:500}")
+    private int drainBatchSize;
+
+    @Value("${reservation.journal.retry-delay:1s}")
+    private Duration retryDelay;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}")
+    private int jdbcBatchSize;
+
+    private static final int ACTIVE = 1;
+
+    private static final String CAR_DOES_NOT_EXIST_WITH_THIS_ID = "Car doesn't exist with this id";
+
+    private static final String DRIVER_DOES_NOT_EXIST_WITH_THIS_ID = "Driver doesn't exist with this id";
+
+    private ReservationJournal journal;
+
+    private Counter deadLetteredEntries;
+
+    private Thread drainer;
+
+    private volatile boolean running;
+
+    /**
+     * Opens the journal, puts the reservations it still holds back into the availability index
+     * and starts draining them to the database.
+     */
+    @PostConstruct
+    public void start() throws IOException, InterruptedException {
+        journal = ReservationJournal.open(journalDirectory, Math.toIntExact(segmentSize.toBytes()));
+        List<JournalEntry> recovered = journal.pollDurable(Integer.MAX_VALUE, 0, TimeUnit.MILLISECONDS);
+        for (JournalEntry entry : recovered) {
+            carAvailabilityService.onReservationPending(entry.seq(), entry.carId(),
+                    new Date(entry.pickUpDate()), new Date(entry.returnDate()));
+        }
+        Gauge.builder("reservation.journal.pending", journal, ReservationJournal::undrainedCount)
+                .description("Durable journal entries waiting to be written to the database")
+                .register(meterRegistry);
+        deadLetteredEntries = Counter.builder("reservation.journal.dead-lettered")
+                .description("Journal entries the database rejected, kept in the dead-letter file")
+                .register(meterRegistry);
+        running = true;
+        drainer = new Thread(() -> drainLoop(recovered), "reservation-journal-drainer");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    /**
+     * Stops draining and closes the journal. Entries not drained yet are replayed on the next start.
+     */
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        running = false;
+        drainer.interrupt();
+        drainer.join();
+        journal.close();
+    }
+
+    /**
+     * Validates a booking against cached data and appends it to the journal.
+     * The caller must hold the stripe lock of the car and have checked the window for overlaps.
+     *
+     * @param carId          The ID of the car to reserve.
+     * @param customerId     The ID of the customer making the reservation.
+     * @param driverId       The ID of the assigned driver (can be null).
+     * @param pickUpDate     The pick-up date (inclusive).
+     * @param returnDate     The return date (exclusive).
+     * @param pickUpLocation The pick-up location.
+     * @param returnLocation The return location.
+     * @return The reservation details, identified by its journal sequence number until it is written to the database.
+     * @throws CarNotFoundException  If the car doesn't exist.
+     * @throws UserNotFoundException If the customer or driver doesn't exist or is inactive.
+     */
+    public CarReservationResponseDto appendReservation(long carId, long customerId, Long driverId, Date pickUpDate, Date returnDate,
+                                                       String pickUpLocation, String returnLocation)
+            throws CarNotFoundException, UserNotFoundException {
+        if (!carAvailabilityService.isCarRegistered(carId)) {
+            throw new CarNotFoundException(CAR_DOES_NOT_EXIST_WITH_THIS_ID);
+        }
+        userService.getUserDetailsByUserId(customerId);
+        if (driverId != null && userService.getUserDetailsByUserId(driverId).getUserType() != UserTypeEnum.DRIVER) {
+            throw new UserNotFoundException(DRIVER_DOES_NOT_EXIST_WITH_THIS_ID);
+        }
+        JournalEntry entry;
+        try {
+            entry = journal.append(carId, customerId, driverId, pickUpDate.getTime(), returnDate.getTime(),
+                    pickUpLocation, returnLocation);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        carAvailabilityService.onReservationPending(entry.seq(), carId, pickUpDate, returnDate);
+        return new CarReservationResponseDto(0, carId, customerId, driverId, pickUpDate, returnDate,
+                pickUpLocation, returnLocation, entry.seq());
+    }
+
+    /**
+     * Writes journal batches to the database until stopped.
+     * A batch that fails because the database is unreachable is retried after reservation.journal.retry-delay.
+     *
+     * @param recovered The entries replayed from a previous run, drained first.
+     */
+    private void drainLoop(List<JournalEntry> recovered) {
+        List<JournalEntry> batch = recovered;
+        while (running) {
+            try {
+                if (batch.isEmpty()) {
+                    batch = journal.pollDurable(drainBatchSize, 1, TimeUnit.SECONDS);
+                    continue;
+                }
+                for (int from = 0; from < batch.size(); from += drainBatchSize) {
+                    applyBatch(batch.subList(from, Math.min(batch.size(), from + drainBatchSize)));
+                }
+                journal.markApplied(batch.get(batch.size() - 1).seq());
+                batch = List.of();
+            } catch (InterruptedException e) {
+                return;
+            } catch (TransientDataAccessException | DataAccessResourceFailureException | CannotCreateTransactionException e) {
+                LOGGER.warn("Database unavailable while draining the reservation journal, retrying in {}", retryDelay, e);
+                sleepBeforeRetry();
+            } catch (IOException | RuntimeException e) {
+                LOGGER.error("Reservation journal drain failed, retrying in {}", retryDelay, e);
+                sleepBeforeRetry();
+            }
+        }
+    }
+
+    /**
+     * Writes one batch in a single transaction and re-keys its windows in the availability index.
+     * - Entries that already have a reservation are only re-keyed.
+     * - If the batch is rejected by the database, entries are retried one by one and an entry the
+     *   database keeps rejecting (e.g. a deleted customer) is moved to the dead-letter file and its
+     *   pending window released.
+     *
+     * @param batch The entries to write, in sequence order.
+     * @throws IOException If a rejected entry cannot be dead-lettered; the batch is retried and the
+     *                     checkpoint stays before it.
+     */
+    private void applyBatch(List<JournalEntry> batch) throws IOException {
+        try {
+            onApplied(batch, transactionTemplate.execute(status -> persistEntries(batch)));
+        } catch (TransientDataAccessException | DataAccessResourceFailureException | CannotCreateTransactionException e) {
+            throw e;
+        } catch (RuntimeException batchFailure) {
+            entityManager.clear();
+            for (JournalEntry entry : batch) {
+                try {
+                    onApplied(List.of(entry), transactionTemplate.execute(status -> persistEntries(List.of(entry))));
+                } catch (TransientDataAccessException | DataAccessResourceFailureException | CannotCreateTransactionException e) {
+                    throw e;
+                } catch (RuntimeException entryFailure) {
+                    entityManager.clear();
+                    journal.deadLetter(entry);
+                    deadLetteredEntries.increment();
+                    LOGGER.error("Moved journaled reservation {} for car {} that the database rejected to the dead-letter file",
+                            entry.seq(), entry.carId(), entryFailure);
+                    carAvailabilityService.onPendingReservationDropped(entry.seq(), entry.carId());
+                }
+            }
+        }
+    }
+
+    /**
+     * Persists the entries that have no reservation yet, flushing every JDBC batch.
+     *
+     * @param entries The entries to persist; must be called inside a transaction.
+     * @return The reservation ID of every entry, keyed by journal sequence number.
+     */
+    private Map<Long, Long> persistEntries(List<JournalEntry> entries) {
+        Map<Long, Long> reservationIds = new HashMap<>();
+        List<Long> journalSeqs = new ArrayList<>(entries.size());
+        entries.forEach(entry -> journalSeqs.add(entry.seq()));
+        for (AppliedJournalEntry applied : carReservationRepository.findAppliedJournalEntries(journalSeqs)) {
+            reservationIds.put(applied.journalSeq(), applied.reservationId());
+        }
+        int pending = 0;
+        for (JournalEntry entry : entries) {
+            if (reservationIds.containsKey(entry.seq())) {
+                continue;
+            }
+            CarReservation carReservation = new CarReservation();
+            carReservation.setCarDetails(entityManager.getReference(CarDetails.class, entry.carId()));
+            carReservation.setCustomerDetails(entityManager.getReference(UserDetails.class, entry.customerId()));
+            if (entry.driverId() != null) {
+                carReservation.setDriverDetails(entityManager.getReference(UserDetails.class, entry.driverId()));
+            }
+            carReservation.setPickUpDate(new Date(entry.pickUpDate()));
+            carReservation.setReturnDate(new Date(entry.returnDate()));
+            carReservation.setPickUpLocation(entry.pickUpLocation());
+            carReservation.setReturnLocation(entry.returnLocation());
+            carReservation.setActive(ACTIVE);
+            carReservation.setJournalSeq(entry.seq());
+            entityManager.persist(carReservation);
+            reservationIds.put(entry.seq(), carReservation.getId());
+            if (++pending == jdbcBatchSize) {
+                entityManager.flush();
+                entityManager.clear();
+                pending = 0;
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return reservationIds;
+    }
+
+    private void onApplied(List<JournalEntry> entries, Map<Long, Long> reservationIds) {
+        for (JournalEntry entry : entries) {
+            carAvailabilityService.onPendingReservationApplied(entry.seq(), reservationIds.get(entry.seq()), entry.carId(),
+                    new Date(entry.pickUpDate()), new Date(entry.returnDate()));
+            utilizationRollupService.onReservationChanged(reservationIds.get(entry.seq()));
+        }
+    }
+
+    private void sleepBeforeRetry() {
+        try {
+            Thread.sleep(retryDelay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
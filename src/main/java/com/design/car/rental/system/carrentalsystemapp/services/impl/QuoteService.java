@@ -0,0 +1,22 @@
+package com.design.car.rental.system.carrentalsystemapp.services.impl;
+
+import com.design.car.rental.system.carrentalsystemapp.dtos.QuoteResponseDto;
+import com.design.car.rental.system.carrentalsystemapp.index.CarFilter;
+
+import java.util.Date;
+import java.util.List;
+
+public interface QuoteService {
+
+    /**
+     * Prices every car that is free for the requested window and matches the filters.
+     * - Cars that are lost or under maintenance are never quoted.
+     * - Demand is measured per category as the share of its cars already booked in the window.
+     *
+     * @param pickUpDate The start of the requested window (inclusive).
+     * @param returnDate The end of the requested window (exclusive).
+     * @param filters    The attribute filters the cars must match.
+     * @return The quotes, ordered by car ID.
+     */
+    QuoteResponseDto quoteAvailableCars(Date pickUpDate, Date returnDate, List<CarFilter> filters);
+}
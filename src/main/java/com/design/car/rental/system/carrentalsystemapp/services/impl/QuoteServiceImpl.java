@@ -0,0 +1,105 @@
+package com.design.car.rental.system.carrentalsystemapp.services.impl;
+
+import com.design.car.rental.system.carrentalsystemapp.dtos.CarQuoteDto;
+import com.design.car.rental.system.carrentalsystemapp.dtos.QuoteResponseDto;
+import com.design.car.rental.system.carrentalsystemapp.enums.CarStatusEnum;
+import com.design.car.rental.system.carrentalsystemapp.index.CarAttribute;
+import com.design.car.rental.system.carrentalsystemapp.index.CarFilter;
+import com.design.car.rental.system.carrentalsystemapp.pricing.FleetColumns;
+import com.design.car.rental.system.carrentalsystemapp.pricing.QuoteContext;
+import com.design.car.rental.system.carrentalsystemapp.pricing.QuoteEngine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class QuoteServiceImpl implements QuoteService {
+
+    @Autowired
+    private QuoteEngine quoteEngine;
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private CarAvailabilityService carAvailabilityService;
+
+    private static final CarFilter NOT_RENTABLE = new CarFilter(CarAttribute.STATUS,
+            Set.of(CarStatusEnum.LOST.name(), CarStatusEnum.UNDER_MAINTAINANCE.name()), true);
+
+    /**
+     * Prices every car that is free for the requested window and matches the filters.
+     * - Candidates are the intersection of the availability index and the attribute index.
+     * - Demand is measured per category as the share of its cars already booked in the window.
+     * - The candidates are priced in parallel by the quote engine.
+     *
+     * @param pickUpDate The start of the requested window (inclusive).
+     * @param returnDate The end of the requested window (exclusive).
+     * @param filters    The attribute filters the cars must match.
+     * @return The quotes, ordered by car ID.
+     */
+    @Override
+    public QuoteResponseDto quoteAvailableCars(Date pickUpDate, Date returnDate, List<CarFilter> filters) {
+        FleetColumns fleet = quoteEngine.fleet();
+        long[] availableCarIds = carAvailabilityService.getAvailableCarIds(pickUpDate, returnDate).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+
+        int[] fleetByCategory = QuoteEngine.countByCategory(fleet, fleet.carIds());
+        int[] bookedByCategory = QuoteEngine.countByCategory(fleet, availableCarIds);
+        for (int category = 0; category < bookedByCategory.length; category++) {
+            bookedByCategory[category] = fleetByCategory[category] - bookedByCategory[category];
+        }
+        QuoteContext context = quoteEngine.pricingTables()
+                .context(pickUpDate.getTime(), returnDate.getTime(), bookedByCategory, fleetByCategory);
+
+        List<CarFilter> candidateFilters = new ArrayList<>(filters);
+        candidateFilters.add(NOT_RENTABLE);
+        long[] matchingCarIds = carService.searchCars(candidateFilters, Set.of(), Integer.MAX_VALUE).carIds();
+        long[] candidateCarIds = intersectSorted(availableCarIds, matchingCarIds);
+        long[] prices = quoteEngine.quote(fleet, candidateCarIds, context);
+
+        List<CarQuoteDto> quotes = new ArrayList<>(candidateCarIds.length);
+        for (int i = 0; i < candidateCarIds.length; i++) {
+            if (prices[i] != QuoteEngine.NOT_PRICED) {
+                quotes.add(new CarQuoteDto(candidateCarIds[i], prices[i]));
+            }
+        }
+        QuoteResponseDto responseDto = new QuoteResponseDto();
+        responseDto.setPickUpDate(pickUpDate);
+        responseDto.setReturnDate(returnDate);
+        responseDto.setRentalDays(context.days());
+        responseDto.setQuoteCount(quotes.size());
+        responseDto.setQuotes(quotes);
+        return responseDto;
+    }
+
+    /**
+     * Intersects two ascending arrays of IDs.
+     *
+     * @param left  The first array.
+     * @param right The second array.
+     * @return The IDs present in both arrays, ascending.
+     */
+    private static long[] intersectSorted(long[] left, long[] right) {
+        long[] intersection = new long[Math.min(left.length, right.length)];
+        int count = 0;
+        for (int i = 0, j = 0; i < left.length && j < right.length; ) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                intersection[count++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(intersection, count);
+    }
+}
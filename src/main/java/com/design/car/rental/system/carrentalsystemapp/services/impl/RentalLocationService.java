@@ -0,0 +1,36 @@
+package com.design.car.rental.system.carrentalsystemapp.services.impl;
+
+import com.design.car.rental.system.carrentalsystemapp.exceptions.RentalLocationNotFoundException;
+import com.design.car.rental.system.carrentalsystemapp.models.RentalLocation;
+
+import java.util.List;
+
+public interface RentalLocationService {
+
+    /**
+     * Adds a new rental location.
+     *
+     * @param name      The name of the location.
+     * @param address   The street address of the location.
+     * @param latitude  The latitude in degrees.
+     * @param longitude The longitude in degrees.
+     * @return The saved RentalLocation object.
+     */
+    RentalLocation addLocation(String name, String address, double latitude, double longitude);
+
+    /**
+     * Retrieves a rental location by its ID.
+     *
+     * @param locationId The ID of the location.
+     * @return The RentalLocation object.
+     * @throws RentalLocationNotFoundException If no location exists with the specified ID.
+     */
+    RentalLocation getLocation(long locationId) throws RentalLocationNotFoundException;
+
+    /**
+     * Retrieves all rental locations.
+     *
+     * @return A list of all rental locations.
+     */
+    List<RentalLocation> getAllLocations();
+}
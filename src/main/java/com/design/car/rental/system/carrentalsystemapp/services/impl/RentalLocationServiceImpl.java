@@ -0,0 +1,60 @@
+package com.design.car.rental.system.carrentalsystemapp.services.impl;
+
+import com.design.car.rental.system.carrentalsystemapp.exceptions.RentalLocationNotFoundException;
+import com.design.car.rental.system.carrentalsystemapp.models.RentalLocation;
+import com.design.car.rental.system.carrentalsystemapp.repository.RentalLocationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class RentalLocationServiceImpl implements RentalLocationService {
+
+    @Autowired
+    private RentalLocationRepository rentalLocationRepository;
+
+    private static final String LOCATION_DOES_NOT_EXIST_WITH_THIS_ID = "Rental location doesn't exist with this id";
+
+    /**
+     * Adds a new rental location.
+     *
+     * @param name      The name of the location.
+     * @param address   The street address of the location.
+     * @param latitude  The latitude in degrees.
+     * @param longitude The longitude in degrees.
+     * @return The saved RentalLocation object.
+     */
+    @Override
+    public RentalLocation addLocation(String name, String address, double latitude, double longitude) {
+        RentalLocation rentalLocation = new RentalLocation();
+        rentalLocation.setName(name);
+        rentalLocation.setAddress(address);
+        rentalLocation.setLatitude(latitude);
+        rentalLocation.setLongitude(longitude);
+        return rentalLocationRepository.save(rentalLocation);
+    }
+
+    /**
+     * Retrieves a rental location by its ID.
+     *
+     * @param locationId The ID of the location.
+     * @return The RentalLocation object.
+     * @throws RentalLocationNotFoundException If no location exists with the specified ID.
+     */
+    @Override
+    public RentalLocation getLocation(long locationId) throws RentalLocationNotFoundException {
+        return rentalLocationRepository.findById(locationId)
+                .orElseThrow(() -> new RentalLocationNotFoundException(LOCATION_DOES_NOT_EXIST_WITH_THIS_ID));
+    }
+
+    /**
+     * Retrieves all rental locations.
+     *
+     * @return A list of all rental locations.
+     */
+    @Override
+    public List<RentalLocation> getAllLocations() {
+        return rentalLocationRepository.findAll();
+    }
+}
@@ -0,0 +1,17 @@
+package com.design.car.rental.system.carrentalsystemapp.services.impl;
+
+import java.io.IOException;
+
+public interface ReservationArchiveService {
+
+    /**
+     * Moves the reservations of every month that ended before the archive horizon from the table into the archive.
+     * - A month is written as one compressed columnar file before its rows are deleted, so a reservation is
+     *   always readable from one of the two.
+     * - Cancelled reservations are archived too, so the utilization history stays complete.
+     *
+     * @return The number of reservations archived.
+     * @throws IOException If an archive file cannot be written; the reservations of that month stay in the table.
+     */
+    long archiveCompletedReservations() throws IOException;
+}
@@ -0,0 +1,189 @@
+package com.design.car.rental.system.carrentalsystemapp.services.impl;
+
+import com.design.car.rental.system.carrentalsystemapp.archive.ArchivedReservation;
+import com.design.car.rental.system.carrentalsystemapp.archive.ReservationArchive;
+import com.design.car.rental.system.carrentalsystemapp.archive.ReservationArchiveSegmentWriter;
+import com.design.car.rental.system.carrentalsystemapp.archive.ReservationPartitionMaintainer;
+import com.design.car.rental.system.carrentalsystemapp.repository.CarReservationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Moves completed reservations into the {@link ReservationArchive}; present only with reservation.archive.enabled=true.
+ * - Every instance runs the schedule, but only the holder of the database lease archives, so instances never
+ *   archive and delete the same month at the same time.
+ */
+@Service
+@ConditionalOnProperty(name = "reservation.archive.enabled", havingValue = "true")
+public class ReservationArchiveServiceImpl implements ReservationArchiveService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReservationArchiveServiceImpl.class);
+
+    private static final String LEASE = "reservation-archive";
+
+    @Autowired
+    private CarReservationRepository carReservationRepository;
+
+    @Autowired
+    private ReservationArchive reservationArchive;
+
+    @Autowired
+    private CarAvailabilityService carAvailabilityService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SchedulerLeaseService schedulerLeaseService;
+
+    // Present only with reservation.partitioning.enabled=true.
+    @Autowired(required = false)
+    private ReservationPartitionMaintainer reservationPartitionMaintainer;
+
+    @Value("${reservation.archive.horizon:90d}")
+    private Duration horizon;
+
+    @Value("${reservation.archive.chunk-size:1000}")
+    private int chunkSize;
+
+    // Extended before every month, so it only has to outlast the archiving of one month.
+    @Value("${reservation.archive.lease-duration:1h}")
+    private Duration leaseDuration;
+
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    /**
+     * Archives on the reservation.archive.cron schedule; a failed run is retried on the next one.
+     */
+    @Scheduled(cron = "${reservation.archive.cron:0 30 3 * * *}")
+    public void archiveOnSchedule() {
+        try {
+            archiveCompletedReservations();
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Reservation archiving failed, the reservations stay in the table until the next run", e);
+        }
+    }
+
+    /**
+     * Moves the reservations of every month that ended before the archive horizon from the table into the archive.
+     * - Runs only while this instance holds the reservation-archive lease, and returns 0 right away if another
+     *   instance holds it. The lease is extended before every month and released at the end; a run that loses it
+     *   stops before the next month. The lock below only keeps runs of this instance apart.
+     * - Months are archived whole and in order, one file each, once the whole month is older than the horizon.
+     * - A month's reservations are read in ID order, one chunk per query, and only deleted once the file is on disk.
+     *   Reservations that a crashed run already archived are not written again, only deleted.
+     * - Archived reservations are dropped from the availability index, and emptied partitions are dropped
+     *   when partitioning is enabled.
+     *
+     * @return The number of reservations archived.
+     * @throws IOException If an archive file cannot be written; the reservations of that month stay in the table.
+     */
+    @Override
+    public long archiveCompletedReservations() throws IOException {
+        runLock.lock();
+        try {
+            if (!schedulerLeaseService.tryAcquire(LEASE, leaseDuration)) {
+                LOGGER.info("Another instance holds the {} lease, not archiving", LEASE);
+                return 0;
+            }
+            try {
+                YearMonth firstKept = YearMonth.from(Instant.now().minus(horizon).atOffset(ZoneOffset.UTC));
+                Date oldest = carReservationRepository.findOldestReturnDate();
+                long archived = 0;
+                if (oldest != null) {
+                    for (YearMonth month = YearMonth.from(oldest.toInstant().atOffset(ZoneOffset.UTC));
+                         month.isBefore(firstKept); month = month.plusMonths(1)) {
+                        if (!schedulerLeaseService.tryAcquire(LEASE, leaseDuration)) {
+                            LOGGER.warn("Lost the {} lease, stopping before {}", LEASE, month);
+                            return archived;
+                        }
+                        archived += archiveMonth(month);
+                    }
+                }
+                if (reservationPartitionMaintainer != null) {
+                    reservationPartitionMaintainer.dropArchivedPartitions(firstKept);
+                }
+                return archived;
+            } finally {
+                schedulerLeaseService.release(LEASE);
+            }
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    /**
+     * Archives and deletes the reservations returned in one month.
+     *
+     * @param month The month of the return dates (UTC).
+     * @return The number of reservations written to the archive.
+     * @throws IOException If the archive file cannot be written.
+     */
+    private long archiveMonth(YearMonth month) throws IOException {
+        long start = System.nanoTime();
+        Date from = Date.from(month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant());
+        Date to = Date.from(month.plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant());
+        ReservationArchiveSegmentWriter writer = new ReservationArchiveSegmentWriter();
+        List<ArchivedReservation> alreadyArchived = new ArrayList<>();
+        long afterId = 0;
+        List<ArchivedReservation> page;
+        do {
+            page = carReservationRepository.findArchivePage(from, to, afterId, Limit.of(chunkSize));
+            for (ArchivedReservation reservation : page) {
+                if (reservationArchive.contains(reservation.reservationId(), reservation.returnDate().getTime())) {
+                    alreadyArchived.add(reservation);
+                } else {
+                    writer.add(reservation);
+                }
+            }
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).reservationId();
+            }
+        } while (page.size() == chunkSize);
+        if (writer.size() == 0 && alreadyArchived.isEmpty()) {
+            return 0;
+        }
+        if (writer.size() > 0) {
+            reservationArchive.append(month, writer);
+        }
+
+        List<Long> reservationIds = new ArrayList<>(writer.size() + alreadyArchived.size());
+        List<Long> carIds = new ArrayList<>(writer.size() + alreadyArchived.size());
+        for (int i = 0; i < writer.size(); i++) {
+            reservationIds.add(writer.reservationId(i));
+            carIds.add(writer.carId(i));
+        }
+        for (ArchivedReservation reservation : alreadyArchived) {
+            reservationIds.add(reservation.reservationId());
+            carIds.add(reservation.carId());
+        }
+        for (int chunkStart = 0; chunkStart < reservationIds.size(); chunkStart += chunkSize) {
+            List<Long> chunk = reservationIds.subList(chunkStart, Math.min(chunkStart + chunkSize, reservationIds.size()));
+            transactionTemplate.executeWithoutResult(status -> carReservationRepository.deleteArchived(chunk, from, to));
+        }
+        for (int i = 0; i < reservationIds.size(); i++) {
+            carAvailabilityService.onReservationArchived(reservationIds.get(i), carIds.get(i));
+        }
+        LOGGER.info("Archived {} reservations returned in {} ({} archived by an earlier run) in {} ms", writer.size(), month,
+                alreadyArchived.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return writer.size();
+    }
+}
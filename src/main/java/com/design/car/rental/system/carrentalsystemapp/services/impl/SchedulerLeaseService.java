@@ -0,0 +1,26 @@
+package com.design.car.rental.system.carrentalsystemapp.services.impl;
+
+import java.time.Duration;
+
+public interface SchedulerLeaseService {
+
+    /**
+     * Takes or extends the database lease on a scheduled job for this application instance.
+     * - A lease held by another instance is only taken over once it has expired, so a job whose instance died
+     *   is picked up again after at most one lease duration.
+     * - Expiry is compared with the clock of the instance, so the duration has to exceed the clock skew between
+     *   instances by a wide margin.
+     *
+     * @param name     The name of the job.
+     * @param duration How long the lease is held without being extended.
+     * @return True if this instance holds the lease until now + duration, false if another instance holds it.
+     */
+    boolean tryAcquire(String name, Duration duration);
+
+    /**
+     * Gives up the lease on a job if this instance holds it, so another instance can take it right away.
+     *
+     * @param name The name of the job.
+     */
+    void release(String name);
+}
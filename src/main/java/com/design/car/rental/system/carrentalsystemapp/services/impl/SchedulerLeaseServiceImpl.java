@@ -0,0 +1,58 @@
+package com.design.car.rental.system.carrentalsystemapp.services.impl;
+
+import com.design.car.rental.system.carrentalsystemapp.repository.SchedulerLeaseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.UUID;
+
+@Service
+public class SchedulerLeaseServiceImpl implements SchedulerLeaseService {
+
+    // Unique per process, so a restarted instance does not inherit the leases of its previous run.
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+
+    @Autowired
+    private SchedulerLeaseRepository schedulerLeaseRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Takes or extends the database lease on a scheduled job for this application instance.
+     * - Extends a lease this instance holds, or takes over an expired one, with one conditional update.
+     * - The first instance to ask for a job creates its row; an instance losing that race sees the primary key
+     *   violation and does not get the lease.
+     *
+     * @param name     The name of the job.
+     * @param duration How long the lease is held without being extended.
+     * @return True if this instance holds the lease until now + duration, false if another instance holds it.
+     */
+    @Override
+    public boolean tryAcquire(String name, Duration duration) {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + duration.toMillis();
+        Integer renewed = transactionTemplate.execute(status -> schedulerLeaseRepository.renewLease(name, owner, expiresAt, now));
+        if (renewed != null && renewed > 0) {
+            return true;
+        }
+        if (schedulerLeaseRepository.existsById(name)) {
+            return false;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> schedulerLeaseRepository.insertLease(name, owner, expiresAt));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void release(String name) {
+        transactionTemplate.executeWithoutResult(status -> schedulerLeaseRepository.releaseLease(name, owner));
+    }
+}
@@ -1,11 +1,19 @@
 package com.design.car.rental.system.carrentalsystemapp.services.impl;
 
 
+import com.design.car.rental.system.carrentalsystemapp.dtos.UserChangeDto;
+import com.design.car.rental.system.carrentalsystemapp.dtos.UserImportResponseDto;
+import com.design.car.rental.system.carrentalsystemapp.dtos.UserImportRow;
+import com.design.car.rental.system.carrentalsystemapp.dtos.UserResponseDto;
 import com.design.car.rental.system.carrentalsystemapp.exceptions.UserNotFoundException;
+import com.design.car.rental.system.carrentalsystemapp.index.UserSearchResult;
 import com.design.car.rental.system.carrentalsystemapp.models.Address;
 import com.design.car.rental.system.carrentalsystemapp.models.UserDetails;
 
+import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 
 public interface UserService {
@@ -27,12 +35,15 @@ public interface UserService {
     UserDetails addUser(String name, String phone, String email, Address address, String licenseNo, int userTypeId);
 
     /**
-     * Retrieves a list of active users based on their user type.
+     * Imports many users at once.
+     * - Validates every row and reports invalid rows without aborting the import.
+     * - Inserts valid users and their addresses in JDBC batches, one transaction per chunk of rows.
+     * - If a chunk fails in the database, its rows are retried one by one so only the offending rows fail.
      *
-     * @param userTypeId The ID representing the user type to filter by.
-     * @return A list of UserDetails objects for users with the specified type and active status.
+     * @param rows The rows to import, read lazily so the input is never held in memory at once.
+     * @return The import summary with the number of imported rows and the per-row errors.
      */
-    List<UserDetails> getUserDetailsByUserType(int userTypeId);
+    UserImportResponseDto importUsers(Iterator<UserImportRow> rows);
 
     /**
      * Retrieves the details of a specific active user by their user ID.
@@ -44,16 +55,71 @@ public interface UserService {
     UserDetails getUserDetailsByUserId(long userId) throws UserNotFoundException;
 
     /**
-     * Retrieves a list of all active users in the system.
+     * Retrieves one page of active users ordered by ID, starting after the given cursor.
+     *
+     * @param afterId The ID of the last user of the previous page (0 for the first page).
+     * @param limit   The maximum number of users to return.
+     * @return A list of at most limit users with IDs greater than afterId, projected straight into the response shape.
+     */
+    List<UserResponseDto> getActiveUserDetailsPage(long afterId, int limit);
+
+    /**
+     * Retrieves one page of active users of a user type ordered by ID, starting after the given cursor.
+     *
+     * @param userTypeId The ID representing the user type to filter by.
+     * @param afterId    The ID of the last user of the previous page (0 for the first page).
+     * @param limit      The maximum number of users to return.
+     * @return A list of at most limit users with IDs greater than afterId, projected straight into the response shape.
+     */
+    List<UserResponseDto> getUserDetailsPageByUserType(int userTypeId, long afterId, int limit);
+
+    /**
+     * Streams every active user, ordered by ID, to the given consumer one row at a time.
+     * - Rows are projected straight into the response shape, so nothing accumulates in the persistence context.
+     *
+     * @param consumer The consumer receiving each active user.
+     */
+    void forEachActiveUserDetails(Consumer<UserResponseDto> consumer);
+
+    /**
+     * Streams every active user of a user type, ordered by ID, to the given consumer one row at a time.
      *
-     * @return A list of UserDetails objects representing all active users.
+     * @param userTypeId The ID representing the user type to filter by.
+     * @param consumer   The consumer receiving each active user.
+     */
+    void forEachUserDetailsByUserType(int userTypeId, Consumer<UserResponseDto> consumer);
+
+    /**
+     * Retrieves the users written after a (updOn, id) cursor, including soft-deleted ones, in cursor order.
+     *
+     * @param sinceUpdOn The updOn of the cursor; only later writes (or equal ones with a greater ID) are returned.
+     * @param afterId    The user ID of the cursor (0 to start at sinceUpdOn).
+     * @param limit      The maximum number of changes to return.
+     * @return A list of at most limit changes.
+     */
+    List<UserChangeDto> getUserChangesSince(Date sinceUpdOn, long afterId, int limit);
+
+    /**
+     * Searches active users by partial name, email, phone or license number.
+     * - Terms of one or two characters match the start of a word, longer terms match anywhere inside one.
+     * - Every term must match; exact word matches rank first, then prefix matches, then infix matches.
+     *
+     * @param query  The free-text query.
+     * @param offset The number of ranked matches to skip.
+     * @param limit  The maximum number of matches to return.
+     * @return The match count and the requested page of matches, best first.
+     */
+    UserSearchResult searchUsers(String query, int offset, int limit);
+
+    /**
+     * Rebuilds the in-memory user search index from the database.
      */
-    List<UserDetails> getAllActiveUserDetails();
+    void reloadUserSearchIndex();
 
     /**
      * Updates the details of an existing active user.
      * - Ensures the user exists and is active before updating.
-     * - Updates the user's information with the provided details while retaining their ID and active status.
+     * - Updates the user's information with the provided details while retaining their ID, active status and creation time.
      *
      * @param id         The ID of the user to update.
      * @param name       The updated name of the user.
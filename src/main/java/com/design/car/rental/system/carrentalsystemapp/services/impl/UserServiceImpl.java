@@ -1,15 +1,41 @@
 package com.design.car.rental.system.carrentalsystemapp.services.impl;
 
+import com.design.car.rental.system.carrentalsystemapp.dtos.UserChangeDto;
+import com.design.car.rental.system.carrentalsystemapp.dtos.UserImportErrorDto;
+import com.design.car.rental.system.carrentalsystemapp.dtos.UserImportResponseDto;
+import com.design.car.rental.system.carrentalsystemapp.dtos.UserImportRow;
+import com.design.car.rental.system.carrentalsystemapp.dtos.UserRequestDto;
+import com.design.car.rental.system.carrentalsystemapp.dtos.UserResponseDto;
 import com.design.car.rental.system.carrentalsystemapp.enums.UserTypeEnum;
 import com.design.car.rental.system.carrentalsystemapp.exceptions.UserNotFoundException;
+import com.design.car.rental.system.carrentalsystemapp.index.IndexedUser;
+import com.design.car.rental.system.carrentalsystemapp.index.UserSearchIndex;
+import com.design.car.rental.system.carrentalsystemapp.index.UserSearchResult;
 import com.design.car.rental.system.carrentalsystemapp.models.Address;
 import com.design.car.rental.system.carrentalsystemapp.models.UserDetails;
 import com.design.car.rental.system.carrentalsystemapp.repository.AddressRepository;
 import com.design.car.rental.system.carrentalsystemapp.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class UserServiceImpl implements UserService {
@@ -20,17 +46,54 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private AddressRepository addressRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Value("${user.import.chunk-size:1000}")
+    private int importChunkSize;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}")
+    private int jdbcBatchSize;
+
+    @Value("${user.changes.settle-window:5s}")
+    private Duration changesSettleWindow;
+
+    @Value("${user.search.max-candidates:10000}")
+    private int searchMaxCandidates;
+
     private static final int ACTIVE = 1;
 
     private static final int IN_ACTIVE = 0;
 
+    static final String USERS_BY_ID_CACHE = "usersById";
+
     private static final String USER_DOES_NOT_EXIST_WITH_THIS_ID = "User doesn't exist with this id";
 
+    private static final String UNREADABLE_IMPORT_INPUT = "Input could not be read past this row: ";
+
+    /**
+     * Builds the user search index from the database at startup.
+     */
+    @PostConstruct
+    public void init() {
+        reloadUserSearchIndex();
+    }
+
     /**
      * Adds a new user to the system with the given details.
      * - Computes user details based on the input parameters.
      * - Saves the address to the database if provided.
      * - Sets the user as active and saves the user details in the database.
+     * - Caches the new user and adds the user to the search index.
      *
      * @param name       The name of the user.
      * @param phone      The phone number of the user.
@@ -46,20 +109,144 @@ public class UserServiceImpl implements UserService {
         if (address != null) {
             addressRepository.save(address);
         }
-        return userRepository.save(userDetails);
+        UserDetails savedDetails = userRepository.save(userDetails);
+        usersByIdCache().put(savedDetails.getId(), copyUserDetails(savedDetails));
+        userSearchIndex.putUser(computeIndexedUser(savedDetails));
+        return savedDetails;
 
     }
 
     /**
-     * Retrieves a list of active user details based on the user type.
+     * Imports many users at once.
+     * - Reads rows lazily and collects them into chunks of user.import.chunk-size valid rows.
+     * - Invalid rows are reported with their row number and never reach the database.
+     * - A read failure ends the import; rows already committed stay imported and the failure is reported.
+     * - Adds every committed chunk to the search index.
      *
-     * @param userTypeId The ID of the user type to filter by.
-     * @return A list of active UserDetails objects for the specified user type.
+     * @param rows The rows to import.
+     * @return The import summary with the number of imported rows and the per-row errors.
      */
     @Override
-    public List<UserDetails> getUserDetailsByUserType(int userTypeId) {
-        return userRepository.findByUserTypeAndActive(UserTypeEnum.computeUserType(userTypeId), ACTIVE);
+    public UserImportResponseDto importUsers(Iterator<UserImportRow> rows) {
+        UserImportResponseDto importResponseDto = new UserImportResponseDto();
+        List<UserImportRow> chunk = new ArrayList<>(importChunkSize);
+        try {
+            while (rows.hasNext()) {
+                UserImportRow row = rows.next();
+                importResponseDto.setTotalRows(importResponseDto.getTotalRows() + 1);
+                String error = row.getError() != null ? row.getError() : validateImportRow(row.getUserRequestDto());
+                if (error != null) {
+                    addImportError(importResponseDto, row.getRowNumber(), error);
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == importChunkSize) {
+                    importChunk(chunk, importResponseDto);
+                    chunk.clear();
+                }
+            }
+        } catch (UncheckedIOException e) {
+            addImportError(importResponseDto, importResponseDto.getTotalRows() + 1, UNREADABLE_IMPORT_INPUT + e.getMessage());
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, importResponseDto);
+        }
+        return importResponseDto;
+    }
+
+    /**
+     * Inserts one chunk of valid rows in a single transaction.
+     * - Falls back to one transaction per row when the chunk fails, so a single bad row
+     *   (e.g. a constraint violation) does not discard the rest of the chunk.
+     *
+     * @param chunk             The valid rows of the chunk.
+     * @param importResponseDto The import summary to update.
+     */
+    private void importChunk(List<UserImportRow> chunk, UserImportResponseDto importResponseDto) {
+        try {
+            transactionTemplate.execute(status -> persistImportRows(chunk)).forEach(userSearchIndex::putUser);
+            importResponseDto.setImportedCount(importResponseDto.getImportedCount() + chunk.size());
+        } catch (RuntimeException chunkFailure) {
+            entityManager.clear();
+            for (UserImportRow row : chunk) {
+                try {
+                    transactionTemplate.execute(status -> persistImportRows(List.of(row))).forEach(userSearchIndex::putUser);
+                    importResponseDto.setImportedCount(importResponseDto.getImportedCount() + 1);
+                } catch (RuntimeException rowFailure) {
+                    entityManager.clear();
+                    addImportError(importResponseDto, row.getRowNumber(), rowFailure.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Persists the users and addresses of the given rows, flushing every JDBC batch so
+     * Hibernate sends grouped inserts and the persistence context stays small.
+     *
+     * @param rows The rows to persist; must be called inside a transaction.
+     * @return The searchable fields of the persisted users, to be indexed once the transaction has committed.
+     */
+    private List<IndexedUser> persistImportRows(List<UserImportRow> rows) {
+        List<IndexedUser> persisted = new ArrayList<>(rows.size());
+        int pending = 0;
+        for (UserImportRow row : rows) {
+            UserRequestDto userRequestDto = row.getUserRequestDto();
+            Address address = userRequestDto.getAddress();
+            if (address != null) {
+                address.setId(0);
+                entityManager.persist(address);
+            }
+            UserDetails userDetails = prepareUserDetails(userRequestDto.getName(), userRequestDto.getPhone(), userRequestDto.getEmail(),
+                    address, userRequestDto.getLicenseNo(), userRequestDto.getUserTypeId(), ACTIVE);
+            entityManager.persist(userDetails);
+            persisted.add(computeIndexedUser(userDetails));
+            if (++pending == jdbcBatchSize) {
+                entityManager.flush();
+                entityManager.clear();
+                pending = 0;
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return persisted;
+    }
+
+    /**
+     * Validates one import row with the same rules as single user creation.
+     *
+     * @param userRequestDto The user details of the row.
+     * @return The validation error, or null if the row is valid.
+     */
+    private String validateImportRow(UserRequestDto userRequestDto) {
+        if (userRequestDto == null) {
+            return "Row is empty";
+        }
+        if (userRequestDto.getName() == null) {
+            return "name is required";
+        }
+        if (userRequestDto.getEmail() == null) {
+            return "email is required";
+        }
+        if (userRequestDto.getLicenseNo() == null) {
+            return "licenseNo is required";
+        }
+        if (UserTypeEnum.computeUserType(userRequestDto.getUserTypeId()) == null) {
+            return "userTypeId is not a valid user type: " + userRequestDto.getUserTypeId();
+        }
+        return null;
+    }
 
+    /**
+     * Records a failed row in the import summary.
+     *
+     * @param importResponseDto The import summary to update.
+     * @param rowNumber         The 1-based number of the failed row.
+     * @param message           The reason the row failed.
+     */
+    private void addImportError(UserImportResponseDto importResponseDto, int rowNumber, String message) {
+        importResponseDto.getErrors().add(new UserImportErrorDto(rowNumber, message));
+        importResponseDto.setFailedCount(importResponseDto.getFailedCount() + 1);
     }
 
     /**
@@ -70,35 +257,188 @@ public class UserServiceImpl implements UserService {
      * @throws UserNotFoundException If no active user exists with the given ID.
      */
     @Override
+    @Transactional(readOnly = true)
     public UserDetails getUserDetailsByUserId(long userId) throws UserNotFoundException {
         return getUserDetails(userId);
     }
 
     /**
      * Private helper method to retrieve user details by user ID, ensuring the user is active.
+     * - Reads through the usersById cache; misses are loaded from the database and cached.
+     * - The cache holds a private copy and every caller gets its own copy, so no caller can change
+     *   what other threads read.
+     * - Unknown or inactive users are not cached.
      *
      * @param userId The ID of the user to retrieve.
-     * @return The UserDetails object corresponding to the user ID.
+     * @return A detached copy of the UserDetails object corresponding to the user ID.
      * @throws UserNotFoundException If no active user exists with the given ID.
      */
     private UserDetails getUserDetails(long userId) throws UserNotFoundException {
-        return userRepository.findByIdAndActive(userId, ACTIVE).orElseThrow(() -> new UserNotFoundException(USER_DOES_NOT_EXIST_WITH_THIS_ID));
+        Cache usersByIdCache = usersByIdCache();
+        UserDetails cachedDetails = usersByIdCache.get(userId, UserDetails.class);
+        if (cachedDetails != null) {
+            return copyUserDetails(cachedDetails);
+        }
+        UserDetails userDetails = userRepository.findByIdAndActive(userId, ACTIVE).orElseThrow(() -> new UserNotFoundException(USER_DOES_NOT_EXIST_WITH_THIS_ID));
+        usersByIdCache.put(userId, copyUserDetails(userDetails));
+        return userDetails;
     }
 
     /**
-     * Retrieves all active user details from the system.
+     * Copies a user for the usersById cache.
+     * - A loaded address is copied too; an address proxy that was never loaded holds no state and is shared.
      *
-     * @return A list of active UserDetails objects.
+     * @param userDetails The user to copy.
+     * @return A new UserDetails object with the same fields.
+     */
+    private static UserDetails copyUserDetails(UserDetails userDetails) {
+        UserDetails copy = new UserDetails();
+        copy.setId(userDetails.getId());
+        copy.setName(userDetails.getName());
+        copy.setPhone(userDetails.getPhone());
+        copy.setEmail(userDetails.getEmail());
+        copy.setAddress(copyAddress(userDetails.getAddress()));
+        copy.setLicenseNo(userDetails.getLicenseNo());
+        copy.setUserType(userDetails.getUserType());
+        copy.setCron(userDetails.getCron() == null ? null : new Date(userDetails.getCron().getTime()));
+        copy.setUpdOn(userDetails.getUpdOn() == null ? null : new Date(userDetails.getUpdOn().getTime()));
+        copy.setActive(userDetails.getActive());
+        return copy;
+    }
+
+    /**
+     * @param address The address to copy (can be null or an unloaded proxy).
+     * @return A copy of a loaded address, or the given reference otherwise.
+     */
+    private static Address copyAddress(Address address) {
+        if (address == null || !Hibernate.isInitialized(address)) {
+            return address;
+        }
+        Address copy = new Address();
+        copy.setId(address.getId());
+        copy.setStreet(address.getStreet());
+        copy.setCity(address.getCity());
+        copy.setState(address.getState());
+        copy.setZip(address.getZip());
+        return copy;
+    }
+
+    /**
+     * @return The cache of active users keyed by user ID.
+     */
+    private Cache usersByIdCache() {
+        return cacheManager.getCache(USERS_BY_ID_CACHE);
+    }
+
+    /**
+     * Retrieves one page of active users ordered by ID using the ID as a keyset cursor.
+     * - Users and addresses are read with a single joined projection query.
+     *
+     * @param afterId The ID of the last user of the previous page (0 for the first page).
+     * @param limit   The maximum number of users to return.
+     * @return A list of at most limit active users in the response shape.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserResponseDto> getActiveUserDetailsPage(long afterId, int limit) {
+        return userRepository.findResponsePageByActive(ACTIVE, afterId, Limit.of(limit));
+    }
+
+    /**
+     * Retrieves one page of active users of a user type ordered by ID using the ID as a keyset cursor.
+     * - Users and addresses are read with a single joined projection query over the (userType, activeRecord, id) index;
+     *   pages are not cached, since every cursor position would be a separate entry.
+     *
+     * @param userTypeId The ID of the user type to filter by.
+     * @param afterId    The ID of the last user of the previous page (0 for the first page).
+     * @param limit      The maximum number of users to return.
+     * @return A list of at most limit active users in the response shape.
      */
     @Override
-    public List<UserDetails> getAllActiveUserDetails() {
-        return userRepository.findAllByActive(ACTIVE);
+    @Transactional(readOnly = true)
+    public List<UserResponseDto> getUserDetailsPageByUserType(int userTypeId, long afterId, int limit) {
+        return userRepository.findResponsePageByUserTypeAndActive(
+                UserTypeEnum.computeUserType(userTypeId), ACTIVE, afterId, Limit.of(limit));
+    }
+
+    /**
+     * Streams every active user to the consumer inside a read-only transaction.
+     *
+     * @param consumer The consumer receiving each active user.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachActiveUserDetails(Consumer<UserResponseDto> consumer) {
+        try (Stream<UserResponseDto> userResponseStream = userRepository.streamResponsesByActive(ACTIVE)) {
+            userResponseStream.forEach(consumer);
+        }
+    }
+
+    /**
+     * Streams every active user of a user type to the consumer inside a read-only transaction.
+     *
+     * @param userTypeId The ID of the user type to filter by.
+     * @param consumer   The consumer receiving each active user.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachUserDetailsByUserType(int userTypeId, Consumer<UserResponseDto> consumer) {
+        try (Stream<UserResponseDto> userResponseStream = userRepository.streamResponsesByUserTypeAndActive(
+                UserTypeEnum.computeUserType(userTypeId), ACTIVE)) {
+            userResponseStream.forEach(consumer);
+        }
+    }
+
+    /**
+     * Retrieves the users written after a (updOn, id) cursor, including soft-deleted ones, in cursor order.
+     * - Served by the (updOn, id) index, so the cost depends on the number of changes, not on the table size.
+     * - Writes younger than user.changes.settle-window are held back: a transaction that stamped an older
+     *   updOn may still be committing, and returning newer rows first would let the cursor skip past it.
+     *
+     * @param sinceUpdOn The updOn of the cursor; only later writes (or equal ones with a greater ID) are returned.
+     * @param afterId    The user ID of the cursor (0 to start at sinceUpdOn).
+     * @param limit      The maximum number of changes to return.
+     * @return A list of at most limit changes.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserChangeDto> getUserChangesSince(Date sinceUpdOn, long afterId, int limit) {
+        Date until = new Date(System.currentTimeMillis() - changesSettleWindow.toMillis());
+        return userRepository.findChangesAfter(sinceUpdOn, afterId, until, Limit.of(limit));
+    }
+
+    /**
+     * Searches active users by partial name, email, phone or license number through the in-memory n-gram index.
+     *
+     * @param query  The free-text query; every term must match.
+     * @param offset The number of ranked matches to skip.
+     * @param limit  The maximum number of matches to return.
+     * @return The match count and the requested page of matches, best first.
+     */
+    @Override
+    public UserSearchResult searchUsers(String query, int offset, int limit) {
+        return userSearchIndex.search(query, offset, limit, searchMaxCandidates);
+    }
+
+    /**
+     * Rebuilds the user search index by streaming every active user from the database.
+     */
+    @Override
+    public void reloadUserSearchIndex() {
+        userSearchIndex.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<IndexedUser> indexedUsers = userRepository.streamIndexedUsersByActive(ACTIVE)) {
+                indexedUsers.forEach(userSearchIndex::putUser);
+            }
+        });
     }
 
     /**
      * Updates user details for a given user ID with the new provided details.
      * - Ensures the user exists and is active before updating.
-     * - Retains the active status and user ID during the update.
+     * - Retains the active status, user ID and creation time during the update.
+     * - Saves the new address first, like addUser, since the address is not cascaded.
+     * - Refreshes the cached user, with its address loaded, and its search index entry.
      *
      * @param id         The ID of the user to update.
      * @param name       The updated name.
@@ -118,25 +458,53 @@ public class UserServiceImpl implements UserService {
         }
         UserDetails updatedDetails = prepareUserDetails(name, phone, email, address, licenseNo, userTypeId, ACTIVE);
         updatedDetails.setId(userDetails.getId());
-        return userRepository.save(updatedDetails);
+        updatedDetails.setCron(userDetails.getCron());
+        if (address != null) {
+            addressRepository.save(address);
+        }
+        usersByIdCache().evict(id);
+        UserDetails savedDetails = userRepository.save(updatedDetails);
+        // The merged copy references the address as an unloaded proxy; keep the loaded one for the cache and the caller.
+        savedDetails.setAddress(address);
+        usersByIdCache().put(id, copyUserDetails(savedDetails));
+        userSearchIndex.putUser(computeIndexedUser(savedDetails));
+        return savedDetails;
 
     }
 
     /**
      * Marks a user as inactive (soft delete) based on their ID.
+     * - Stamps updOn so delta-sync clients see the deletion.
+     * - Writes to a freshly loaded user, never to the cached copy.
+     * - Evicts the user and removes the user from the search index.
      *
      * @param id The ID of the user to delete.
      * @throws UserNotFoundException If no active user exists with the given ID.
      */
     @Override
     public void deleteUserDetails(long id) throws UserNotFoundException {
-        UserDetails userDetails = getUserDetails(id);
+        UserDetails userDetails = userRepository.findByIdAndActive(id, ACTIVE)
+                .orElseThrow(() -> new UserNotFoundException(USER_DOES_NOT_EXIST_WITH_THIS_ID));
+        usersByIdCache().evict(id);
         userDetails.setActive(IN_ACTIVE);
+        userDetails.setUpdOn(new Date());
         userRepository.save(userDetails);
+        userSearchIndex.removeUser(id);
+    }
+
+    /**
+     * Extracts the searchable fields of a user.
+     *
+     * @param userDetails The user; must have its ID assigned.
+     * @return The searchable fields of the user.
+     */
+    private IndexedUser computeIndexedUser(UserDetails userDetails) {
+        return new IndexedUser(userDetails.getId(), userDetails.getName(), userDetails.getEmail(), userDetails.getPhone(),
+                userDetails.getLicenseNo(), userDetails.getUserType());
     }
 
     /**
-     * Prepares a UserDetails object for saving or updating.
+     * Prepares a UserDetails object for saving or updating, stamped as created and written now.
      *
      * @param name       The name of the user.
      * @param phone      The phone number of the user.
@@ -156,6 +524,9 @@ public class UserServiceImpl implements UserService {
         userDetails.setLicenseNo(licenseNo);
         userDetails.setUserType(UserTypeEnum.computeUserType(userTypeId));
         userDetails.setActive(isActive);
+        Date now = new Date();
+        userDetails.setCron(now);
+        userDetails.setUpdOn(now);
         return userDetails;
     }
 }
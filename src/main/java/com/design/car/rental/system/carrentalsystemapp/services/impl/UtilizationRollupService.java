@@ -0,0 +1,46 @@
+package com.design.car.rental.system.carrentalsystemapp.services.impl;
+
+import com.design.car.rental.system.carrentalsystemapp.dtos.UtilizationBackfillDto;
+import com.design.car.rental.system.carrentalsystemapp.dtos.UtilizationResponseDto;
+import com.design.car.rental.system.carrentalsystemapp.enums.RollupDimension;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.UtilizationBackfillInProgressException;
+
+import java.time.LocalDate;
+
+public interface UtilizationRollupService {
+
+    /**
+     * Schedules the utilization rollups to catch up with a created, modified or cancelled reservation.
+     * - Must be called after the change has committed.
+     * - Returns at once; the rollups are updated shortly after by a background worker.
+     *
+     * @param reservationId The ID of the reservation.
+     */
+    void onReservationChanged(long reservationId);
+
+    /**
+     * Retrieves the daily utilization of the fleet grouped by car, category or rental location.
+     * - Idle time and the utilization share are measured against the current number of cars under each key.
+     * - Grouped by category or location, every key with cars gets a bucket for every day, booked or not;
+     *   grouped by car, only days with bookings are listed.
+     *
+     * @param groupBy The dimension to group by.
+     * @param from    The first day (inclusive, UTC).
+     * @param to      The last day (exclusive, UTC).
+     * @return The buckets ordered by day, then by dimension key.
+     */
+    UtilizationResponseDto getUtilization(RollupDimension groupBy, LocalDate from, LocalDate to);
+
+    /**
+     * Recomputes the rollups of a range of days from the reservation history.
+     * - Reservations are streamed in chunks of analytics.backfill.chunk-size, and the buckets are
+     *   rebuilt analytics.backfill.slice-days at a time, so memory stays bounded whatever the range.
+     * - Live updates wait until the backfill has finished.
+     *
+     * @param from The first day (inclusive, UTC).
+     * @param to   The last day (exclusive, UTC).
+     * @return A summary of the backfill.
+     * @throws UtilizationBackfillInProgressException If another backfill has not finished yet.
+     */
+    UtilizationBackfillDto backfill(LocalDate from, LocalDate to) throws UtilizationBackfillInProgressException;
+}
@@ -0,0 +1,553 @@
+package com.design.car.rental.system.carrentalsystemapp.services.impl;
+
+import com.design.car.rental.system.carrentalsystemapp.analytics.FleetSize;
+import com.design.car.rental.system.carrentalsystemapp.analytics.ReservationAttribution;
+import com.design.car.rental.system.carrentalsystemapp.analytics.RollupKey;
+import com.design.car.rental.system.carrentalsystemapp.analytics.UtilizationDeltas;
+import com.design.car.rental.system.carrentalsystemapp.dtos.UtilizationBackfillDto;
+import com.design.car.rental.system.carrentalsystemapp.dtos.UtilizationBucketDto;
+import com.design.car.rental.system.carrentalsystemapp.dtos.UtilizationResponseDto;
+import com.design.car.rental.system.carrentalsystemapp.enums.RollupDimension;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.UtilizationBackfillInProgressException;
+import com.design.car.rental.system.carrentalsystemapp.models.UtilizationContribution;
+import com.design.car.rental.system.carrentalsystemapp.models.UtilizationRollup;
+import com.design.car.rental.system.carrentalsystemapp.pricing.FleetColumns;
+import com.design.car.rental.system.carrentalsystemapp.pricing.QuoteEngine;
+import com.design.car.rental.system.carrentalsystemapp.repository.CarDetailsRepository;
+import com.design.car.rental.system.carrentalsystemapp.repository.CarReservationRepository;
+import com.design.car.rental.system.carrentalsystemapp.repository.ReservationHistoryRepository;
+import com.design.car.rental.system.carrentalsystemapp.repository.UtilizationContributionRepository;
+import com.design.car.rental.system.carrentalsystemapp.repository.UtilizationRollupRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps per-day utilization rollups by car, category and rental location next to the reservation tables.
+ * - Booking paths only enqueue the ID of a changed reservation. A single background worker drains the queue in
+ *   batches, so analytics never adds a statement to a booking transaction.
+ * - For every reservation the worker compares its current state with the contribution recorded the last
+ *   time it was counted, and writes only the difference. A late change therefore touches just the buckets
+ *   of the old and the new window, and replaying a reservation that did not change writes nothing.
+ * - The deltas of a batch are merged per bucket before they are written.
+ * - If the queue is full the change is dropped and counted in analytics.rollup.dropped; a backfill of the
+ *   affected days repairs it.
+ */
+@Service
+public class UtilizationRollupServiceImpl implements UtilizationRollupService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UtilizationRollupServiceImpl.class);
+
+    @Autowired
+    private CarReservationRepository carReservationRepository;
+
+    @Autowired
+    private ReservationHistoryRepository reservationHistoryRepository;
+
+    @Autowired
+    private CarDetailsRepository carDetailsRepository;
+
+    @Autowired
+    private UtilizationRollupRepository utilizationRollupRepository;
+
+    @Autowired
+    private UtilizationContributionRepository utilizationContributionRepository;
+
+    @Autowired
+    private QuoteEngine quoteEngine;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${analytics.rollup.queue-capacity:100000}")
+    private int queueCapacity;
+
+    @Value("${analytics.rollup.batch-size:500}")
+    private int batchSize;
+
+    @Value("${analytics.rollup.linger:1s}")
+    private Duration linger;
+
+    @Value("${analytics.backfill.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${analytics.backfill.slice-days:7}")
+    private int sliceDays;
+
+    private static final int ACTIVE = 1;
+
+    private static final int MAX_APPLY_ATTEMPTS = 3;
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private static final double MILLIS_PER_HOUR = TimeUnit.HOURS.toMillis(1);
+
+    private static final double HOURS_PER_DAY = 24;
+
+    private static final Comparator<RollupKey> BY_DAY_AND_KEY = Comparator.comparing(RollupKey::day)
+            .thenComparingLong(RollupKey::dimensionKey);
+
+    // Held by the worker while it applies a batch and by a backfill for its whole run.
+    private final Lock applyLock = new ReentrantLock();
+
+    private final Lock backfillLock = new ReentrantLock();
+
+    private BlockingQueue<Long> queue;
+
+    private Counter droppedChanges;
+
+    private Thread worker;
+
+    private volatile boolean running;
+
+    /**
+     * Creates the queue, registers the rollup metrics and starts the worker.
+     */
+    @PostConstruct
+    public void start() {
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+        Gauge.builder("analytics.rollup.queue.depth", queue, BlockingQueue::size)
+                .description("Reservation changes waiting to be applied to the utilization rollups")
+                .register(meterRegistry);
+        droppedChanges = Counter.builder("analytics.rollup.dropped")
+                .description("Reservation changes that were not applied to the utilization rollups")
+                .register(meterRegistry);
+        running = true;
+        worker = new Thread(this::runWorker, "utilization-rollup-worker");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Stops the worker once the changes already queued have been applied.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.join();
+    }
+
+    /**
+     * Queues a reservation for the next rollup batch; never blocks the caller.
+     *
+     * @param reservationId The ID of the reservation.
+     */
+    @Override
+    public void onReservationChanged(long reservationId) {
+        if (!running || !queue.offer(reservationId)) {
+            droppedChanges.increment();
+        }
+    }
+
+    /**
+     * Retrieves the daily utilization of the fleet grouped by car, category or rental location.
+     * - The rollup rows are read in one query; read-only, so it can be served by a replica.
+     * - Fleet sizes come from the in-memory fleet for categories and from one grouped query for locations.
+     *
+     * @param groupBy The dimension to group by.
+     * @param from    The first day (inclusive, UTC).
+     * @param to      The last day (exclusive, UTC).
+     * @return The buckets ordered by day, then by dimension key.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public UtilizationResponseDto getUtilization(RollupDimension groupBy, LocalDate from, LocalDate to) {
+        Map<Long, Long> fleetSizes = computeFleetSizes(groupBy);
+        Map<RollupKey, UtilizationRollup> rollups = new TreeMap<>(BY_DAY_AND_KEY);
+        if (groupBy != RollupDimension.CAR) {
+            for (LocalDate day = from; day.isBefore(to); day = day.plusDays(1)) {
+                for (long dimensionKey : fleetSizes.keySet()) {
+                    rollups.put(new RollupKey(day, groupBy, dimensionKey), null);
+                }
+            }
+        }
+        for (UtilizationRollup rollup : utilizationRollupRepository.findRollups(groupBy, from, to)) {
+            rollups.put(new RollupKey(rollup.getBucketDay(), groupBy, rollup.getDimensionKey()), rollup);
+        }
+
+        List<UtilizationBucketDto> buckets = new ArrayList<>(rollups.size());
+        rollups.forEach((key, rollup) -> buckets.add(computeUtilizationBucket(key,
+                groupBy == RollupDimension.CAR ? 1 : fleetSizes.getOrDefault(key.dimensionKey(), 0L), rollup)));
+        UtilizationResponseDto responseDto = new UtilizationResponseDto();
+        responseDto.setGroupBy(groupBy);
+        responseDto.setFrom(from);
+        responseDto.setTo(to);
+        responseDto.setBuckets(buckets);
+        return responseDto;
+    }
+
+    /**
+     * Recomputes the rollups of a range of days from the reservation history.
+     * - The range is rebuilt one slice of days at a time. The reservations overlapping a slice are read
+     *   in ID order, one chunk per query, and clipped to the slice; the slice's buckets are then replaced
+     *   in one transaction, so readers see either the old or the rebuilt slice.
+     * - The contribution of every reservation read is rewritten, so later changes are applied against it.
+     * - Archived reservations are read from the archive, so backfilling old days keeps them counted.
+     *
+     * @param from The first day (inclusive, UTC).
+     * @param to   The last day (exclusive, UTC).
+     * @return A summary of the backfill.
+     * @throws UtilizationBackfillInProgressException If another backfill has not finished yet.
+     */
+    @Override
+    public UtilizationBackfillDto backfill(LocalDate from, LocalDate to) throws UtilizationBackfillInProgressException {
+        if (!backfillLock.tryLock()) {
+            throw new UtilizationBackfillInProgressException("A utilization backfill is already in progress");
+        }
+        applyLock.lock();
+        try {
+            long startedAt = System.nanoTime();
+            UtilizationBackfillDto backfillDto = new UtilizationBackfillDto();
+            backfillDto.setFrom(from);
+            backfillDto.setTo(to);
+            for (LocalDate sliceFrom = from; sliceFrom.isBefore(to); sliceFrom = sliceFrom.plusDays(sliceDays)) {
+                LocalDate sliceTo = sliceFrom.plusDays(sliceDays).isAfter(to) ? to : sliceFrom.plusDays(sliceDays);
+                backfillSlice(sliceFrom, sliceTo, backfillDto);
+            }
+            backfillDto.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+            LOGGER.info("Backfilled utilization from {} to {}: {} reservations in {} chunks, {} buckets, {} ms",
+                    from, to, backfillDto.getReservations(), backfillDto.getChunks(), backfillDto.getBuckets(),
+                    backfillDto.getElapsedMillis());
+            return backfillDto;
+        } finally {
+            applyLock.unlock();
+            backfillLock.unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the buckets of one slice of days.
+     *
+     * @param sliceFrom   The first day of the slice (inclusive).
+     * @param sliceTo     The last day of the slice (exclusive).
+     * @param backfillDto The summary to add the slice's counts to.
+     */
+    private void backfillSlice(LocalDate sliceFrom, LocalDate sliceTo, UtilizationBackfillDto backfillDto) {
+        long clipFrom = startOfDay(sliceFrom);
+        long clipTo = startOfDay(sliceTo);
+        UtilizationDeltas deltas = new UtilizationDeltas(quoteEngine.pricingTables());
+        long afterId = 0;
+        while (true) {
+            long lastId = afterId;
+            List<ReservationAttribution> chunk = transactionTemplate.execute(status -> {
+                List<ReservationAttribution> attributions = reservationHistoryRepository.findAttributionPage(
+                        new Date(clipFrom), new Date(clipTo), lastId, Limit.of(chunkSize));
+                Map<Long, UtilizationContribution> contributions = findContributions(attributions.stream()
+                        .map(ReservationAttribution::reservationId).toList());
+                List<UtilizationContribution> changed = new ArrayList<>();
+                List<UtilizationContribution> removed = new ArrayList<>();
+                for (ReservationAttribution attribution : attributions) {
+                    UtilizationContribution contribution = contributions.get(attribution.reservationId());
+                    if (!isCounted(attribution)) {
+                        if (contribution != null) {
+                            removed.add(contribution);
+                        }
+                        continue;
+                    }
+                    contribution = computeContribution(attribution, contribution);
+                    addContribution(deltas, contribution, clipFrom, clipTo, 1);
+                    changed.add(contribution);
+                }
+                utilizationContributionRepository.saveAll(changed);
+                utilizationContributionRepository.deleteAll(removed);
+                return attributions;
+            });
+            if (!chunk.isEmpty()) {
+                backfillDto.setChunks(backfillDto.getChunks() + 1);
+                backfillDto.setReservations(backfillDto.getReservations() + chunk.size());
+                afterId = chunk.get(chunk.size() - 1).reservationId();
+            }
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+        }
+        long buckets = transactionTemplate.execute(status -> {
+            utilizationRollupRepository.deleteRollups(sliceFrom, sliceTo);
+            return writeDeltas(deltas);
+        });
+        backfillDto.setBuckets(backfillDto.getBuckets() + buckets);
+    }
+
+    /**
+     * Takes batches of changed reservations from the queue and applies them until stopped and the queue is empty.
+     * A batch is closed when it is full or when the linger time after its first change has passed.
+     */
+    private void runWorker() {
+        Set<Long> batch = new LinkedHashSet<>();
+        List<Long> drained = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Long first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + linger.toNanos();
+                while (batch.size() < batchSize) {
+                    queue.drainTo(drained, batchSize - batch.size());
+                    batch.addAll(drained);
+                    drained.clear();
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    Long next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                applyBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Applies a batch of changed reservations in one transaction, retrying when another application
+     * instance updated one of the same buckets concurrently.
+     *
+     * @param reservationIds The IDs of the changed reservations.
+     */
+    private void applyBatch(Collection<Long> reservationIds) {
+        applyLock.lock();
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> applyChanges(reservationIds));
+                    return;
+                } catch (RuntimeException e) {
+                    if (attempt == MAX_APPLY_ATTEMPTS) {
+                        LOGGER.error("Dropping {} reservation changes after {} attempts to update the utilization rollups",
+                                reservationIds.size(), attempt, e);
+                        droppedChanges.increment(reservationIds.size());
+                        return;
+                    }
+                }
+            }
+        } finally {
+            applyLock.unlock();
+        }
+    }
+
+    /**
+     * Brings the rollups in line with the current state of some reservations.
+     * - A reservation whose recorded contribution still matches is skipped.
+     * - Otherwise the recorded contribution is subtracted and the current one, if it is still active, added.
+     *
+     * @param reservationIds The IDs of the changed reservations; must be called inside a transaction.
+     */
+    private void applyChanges(Collection<Long> reservationIds) {
+        Map<Long, ReservationAttribution> attributions = new HashMap<>();
+        carReservationRepository.findAttributionsByIds(reservationIds)
+                .forEach(attribution -> attributions.put(attribution.reservationId(), attribution));
+        Map<Long, UtilizationContribution> contributions = findContributions(reservationIds);
+
+        UtilizationDeltas deltas = new UtilizationDeltas(quoteEngine.pricingTables());
+        List<UtilizationContribution> changed = new ArrayList<>();
+        List<UtilizationContribution> removed = new ArrayList<>();
+        for (long reservationId : reservationIds) {
+            ReservationAttribution attribution = attributions.get(reservationId);
+            UtilizationContribution contribution = contributions.get(reservationId);
+            boolean counted = attribution != null && isCounted(attribution);
+            if (contribution != null && counted && matches(contribution, attribution)) {
+                continue;
+            }
+            if (contribution != null) {
+                addContribution(deltas, contribution, Long.MIN_VALUE, Long.MAX_VALUE, -1);
+            }
+            if (counted) {
+                contribution = computeContribution(attribution, contribution);
+                addContribution(deltas, contribution, Long.MIN_VALUE, Long.MAX_VALUE, 1);
+                changed.add(contribution);
+            } else if (contribution != null) {
+                removed.add(contribution);
+            }
+        }
+        utilizationContributionRepository.saveAll(changed);
+        utilizationContributionRepository.deleteAll(removed);
+        writeDeltas(deltas);
+    }
+
+    /**
+     * Adds merged deltas to the stored buckets.
+     * - The buckets are loaded with one query; new ones are inserted and those left without reservations deleted.
+     *
+     * @param deltas The merged deltas; must be called inside a transaction.
+     * @return The number of buckets inserted or updated.
+     */
+    private long writeDeltas(UtilizationDeltas deltas) {
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        LocalDate firstDay = LocalDate.MAX;
+        LocalDate lastDay = LocalDate.MIN;
+        Set<Long> dimensionKeys = new HashSet<>();
+        for (RollupKey key : deltas.totals().keySet()) {
+            firstDay = key.day().isBefore(firstDay) ? key.day() : firstDay;
+            lastDay = key.day().isAfter(lastDay) ? key.day() : lastDay;
+            dimensionKeys.add(key.dimensionKey());
+        }
+        Map<RollupKey, UtilizationRollup> rollups = new HashMap<>();
+        for (UtilizationRollup rollup : utilizationRollupRepository.findCandidateRollups(firstDay, lastDay, dimensionKeys)) {
+            rollups.put(new RollupKey(rollup.getBucketDay(), rollup.getDimension(), rollup.getDimensionKey()), rollup);
+        }
+
+        List<UtilizationRollup> changed = new ArrayList<>();
+        List<UtilizationRollup> emptied = new ArrayList<>();
+        deltas.totals().forEach((key, totals) -> {
+            if (totals.isZero()) {
+                return;
+            }
+            UtilizationRollup rollup = rollups.get(key);
+            if (rollup == null) {
+                rollup = new UtilizationRollup();
+                rollup.setBucketDay(key.day());
+                rollup.setDimension(key.dimension());
+                rollup.setDimensionKey(key.dimensionKey());
+            }
+            rollup.setBookedMillis(rollup.getBookedMillis() + totals.bookedMillis());
+            rollup.setRevenueCents(rollup.getRevenueCents() + totals.revenueCents());
+            rollup.setReservationCount(rollup.getReservationCount() + totals.reservationCount());
+            if (rollup.getReservationCount() > 0) {
+                changed.add(rollup);
+            } else if (rollups.containsKey(key)) {
+                emptied.add(rollup);
+            }
+        });
+        utilizationRollupRepository.saveAll(changed);
+        utilizationRollupRepository.deleteAll(emptied);
+        return changed.size();
+    }
+
+    private Map<Long, UtilizationContribution> findContributions(Collection<Long> reservationIds) {
+        Map<Long, UtilizationContribution> contributions = new HashMap<>();
+        if (!reservationIds.isEmpty()) {
+            utilizationContributionRepository.findByReservationIdIn(reservationIds)
+                    .forEach(contribution -> contributions.put(contribution.getReservationId(), contribution));
+        }
+        return contributions;
+    }
+
+    /**
+     * Computes the number of cars under every key of a dimension.
+     *
+     * @param groupBy The dimension.
+     * @return The number of cars per dimension key; empty for the car dimension.
+     */
+    private Map<Long, Long> computeFleetSizes(RollupDimension groupBy) {
+        Map<Long, Long> fleetSizes = new TreeMap<>();
+        if (groupBy == RollupDimension.CATEGORY) {
+            FleetColumns fleet = quoteEngine.fleet();
+            int[] carsByCategory = QuoteEngine.countByCategory(fleet, fleet.carIds());
+            for (int category = 0; category < carsByCategory.length; category++) {
+                fleetSizes.put((long) category, (long) carsByCategory[category]);
+            }
+        } else if (groupBy == RollupDimension.LOCATION) {
+            for (FleetSize fleetSize : carDetailsRepository.countByRentalLocation()) {
+                fleetSizes.put(fleetSize.dimensionKey(), fleetSize.cars());
+            }
+        }
+        return fleetSizes;
+    }
+
+    private static boolean isCounted(ReservationAttribution attribution) {
+        return attribution.active() == ACTIVE && attribution.pickUpDate() != null && attribution.returnDate() != null
+                && attribution.category() != null;
+    }
+
+    private static boolean matches(UtilizationContribution contribution, ReservationAttribution attribution) {
+        return contribution.getCarId() == attribution.carId()
+                && contribution.getCategory() == attribution.category()
+                && contribution.getLocationId() == locationKey(attribution)
+                && contribution.getPickUpMillis() == attribution.pickUpDate().getTime()
+                && contribution.getReturnMillis() == attribution.returnDate().getTime();
+    }
+
+    /**
+     * Records the current state of a reservation as its contribution.
+     *
+     * @param attribution  The current state of the reservation.
+     * @param contribution The previously recorded contribution to overwrite, or null.
+     * @return The contribution to save.
+     */
+    private static UtilizationContribution computeContribution(ReservationAttribution attribution, UtilizationContribution contribution) {
+        if (contribution == null) {
+            contribution = new UtilizationContribution();
+            contribution.setReservationId(attribution.reservationId());
+        }
+        contribution.setCarId(attribution.carId());
+        contribution.setCategory(attribution.category());
+        contribution.setLocationId(locationKey(attribution));
+        contribution.setPickUpMillis(attribution.pickUpDate().getTime());
+        contribution.setReturnMillis(attribution.returnDate().getTime());
+        return contribution;
+    }
+
+    private static void addContribution(UtilizationDeltas deltas, UtilizationContribution contribution,
+                                        long clipFrom, long clipTo, int sign) {
+        deltas.add(contribution.getCarId(), contribution.getCategory(), contribution.getLocationId(),
+                contribution.getPickUpMillis(), contribution.getReturnMillis(), clipFrom, clipTo, sign);
+    }
+
+    private static long locationKey(ReservationAttribution attribution) {
+        return attribution.locationId() == null ? 0 : attribution.locationId();
+    }
+
+    private static long startOfDay(LocalDate day) {
+        return day.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Converts a bucket to its response shape.
+     *
+     * @param key    The key of the bucket.
+     * @param cars   The number of cars under the key.
+     * @param rollup The stored rollup, or null if nothing was booked that day.
+     * @return The UtilizationBucketDto object.
+     */
+    private static UtilizationBucketDto computeUtilizationBucket(RollupKey key, long cars, UtilizationRollup rollup) {
+        double bookedHours = rollup == null ? 0 : rollup.getBookedMillis() / MILLIS_PER_HOUR;
+        double capacityHours = cars * HOURS_PER_DAY;
+        return new UtilizationBucketDto(key.day(), key.dimensionKey(), cars, bookedHours,
+                Math.max(0, capacityHours - bookedHours), capacityHours == 0 ? 0 : bookedHours / capacityHours,
+                rollup == null ? 0 : rollup.getRevenueCents(), rollup == null ? 0 : rollup.getReservationCount());
+    }
+}
@@ -0,0 +1,70 @@
+package com.design.car.rental.system.carrentalsystemapp.startup;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.ValidateOutput;
+import org.flywaydb.core.api.output.ValidateResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Validates the database schema against the Flyway migrations after the application is ready, instead of
+ * letting Hibernate inspect the schema on the startup path.
+ * - Runs once on a background thread, so traffic is served while the check is in progress.
+ * - A schema that does not match the migrations (pending, missing or modified migrations) is logged as an
+ *   error; the instance keeps running, since rolling it back is a deployment decision.
+ */
+@Component
+@ConditionalOnProperty(name = "schema.validation.deferred", havingValue = "true")
+public class DeferredSchemaValidator implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeferredSchemaValidator.class);
+
+    @Autowired
+    private DataSource dataSource;
+
+    /**
+     * Starts the validation thread.
+     *
+     * @param event The ready event.
+     */
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        Thread validator = new Thread(this::validate, "deferred-schema-validator");
+        validator.setDaemon(true);
+        validator.start();
+    }
+
+    /**
+     * Compares the applied migrations with the ones on the classpath and logs the outcome.
+     */
+    void validate() {
+        long start = System.nanoTime();
+        try {
+            ValidateResult result = Flyway.configure()
+                    .dataSource(dataSource)
+                    .locations("classpath:db/migration")
+                    .baselineVersion("1")
+                    .load()
+                    .validateWithResult();
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            if (result.validationSuccessful) {
+                LOGGER.info("Schema matches the migrations (validated in {} ms)", millis);
+                return;
+            }
+            LOGGER.error("Schema does not match the migrations: {}", result.getAllErrorMessages());
+            for (ValidateOutput invalid : result.invalidMigrations) {
+                LOGGER.error("Migration {} ({}): {}", invalid.version, invalid.filepath,
+                        invalid.errorDetails == null ? "" : invalid.errorDetails.errorMessage);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Deferred schema validation failed", e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.design.car.rental.system.carrentalsystemapp.startup;
+
+import com.design.car.rental.system.carrentalsystemapp.archive.ReservationPartitionMaintainer;
+import com.design.car.rental.system.carrentalsystemapp.datasource.ReadReplicaDataSourceConfig;
+import com.design.car.rental.system.carrentalsystemapp.services.impl.BatchedReservationPipeline;
+import com.design.car.rental.system.carrentalsystemapp.services.impl.CarAvailabilityService;
+import com.design.car.rental.system.carrentalsystemapp.services.impl.CarService;
+import com.design.car.rental.system.carrentalsystemapp.services.impl.CatalogSnapshotService;
+import com.design.car.rental.system.carrentalsystemapp.services.impl.DriverAssignmentService;
+import com.design.car.rental.system.carrentalsystemapp.services.impl.JournaledReservationWriter;
+import com.design.car.rental.system.carrentalsystemapp.services.impl.ReservationArchiveService;
+import com.design.car.rental.system.carrentalsystemapp.services.impl.UserService;
+import com.design.car.rental.system.carrentalsystemapp.services.impl.UtilizationRollupService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Beans that stay eager when spring.main.lazy-initialization is on.
+ * - Services that warm in-memory indexes at startup, so the first request does not pay for the load.
+ * - Beans with background work: schedules, the reservation journal replay and the pipeline and rollup workers.
+ * - The startup report, which has to see the first request.
+ */
+@Configuration
+public class EagerBeansConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                CarAvailabilityService.class,
+                CarService.class,
+                CatalogSnapshotService.class,
+                UserService.class,
+                DriverAssignmentService.class,
+                ReservationArchiveService.class,
+                ReservationPartitionMaintainer.class,
+                JournaledReservationWriter.class,
+                BatchedReservationPipeline.class,
+                UtilizationRollupService.class,
+                ReadReplicaDataSourceConfig.class,
+                StartupTimeReport.class,
+                DeferredSchemaValidator.class);
+    }
+}
@@ -0,0 +1,35 @@
+package com.design.car.rental.system.carrentalsystemapp.startup;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Tells the startup report when the first request has been served; afterwards it only costs one volatile read.
+ */
+@Component
+public class FirstRequestTimingFilter extends OncePerRequestFilter {
+
+    private final StartupTimeReport startupTimeReport;
+
+    public FirstRequestTimingFilter(StartupTimeReport startupTimeReport) {
+        this.startupTimeReport = startupTimeReport;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (!startupTimeReport.isFirstRequestServed()) {
+                startupTimeReport.onRequestServed();
+            }
+        }
+    }
+}
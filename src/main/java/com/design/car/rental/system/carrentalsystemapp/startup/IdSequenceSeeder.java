@@ -0,0 +1,89 @@
+package com.design.car.rental.system.carrentalsystemapp.startup;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.SessionFactoryObserver;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.TableStructure;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Moves the id sequences past the ids already in their tables when the session factory starts.
+ * - Tables created with IDENTITY ids hold auto-increment ids, while the <entity>_seq tables that
+ *   ddl-auto=update creates next to them start at 1; the first insert would collide on the primary key.
+ * - Runs as a Hibernate session factory observer, i.e. after the schema update and before the first insert.
+ * - Only raises a sequence (next_val = max(id) + 1, which is the next id under the pooled-lo optimizer of
+ *   BaseModel), so running on every start and next to other instances is safe.
+ * - Only sequences emulated with tables (MySQL) are seeded; the migrations do the same in V4.
+ */
+@Component
+@ConditionalOnProperty(name = "id.sequences.seed-on-startup", havingValue = "true", matchIfMissing = true)
+public class IdSequenceSeeder implements HibernatePropertiesCustomizer, SessionFactoryObserver {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdSequenceSeeder.class);
+
+    @Autowired
+    private DataSource dataSource;
+
+    /**
+     * Registers the seeder as session factory observer.
+     *
+     * @param hibernateProperties The Hibernate properties.
+     */
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.SESSION_FACTORY_OBSERVER, this);
+    }
+
+    /**
+     * Seeds the table-backed sequence of every entity.
+     *
+     * @param factory The session factory that has just been created.
+     */
+    @Override
+    public void sessionFactoryCreated(SessionFactory factory) {
+        SessionFactoryImplementor sessionFactory = factory.unwrap(SessionFactoryImplementor.class);
+        Dialect dialect = sessionFactory.getJdbcServices().getDialect();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (persister.getGenerator() instanceof SequenceStyleGenerator generator
+                    && generator.getDatabaseStructure() instanceof TableStructure sequenceTable
+                    && persister instanceof AbstractEntityPersister entityPersister) {
+                seed(jdbcTemplate, sequenceTable.getPhysicalName().getObjectName().render(dialect),
+                        entityPersister.getRootTableName(), entityPersister.getIdentifierColumnNames()[0]);
+            }
+        });
+    }
+
+    /**
+     * Raises one sequence table to the next free id of its entity table.
+     *
+     * @param jdbcTemplate  The template to run the statements with.
+     * @param sequenceTable The table holding the sequence value.
+     * @param entityTable   The table of the entity.
+     * @param idColumn      The id column of the entity table.
+     */
+    void seed(JdbcTemplate jdbcTemplate, String sequenceTable, String entityTable, String idColumn) {
+        Long maxId = jdbcTemplate.queryForObject("select max(" + idColumn + ") from " + entityTable, Long.class);
+        if (maxId == null) {
+            return;
+        }
+        int raised = jdbcTemplate.update("update " + sequenceTable + " set " + SequenceStyleGenerator.DEF_VALUE_COLUMN
+                + " = ? where " + SequenceStyleGenerator.DEF_VALUE_COLUMN + " < ?", maxId + 1, maxId + 1);
+        if (raised > 0) {
+            LOGGER.info("Raised {} to {}, past the ids in {}", sequenceTable, maxId + 1, entityTable);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.design.car.rental.system.carrentalsystemapp.startup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reports how long the instance took to become useful.
+ * - When the application is ready, logs the JVM uptime, the context startup time and the slowest bean
+ *   instantiations recorded by the buffering application startup.
+ * - When the first request has been served, logs and publishes the time to first request, measured from
+ *   JVM start, as application.first-request.time.
+ * The full step timeline stays available from the actuator startup endpoint.
+ */
+@Component
+public class StartupTimeReport implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StartupTimeReport.class);
+
+    private static final String BEAN_INSTANTIATION_STEP = "spring.beans.instantiate";
+
+    private static final long NOT_SERVED = -1;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${startup.report.slowest-beans:10}")
+    private int slowestBeans;
+
+    private final AtomicLong firstRequestMillis = new AtomicLong(NOT_SERVED);
+
+    /**
+     * Logs the startup summary and registers the time-to-first-request gauge.
+     *
+     * @param event The ready event, carrying the context startup time.
+     */
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        TimeGauge.builder("application.first-request.time", firstRequestMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Time from JVM start until the first request was served, -1 until then")
+                .register(meterRegistry);
+        LOGGER.info("Ready {} ms after JVM start, context started in {} ms", jvmUptimeMillis(),
+                event.getTimeTaken() == null ? NOT_SERVED : event.getTimeTaken().toMillis());
+        if (event.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup startup) {
+            LOGGER.info("Slowest bean instantiations: {}", computeSlowestBeans(startup.getBufferedTimeline()));
+        }
+    }
+
+    /**
+     * Records the first served request; later calls are ignored.
+     */
+    public void onRequestServed() {
+        if (firstRequestMillis.get() == NOT_SERVED && firstRequestMillis.compareAndSet(NOT_SERVED, jvmUptimeMillis())) {
+            LOGGER.info("First request served {} ms after JVM start", firstRequestMillis.get());
+        }
+    }
+
+    /**
+     * @return True once the first request has been recorded.
+     */
+    public boolean isFirstRequestServed() {
+        return firstRequestMillis.get() != NOT_SERVED;
+    }
+
+    /**
+     * Lists the slowest bean instantiation steps, including the time of the beans they created in turn.
+     *
+     * @param timeline The recorded startup steps.
+     * @return The bean names and durations, slowest first.
+     */
+    private String computeSlowestBeans(StartupTimeline timeline) {
+        return timeline.getEvents().stream()
+                .filter(event -> BEAN_INSTANTIATION_STEP.equals(event.getStartupStep().getName()))
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(slowestBeans)
+                .map(event -> beanName(event.getStartupStep()) + "=" + event.getDuration().toMillis() + "ms")
+                .collect(Collectors.joining(", "));
+    }
+
+    private static String beanName(StartupStep step) {
+        return StreamSupport.stream(step.getTags().spliterator(), false)
+                .filter(tag -> "beanName".equals(tag.getKey()))
+                .map(StartupStep.Tag::getValue)
+                .findFirst()
+                .orElse("?");
+    }
+
+    private static long jvmUptimeMillis() {
+        return Duration.ofMillis(ManagementFactory.getRuntimeMXBean().getUptime()).toMillis();
+    }
+}
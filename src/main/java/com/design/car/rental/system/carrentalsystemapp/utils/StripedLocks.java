@@ -0,0 +1,42 @@
+package com.design.car.rental.system.carrentalsystemapp.utils;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of locks addressed by a numeric key.
+ * - Keys are mapped with floorMod, so sequentially generated ids never share a stripe
+ *   until they are a full stripe count apart.
+ * - Locks are fair to keep latency bounded when one key is hot.
+ */
+public class StripedLocks {
+
+    private final Lock[] stripes;
+
+    public StripedLocks(int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive");
+        }
+        stripes = new Lock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock(true);
+        }
+    }
+
+    /**
+     * Returns the lock guarding the given key.
+     *
+     * @param key The key to lock on.
+     * @return The stripe lock for the key.
+     */
+    public Lock forKey(long key) {
+        return stripes[(int) Math.floorMod(key, (long) stripes.length)];
+    }
+
+    /**
+     * @return The number of stripes.
+     */
+    public int size() {
+        return stripes.length;
+    }
+}
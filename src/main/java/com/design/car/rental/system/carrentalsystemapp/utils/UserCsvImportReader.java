@@ -0,0 +1,146 @@
+package com.design.car.rental.system.carrentalsystemapp.utils;
+
+import com.design.car.rental.system.carrentalsystemapp.dtos.UserImportRow;
+import com.design.car.rental.system.carrentalsystemapp.dtos.UserRequestDto;
+import com.design.car.rental.system.carrentalsystemapp.models.Address;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads user import rows from a CSV stream one line at a time.
+ * - The first line is a header; columns are matched by name, case-insensitively:
+ *   name, phone, email, licenseNo, userTypeId, street, city, state, zip.
+ * - Fields may be quoted with double quotes; a doubled quote inside a quoted field is a literal quote.
+ * - Quoted fields cannot span lines.
+ * - Malformed lines are returned as rows carrying an error instead of failing the whole import.
+ */
+public class UserCsvImportReader implements Iterator<UserImportRow> {
+
+    private final BufferedReader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private String nextLine;
+    private int rowNumber;
+
+    public UserCsvImportReader(BufferedReader reader) {
+        this.reader = reader;
+        String header = readLine();
+        if (header != null) {
+            List<String> names = parseLine(header);
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+        }
+        nextLine = readLine();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextLine != null;
+    }
+
+    @Override
+    public UserImportRow next() {
+        if (nextLine == null) {
+            throw new NoSuchElementException();
+        }
+        String line = nextLine;
+        int currentRow = ++rowNumber;
+        nextLine = readLine();
+        try {
+            return new UserImportRow(currentRow, toUserRequest(parseLine(line)), null);
+        } catch (IllegalArgumentException e) {
+            return new UserImportRow(currentRow, null, e.getMessage());
+        }
+    }
+
+    private UserRequestDto toUserRequest(List<String> fields) {
+        UserRequestDto userRequestDto = new UserRequestDto();
+        userRequestDto.setName(field(fields, "name"));
+        userRequestDto.setPhone(field(fields, "phone"));
+        userRequestDto.setEmail(field(fields, "email"));
+        userRequestDto.setLicenseNo(field(fields, "licenseno"));
+        String userTypeId = field(fields, "usertypeid");
+        if (userTypeId == null) {
+            throw new IllegalArgumentException("userTypeId is required");
+        }
+        try {
+            userRequestDto.setUserTypeId(Integer.parseInt(userTypeId.trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("userTypeId is not a number: " + userTypeId);
+        }
+        String street = field(fields, "street");
+        String city = field(fields, "city");
+        String state = field(fields, "state");
+        String zip = field(fields, "zip");
+        if (street != null || city != null || state != null || zip != null) {
+            Address address = new Address();
+            address.setStreet(street);
+            address.setCity(city);
+            address.setState(state);
+            address.setZip(zip);
+            userRequestDto.setAddress(address);
+        }
+        return userRequestDto;
+    }
+
+    private String field(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private String readLine() {
+        try {
+            String line;
+            do {
+                line = reader.readLine();
+            } while (line != null && line.isBlank());
+            return line;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
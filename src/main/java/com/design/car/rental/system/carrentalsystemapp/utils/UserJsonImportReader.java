@@ -0,0 +1,56 @@
+package com.design.car.rental.system.carrentalsystemapp.utils;
+
+import com.design.car.rental.system.carrentalsystemapp.dtos.UserImportRow;
+import com.design.car.rental.system.carrentalsystemapp.dtos.UserRequestDto;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads user import rows from a JSON array one element at a time, without binding the whole array.
+ * - An element that cannot be mapped to a UserRequestDto is returned as a row carrying an error.
+ * - A syntax error ends the import, since the rest of the stream cannot be trusted.
+ */
+public class UserJsonImportReader implements Iterator<UserImportRow> {
+
+    private final MappingIterator<UserRequestDto> elements;
+    private int rowNumber;
+
+    public UserJsonImportReader(ObjectMapper objectMapper, InputStream inputStream) {
+        try {
+            this.elements = objectMapper.readerFor(UserRequestDto.class).readValues(inputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            return elements.hasNextValue();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public UserImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        int currentRow = ++rowNumber;
+        try {
+            return new UserImportRow(currentRow, elements.nextValue(), null);
+        } catch (JsonMappingException e) {
+            return new UserImportRow(currentRow, null, e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
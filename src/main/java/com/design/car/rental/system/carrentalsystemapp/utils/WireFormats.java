@@ -0,0 +1,78 @@
+package com.design.car.rental.system.carrentalsystemapp.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Jackson mappers for the encodings a streamed response can be written in, picked from the Accept header.
+ * - JSON is the default; CBOR and Smile are binary encodings of the same document with the same field names,
+ *   so they need no schema and any client can switch by changing its Accept header.
+ * - The binary mappers are built from Spring Boot's Jackson configuration, so dates and
+ *   naming match the JSON output.
+ */
+@Component
+public class WireFormats {
+
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    private final List<WireFormat> formats;
+
+    public WireFormats(ObjectMapper objectMapper, Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.formats = List.of(
+                new WireFormat(MediaType.APPLICATION_JSON, objectMapper),
+                new WireFormat(MediaType.APPLICATION_CBOR, objectMapperBuilder.factory(new CBORFactory()).build()),
+                new WireFormat(APPLICATION_SMILE, objectMapperBuilder.factory(new SmileFactory()).build()));
+    }
+
+    /**
+     * Picks the encoding the client prefers.
+     * - The accepted media type with the highest quality wins; ties go to the one listed first.
+     * - Wildcards and a missing header resolve to JSON.
+     *
+     * @param accept The Accept header of the request (can be null).
+     * @return The chosen encoding, or null if none of the accepted media types is supported.
+     */
+    public WireFormat select(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return formats.get(0);
+        }
+        List<MediaType> acceptedTypes;
+        try {
+            acceptedTypes = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        WireFormat selected = null;
+        double selectedQuality = 0;
+        for (MediaType acceptedType : acceptedTypes) {
+            double quality = acceptedType.getQualityValue();
+            if (quality <= selectedQuality) {
+                continue;
+            }
+            for (WireFormat format : formats) {
+                if (acceptedType.includes(format.mediaType())) {
+                    selected = format;
+                    selectedQuality = quality;
+                    break;
+                }
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * An encoding a response can be written in.
+     *
+     * @param mediaType The Content-Type of the encoding.
+     * @param mapper    The mapper writing the encoding.
+     */
+    public record WireFormat(MediaType mediaType, ObjectMapper mapper) {
+    }
+}
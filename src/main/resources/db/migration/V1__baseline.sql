@@ -0,0 +1,171 @@
+-- Baseline schema, as generated by Hibernate for the entities at the time schema management moved to migrations.
+-- Databases that were created by spring.jpa.hibernate.ddl-auto=update are baselined at this version instead.
+
+create table address (
+    id bigint not null,
+    city varchar(255),
+    state varchar(255),
+    street varchar(255),
+    zip varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table address_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into address_seq values ( 1 );
+
+create table car_details_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into car_details_seq values ( 1 );
+
+create table car_reservation_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into car_reservation_seq values ( 1 );
+
+create table car_details (
+    has_sun_roof bit not null,
+    latitude float(53),
+    longitude float(53),
+    mileage integer not null,
+    status tinyint,
+    vechicle_category tinyint,
+    id bigint not null,
+    rental_location_id bigint,
+    version bigint not null,
+    brand varchar(255),
+    manufacturing_year varchar(255),
+    name varchar(255),
+    vechicle_no varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table car_reservation (
+    active_record integer,
+    car_details_id bigint,
+    customer_details_id bigint,
+    driver_details_id bigint,
+    id bigint not null,
+    journal_seq bigint,
+    pick_up_date datetime(6),
+    return_date datetime(6),
+    version bigint not null,
+    pick_up_location varchar(255),
+    return_location varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table rental_location_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into rental_location_seq values ( 1 );
+
+create table rental_location (
+    latitude float(53) not null,
+    longitude float(53) not null,
+    id bigint not null,
+    address varchar(255),
+    name varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table user_details_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into user_details_seq values ( 1 );
+
+create table user_details (
+    active_record integer,
+    user_type tinyint,
+    address_id bigint,
+    cron datetime(6),
+    id bigint not null,
+    upd_on datetime(6),
+    email varchar(255),
+    license_no varchar(255),
+    name varchar(255),
+    phone varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table utilization_contribution_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into utilization_contribution_seq values ( 1 );
+
+create table utilization_rollup_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into utilization_rollup_seq values ( 1 );
+
+create table utilization_contribution (
+    category tinyint,
+    car_id bigint not null,
+    id bigint not null,
+    location_id bigint not null,
+    pick_up_millis bigint not null,
+    reservation_id bigint,
+    return_millis bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table utilization_rollup (
+    bucket_day date,
+    dimension tinyint,
+    reservation_count integer not null,
+    booked_millis bigint not null,
+    dimension_key bigint not null,
+    id bigint not null,
+    revenue_cents bigint not null,
+    version bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table car_reservation
+    add constraint UK9l6b486nlu3vf4f35vpno5tul unique (journal_seq);
+
+create index idx_user_details_upd_on_id
+    on user_details (upd_on, id);
+
+alter table user_details
+    add constraint UK9nv85vuuj043xw9b6j9gkh9f0 unique (address_id);
+
+alter table utilization_contribution
+    add constraint UK6opeiv79uum7s27uusa6r24gj unique (reservation_id);
+
+alter table utilization_rollup
+    add constraint UK8ncs8jp4h00r4qp80iowk0y4d unique (bucket_day, dimension, dimension_key);
+
+alter table car_details
+    add constraint FKaewt4ekymh3g5qdvqsbjindru
+    foreign key (rental_location_id)
+    references rental_location (id);
+
+alter table car_reservation
+    add constraint FKe21y28oi8etril50ffqqagp4t
+    foreign key (car_details_id)
+    references car_details (id);
+
+alter table car_reservation
+    add constraint FKe434f53y4ikbep0ulnnd7eytg
+    foreign key (customer_details_id)
+    references user_details (id);
+
+alter table car_reservation
+    add constraint FKfd88vglw6yvcllwq87ogibhh5
+    foreign key (driver_details_id)
+    references user_details (id);
+
+alter table user_details
+    add constraint FK2j3d435pe9j2ajtoxfgpcj4i
+    foreign key (address_id)
+    references address (id);
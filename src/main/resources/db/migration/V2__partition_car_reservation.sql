@@ -0,0 +1,32 @@
+-- Partitions car_reservation by month of return_date. Availability and overlap queries bound return_date from
+-- below, so MySQL prunes the finished months, and the archiver gives the space of an archived month back by
+-- dropping its partition (see ReservationPartitionMaintainer).
+-- Every unique key of a partitioned table has to contain the partitioning column and foreign keys are not
+-- supported: the foreign keys are dropped (their indexes stay), the primary key becomes (id, return_date) and
+-- journal_seq keeps a plain index.
+
+alter table car_reservation drop foreign key FKe21y28oi8etril50ffqqagp4t;
+
+alter table car_reservation drop foreign key FKe434f53y4ikbep0ulnnd7eytg;
+
+alter table car_reservation drop foreign key FKfd88vglw6yvcllwq87ogibhh5;
+
+alter table car_reservation drop index UK9l6b486nlu3vf4f35vpno5tul;
+
+create index idx_car_reservation_journal_seq
+    on car_reservation (journal_seq);
+
+alter table car_reservation modify return_date datetime(6) not null;
+
+alter table car_reservation drop primary key, add primary key (id, return_date);
+
+-- Returns before the migration month share p_history until the archiver has emptied it; the maintainer splits
+-- pmax into the partitions of the following months ahead of time.
+alter table car_reservation partition by range columns (return_date) (
+    partition p_history values less than ('2026-10-01'),
+    partition p202610 values less than ('2026-11-01'),
+    partition p202611 values less than ('2026-12-01'),
+    partition p202612 values less than ('2027-01-01'),
+    partition p202701 values less than ('2027-02-01'),
+    partition pmax values less than (maxvalue)
+);
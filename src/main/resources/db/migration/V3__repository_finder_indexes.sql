@@ -0,0 +1,29 @@
+-- Indexes for the repository finders; RepositoryQueryPlanTest checks every finder against them.
+-- MySQL has no partial indexes, so the "active" listings use composite indexes led by active_record (and user_type)
+-- with id last for the keyset order.
+
+create index idx_user_details_active_id
+    on user_details (active_record, id);
+
+create index idx_user_details_type_active_id
+    on user_details (user_type, active_record, id);
+
+create index idx_car_reservation_car_pick_up_return
+    on car_reservation (car_details_id, pick_up_date, return_date);
+
+create index idx_car_reservation_customer_active_id
+    on car_reservation (customer_details_id, active_record, id);
+
+create index idx_car_reservation_pick_up
+    on car_reservation (pick_up_date);
+
+create index idx_car_reservation_return_pick_up
+    on car_reservation (return_date, pick_up_date);
+
+-- The indexes left behind by the foreign keys dropped in V2 are prefixes of the composite ones above.
+alter table car_reservation drop index FKe21y28oi8etril50ffqqagp4t;
+
+alter table car_reservation drop index FKe434f53y4ikbep0ulnnd7eytg;
+
+create index idx_utilization_rollup_dimension_day_key
+    on utilization_rollup (dimension, bucket_day, dimension_key);
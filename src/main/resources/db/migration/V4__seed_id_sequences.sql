@@ -0,0 +1,17 @@
+-- Moves every id sequence past the ids already in its table. Databases baselined at V1 were created with IDENTITY
+-- ids, while their <entity>_seq tables (created by ddl-auto=update, or by V1) start at 1.
+-- next_val is the next id handed out (pooled-lo optimizer, see BaseModel); a sequence is never lowered.
+
+update address_seq set next_val = greatest(next_val, (select coalesce(max(id), 0) + 1 from address));
+
+update car_details_seq set next_val = greatest(next_val, (select coalesce(max(id), 0) + 1 from car_details));
+
+update car_reservation_seq set next_val = greatest(next_val, (select coalesce(max(id), 0) + 1 from car_reservation));
+
+update rental_location_seq set next_val = greatest(next_val, (select coalesce(max(id), 0) + 1 from rental_location));
+
+update user_details_seq set next_val = greatest(next_val, (select coalesce(max(id), 0) + 1 from user_details));
+
+update utilization_contribution_seq set next_val = greatest(next_val, (select coalesce(max(id), 0) + 1 from utilization_contribution));
+
+update utilization_rollup_seq set next_val = greatest(next_val, (select coalesce(max(id), 0) + 1 from utilization_rollup));
@@ -0,0 +1,8 @@
+-- Leases that let one application instance at a time run a scheduled job (see SchedulerLeaseService).
+
+create table scheduler_lease (
+    expires_at bigint not null,
+    name varchar(255) not null,
+    owner varchar(255),
+    primary key (name)
+) engine=InnoDB;
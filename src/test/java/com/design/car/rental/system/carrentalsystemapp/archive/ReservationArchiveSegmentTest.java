@@ -0,0 +1,76 @@
+package com.design.car.rental.system.carrentalsystemapp.archive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReservationArchiveSegmentTest {
+
+    private static final int ROWS = 1000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void idFiltersAdmitEveryArchivedCarAndCustomer() throws IOException {
+        ArchiveSegmentInfo info = ReservationArchiveSegment.readHeader(writeSegment());
+
+        for (int i = 0; i < ROWS; i++) {
+            assertTrue(info.mayHoldCar(carId(i)));
+            assertTrue(info.mayHoldCustomer(customerId(i)));
+        }
+        assertEquals(ROWS, ReservationArchiveSegment.read(info).size());
+    }
+
+    @Test
+    void idFiltersRuleOutMostOtherIds() throws IOException {
+        ArchiveSegmentInfo info = ReservationArchiveSegment.readHeader(writeSegment());
+
+        int admitted = 0;
+        for (long id = 1_000_000; id < 1_010_000; id++) {
+            if (info.mayHoldCar(id) || info.mayHoldCustomer(id)) {
+                admitted++;
+            }
+        }
+        // About 1% false positives per filter.
+        assertTrue(admitted < 500, admitted + " of 10000 unknown IDs admitted");
+    }
+
+    @Test
+    void columnsAreReadBackAfterTheFilters() throws IOException {
+        ReservationArchiveSegment segment = ReservationArchiveSegment.read(ReservationArchiveSegment.readHeader(writeSegment()));
+
+        ArchivedReservation reservation = segment.get(segment.indexOf(reservationId(7)));
+        assertEquals(carId(7), reservation.carId());
+        assertEquals(customerId(7), reservation.customerId());
+        assertEquals("Pick-up 7", reservation.pickUpLocation());
+    }
+
+    private Path writeSegment() throws IOException {
+        ReservationArchiveSegmentWriter writer = new ReservationArchiveSegmentWriter();
+        for (int i = 0; i < ROWS; i++) {
+            writer.add(new ArchivedReservation(reservationId(i), carId(i), customerId(i), null, new Date(i * 1000L),
+                    new Date(i * 1000L + 500), "Pick-up " + i, null, 1, null, null, null));
+        }
+        Path file = directory.resolve("reservations-2030-01-1.rca");
+        writer.write(file, 1);
+        return file;
+    }
+
+    private static long reservationId(int i) {
+        return 10 + i * 3L;
+    }
+
+    private static long carId(int i) {
+        return 100 + i % 50;
+    }
+
+    private static long customerId(int i) {
+        return 5000 + i;
+    }
+}
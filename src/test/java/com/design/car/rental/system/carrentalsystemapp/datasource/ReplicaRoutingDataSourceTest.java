@@ -0,0 +1,143 @@
+package com.design.car.rental.system.carrentalsystemapp.datasource;
+
+import com.design.car.rental.system.carrentalsystemapp.models.UserDetails;
+import com.design.car.rental.system.carrentalsystemapp.services.impl.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the application against two embedded H2 databases standing in for the primary and a replica.
+ * The replica is never fed by the primary, so where a row is visible tells which database served a read.
+ * Reads go through GET /user, whose streamed body runs its read-only transaction on the task executor.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingDataSourceTest.PRIMARY_URL,
+        "db.replica.enabled=true",
+        "db.replica.urls=" + ReplicaRoutingDataSourceTest.REPLICA_URL + ";IFEXISTS=TRUE",
+        "db.replica.sticky-window=1h",
+        "db.replica.health-check-interval=1h"
+})
+@AutoConfigureMockMvc
+class ReplicaRoutingDataSourceTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    private static final String CLIENT_HEADER = "X-Client-Id";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReadReplicaDataSourceConfig readReplicaDataSourceConfig;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void createReplicaSchema() {
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        factory.setPackagesToScan(UserDetails.class.getPackageName());
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create",
+                "hibernate.implicit_naming_strategy", SpringImplicitNamingStrategy.class.getName(),
+                "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName()));
+        factory.afterPropertiesSet();
+        factory.destroy();
+    }
+
+    @Test
+    void readOnlyQueriesGoToReplicaAndWritesToPrimary() throws Exception {
+        UserDetails written = userService.addUser("Primary Only", "100", "primary@example.com", null, "LIC-P", 0);
+
+        assertEquals(1, countUsersByEmail(PRIMARY_URL, "primary@example.com"));
+        assertEquals(0, countUsersByEmail(REPLICA_URL, "primary@example.com"));
+        assertFalse(listUsers("reader").contains(written.getEmail()));
+    }
+
+    @Test
+    void clientReadsItsOwnWritesFromPrimary() throws Exception {
+        mockMvc.perform(post("/user")
+                        .header(CLIENT_HEADER, "writer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Sticky Writer\", \"phone\": \"200\", \"email\": \"sticky@example.com\", "
+                                + "\"licenseNo\": \"LIC-S\", \"userTypeId\": 0}"))
+                .andExpect(status().isOk());
+
+        assertTrue(listUsers("writer").contains("sticky@example.com"));
+        assertFalse(listUsers("other-client").contains("sticky@example.com"));
+    }
+
+    @Test
+    void readsFallBackToPrimaryWhileReplicaIsDown() throws Exception {
+        UserDetails written = userService.addUser("Fallback", "300", "fallback@example.com", null, "LIC-F", 0);
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+        readReplicaDataSourceConfig.checkReplicaHealth();
+
+        assertEquals(0.0, meterRegistry.get("db.replica.healthy").gauge().value());
+        assertTrue(listUsers("reader").contains(written.getEmail()));
+
+        createReplicaSchema();
+        for (int attempt = 0; attempt < 20 && meterRegistry.get("db.replica.healthy").gauge().value() == 0.0; attempt++) {
+            Thread.sleep(100);
+            readReplicaDataSourceConfig.checkReplicaHealth();
+        }
+        assertEquals(1.0, meterRegistry.get("db.replica.healthy").gauge().value());
+        assertFalse(listUsers("reader").contains(written.getEmail()));
+    }
+
+    /**
+     * Streams the active users as the given client, through the async dispatch the real endpoint uses.
+     */
+    private String listUsers(String clientKey) throws Exception {
+        MvcResult started = mockMvc.perform(get("/user").header(CLIENT_HEADER, clientKey))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+
+    private static int countUsersByEmail(String url, String email) throws Exception {
+        try (Connection connection = DriverManager.getConnection(url + ";IFEXISTS=TRUE", "sa", "");
+             Statement statement = connection.createStatement()) {
+            var resultSet = statement.executeQuery("select count(*) from user_details where email = '" + email + "'");
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.design.car.rental.system.carrentalsystemapp.instrumentation;
+
+import com.design.car.rental.system.carrentalsystemapp.enums.UserTypeEnum;
+import com.design.car.rental.system.carrentalsystemapp.services.impl.UserService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Serves a streamed user list from a real container and checks that the statements of the async body are
+ * counted towards the request.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class JdbcRequestMetricsFilterTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void streamedListCountsTheStatementsOfItsAsyncBody() throws InterruptedException {
+        userService.addUser("Streamed User", "5550100", "streamed@example.com", null, "LIC-STREAM",
+                UserTypeEnum.CUSTOMER.getUserId());
+
+        ResponseEntity<String> response = restTemplate.getForEntity("/user", String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().contains("Streamed User"));
+        DistributionSummary statements = awaitSummary("http.server.requests.jdbc.statements", "/user");
+        assertTrue(statements.totalAmount() > 0);
+        assertTrue(awaitSummary("http.server.requests.jdbc.rows", "/user").totalAmount() > 0);
+    }
+
+    /**
+     * Waits for the summary of a route; an async request is recorded after the response has been sent.
+     */
+    private DistributionSummary awaitSummary(String name, String uri) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (true) {
+            DistributionSummary summary = meterRegistry.find(name).tag("uri", uri).summary();
+            if (summary != null && summary.count() > 0) {
+                return summary;
+            }
+            if (System.nanoTime() > deadline) {
+                fail("No " + name + " recorded for " + uri);
+            }
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.design.car.rental.system.carrentalsystemapp.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReservationJournalTest {
+
+    // Room for three entries without locations (64 bytes each) plus the end marker.
+    private static final int SEGMENT_SIZE = 256;
+
+    private static final int ENTRY_BYTES = 64;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void tornTailIsDiscardedAndOverwritten() throws IOException, InterruptedException {
+        try (ReservationJournal journal = ReservationJournal.open(directory, SEGMENT_SIZE)) {
+            appendEntries(journal, 2);
+        }
+        // A crash while writing the third entry: its length made it to disk, its payload did not.
+        writeInt(segments().get(0), 2 * ENTRY_BYTES, ENTRY_BYTES - 2 * Integer.BYTES);
+
+        try (ReservationJournal journal = ReservationJournal.open(directory, SEGMENT_SIZE)) {
+            assertEquals(List.of(1L, 2L), seqs(poll(journal)));
+            assertEquals(3, journal.append(30, 1, null, 0, 1, null, null).seq());
+        }
+        try (ReservationJournal journal = ReservationJournal.open(directory, SEGMENT_SIZE)) {
+            List<JournalEntry> recovered = poll(journal);
+            assertEquals(List.of(1L, 2L, 3L), seqs(recovered));
+            assertEquals(30, recovered.get(2).carId());
+        }
+    }
+
+    @Test
+    void recoveryStopsAtAnEntryWithABadChecksum() throws IOException, InterruptedException {
+        try (ReservationJournal journal = ReservationJournal.open(directory, SEGMENT_SIZE)) {
+            appendEntries(journal, 3);
+        }
+        // Flip the car ID of the second entry.
+        Path segment = segments().get(0);
+        writeInt(segment, ENTRY_BYTES + 2 * Integer.BYTES + Long.BYTES, 0x7fff_ffff);
+
+        try (ReservationJournal journal = ReservationJournal.open(directory, SEGMENT_SIZE)) {
+            assertEquals(List.of(1L), seqs(poll(journal)));
+            assertEquals(2, journal.append(20, 1, null, 0, 1, null, null).seq());
+        }
+    }
+
+    @Test
+    void fullSegmentRollsOverAndIsRecoveredInOrder() throws IOException, InterruptedException {
+        try (ReservationJournal journal = ReservationJournal.open(directory, SEGMENT_SIZE)) {
+            appendEntries(journal, 7);
+        }
+        assertEquals(List.of("reservations-00000000000000000001.log", "reservations-00000000000000000004.log",
+                "reservations-00000000000000000007.log"), segments().stream().map(path -> path.getFileName().toString()).toList());
+
+        try (ReservationJournal journal = ReservationJournal.open(directory, SEGMENT_SIZE)) {
+            assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), seqs(poll(journal)));
+        }
+    }
+
+    @Test
+    void checkpointDeletesAppliedSegmentsAndSkipsAppliedEntries() throws IOException, InterruptedException {
+        try (ReservationJournal journal = ReservationJournal.open(directory, SEGMENT_SIZE)) {
+            appendEntries(journal, 7);
+            journal.markApplied(2);
+            assertEquals(3, segments().size());
+            journal.markApplied(5);
+            assertEquals(List.of("reservations-00000000000000000004.log", "reservations-00000000000000000007.log"),
+                    segments().stream().map(path -> path.getFileName().toString()).toList());
+        }
+        try (ReservationJournal journal = ReservationJournal.open(directory, SEGMENT_SIZE)) {
+            assertEquals(5, journal.appliedSeq());
+            assertEquals(List.of(6L, 7L), seqs(poll(journal)));
+            assertEquals(8, journal.append(80, 1, null, 0, 1, null, null).seq());
+        }
+    }
+
+    @Test
+    void entriesDrainedButNotMarkedAppliedAreReplayed() throws IOException, InterruptedException {
+        try (ReservationJournal journal = ReservationJournal.open(directory, SEGMENT_SIZE)) {
+            appendEntries(journal, 4);
+            assertEquals(List.of(1L, 2L), seqs(journal.pollDurable(2, 0, TimeUnit.MILLISECONDS)));
+            journal.markApplied(2);
+            // The next batch is committed to the database, then the process dies before markApplied.
+            assertEquals(List.of(3L, 4L), seqs(journal.pollDurable(2, 0, TimeUnit.MILLISECONDS)));
+        }
+        try (ReservationJournal journal = ReservationJournal.open(directory, SEGMENT_SIZE)) {
+            List<JournalEntry> replayed = poll(journal);
+            assertEquals(List.of(3L, 4L), seqs(replayed));
+            assertEquals(new JournalEntry(3, 3, 100, null, 3000, 4000, null, null), replayed.get(0));
+        }
+    }
+
+    @Test
+    void deadLettersOutliveTheirSegment() throws IOException, InterruptedException {
+        try (ReservationJournal journal = ReservationJournal.open(directory, SEGMENT_SIZE)) {
+            appendEntries(journal, 4);
+            JournalEntry rejected = poll(journal).get(1);
+            journal.deadLetter(rejected);
+            journal.markApplied(4);
+        }
+        assertEquals(1, segments().size());
+        try (ReservationJournal journal = ReservationJournal.open(directory, SEGMENT_SIZE)) {
+            assertTrue(poll(journal).isEmpty());
+            assertEquals(List.of(new JournalEntry(2, 2, 100, null, 2000, 3000, null, null)), journal.deadLetters());
+        }
+    }
+
+    private static void appendEntries(ReservationJournal journal, int count) throws IOException {
+        for (int i = 1; i <= count; i++) {
+            journal.append(i, 100, null, i * 1000L, (i + 1) * 1000L, null, null);
+        }
+    }
+
+    private static List<JournalEntry> poll(ReservationJournal journal) throws InterruptedException {
+        return journal.pollDurable(Integer.MAX_VALUE, 0, TimeUnit.MILLISECONDS);
+    }
+
+    private static List<Long> seqs(List<JournalEntry> entries) {
+        return entries.stream().map(JournalEntry::seq).toList();
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("reservations-")).sorted().toList();
+        }
+    }
+
+    private static void writeInt(Path file, int position, int value) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, value), position);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.design.car.rental.system.carrentalsystemapp.repository;
+
+import com.design.car.rental.system.carrentalsystemapp.enums.CarStatusEnum;
+import com.design.car.rental.system.carrentalsystemapp.enums.RollupDimension;
+import com.design.car.rental.system.carrentalsystemapp.enums.UserTypeEnum;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs EXPLAIN on the embedded database for the SQL of every repository query method and fails when a plan
+ * reads a whole table.
+ * - The SQL is the one Hibernate actually generates, captured with a statement inspector while the method runs.
+ * - A table access in an H2 plan is annotated with the index it uses and the index conditions; an access
+ *   without conditions (a tableScan or a walk over a whole index), or bounded only by a keyset cursor, is a full scan.
+ * - Queries meant to read everything, like index warm-ups, are listed in FULL_SCANS with the reason.
+ * - A repository method without a case fails the suite, so new queries cannot skip the check.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.design.car.rental.system.carrentalsystemapp.repository.RepositoryQueryPlanTest$RecordingStatementInspector")
+class RepositoryQueryPlanTest {
+
+    private static final List<Class<?>> REPOSITORIES = List.of(AddressRepository.class, CarDetailsRepository.class,
+            CarReservationRepository.class, RentalLocationRepository.class, SchedulerLeaseRepository.class, UserRepository.class,
+            UtilizationContributionRepository.class, UtilizationRollupRepository.class);
+
+    // Methods that issue no query of their own.
+    private static final Set<String> NOT_QUERIES = Set.of("AddressRepository.save");
+
+    private static final Map<String, String> FULL_SCANS = Map.of(
+            "CarDetailsRepository.findAllIds", "loads every car into the availability index at startup",
+            "CarDetailsRepository.findCatalogPage", "walks every car in ID order to rebuild the catalog snapshot",
+            "CarDetailsRepository.countByRentalLocation", "counts the whole fleet per rental location",
+            "CarReservationRepository.findAllReservationWindows", "loads every active reservation into the availability index",
+            "CarReservationRepository.findAttributionPage", "walks reservations in ID order for a backfill and checks the window per row",
+            "CarReservationRepository.findArchivePage", "walks reservations in ID order for the archiver; on MySQL the month's partition bounds it");
+
+    // Table accesses in H2 plans: /* PUBLIC.INDEX: CONDITIONS */ or /* PUBLIC.TABLE.tableScan */, optionally followed
+    // by /* direct lookup */ when a min or max is read from the end of the index.
+    private static final Pattern TABLE_ACCESS = Pattern.compile("/\\* (PUBLIC\\.[A-Z0-9_.]+)(?:: (.*?))? \\*/( /\\* direct lookup \\*/)?");
+
+    // A keyset cursor alone bounds nothing: from the first page on, the walk covers the whole table.
+    private static final Pattern CURSOR_ONLY = Pattern.compile("ID > \\?\\d+");
+
+    private static final Date FROM = new Date(0);
+
+    private static final Date TO = new Date(86_400_000L);
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private CarDetailsRepository carDetailsRepository;
+
+    @Autowired
+    private CarReservationRepository carReservationRepository;
+
+    @Autowired
+    private SchedulerLeaseRepository schedulerLeaseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UtilizationContributionRepository utilizationContributionRepository;
+
+    @Autowired
+    private UtilizationRollupRepository utilizationRollupRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void everyRepositoryQueryUsesAnIndex() throws Exception {
+        Map<String, Runnable> cases = cases();
+        Set<String> missing = new TreeSet<>();
+        for (Class<?> repository : REPOSITORIES) {
+            for (Method method : repository.getDeclaredMethods()) {
+                String name = repository.getSimpleName() + "." + method.getName();
+                if (!method.isDefault() && !Modifier.isStatic(method.getModifiers()) && !NOT_QUERIES.contains(name)
+                        && !cases.containsKey(name)) {
+                    missing.add(name);
+                }
+            }
+        }
+        assertTrue(missing.isEmpty(), "Repository methods without a query plan check: " + missing);
+
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, Runnable> entry : cases.entrySet()) {
+            RecordingStatementInspector.STATEMENTS.clear();
+            transactionTemplate.executeWithoutResult(status -> {
+                entry.getValue().run();
+                status.setRollbackOnly();
+            });
+            List<String> statements = List.copyOf(RecordingStatementInspector.STATEMENTS);
+            assertFalse(statements.isEmpty(), entry.getKey() + " issued no SQL");
+            for (String sql : statements) {
+                String plan = explain(sql);
+                List<String> fullScans = fullScans(plan);
+                if (!fullScans.isEmpty() && !FULL_SCANS.containsKey(entry.getKey())) {
+                    regressions.add(entry.getKey() + " scans " + fullScans + ":\n" + plan);
+                }
+            }
+        }
+        assertTrue(regressions.isEmpty(), "Query plans with full scans:\n" + String.join("\n\n", regressions));
+    }
+
+    private Map<String, Runnable> cases() {
+        Map<String, Runnable> cases = new LinkedHashMap<>();
+        cases.put("AddressRepository.findById", () -> addressRepository.findById(1L));
+
+        cases.put("CarDetailsRepository.findAllIds", () -> carDetailsRepository.findAllIds());
+        cases.put("CarDetailsRepository.findCatalogPage", () -> carDetailsRepository.findCatalogPage(0, CarStatusEnum.LOST, Limit.of(10)));
+        cases.put("CarDetailsRepository.countByRentalLocation", () -> carDetailsRepository.countByRentalLocation());
+        cases.put("CarDetailsRepository.findByIdForBooking", () -> carDetailsRepository.findByIdForBooking(1));
+        cases.put("CarDetailsRepository.findAllByIdForBooking", () -> carDetailsRepository.findAllByIdForBooking(List.of(1L, 2L)));
+
+        cases.put("CarReservationRepository.findByIdAndActive", () -> carReservationRepository.findByIdAndActive(1, 1));
+        cases.put("CarReservationRepository.findResponseByIdAndActive", () -> carReservationRepository.findResponseByIdAndActive(1, 1));
+        cases.put("CarReservationRepository.findResponsePageByCarAndActive", () -> carReservationRepository.findResponsePageByCarAndActive(1, 1, 0, Limit.of(10)));
+        cases.put("CarReservationRepository.findResponsePageByCustomerAndActive", () -> carReservationRepository.findResponsePageByCustomerAndActive(1, 1, 0, Limit.of(10)));
+        cases.put("CarReservationRepository.findResponseByJournalSeqAndActive", () -> carReservationRepository.findResponseByJournalSeqAndActive(1, 1));
+        cases.put("CarReservationRepository.findAppliedJournalEntries", () -> carReservationRepository.findAppliedJournalEntries(List.of(1L, 2L)));
+        cases.put("CarReservationRepository.findAllReservationWindows", () -> carReservationRepository.findAllReservationWindows());
+        cases.put("CarReservationRepository.existsOverlappingReservation", () -> carReservationRepository.existsOverlappingReservation(1, FROM, TO));
+        cases.put("CarReservationRepository.findPendingDriverAssignments", () -> carReservationRepository.findPendingDriverAssignments(FROM, TO));
+        cases.put("CarReservationRepository.findDriverWindows", () -> carReservationRepository.findDriverWindows(FROM, TO));
+        cases.put("CarReservationRepository.findReservationWindowsForCars", () -> carReservationRepository.findReservationWindowsForCars(List.of(1L, 2L), FROM, TO));
+        cases.put("CarReservationRepository.findAttributionsByIds", () -> carReservationRepository.findAttributionsByIds(List.of(1L, 2L)));
+        cases.put("CarReservationRepository.findAttributionPage", () -> carReservationRepository.findAttributionPage(FROM, TO, 0, Limit.of(10)));
+        cases.put("CarReservationRepository.findArchivePage", () -> carReservationRepository.findArchivePage(FROM, TO, 0, Limit.of(10)));
+        cases.put("CarReservationRepository.findOldestReturnDate", () -> carReservationRepository.findOldestReturnDate());
+        cases.put("CarReservationRepository.deleteArchived", () -> carReservationRepository.deleteArchived(List.of(1L, 2L), FROM, TO));
+
+        cases.put("SchedulerLeaseRepository.renewLease", () -> schedulerLeaseRepository.renewLease("job", "owner", 2, 1));
+        cases.put("SchedulerLeaseRepository.insertLease", () -> schedulerLeaseRepository.insertLease("job", "owner", 2));
+        cases.put("SchedulerLeaseRepository.releaseLease", () -> schedulerLeaseRepository.releaseLease("job", "owner"));
+
+        cases.put("UserRepository.findByIdAndActive", () -> userRepository.findByIdAndActive(1, 1));
+        cases.put("UserRepository.findByUserTypeAndActive", () -> userRepository.findByUserTypeAndActive(UserTypeEnum.DRIVER, 1));
+        cases.put("UserRepository.findResponsePageByActive", () -> userRepository.findResponsePageByActive(1, 0, Limit.of(10)));
+        cases.put("UserRepository.findResponsePageByUserTypeAndActive", () -> userRepository.findResponsePageByUserTypeAndActive(UserTypeEnum.DRIVER, 1, 0, Limit.of(10)));
+        cases.put("UserRepository.streamResponsesByActive", () -> userRepository.streamResponsesByActive(1).close());
+        cases.put("UserRepository.streamResponsesByUserTypeAndActive", () -> userRepository.streamResponsesByUserTypeAndActive(UserTypeEnum.DRIVER, 1).close());
+        cases.put("UserRepository.findChangesAfter", () -> userRepository.findChangesAfter(FROM, 0, TO, Limit.of(10)));
+        cases.put("UserRepository.streamIndexedUsersByActive", () -> userRepository.streamIndexedUsersByActive(1).close());
+
+        cases.put("UtilizationContributionRepository.findByReservationIdIn", () -> utilizationContributionRepository.findByReservationIdIn(List.of(1L, 2L)));
+
+        cases.put("UtilizationRollupRepository.findRollups", () -> utilizationRollupRepository.findRollups(RollupDimension.CATEGORY, LocalDate.EPOCH, LocalDate.EPOCH.plusDays(7)));
+        cases.put("UtilizationRollupRepository.findCandidateRollups", () -> utilizationRollupRepository.findCandidateRollups(LocalDate.EPOCH, LocalDate.EPOCH.plusDays(7), List.of(1L, 2L)));
+        cases.put("UtilizationRollupRepository.deleteRollups", () -> utilizationRollupRepository.deleteRollups(LocalDate.EPOCH, LocalDate.EPOCH.plusDays(7)));
+        return cases;
+    }
+
+    private String explain(String sql) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("explain " + sql);
+             ResultSet resultSet = statement.executeQuery()) {
+            StringBuilder plan = new StringBuilder();
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1));
+            }
+            return plan.toString();
+        }
+    }
+
+    private static List<String> fullScans(String plan) {
+        List<String> scans = new ArrayList<>();
+        Matcher matcher = TABLE_ACCESS.matcher(plan.replaceAll("\\s+", " "));
+        while (matcher.find()) {
+            boolean directLookup = matcher.group(3) != null;
+            String conditions = matcher.group(2);
+            if (matcher.group(1).endsWith(".tableScan")
+                    || (conditions == null && !directLookup)
+                    || (conditions != null && CURSOR_ONLY.matcher(conditions.trim()).matches())) {
+                scans.add(matcher.group(1));
+            }
+        }
+        return scans;
+    }
+
+    /**
+     * Records the SQL Hibernate sends, so the plan of exactly that SQL can be checked.
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.design.car.rental.system.carrentalsystemapp.services.impl;
+
+import com.design.car.rental.system.carrentalsystemapp.dtos.CarReservationRequestDto;
+import com.design.car.rental.system.carrentalsystemapp.dtos.CarReservationResponseDto;
+import com.design.car.rental.system.carrentalsystemapp.enums.UserTypeEnum;
+import com.design.car.rental.system.carrentalsystemapp.exceptions.CarNotAvailableException;
+import com.design.car.rental.system.carrentalsystemapp.models.CarDetails;
+import com.design.car.rental.system.carrentalsystemapp.models.CarReservation;
+import com.design.car.rental.system.carrentalsystemapp.models.UserDetails;
+import com.design.car.rental.system.carrentalsystemapp.repository.CarDetailsRepository;
+import com.design.car.rental.system.carrentalsystemapp.repository.CarReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * Drives the micro-batching booking path with a small queue and a long linger, so tests can fill the queue
+ * and put several bookings into one batch.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "reservation.write-mode=BATCHED",
+        "reservation.pipeline.queue-capacity=2",
+        "reservation.pipeline.linger=200ms",
+        "reservation.pipeline.retry-after=3s"
+})
+class BatchedReservationPipelineTest {
+
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    @Autowired
+    private BatchedReservationPipeline pipeline;
+
+    @Autowired
+    private CarAvailabilityService carAvailabilityService;
+
+    @Autowired
+    private CarBookingLocks carBookingLocks;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CarDetailsRepository carDetailsRepository;
+
+    @Autowired
+    private CarReservationRepository carReservationRepository;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @MockitoSpyBean
+    private UtilizationRollupService utilizationRollupService;
+
+    private UserDetails customer;
+
+    private long base;
+
+    @BeforeEach
+    void createCustomer() {
+        customer = userService.addUser("Pipeline Customer", "5550101", "pipeline@example.com", null, "LIC-PIPE",
+                UserTypeEnum.CUSTOMER.getUserId());
+        base = System.currentTimeMillis() + DAY;
+    }
+
+    @Test
+    void fullQueueIsRefusedWithRetryAfter() throws Exception {
+        long carId = addCar();
+        ReentrantLock lock = (ReentrantLock) carBookingLocks.forCar(carId);
+        lock.lock();
+        CompletableFuture<CarReservationResponseDto> blocked;
+        CompletableFuture<CarReservationResponseDto> queued1;
+        CompletableFuture<CarReservationResponseDto> queued2;
+        try {
+            blocked = submit(carId, customer.getId(), 0);
+            // The worker is stuck claiming the first booking, so the next two fill the queue.
+            awaitQueuedThread(lock);
+            queued1 = submit(carId, customer.getId(), 1);
+            queued2 = submit(carId, customer.getId(), 2);
+
+            ResponseEntity<String> response = restTemplate.postForEntity("/reservation/async",
+                    request(carId, customer.getId(), 3), String.class);
+
+            assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+            assertEquals("3", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        } finally {
+            lock.unlock();
+        }
+        assertTrue(blocked.get(10, TimeUnit.SECONDS).getReservationId() > 0);
+        assertTrue(queued1.get(10, TimeUnit.SECONDS).getReservationId() > 0);
+        assertTrue(queued2.get(10, TimeUnit.SECONDS).getReservationId() > 0);
+    }
+
+    @Test
+    void rejectedBatchFallsBackToSingleBookings() throws Exception {
+        long goodCarId = addCar();
+        long badCarId = addCar();
+        // Passes the cached checks, but the database refuses a pick-up location longer than its column.
+        CompletableFuture<CarReservationResponseDto> bad = pipeline.submit(badCarId, customer.getId(), null,
+                new Date(base), new Date(base + DAY), "A".repeat(300), "B");
+        CompletableFuture<CarReservationResponseDto> good = submit(goodCarId, customer.getId(), 0);
+
+        long reservationId = good.get(10, TimeUnit.SECONDS).getReservationId();
+        assertTrue(carReservationRepository.findById(reservationId).isPresent());
+        assertThrows(ExecutionException.class, () -> bad.get(10, TimeUnit.SECONDS));
+        assertFalse(carAvailabilityService.hasOverlappingReservation(badCarId, new Date(base), new Date(base + DAY)));
+        assertTrue(carAvailabilityService.hasOverlappingReservation(goodCarId, new Date(base), new Date(base + DAY)));
+    }
+
+    @Test
+    void conflictInTheDatabaseReleasesThePendingWindow() throws Exception {
+        long carId = addCar();
+        // Booked by another instance: in the database, but not in this instance's availability index.
+        CarReservation other = new CarReservation();
+        other.setCarDetails(carDetailsRepository.findById(carId).orElseThrow());
+        other.setCustomerDetails(customer);
+        other.setPickUpDate(new Date(base));
+        other.setReturnDate(new Date(base + DAY));
+        other.setActive(1);
+        carReservationRepository.save(other);
+
+        CompletableFuture<CarReservationResponseDto> conflicting = submit(carId, customer.getId(), 0);
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> conflicting.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(CarNotAvailableException.class, failure.getCause());
+        assertFalse(carAvailabilityService.hasOverlappingReservation(carId, new Date(base), new Date(base + DAY)));
+    }
+
+    @Test
+    void failingPostCommitUpdateDoesNotFailTheBooking() throws Exception {
+        long carId = addCar();
+        doThrow(new IllegalStateException("rollup queue broken")).when(utilizationRollupService).onReservationChanged(anyLong());
+
+        CarReservationResponseDto booked = submit(carId, customer.getId(), 0).get(10, TimeUnit.SECONDS);
+
+        assertTrue(carReservationRepository.findById(booked.getReservationId()).isPresent());
+        assertTrue(carAvailabilityService.hasOverlappingReservation(carId, new Date(base), new Date(base + DAY)));
+    }
+
+    private long addCar() {
+        CarDetails carDetails = new CarDetails();
+        carDetails.setName("Pipeline Car");
+        long carId = carDetailsRepository.save(carDetails).getId();
+        carAvailabilityService.onCarAdded(carId);
+        return carId;
+    }
+
+    private CompletableFuture<CarReservationResponseDto> submit(long carId, long customerId, int day) throws Exception {
+        return pipeline.submit(carId, customerId, null, new Date(base + day * DAY), new Date(base + (day + 1) * DAY),
+                "A", "B");
+    }
+
+    private CarReservationRequestDto request(long carId, long customerId, int day) {
+        CarReservationRequestDto request = new CarReservationRequestDto();
+        request.setCarId(carId);
+        request.setCustomerId(customerId);
+        request.setPickUpDate(new Date(base + day * DAY));
+        request.setReturnDate(new Date(base + (day + 1) * DAY));
+        request.setPickUpLocation("A");
+        request.setReturnLocation("B");
+        return request;
+    }
+
+    private static void awaitQueuedThread(ReentrantLock lock) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!lock.hasQueuedThreads()) {
+            if (System.nanoTime() > deadline) {
+                fail("The pipeline worker never waited for the car lock");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.design.car.rental.system.carrentalsystemapp.services.impl;
+
+import com.design.car.rental.system.carrentalsystemapp.exceptions.CarNotAvailableException;
+import com.design.car.rental.system.carrentalsystemapp.models.CarDetails;
+import com.design.car.rental.system.carrentalsystemapp.models.CarReservation;
+import com.design.car.rental.system.carrentalsystemapp.models.UserDetails;
+import com.design.car.rental.system.carrentalsystemapp.repository.CarDetailsRepository;
+import com.design.car.rental.system.carrentalsystemapp.repository.CarReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CarReservationServiceConcurrencyTest {
+
+    private static final int THREADS = 64;
+    private static final int ATTEMPTS_PER_THREAD = 40;
+    private static final int CARS = 4;
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    @Autowired
+    private CarReservationService carReservationService;
+
+    @Autowired
+    private CarAvailabilityService carAvailabilityService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CarDetailsRepository carDetailsRepository;
+
+    @Autowired
+    private CarReservationRepository carReservationRepository;
+
+    @Test
+    void concurrentBookingsNeverDoubleBookACar() throws Exception {
+        UserDetails customer = userService.addUser("Stress Customer", "000", "stress@example.com", null, "LIC-0", 0);
+        List<Long> carIds = new ArrayList<>();
+        for (int i = 0; i < CARS; i++) {
+            CarDetails carDetails = new CarDetails();
+            carDetails.setName("Car " + i);
+            carIds.add(carDetailsRepository.save(carDetails).getId());
+            carAvailabilityService.onCarAdded(carIds.get(i));
+        }
+
+        long base = System.currentTimeMillis();
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    long carId = carIds.get(random.nextInt(CARS));
+                    long from = base + random.nextInt(200) * HOUR;
+                    long to = from + (1 + random.nextInt(12)) * HOUR;
+                    try {
+                        carReservationService.createReservation(carId, customer.getId(), null,
+                                new Date(from), new Date(to), "A", "B");
+                        booked.incrementAndGet();
+                    } catch (CarNotAvailableException e) {
+                        rejected.incrementAndGet();
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES));
+
+        assertEquals(0, failed.get());
+        assertEquals(THREADS * ATTEMPTS_PER_THREAD, booked.get() + rejected.get());
+        assertTrue(booked.get() > 0);
+
+        Map<Long, List<CarReservation>> reservationsByCar = carReservationRepository.findAll().stream()
+                .filter(reservation -> carIds.contains(reservation.getCarDetails().getId()))
+                .collect(Collectors.groupingBy(reservation -> reservation.getCarDetails().getId()));
+        int persisted = 0;
+        for (List<CarReservation> reservations : reservationsByCar.values()) {
+            reservations.sort(Comparator.comparing(CarReservation::getPickUpDate));
+            for (int i = 1; i < reservations.size(); i++) {
+                assertFalse(reservations.get(i).getPickUpDate().before(reservations.get(i - 1).getReturnDate()),
+                        "Overlapping reservations for car " + reservations.get(i).getCarDetails().getId());
+            }
+            persisted += reservations.size();
+        }
+        assertEquals(booked.get(), persisted);
+    }
+}
@@ -0,0 +1,57 @@
+package com.design.car.rental.system.carrentalsystemapp.services.impl;
+
+import com.design.car.rental.system.carrentalsystemapp.catalog.CatalogSnapshot;
+import com.design.car.rental.system.carrentalsystemapp.models.CarDetails;
+import com.design.car.rental.system.carrentalsystemapp.repository.CarDetailsRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The scheduled refresh stays out of the way, so every refresh is the one the test triggers.
+@SpringBootTest(properties = "catalog.snapshot.refresh-interval=1h")
+class CatalogSnapshotServiceImplTest {
+
+    @Autowired
+    private CatalogSnapshotServiceImpl catalogSnapshotService;
+
+    @Autowired
+    private CarDetailsRepository carDetailsRepository;
+
+    @Test
+    void unchangedFleetKeepsTheCurrentSnapshot() {
+        addCar("Unchanged Car", 100);
+        catalogSnapshotService.refreshSnapshot();
+        CatalogSnapshot before = catalogSnapshotService.getSnapshot();
+
+        catalogSnapshotService.refreshSnapshot();
+
+        assertSame(before, catalogSnapshotService.getSnapshot());
+        assertTrue(Files.exists(before.getPath()));
+    }
+
+    @Test
+    void changedCarRebuildsTheSnapshot() {
+        CarDetails car = addCar("Changed Car", 100);
+        catalogSnapshotService.refreshSnapshot();
+        CatalogSnapshot before = catalogSnapshotService.getSnapshot();
+
+        car.setMileage(250);
+        carDetailsRepository.save(car);
+        catalogSnapshotService.refreshSnapshot();
+
+        CatalogSnapshot after = catalogSnapshotService.getSnapshot();
+        assertNotSame(before, after);
+        assertEquals(250, after.mileage(after.indexOf(car.getId())));
+    }
+
+    private CarDetails addCar(String name, int mileage) {
+        CarDetails carDetails = new CarDetails();
+        carDetails.setName(name);
+        carDetails.setMileage(mileage);
+        return carDetailsRepository.save(carDetails);
+    }
+}
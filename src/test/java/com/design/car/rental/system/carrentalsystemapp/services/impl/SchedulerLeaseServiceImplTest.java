@@ -0,0 +1,48 @@
+package com.design.car.rental.system.carrentalsystemapp.services.impl;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SchedulerLeaseServiceImplTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    @Autowired
+    private SchedulerLeaseService schedulerLeaseService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void holderExtendsItsLeaseAndReleasesIt() {
+        assertTrue(schedulerLeaseService.tryAcquire("extended-job", LEASE));
+        assertTrue(schedulerLeaseService.tryAcquire("extended-job", LEASE));
+
+        schedulerLeaseService.release("extended-job");
+
+        assertEquals(0L, jdbcTemplate.queryForObject("select expires_at from scheduler_lease where name = ?", Long.class,
+                "extended-job"));
+    }
+
+    @Test
+    void leaseOfAnotherInstanceIsOnlyTakenOnceExpired() {
+        long now = System.currentTimeMillis();
+        jdbcTemplate.update("insert into scheduler_lease (name, owner, expires_at) values (?, ?, ?)",
+                "contended-job", "other-instance", now + LEASE.toMillis());
+
+        assertFalse(schedulerLeaseService.tryAcquire("contended-job", LEASE));
+        schedulerLeaseService.release("contended-job");
+        assertEquals("other-instance", jdbcTemplate.queryForObject("select owner from scheduler_lease where name = ?",
+                String.class, "contended-job"));
+
+        jdbcTemplate.update("update scheduler_lease set expires_at = ? where name = ?", now - 1, "contended-job");
+        assertTrue(schedulerLeaseService.tryAcquire("contended-job", LEASE));
+    }
+}
@@ -0,0 +1,43 @@
+package com.design.car.rental.system.carrentalsystemapp.services.impl;
+
+import com.design.car.rental.system.carrentalsystemapp.enums.UserTypeEnum;
+import com.design.car.rental.system.carrentalsystemapp.models.Address;
+import com.design.car.rental.system.carrentalsystemapp.models.UserDetails;
+import com.design.car.rental.system.carrentalsystemapp.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class UserServiceImplTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void updateWithANewAddressSavesTheAddress() throws Exception {
+        UserDetails user = userService.addUser("Moving Customer", "5550103", "moving@example.com", null, "LIC-MOVE",
+                UserTypeEnum.CUSTOMER.getUserId());
+        Address address = new Address();
+        address.setStreet("1 New Street");
+        address.setCity("Pune");
+
+        UserDetails updated = userService.updateUserDetails(user.getId(), "Moving Customer", "5550103",
+                "moving@example.com", address, "LIC-MOVE", UserTypeEnum.CUSTOMER.getUserId());
+
+        assertNotNull(updated.getAddress().getId());
+        assertEquals("Pune", userService.getUserDetailsByUserId(user.getId()).getAddress().getCity());
+        String storedCity = transactionTemplate.execute(status ->
+                userRepository.findById(user.getId()).orElseThrow().getAddress().getCity());
+        assertEquals("Pune", storedCity);
+    }
+}
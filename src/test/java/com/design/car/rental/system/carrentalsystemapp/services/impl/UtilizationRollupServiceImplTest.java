@@ -0,0 +1,215 @@
+package com.design.car.rental.system.carrentalsystemapp.services.impl;
+
+import com.design.car.rental.system.carrentalsystemapp.enums.CarCategoryEnum;
+import com.design.car.rental.system.carrentalsystemapp.enums.RollupDimension;
+import com.design.car.rental.system.carrentalsystemapp.models.CarDetails;
+import com.design.car.rental.system.carrentalsystemapp.models.CarReservation;
+import com.design.car.rental.system.carrentalsystemapp.models.UtilizationRollup;
+import com.design.car.rental.system.carrentalsystemapp.repository.CarDetailsRepository;
+import com.design.car.rental.system.carrentalsystemapp.repository.CarReservationRepository;
+import com.design.car.rental.system.carrentalsystemapp.repository.UtilizationContributionRepository;
+import com.design.car.rental.system.carrentalsystemapp.repository.UtilizationRollupRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.mockito.stubbing.Answer;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+/**
+ * Feeds reservation changes through the rollup worker on H2 and checks the stored buckets.
+ * Every test books its own car on its own days, so the buckets of different tests never mix.
+ */
+@SpringBootTest(properties = "analytics.rollup.linger=10ms")
+class UtilizationRollupServiceImplTest {
+
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    @Autowired
+    private UtilizationRollupService utilizationRollupService;
+
+    @Autowired
+    private CarDetailsRepository carDetailsRepository;
+
+    @Autowired
+    private CarReservationRepository carReservationRepository;
+
+    @Autowired
+    private UtilizationContributionRepository utilizationContributionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoSpyBean
+    private UtilizationRollupRepository utilizationRollupRepository;
+
+    @Test
+    void bookingAddsItsHoursToEveryDimension() {
+        LocalDate day = LocalDate.of(2031, 1, 10);
+        long carId = addCar();
+
+        CarReservation reservation = book(carId, day, 10, 14);
+
+        UtilizationRollup carBucket = awaitBucket(RollupDimension.CAR, carId, day, 1);
+        assertEquals(4 * HOUR, carBucket.getBookedMillis());
+        assertTrue(carBucket.getRevenueCents() > 0);
+        assertEquals(1, utilizationContributionRepository.findByReservationIdIn(List.of(reservation.getId())).size());
+        UtilizationRollup categoryBucket = findBucket(RollupDimension.CATEGORY, CarCategoryEnum.SUV.ordinal(), day);
+        assertNotNull(categoryBucket);
+        assertTrue(categoryBucket.getBookedMillis() >= 4 * HOUR);
+    }
+
+    @Test
+    void dateChangeSubtractsTheOldWindowAndAddsTheNewOne() {
+        LocalDate day = LocalDate.of(2031, 2, 10);
+        LocalDate newDay = day.plusDays(2);
+        long carId = addCar();
+        CarReservation moved = book(carId, day, 8, 12);
+        book(carId, day, 14, 16);
+        awaitBucket(RollupDimension.CAR, carId, day, 2);
+
+        moved.setPickUpDate(at(newDay, 9));
+        moved.setReturnDate(at(newDay, 10));
+        carReservationRepository.save(moved);
+        utilizationRollupService.onReservationChanged(moved.getId());
+
+        UtilizationRollup newBucket = awaitBucket(RollupDimension.CAR, carId, newDay, 1);
+        assertEquals(HOUR, newBucket.getBookedMillis());
+        UtilizationRollup oldBucket = findBucket(RollupDimension.CAR, carId, day);
+        assertEquals(1, oldBucket.getReservationCount());
+        assertEquals(2 * HOUR, oldBucket.getBookedMillis());
+    }
+
+    @Test
+    void cancellingTheLastReservationOfADayDeletesTheBucket() {
+        LocalDate day = LocalDate.of(2031, 3, 10);
+        long carId = addCar();
+        CarReservation cancelled = book(carId, day, 10, 12);
+        awaitBucket(RollupDimension.CAR, carId, day, 1);
+
+        cancelled.setActive(0);
+        carReservationRepository.save(cancelled);
+        utilizationRollupService.onReservationChanged(cancelled.getId());
+
+        await(() -> findBucket(RollupDimension.CAR, carId, day) == null);
+        assertTrue(utilizationContributionRepository.findByReservationIdIn(List.of(cancelled.getId())).isEmpty());
+    }
+
+    @Test
+    void replayingAnUnchangedReservationWritesNothing() {
+        LocalDate day = LocalDate.of(2031, 4, 10);
+        long carId = addCar();
+        CarReservation replayed = book(carId, day, 10, 13);
+        UtilizationRollup before = awaitBucket(RollupDimension.CAR, carId, day, 1);
+
+        utilizationRollupService.onReservationChanged(replayed.getId());
+        // The worker applies changes in order, so once this booking is counted the replay has been applied too.
+        long markerCarId = addCar();
+        book(markerCarId, day, 10, 11);
+        awaitBucket(RollupDimension.CAR, markerCarId, day, 1);
+
+        UtilizationRollup after = findBucket(RollupDimension.CAR, carId, day);
+        assertEquals(before.getVersion(), after.getVersion());
+        assertEquals(1, after.getReservationCount());
+        assertEquals(3 * HOUR, after.getBookedMillis());
+    }
+
+    @Test
+    void concurrentBucketUpdateIsRetried() {
+        LocalDate day = LocalDate.of(2031, 5, 10);
+        long carId = addCar();
+        book(carId, day, 10, 12);
+        UtilizationRollup bucket = awaitBucket(RollupDimension.CAR, carId, day, 1);
+        double droppedBefore = meterRegistry.get("analytics.rollup.dropped").counter().count();
+
+        // Another instance adds a one-hour reservation to the bucket after the worker has read it.
+        AtomicBoolean interfere = new AtomicBoolean(true);
+        // Query methods are abstract on the repository interface; the spy's default answer delegates to the repository.
+        Answer<?> repository = mockingDetails(utilizationRollupRepository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> {
+            Object rollups = repository.answer(invocation);
+            if (interfere.getAndSet(false)) {
+                CompletableFuture.runAsync(() -> jdbcTemplate.update("update utilization_rollup set version = version + 1, "
+                        + "reservation_count = reservation_count + 1, booked_millis = booked_millis + ? where id = ?",
+                        HOUR, bucket.getId())).join();
+            }
+            return rollups;
+        }).when(utilizationRollupRepository).findCandidateRollups(any(), any(), any());
+        book(carId, day, 14, 17);
+
+        UtilizationRollup merged = awaitBucket(RollupDimension.CAR, carId, day, 3);
+        assertFalse(interfere.get());
+        assertEquals(2 * HOUR + HOUR + 3 * HOUR, merged.getBookedMillis());
+        assertEquals(droppedBefore, meterRegistry.get("analytics.rollup.dropped").counter().count());
+    }
+
+    private long addCar() {
+        CarDetails carDetails = new CarDetails();
+        carDetails.setName("Rollup Car");
+        carDetails.setVechicleCategory(CarCategoryEnum.SUV);
+        return carDetailsRepository.save(carDetails).getId();
+    }
+
+    private CarReservation book(long carId, LocalDate day, int fromHour, int toHour) {
+        CarReservation reservation = new CarReservation();
+        reservation.setCarDetails(carDetailsRepository.findById(carId).orElseThrow());
+        reservation.setPickUpDate(at(day, fromHour));
+        reservation.setReturnDate(at(day, toHour));
+        reservation.setActive(1);
+        CarReservation saved = carReservationRepository.save(reservation);
+        utilizationRollupService.onReservationChanged(saved.getId());
+        return saved;
+    }
+
+    private static Date at(LocalDate day, int hour) {
+        return Date.from(day.atTime(hour, 0).toInstant(ZoneOffset.UTC));
+    }
+
+    private UtilizationRollup findBucket(RollupDimension dimension, long dimensionKey, LocalDate day) {
+        return utilizationRollupRepository.findRollups(dimension, day, day.plusDays(1)).stream()
+                .filter(rollup -> rollup.getDimensionKey() == dimensionKey)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private UtilizationRollup awaitBucket(RollupDimension dimension, long dimensionKey, LocalDate day, int reservationCount) {
+        await(() -> {
+            UtilizationRollup rollup = findBucket(dimension, dimensionKey, day);
+            return rollup != null && rollup.getReservationCount() == reservationCount;
+        });
+        return findBucket(dimension, dimensionKey, day);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("The rollup worker did not apply the change in time");
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+    }
+}
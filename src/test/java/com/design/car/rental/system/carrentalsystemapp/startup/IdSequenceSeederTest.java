@@ -0,0 +1,63 @@
+package com.design.car.rental.system.carrentalsystemapp.startup;
+
+import com.design.car.rental.system.carrentalsystemapp.models.Address;
+import com.design.car.rental.system.carrentalsystemapp.repository.AddressRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the application with the MySQL dialect (table-backed sequences) and ddl-auto=update on a database whose
+ * address table already holds an id from the IDENTITY days, like a database deployed before the switch to sequences.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + IdSequenceSeederTest.URL,
+        "spring.jpa.hibernate.ddl-auto=update",
+        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect"
+})
+class IdSequenceSeederTest {
+
+    static final String URL = "jdbc:h2:mem:id-sequences;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    private static final long EXISTING_ID = 1234;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private IdSequenceSeeder idSequenceSeeder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void createIdentitySchema() throws Exception {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("create table address (id bigint not null auto_increment, city varchar(255), "
+                    + "state varchar(255), street varchar(255), zip varchar(255), primary key (id))");
+            statement.execute("insert into address (id, city) values (" + EXISTING_ID + ", 'Pune')");
+        }
+    }
+
+    @Test
+    void firstInsertAfterStartupGetsAnIdPastTheExistingRows() {
+        assertEquals(EXISTING_ID + 1, addressRepository.save(new Address()).getId());
+        assertEquals(EXISTING_ID + 2, addressRepository.save(new Address()).getId());
+    }
+
+    @Test
+    void seedingNeverLowersASequence() {
+        long next = jdbcTemplate.queryForObject("select next_val from address_seq", Long.class);
+        idSequenceSeeder.seed(jdbcTemplate, "address_seq", "address", "id");
+        assertEquals(next, jdbcTemplate.queryForObject("select next_val from address_seq", Long.class));
+    }
+}